@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package ntfbenchmark.impl;
+
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.ntfbench.payload.rev150709.Ntfbench;
+
+/**
+ * A listener which spends a fixed amount of time processing each notification.
+ */
+public class NtfbenchSlowListener extends NtfbenchTestListener {
+    private final long delayNanos;
+
+    public NtfbenchSlowListener(final int expectedSize, final long delayMicros) {
+        super(expectedSize);
+        this.delayNanos = TimeUnit.MICROSECONDS.toNanos(delayMicros);
+    }
+
+    @Override
+    public void onNtfbench(final Ntfbench notification) {
+        final long deadline = System.nanoTime() + delayNanos;
+        long remaining = delayNanos;
+        while (remaining > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            remaining = deadline - System.nanoTime();
+        }
+        super.onNtfbench(notification);
+    }
+}
@@ -76,6 +76,11 @@ public class NtfbenchmarkProvider implements AutoCloseable, NtfbenchmarkService
             listeners.add(listenService.registerNotificationListener(listener));
         }
 
+        // The slow listener is not waited for: we are interested in how it affects the others
+        final long slowListenerDelay = input.getSlowListenerDelay() == null ? 0 : input.getSlowListenerDelay();
+        final ListenerRegistration<NtfbenchSlowListener> slowListener = slowListenerDelay == 0 ? null
+                : listenService.registerNotificationListener(new NtfbenchSlowListener(payloadSize, slowListenerDelay));
+
         try {
             final ExecutorService executor = Executors.newFixedThreadPool(input.getProducers().intValue());
 
@@ -121,6 +126,8 @@ public class NtfbenchmarkProvider implements AutoCloseable, NtfbenchmarkService
                             .setProducerElapsedTime(producerElapsedTime / 1000000)
                             .setListenerElapsedTime(listenerElapsedTime / 1000000)
                             .setListenerOk(allListeners)
+                            .setSlowListenerOk(slowListener == null ? 0L
+                                    : (long) slowListener.getInstance().getReceived())
                             .setProducerOk(allProducersOk)
                             .setProducerError(allProducersError)
                             .setProducerRate((allProducersOk + allProducersError) * 1000000000 / producerElapsedTime)
@@ -128,6 +135,9 @@ public class NtfbenchmarkProvider implements AutoCloseable, NtfbenchmarkService
                            .build();
             return RpcResultBuilder.success(output).buildFuture();
         } finally {
+            if (slowListener != null) {
+                slowListener.close();
+            }
             for (final ListenerRegistration<NtfbenchTestListener> listenerRegistration : listeners) {
                 listenerRegistration.close();
             }
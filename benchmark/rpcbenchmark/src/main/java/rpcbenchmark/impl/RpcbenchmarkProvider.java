@@ -22,6 +22,7 @@ import org.opendaylight.yang.gen.v1.rpcbench.payload.rev150702.RpcbenchPayloadSe
 import org.opendaylight.yang.gen.v1.rpcbench.payload.rev150702.RpcbenchRpcRoutes;
 import org.opendaylight.yang.gen.v1.rpcbench.payload.rev150702.rpcbench.rpc.routes.RpcRoute;
 import org.opendaylight.yang.gen.v1.rpcbench.payload.rev150702.rpcbench.rpc.routes.RpcRouteKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.rpcbenchmark.rev150702.RegisterServersInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.rpcbenchmark.rev150702.RpcbenchmarkService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.rpcbenchmark.rev150702.StartTestInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.rpcbenchmark.rev150702.StartTestOutput;
@@ -44,6 +45,7 @@ public class RpcbenchmarkProvider implements AutoCloseable, RpcbenchmarkService
     private final GlobalBindingRTCServer globalServer;
     private final AtomicReference<ExecStatus> execStatus = new AtomicReference<>(ExecStatus.Idle);
     private final RpcProviderRegistry providerRegistry;
+    private final List<RoutedRpcRegistration<?>> serverRegs = new ArrayList<>();
 
     public RpcbenchmarkProvider(final RpcProviderRegistry providerRegistry, final GlobalBindingRTCServer globalServer) {
         this.providerRegistry = providerRegistry;
@@ -56,9 +58,33 @@ public class RpcbenchmarkProvider implements AutoCloseable, RpcbenchmarkService
 
     @Override
     public void close() {
+        unregisterServers();
         LOG.info("RpcbenchmarkProvider closed");
     }
 
+    @Override
+    public synchronized Future<RpcResult<Void>> registerServers(final RegisterServersInput input) {
+        LOG.debug("registerServers {}", input);
+
+        final int numServers = input.getNumServers().intValue();
+        for (int i = serverRegs.size(); i < numServers; i++) {
+            serverRegs.add(registerServer(i));
+        }
+        LOG.info("{} routed RPC servers registered", serverRegs.size());
+        return RpcResultBuilder.<Void>success().buildFuture();
+    }
+
+    @Override
+    public synchronized Future<RpcResult<Void>> unregisterServers() {
+        LOG.debug("unregisterServers");
+
+        for (RoutedRpcRegistration<?> routedRpcRegistration : serverRegs) {
+            routedRpcRegistration.close();
+        }
+        serverRegs.clear();
+        return RpcResultBuilder.<Void>success().buildFuture();
+    }
+
     @Override
     public Future<RpcResult<StartTestOutput>> startTest(final StartTestInput input) {
         LOG.debug("startTest {}", input);
@@ -70,22 +96,23 @@ public class RpcbenchmarkProvider implements AutoCloseable, RpcbenchmarkService
         case ROUTEDRTC:
             List<InstanceIdentifier<?>> routeIid = new ArrayList<>();
             for (int i = 0; i < input.getNumServers().intValue(); i++) {
-                GlobalBindingRTCServer server = new GlobalBindingRTCServer();
-                RoutedRpcRegistration<RpcbenchPayloadService> routedReg =
-                        providerRegistry.addRoutedRpcImplementation(RpcbenchPayloadService.class, server);
-
-                KeyedInstanceIdentifier<RpcRoute, RpcRouteKey> iid =
-                        InstanceIdentifier
-                            .create(RpcbenchRpcRoutes.class)
-                            .child(RpcRoute.class, new RpcRouteKey(Integer.toString(i)));
-                routeIid.add(iid);
-                routedReg.registerPath(NodeContext.class, iid);
-                rpcRegs.add(routedReg);
+                rpcRegs.add(registerServer(i));
+                routeIid.add(routeIid(i));
             }
 
             client = new RoutedBindingRTClient(providerRegistry, input.getPayloadSize().intValue(), routeIid);
             break;
 
+        case REMOTEROUTEDRTC:
+            // Servers are registered by register-servers on another member, hence every call is routed there
+            List<InstanceIdentifier<?>> remoteRouteIid = new ArrayList<>();
+            for (int i = 0; i < input.getNumServers().intValue(); i++) {
+                remoteRouteIid.add(routeIid(i));
+            }
+
+            client = new RoutedBindingRTClient(providerRegistry, input.getPayloadSize().intValue(), remoteRouteIid);
+            break;
+
         case GLOBALRTC:
             client = new GlobalBindingRTCClient(providerRegistry, input.getPayloadSize().intValue());
             break;
@@ -134,6 +161,20 @@ public class RpcbenchmarkProvider implements AutoCloseable, RpcbenchmarkService
         }
     }
 
+    private RoutedRpcRegistration<?> registerServer(final int id) {
+        GlobalBindingRTCServer server = new GlobalBindingRTCServer();
+        RoutedRpcRegistration<RpcbenchPayloadService> routedReg =
+                providerRegistry.addRoutedRpcImplementation(RpcbenchPayloadService.class, server);
+        routedReg.registerPath(NodeContext.class, routeIid(id));
+        return routedReg;
+    }
+
+    private static KeyedInstanceIdentifier<RpcRoute, RpcRouteKey> routeIid(final int id) {
+        return InstanceIdentifier
+                .create(RpcbenchRpcRoutes.class)
+                .child(RpcRoute.class, new RpcRouteKey(Integer.toString(id)));
+    }
+
     @Override
     public Future<RpcResult<TestStatusOutput>> testStatus() {
         LOG.info("testStatus");
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.access.client;
+
+import akka.actor.ActorSystem;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.opendaylight.controller.cluster.access.commands.TransactionPurgeRequest;
+import org.opendaylight.controller.cluster.access.commands.TransactionPurgeResponse;
+import org.opendaylight.controller.cluster.access.concepts.ClientIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.FrontendIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.FrontendType;
+import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.MemberName;
+import org.opendaylight.controller.cluster.access.concepts.Response;
+import org.opendaylight.controller.cluster.access.concepts.ResponseEnvelope;
+import org.opendaylight.controller.cluster.access.concepts.SuccessEnvelope;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import scala.concurrent.Await;
+import scala.concurrent.duration.Duration;
+
+/**
+ * Benchmark measuring the cost of {@link TransmitQueue#complete(org.opendaylight.controller.cluster.access.concepts
+ * .ResponseEnvelope, long)} with a large number of in-flight requests. Each operation completes a randomly-chosen
+ * in-flight request and enqueues a replacement, so that the in-flight depth stays constant. Requests are transmitted
+ * into a void, hence the measurement does not include any actor messaging.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class TransmitQueueBenchmark {
+    private static final Consumer<Response<?, ?>> CALLBACK = response -> { };
+
+    private static final class BenchmarkQueue extends TransmitQueue {
+        private final int maxMessages;
+        private long nextTxSequence;
+
+        BenchmarkQueue(final int maxMessages) {
+            super(maxMessages);
+            this.maxMessages = maxMessages;
+        }
+
+        @Override
+        int canTransmitCount(final int inflightSize) {
+            return maxMessages - inflightSize;
+        }
+
+        @Override
+        Optional<TransmittedConnectionEntry> transmit(final ConnectionEntry entry, final long now) {
+            return Optional.of(new TransmittedConnectionEntry(entry, 0, nextTxSequence++, now));
+        }
+
+        @Override
+        void preComplete(final ResponseEnvelope<?> envelope) {
+            // No-op
+        }
+    }
+
+    @Param({"1000", "10000"})
+    public int depth;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    private ActorSystem system;
+    private BenchmarkQueue queue;
+    private TransactionPurgeRequest[] requests;
+    private long[] txSequences;
+    private long now;
+
+    @Setup
+    public void setUp() {
+        system = ActorSystem.create("transmit-queue-benchmark");
+        queue = new BenchmarkQueue(depth);
+
+        final LocalHistoryIdentifier history = new LocalHistoryIdentifier(ClientIdentifier.create(
+            FrontendIdentifier.create(MemberName.forName("member-1"), FrontendType.forName("benchmark")), 0), 0);
+        requests = new TransactionPurgeRequest[depth];
+        txSequences = new long[depth];
+        for (int i = 0; i < depth; ++i) {
+            requests[i] = new TransactionPurgeRequest(new TransactionIdentifier(history, i), 0, system.deadLetters());
+            txSequences[i] = i;
+            queue.enqueueOrForward(new ConnectionEntry(requests[i], CALLBACK, now), now);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        Await.result(system.terminate(), Duration.create(1, TimeUnit.MINUTES));
+    }
+
+    @Benchmark
+    public Optional<TransmittedConnectionEntry> completeAndEnqueue() {
+        final int slot = random.nextInt(depth);
+        final TransactionPurgeRequest request = requests[slot];
+        final Optional<TransmittedConnectionEntry> ret = queue.complete(new SuccessEnvelope(
+            new TransactionPurgeResponse(request.getTarget(), request.getSequence()), 0, txSequences[slot], 0), ++now);
+
+        txSequences[slot] = queue.nextTxSequence;
+        queue.enqueueOrForward(new ConnectionEntry(request, CALLBACK, now), now);
+        return ret;
+    }
+}
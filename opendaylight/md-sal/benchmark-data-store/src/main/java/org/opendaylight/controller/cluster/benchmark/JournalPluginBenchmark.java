@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.benchmark;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.Props;
+import akka.pattern.Patterns;
+import akka.persistence.AbstractPersistentActor;
+import akka.persistence.RecoveryCompleted;
+import akka.util.Timeout;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import scala.concurrent.Await;
+import scala.concurrent.duration.Duration;
+
+/**
+ * Benchmark comparing append throughput and recovery time of the segmented file journal with the LevelDB journal.
+ * Appends are issued via persistAsync(), just like RaftActor does on the leader.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class JournalPluginBenchmark {
+    private static final Timeout TIMEOUT = new Timeout(Duration.create(5, TimeUnit.MINUTES));
+    private static final File BASE_DIR = new File("target/journal-benchmark");
+    private static final int BATCH_SIZE = 1000;
+    private static final int RECOVERY_ENTRIES = 100000;
+
+    static final class Append {
+        final int count;
+        final byte[] payload;
+
+        Append(final int count, final byte[] payload) {
+            this.count = count;
+            this.payload = payload;
+        }
+    }
+
+    static final class JournalWriter extends AbstractPersistentActor {
+        private final String persistenceId;
+        private final CompletableFuture<Void> recovered;
+
+        JournalWriter(final String persistenceId, final CompletableFuture<Void> recovered) {
+            this.persistenceId = persistenceId;
+            this.recovered = recovered;
+        }
+
+        static Props props(final String persistenceId, final CompletableFuture<Void> recovered) {
+            return Props.create(JournalWriter.class, persistenceId, recovered);
+        }
+
+        @Override
+        public String persistenceId() {
+            return persistenceId;
+        }
+
+        @Override
+        public Receive createReceiveRecover() {
+            return receiveBuilder().match(RecoveryCompleted.class, msg -> recovered.complete(null))
+                    .matchAny(msg -> { }).build();
+        }
+
+        @Override
+        public Receive createReceive() {
+            return receiveBuilder().match(Append.class, this::onAppend).build();
+        }
+
+        private void onAppend(final Append append) {
+            final ActorRef replyTo = sender();
+            final int[] remaining = { append.count };
+            for (int i = 0; i < append.count; ++i) {
+                persistAsync(append.payload, persisted -> {
+                    if (--remaining[0] == 0) {
+                        replyTo.tell(Boolean.TRUE, self());
+                    }
+                });
+            }
+        }
+    }
+
+    @Param({ "segmented-file", "leveldb" })
+    public String plugin;
+
+    @Param({ "256", "4096" })
+    public int payloadSize;
+
+    private ActorSystem system;
+    private ActorRef writer;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        final File dir = new File(BASE_DIR, plugin);
+        FileUtils.deleteQuietly(dir);
+
+        system = ActorSystem.create("journal-benchmark", journalConfig(plugin, dir));
+        payload = new byte[payloadSize];
+        writer = system.actorOf(JournalWriter.props("append", new CompletableFuture<>()));
+
+        // Populate the journal used by the recovery benchmark
+        final ActorRef populator = system.actorOf(JournalWriter.props("recovery", new CompletableFuture<>()));
+        Await.result(Patterns.ask(populator, new Append(RECOVERY_ENTRIES, payload), TIMEOUT), TIMEOUT.duration());
+        Await.ready(Patterns.gracefulStop(populator, TIMEOUT.duration()), TIMEOUT.duration());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Await.ready(system.terminate(), TIMEOUT.duration());
+        FileUtils.deleteQuietly(new File(BASE_DIR, plugin));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void append() throws Exception {
+        Await.result(Patterns.ask(writer, new Append(BATCH_SIZE, payload), TIMEOUT), TIMEOUT.duration());
+    }
+
+    @Benchmark
+    public void recover() throws Exception {
+        final CompletableFuture<Void> recovered = new CompletableFuture<>();
+        final ActorRef actor = system.actorOf(JournalWriter.props("recovery", recovered));
+        recovered.get(TIMEOUT.duration().toMillis(), TimeUnit.MILLISECONDS);
+
+        // Only a single actor may be using a persistence ID at any time
+        Await.ready(Patterns.gracefulStop(actor, TIMEOUT.duration()), TIMEOUT.duration());
+    }
+
+    private static Config journalConfig(final String plugin, final File dir) {
+        return ConfigFactory.parseString(String.format(
+              "akka.persistence.journal.plugin = akka.persistence.journal.%1$s\n"
+            + "akka.persistence.snapshot-store.plugin = akka.persistence.no-snapshot-store\n"
+            + "akka.persistence.journal.leveldb.dir = \"%2$s\"\n"
+            + "akka.persistence.journal.leveldb.native = on\n"
+            + "akka.persistence.journal.segmented-file {\n"
+            + "  class = \"org.opendaylight.controller.cluster.persistence.SegmentedFileJournal\"\n"
+            + "  dir = \"%2$s\"\n"
+            + "  max-segment-size = 64M\n"
+            + "}\n", plugin, dir.getPath()))
+            .withFallback(ConfigFactory.load());
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.benchmark;
+
+import akka.actor.ActorSystem;
+import akka.actor.ExtendedActorSystem;
+import akka.serialization.JavaSerializer;
+import java.io.NotSerializableException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.raft.ReplicatedLogEntry;
+import org.opendaylight.controller.cluster.raft.messages.AppendEntries;
+import org.opendaylight.controller.cluster.raft.messages.RaftRPCSerializer;
+import org.opendaylight.controller.cluster.raft.persisted.SimpleReplicatedLogEntry;
+import org.opendaylight.controller.cluster.raft.protobuff.client.messages.Payload;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.concurrent.Await;
+import scala.concurrent.duration.Duration;
+
+/**
+ * Benchmark comparing {@link RaftRPCSerializer} with akka's {@link JavaSerializer} for {@link AppendEntries}. A zero
+ * entry count corresponds to a heartbeat. Serialized sizes of both forms are logged when the benchmark is set up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class RaftRPCSerializerBenchmark {
+    private static final Logger LOG = LoggerFactory.getLogger(RaftRPCSerializerBenchmark.class);
+
+    static final class BenchmarkPayload extends Payload implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] data;
+
+        BenchmarkPayload(final byte[] data) {
+            this.data = data;
+        }
+
+        @Override
+        public int size() {
+            return data.length;
+        }
+    }
+
+    @Param({"0", "1", "10", "100"})
+    public int entryCount;
+
+    @Param({"256"})
+    public int payloadSize;
+
+    private ActorSystem system;
+    private RaftRPCSerializer compactSerializer;
+    private JavaSerializer javaSerializer;
+    private AppendEntries message;
+    private String manifest;
+    private byte[] compactBytes;
+    private byte[] javaBytes;
+
+    @Setup
+    public void setUp() {
+        system = ActorSystem.create("raft-serializer-benchmark");
+        compactSerializer = new RaftRPCSerializer((ExtendedActorSystem) system);
+        javaSerializer = new JavaSerializer((ExtendedActorSystem) system);
+
+        final List<ReplicatedLogEntry> entries = new ArrayList<>(entryCount);
+        for (int i = 0; i < entryCount; ++i) {
+            entries.add(new SimpleReplicatedLogEntry(1000 + i, 5, new BenchmarkPayload(new byte[payloadSize])));
+        }
+        message = new AppendEntries(5, "member-1-shard-default-config", 999, 5, entries, 999, 998, (short) 5);
+
+        manifest = compactSerializer.manifest(message);
+        compactBytes = compactSerializer.toBinary(message);
+        javaBytes = javaSerializer.toBinary(message);
+        LOG.info("AppendEntries with {} entries of {} bytes: compact {} bytes, Java {} bytes", entryCount, payloadSize,
+            compactBytes.length, javaBytes.length);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        Await.result(system.terminate(), Duration.create(1, TimeUnit.MINUTES));
+    }
+
+    @Benchmark
+    public byte[] compactSerialize() {
+        return compactSerializer.toBinary(message);
+    }
+
+    @Benchmark
+    public Object compactDeserialize() throws NotSerializableException {
+        return compactSerializer.fromBinary(compactBytes, manifest);
+    }
+
+    @Benchmark
+    public byte[] javaSerialize() {
+        return javaSerializer.toBinary(message);
+    }
+
+    @Benchmark
+    public Object javaDeserialize() {
+        return javaSerializer.fromBinary(javaBytes);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.benchmark;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationListener;
+import org.opendaylight.controller.md.sal.dom.broker.impl.DOMNotificationRouter;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark measuring the cost of listener registration churn in {@link DOMNotificationRouter} with a large number of
+ * listeners spread across notification types, as happens when applications register listeners for each device,
+ * and the cost of publishing a notification while that is going on.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DOMNotificationRouterBenchmark {
+    private static final QName NOTIFICATION = QName.create("urn:opendaylight:benchmark:notification", "2018-01-01",
+        "notification");
+    private static final DOMNotificationListener LISTENER = notification -> { };
+
+    @Param({"10000"})
+    public int listeners;
+
+    @Param({"100"})
+    public int types;
+
+    private ListenerRegistration<?>[] registrations;
+    private SchemaPath[] typePaths;
+    private DOMNotification notification;
+    private DOMNotificationRouter router;
+
+    @Setup
+    public void setUp() {
+        typePaths = new SchemaPath[types];
+        for (int i = 0; i < types; ++i) {
+            typePaths[i] = SchemaPath.create(true, QName.create(NOTIFICATION, "type" + i));
+        }
+
+        final SchemaPath type = typePaths[0];
+        final ContainerNode body = ImmutableNodes.containerNode(NOTIFICATION);
+        notification = new DOMNotification() {
+            @Override
+            public SchemaPath getType() {
+                return type;
+            }
+
+            @Override
+            public ContainerNode getBody() {
+                return body;
+            }
+        };
+
+        router = DOMNotificationRouter.create(1024);
+        registrations = new ListenerRegistration<?>[listeners];
+        for (int i = 0; i < listeners; ++i) {
+            registrations[i] = router.registerNotificationListener(LISTENER, typePaths[i % types]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        router.close();
+    }
+
+    /**
+     * Per-thread cursor into the registrations being churned.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    /**
+     * Replaces one listener registration with a new one for the same type.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ListenerRegistration<?> reregister(final Cursor cursor) {
+        final int offset = cursor.next++ % listeners;
+        registrations[offset].close();
+        final ListenerRegistration<?> reg = router.registerNotificationListener(LISTENER, typePaths[offset % types]);
+        registrations[offset] = reg;
+        return reg;
+    }
+
+    /**
+     * Publishes a notification to listeners of a single type.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ListenableFuture<?> publish() throws InterruptedException {
+        return router.putNotification(notification);
+    }
+}
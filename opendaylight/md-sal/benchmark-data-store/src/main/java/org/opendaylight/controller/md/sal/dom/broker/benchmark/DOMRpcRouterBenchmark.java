@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.benchmark;
+
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
+import org.opendaylight.controller.md.sal.dom.broker.impl.DOMRpcRouter;
+import org.opendaylight.controller.md.sal.dom.spi.DefaultDOMRpcResult;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark measuring the cost of registering routed RPC contexts one at a time with {@link DOMRpcRouter}, as happens
+ * when a large number of devices is mounted, and the cost of RPC invocation lookups in a large routing table.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DOMRpcRouterBenchmark {
+    private static final QName NODES = QName.create("urn:opendaylight:benchmark:rpc", "2018-01-01", "nodes");
+    private static final QName NODE = QName.create(NODES, "node");
+    private static final QName ID = QName.create(NODES, "id");
+    private static final SchemaPath RPC_TYPE = SchemaPath.create(true, QName.create(NODES, "routed-rpc"));
+
+    private static final CheckedFuture<DOMRpcResult, DOMRpcException> RESULT =
+            Futures.immediateCheckedFuture(new DefaultDOMRpcResult());
+    private static final DOMRpcImplementation IMPLEMENTATION = (rpc, input) -> RESULT;
+
+    @Param({"100000"})
+    public int registrations;
+
+    private DOMRpcIdentifier[] rpcIds;
+    private DOMRpcRouter router;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        rpcIds = new DOMRpcIdentifier[registrations];
+        for (int i = 0; i < registrations; ++i) {
+            rpcIds[i] = DOMRpcIdentifier.create(RPC_TYPE, YangInstanceIdentifier.builder().node(NODES)
+                .nodeWithKey(NODE, ID, "node" + i).build());
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        router = new DOMRpcRouter();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() {
+        router.close();
+    }
+
+    /**
+     * Registers all contexts, one registration per context.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public DOMRpcRouter registerAll() {
+        for (DOMRpcIdentifier rpcId : rpcIds) {
+            router.registerRpcImplementation(IMPLEMENTATION, rpcId);
+        }
+        return router;
+    }
+
+    /**
+     * Registers the next context in a table which grows throughout the iteration.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public DOMRpcRouter registerOne() {
+        router.registerRpcImplementation(IMPLEMENTATION, DOMRpcIdentifier.create(RPC_TYPE,
+            YangInstanceIdentifier.builder().node(NODES).nodeWithKey(NODE, ID, "extra" + next++).build()));
+        return router;
+    }
+
+    /**
+     * State holding a router with all contexts registered.
+     */
+    @State(Scope.Benchmark)
+    public static class PopulatedRouter {
+        @Param({"100000"})
+        public int registrations;
+
+        DOMRpcRouter router;
+
+        @Setup
+        public void setUp() {
+            router = new DOMRpcRouter();
+            for (int i = 0; i < registrations; ++i) {
+                router.registerRpcImplementation(IMPLEMENTATION, DOMRpcIdentifier.create(RPC_TYPE,
+                    YangInstanceIdentifier.builder().node(NODES).nodeWithKey(NODE, ID, "node" + i).build()));
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            router.close();
+        }
+    }
+
+    /**
+     * Invokes an RPC in a populated routing table, measuring the lock-free lookup path.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public CheckedFuture<DOMRpcResult, DOMRpcException> invokeRpc(final PopulatedRouter populated) {
+        return populated.router.invokeRpc(RPC_TYPE, null);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.access.concepts;
+
+import akka.actor.ExtendedActorSystem;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import org.opendaylight.controller.cluster.io.AbstractCompactSerializer;
+import org.opendaylight.yangtools.concepts.WritableObjects;
+
+/**
+ * Akka serializer for {@link Envelope}s. It writes the envelope fields directly, without the class descriptors
+ * emitted by Java serialization, and follows them with the enclosed {@link Message}, which is still written as
+ * a Java object.
+ */
+public final class EnvelopeSerializer extends AbstractCompactSerializer {
+    private static final int REQUEST_ENVELOPE = 1;
+    private static final int SUCCESS_ENVELOPE = 2;
+    private static final int FAILURE_ENVELOPE = 3;
+
+    public EnvelopeSerializer(final ExtendedActorSystem system) {
+        super(system);
+    }
+
+    @Override
+    public int identifier() {
+        return 97439439;
+    }
+
+    @Override
+    protected int manifestCode(final Object obj) {
+        if (obj instanceof RequestEnvelope) {
+            return REQUEST_ENVELOPE;
+        } else if (obj instanceof SuccessEnvelope) {
+            return SUCCESS_ENVELOPE;
+        } else if (obj instanceof FailureEnvelope) {
+            return FAILURE_ENVELOPE;
+        } else {
+            throw new IllegalArgumentException("Unsupported object type " + obj.getClass());
+        }
+    }
+
+    @Override
+    protected void writeMessage(final int code, final Object obj, final DataOutputStream out) throws IOException {
+        final Envelope<?> envelope = (Envelope<?>) obj;
+        WritableObjects.writeLongs(out, envelope.getSessionId(), envelope.getTxSequence());
+        if (envelope instanceof ResponseEnvelope) {
+            WritableObjects.writeLong(out, ((ResponseEnvelope<?>) envelope).getExecutionTimeNanos());
+        }
+
+        final ObjectOutputStream oos = newObjectOutput(out);
+        oos.writeObject(envelope.getMessage());
+        oos.flush();
+    }
+
+    @Override
+    protected Object readMessage(final int code, final DataInputStream in) throws IOException,
+            ClassNotFoundException {
+        final byte header = WritableObjects.readLongHeader(in);
+        final long sessionId = WritableObjects.readFirstLong(in, header);
+        final long txSequence = WritableObjects.readSecondLong(in, header);
+
+        switch (code) {
+            case REQUEST_ENVELOPE:
+                return new RequestEnvelope((Request<?, ?>) readEnclosedMessage(in), sessionId, txSequence);
+            case SUCCESS_ENVELOPE: {
+                final long executionTimeNanos = WritableObjects.readLong(in);
+                return new SuccessEnvelope((RequestSuccess<?, ?>) readEnclosedMessage(in), sessionId, txSequence,
+                    executionTimeNanos);
+            }
+            case FAILURE_ENVELOPE: {
+                final long executionTimeNanos = WritableObjects.readLong(in);
+                return new FailureEnvelope((RequestFailure<?, ?>) readEnclosedMessage(in), sessionId, txSequence,
+                    executionTimeNanos);
+            }
+            default:
+                throw unknownManifestCode(code);
+        }
+    }
+
+    private Object readEnclosedMessage(final DataInputStream in) throws IOException, ClassNotFoundException {
+        return newObjectInput(in).readObject();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.access.concepts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import akka.actor.ActorSystem;
+import akka.actor.ExtendedActorSystem;
+import akka.testkit.TestProbe;
+import akka.testkit.javadsl.TestKit;
+import java.io.NotSerializableException;
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.access.commands.TransactionAbortSuccess;
+import org.opendaylight.controller.cluster.access.commands.TransactionPurgeRequest;
+
+public class EnvelopeSerializerTest {
+    private static final FrontendIdentifier FRONTEND =
+            new FrontendIdentifier(MemberName.forName("test"), FrontendIdentifierTest.ONE_FRONTEND_TYPE);
+    private static final ClientIdentifier CLIENT = new ClientIdentifier(FRONTEND, 0);
+    private static final LocalHistoryIdentifier HISTORY = new LocalHistoryIdentifier(CLIENT, 0);
+    private static final TransactionIdentifier TRANSACTION_ID = new TransactionIdentifier(HISTORY, 0);
+
+    private ActorSystem system;
+    private EnvelopeSerializer serializer;
+    private TestProbe replyToProbe;
+
+    @Before
+    public void setUp() {
+        system = ActorSystem.apply();
+        serializer = new EnvelopeSerializer((ExtendedActorSystem) system);
+        replyToProbe = new TestProbe(system);
+    }
+
+    @After
+    public void tearDown() {
+        TestKit.shutdownActorSystem(system);
+    }
+
+    @Test
+    public void testRequestEnvelope() throws Exception {
+        final RequestEnvelope expected = new RequestEnvelope(
+            new TransactionPurgeRequest(TRANSACTION_ID, 2L, replyToProbe.ref()), 1L, 3L);
+
+        final RequestEnvelope actual = (RequestEnvelope) roundTrip(expected);
+        assertEnvelope(expected, actual);
+        assertTrue(actual.getMessage() instanceof TransactionPurgeRequest);
+        assertEquals(replyToProbe.ref(), actual.getMessage().getReplyTo());
+    }
+
+    @Test
+    public void testSuccessEnvelope() throws Exception {
+        final SuccessEnvelope expected = new SuccessEnvelope(new TransactionAbortSuccess(TRANSACTION_ID, 2L),
+            Long.MAX_VALUE, 5L, 11L);
+
+        final SuccessEnvelope actual = (SuccessEnvelope) roundTrip(expected);
+        assertEnvelope(expected, actual);
+        assertEquals(expected.getExecutionTimeNanos(), actual.getExecutionTimeNanos());
+        assertTrue(actual.getMessage() instanceof TransactionAbortSuccess);
+    }
+
+    @Test
+    public void testFailureEnvelope() throws Exception {
+        final RequestFailure<?, ?> failure = new TransactionPurgeRequest(TRANSACTION_ID, 2L, replyToProbe.ref())
+                .toRequestFailure(new RuntimeRequestException("fail", new RuntimeException()));
+        final FailureEnvelope expected = new FailureEnvelope(failure, 1L, 6L, 12L);
+
+        final FailureEnvelope actual = (FailureEnvelope) roundTrip(expected);
+        assertEnvelope(expected, actual);
+        assertEquals(expected.getExecutionTimeNanos(), actual.getExecutionTimeNanos());
+        assertEquals("fail", actual.getMessage().getCause().getMessage());
+    }
+
+    @Test
+    public void testSmallerThanJavaSerialization() {
+        final SuccessEnvelope envelope = new SuccessEnvelope(new TransactionAbortSuccess(TRANSACTION_ID, 2L),
+            1L, 5L, 11L);
+        assertTrue(serializer.toBinary(envelope).length < SerializationUtils.serialize(envelope).length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedObject() {
+        serializer.manifest("foo");
+    }
+
+    @Test(expected = NotSerializableException.class)
+    public void testUnknownManifest() throws NotSerializableException {
+        serializer.fromBinary(new byte[0], "99");
+    }
+
+    private Object roundTrip(final Envelope<?> envelope) throws NotSerializableException {
+        return serializer.fromBinary(serializer.toBinary(envelope), serializer.manifest(envelope));
+    }
+
+    private static void assertEnvelope(final Envelope<?> expected, final Envelope<?> actual) {
+        assertEquals(expected.getSessionId(), actual.getSessionId());
+        assertEquals(expected.getTxSequence(), actual.getTxSequence());
+        assertEquals(expected.getMessage().getTarget(), actual.getMessage().getTarget());
+        assertEquals(expected.getMessage().getSequence(), actual.getMessage().getSequence());
+    }
+}
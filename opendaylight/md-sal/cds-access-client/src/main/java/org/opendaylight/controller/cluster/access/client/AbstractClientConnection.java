@@ -157,7 +157,7 @@ public abstract class AbstractClientConnection<T extends BackendInfo> {
      *
      * <p>
      * Note that unlike {@link #sendRequest(Request, Consumer)}, this method does not exert backpressure, hence it
-     * should never be called from an application thread.
+     * should never be called from an application thread, unless that thread respects {@link #admissionDelay()}.
      *
      * @param request Request to send
      * @param callback Callback to invoke
@@ -168,6 +168,23 @@ public abstract class AbstractClientConnection<T extends BackendInfo> {
         enqueueEntry(new ConnectionEntry(request, callback, enqueuedTicks), currentTime());
     }
 
+    /**
+     * Return the time a caller should wait before sending another request, so as not to exceed the rate at which the
+     * backend is able to process requests. This is the delay {@link #sendRequest(Request, Consumer)} would have
+     * imposed on the calling thread, allowing callers to implement backpressure without blocking a thread.
+     *
+     * @return Delay in nanoseconds, zero if a request can be sent immediately
+     */
+    public final long admissionDelay() {
+        final long now = currentTime();
+        lock.lock();
+        try {
+            return Math.min(queue.ticksUntilAllowed(now), MAX_DELAY_NANOS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
     private long enqueueOrForward(final ConnectionEntry entry, final long now) {
         lock.lock();
         try {
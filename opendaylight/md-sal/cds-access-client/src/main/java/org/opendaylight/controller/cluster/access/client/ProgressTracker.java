@@ -227,6 +227,18 @@ abstract class ProgressTracker {
         return Math.max(now, nearestAllowed + estimateIsolatedDelay(now));
     }
 
+    /**
+     * Number of ticks until the delay reserved by the last opened task expires. A caller which waits this long before
+     * opening another task does not exceed the rate at which tasks are being closed.
+     *
+     * @param now tick number corresponding to caller's present
+     * @return number of ticks (nanos) until another task can be opened, zero if it can be opened immediately
+     */
+    final long ticksUntilAllowed(final long now) {
+        // Compare before subtracting, as nearestAllowed starts off as Long.MIN_VALUE
+        return nearestAllowed > now ? nearestAllowed - now : 0;
+    }
+
     // State-altering "public" methods.
 
     /**
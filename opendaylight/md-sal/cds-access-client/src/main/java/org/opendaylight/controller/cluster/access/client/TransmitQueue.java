@@ -16,6 +16,8 @@ import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import javax.annotation.concurrent.NotThreadSafe;
@@ -41,9 +43,11 @@ import org.slf4j.LoggerFactory;
  * but can involve spurious removals of non-head entries.
  *
  * <p>
- * For memory efficiency we want to pre-allocate both queues -- which points to ArrayDeque, but that is very
- * inefficient when entries are removed from the middle. In the typical case we expect the number of in-flight
- * entries to be an order of magnitude lower than the number of enqueued entries, hence the split.
+ * For memory efficiency we want to pre-allocate the pending queue -- which points to ArrayDeque, but that is very
+ * inefficient when entries are removed from the middle. In-flight entries are completed by responses, which can
+ * arrive in any order and need to be matched quickly even when the backend allows thousands of in-flight messages.
+ * They are therefore kept in a {@link LinkedHashMap} indexed by the session and sequence of their envelope, which
+ * retains the transmit order required when the queue is drained or spliced.
  *
  * <p>
  * Note that in transient case of reconnect, when the backend gives us a lower number of maximum in-flight entries
@@ -146,7 +150,37 @@ abstract class TransmitQueue {
 
     private static final Logger LOG = LoggerFactory.getLogger(TransmitQueue.class);
 
-    private final Deque<TransmittedConnectionEntry> inflight = new ArrayDeque<>();
+    /**
+     * Key identifying a transmitted entry by the session and sequence of the {@link RequestEnvelope} it was sent in.
+     */
+    private static final class InflightKey {
+        private final long sessionId;
+        private final long txSequence;
+
+        InflightKey(final long sessionId, final long txSequence) {
+            this.sessionId = sessionId;
+            this.txSequence = txSequence;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(sessionId) + Long.hashCode(txSequence);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof InflightKey)) {
+                return false;
+            }
+            final InflightKey other = (InflightKey) obj;
+            return sessionId == other.sessionId && txSequence == other.txSequence;
+        }
+    }
+
+    private final Map<InflightKey, TransmittedConnectionEntry> inflight = new LinkedHashMap<>();
     private final Deque<ConnectionEntry> pending = new ArrayDeque<>();
     private final AveragingProgressTracker tracker;  // Cannot be just ProgressTracker as we are inheriting limits.
     private ReconnectForwarder successor;
@@ -188,7 +222,7 @@ abstract class TransmitQueue {
      */
     final Collection<ConnectionEntry> drain() {
         final Collection<ConnectionEntry> ret = new ArrayDeque<>(inflight.size() + pending.size());
-        ret.addAll(inflight);
+        ret.addAll(inflight.values());
         ret.addAll(pending);
         inflight.clear();
         pending.clear();
@@ -199,6 +233,11 @@ abstract class TransmitQueue {
         return tracker.ticksStalling(now);
     }
 
+    final long ticksUntilAllowed(final long now) {
+        // A successor pays the price of forwarded entries, hence we do not impose any delay
+        return successor != null ? 0 : tracker.ticksUntilAllowed(now);
+    }
+
     final boolean hasSuccessor() {
         return successor != null;
     }
@@ -207,7 +246,7 @@ abstract class TransmitQueue {
     final Optional<TransmittedConnectionEntry> complete(final ResponseEnvelope<?> envelope, final long now) {
         preComplete(envelope);
 
-        Optional<TransmittedConnectionEntry> maybeEntry = findMatchingEntry(inflight, envelope);
+        Optional<TransmittedConnectionEntry> maybeEntry = findInflightEntry(envelope);
         if (maybeEntry == null) {
             LOG.debug("Request for {} not found in inflight queue, checking pending queue", envelope);
             maybeEntry = findMatchingEntry(pending, envelope);
@@ -256,7 +295,8 @@ abstract class TransmitQueue {
             return false;
         }
 
-        inflight.addLast(maybeTransmitted.get());
+        final TransmittedConnectionEntry transmitted = maybeTransmitted.get();
+        inflight.put(new InflightKey(transmitted.getSessionId(), transmitted.getTxSequence()), transmitted);
         return true;
     }
 
@@ -330,16 +370,15 @@ abstract class TransmitQueue {
     }
 
     final ConnectionEntry peek() {
-        final ConnectionEntry ret = inflight.peek();
-        if (ret != null) {
-            return ret;
+        if (!inflight.isEmpty()) {
+            return inflight.values().iterator().next();
         }
 
         return pending.peek();
     }
 
     final void poison(final RequestException cause) {
-        poisonQueue(inflight, cause);
+        poisonQueue(inflight.values(), cause);
         poisonQueue(pending, cause);
     }
 
@@ -354,14 +393,15 @@ abstract class TransmitQueue {
          * replay thread, there was an avenue for this to happen.
          */
         int count = 0;
-        ConnectionEntry entry = inflight.poll();
-        while (entry != null) {
+        final Iterator<TransmittedConnectionEntry> it = inflight.values().iterator();
+        while (it.hasNext()) {
+            final ConnectionEntry entry = it.next();
+            it.remove();
             successor.replayEntry(entry, now);
-            entry = inflight.poll();
             count++;
         }
 
-        entry = pending.poll();
+        ConnectionEntry entry = pending.poll();
         while (entry != null) {
             successor.replayEntry(entry, now);
             entry = pending.poll();
@@ -372,18 +412,20 @@ abstract class TransmitQueue {
     }
 
     final void remove(final long now) {
-        final TransmittedConnectionEntry txe = inflight.poll();
-        if (txe == null) {
+        if (inflight.isEmpty()) {
             final ConnectionEntry entry = pending.pop();
             tracker.closeTask(now, entry.getEnqueuedTicks(), 0, 0);
         } else {
+            final Iterator<TransmittedConnectionEntry> it = inflight.values().iterator();
+            final TransmittedConnectionEntry txe = it.next();
+            it.remove();
             tracker.closeTask(now, txe.getEnqueuedTicks(), txe.getTxTicks(), 0);
         }
     }
 
     @VisibleForTesting
-    Deque<TransmittedConnectionEntry> getInflight() {
-        return inflight;
+    Collection<TransmittedConnectionEntry> getInflight() {
+        return inflight.values();
     }
 
     @VisibleForTesting
@@ -391,6 +433,35 @@ abstract class TransmitQueue {
         return pending;
     }
 
+    /*
+     * Look up the in-flight entry transmitted in the envelope this response corresponds to. This has the same tri-state
+     * return contract as findMatchingEntry().
+     */
+    @SuppressFBWarnings(value = "NP_OPTIONAL_RETURN_NULL",
+            justification = "Returning null Optional is documented in the API contract.")
+    private Optional<TransmittedConnectionEntry> findInflightEntry(final ResponseEnvelope<?> envelope) {
+        final InflightKey key = new InflightKey(envelope.getSessionId(), envelope.getTxSequence());
+        final TransmittedConnectionEntry entry = inflight.get(key);
+        if (entry == null) {
+            return null;
+        }
+
+        final Request<?, ?> request = entry.getRequest();
+        final Response<?, ?> response = envelope.getMessage();
+        if (!request.getTarget().equals(response.getTarget())) {
+            LOG.warn("Expecting target {}, ignoring response {}", request.getTarget(), envelope);
+            return Optional.empty();
+        }
+        if (request.getSequence() != response.getSequence()) {
+            LOG.debug("Expecting sequence {}, ignoring response {}", request.getSequence(), envelope);
+            return Optional.empty();
+        }
+
+        LOG.debug("Completing request {} with {}", request, envelope);
+        inflight.remove(key);
+        return Optional.of(entry);
+    }
+
     /*
      * We are using tri-state return here to indicate one of three conditions:
      * - if a matching entry is found, return an Optional containing it
@@ -445,7 +516,7 @@ abstract class TransmitQueue {
         return null;
     }
 
-    private static void poisonQueue(final Queue<? extends ConnectionEntry> queue, final RequestException cause) {
+    private static void poisonQueue(final Collection<? extends ConnectionEntry> queue, final RequestException cause) {
         for (ConnectionEntry e : queue) {
             final Request<?, ?> request = e.getRequest();
             LOG.trace("Poisoning request {}", request, cause);
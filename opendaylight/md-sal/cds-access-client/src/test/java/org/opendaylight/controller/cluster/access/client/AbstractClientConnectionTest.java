@@ -20,6 +20,7 @@ import akka.testkit.TestProbe;
 import akka.testkit.javadsl.TestKit;
 import com.google.common.collect.Iterables;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import org.junit.After;
 import org.junit.Assert;
@@ -126,6 +127,22 @@ public abstract class AbstractClientConnectionTest<T extends AbstractClientConne
         Assert.assertTrue(timeout.isPresent());
     }
 
+    @Test
+    public void testAdmissionDelay() throws Exception {
+        Assert.assertEquals(0, connection.admissionDelay());
+
+        // Enqueueing does not impose any delay, but the connection keeps track of it
+        final Consumer<Response<?, ?>> callback = mock(Consumer.class);
+        final long now = context.ticker().read();
+        for (int i = 0; i < 5000; ++i) {
+            connection.enqueueRequest(createRequest(replyToProbe.ref()), callback, now);
+        }
+
+        final long delay = connection.admissionDelay();
+        Assert.assertTrue(delay > 0);
+        Assert.assertTrue(delay <= TimeUnit.SECONDS.toNanos(5));
+    }
+
     @Test
     public void testReplay() throws Exception {
         final Consumer<Response<?, ?>> callback = mock(Consumer.class);
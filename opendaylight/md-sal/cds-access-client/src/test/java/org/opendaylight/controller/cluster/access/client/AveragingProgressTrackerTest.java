@@ -63,4 +63,22 @@ public class AveragingProgressTrackerTest {
         assertEquals(0, averagingProgressTracker.estimateIsolatedDelay(ticker.read()));
     }
 
+    @Test
+    public void ticksUntilAllowedTest() {
+        final long time = ticker.read();
+        assertEquals(0, averagingProgressTracker.ticksUntilAllowed(time));
+
+        // fill up the tracker, so that opening a task reserves a delay
+        long delay = 0;
+        for (int i = 0; i < 4; ++i) {
+            delay = averagingProgressTracker.openTask(time);
+        }
+        assertTrue(delay > 0);
+
+        // the reserved delay is what the caller is expected to wait before opening another task
+        assertEquals(delay, averagingProgressTracker.ticksUntilAllowed(time));
+        assertEquals(delay / 2, averagingProgressTracker.ticksUntilAllowed(time + delay - delay / 2));
+        assertEquals(0, averagingProgressTracker.ticksUntilAllowed(time + delay + 1));
+    }
+
 }
\ No newline at end of file
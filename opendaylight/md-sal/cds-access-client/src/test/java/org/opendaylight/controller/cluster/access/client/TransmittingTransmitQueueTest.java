@@ -23,6 +23,7 @@ import static org.opendaylight.controller.cluster.access.client.ConnectionEntryM
 import com.google.common.base.Ticker;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
 import com.google.common.testing.FakeTicker;
 import java.util.Arrays;
 import java.util.Collection;
@@ -101,6 +102,28 @@ public class TransmittingTransmitQueueTest extends AbstractTransmitQueueTest<Tra
         assertEquals(transmittedEntry2.getCallback(), callback2);
     }
 
+    @Test
+    public void testCompleteMismatched() throws Exception {
+        final Request<?, ?> request = new TransactionPurgeRequest(TRANSACTION_IDENTIFIER, 5L, probe.ref());
+        final long now = now();
+        queue.enqueueOrForward(new ConnectionEntry(request, createConsumerMock(), now), now);
+
+        // Matching envelope, but a different logical sequence
+        assertFalse(queue.complete(new SuccessEnvelope(new TransactionPurgeResponse(TRANSACTION_IDENTIFIER, 4L),
+            0L, 0L, 1L), now).isPresent());
+        // Matching envelope, but a different target
+        assertFalse(queue.complete(new SuccessEnvelope(new TransactionPurgeResponse(
+            new TransactionIdentifier(HISTORY, 1L), 5L), 0L, 0L, 1L), now).isPresent());
+        // Matching request, but a different session
+        assertFalse(queue.complete(new SuccessEnvelope(new TransactionPurgeResponse(TRANSACTION_IDENTIFIER, 5L),
+            1L, 0L, 1L), now).isPresent());
+        assertEqualRequests(queue.getInflight(), request);
+
+        assertTrue(queue.complete(new SuccessEnvelope(new TransactionPurgeResponse(TRANSACTION_IDENTIFIER, 5L),
+            0L, 0L, 1L), now).isPresent());
+        assertEqualRequests(queue.getInflight());
+    }
+
     @Test
     public void testEnqueueCanTransmit() throws Exception {
         final Request<?, ?> request = new TransactionPurgeRequest(TRANSACTION_IDENTIFIER, 0L, probe.ref());
@@ -211,7 +234,7 @@ public class TransmittingTransmitQueueTest extends AbstractTransmitQueueTest<Tra
         assertEqualRequests(queue.getPending(), req5);
 
         // Remove req4, creating an inconsistency...
-        queue.getInflight().removeLast();
+        queue.getInflight().remove(Iterables.getLast(queue.getInflight()));
         assertEqualRequests(queue.getInflight(), req2, req3);
         assertEqualRequests(queue.getPending(), req5);
 
@@ -22,4 +22,11 @@ public interface TracingDOMDataBroker extends DOMDataBroker {
      */
     boolean printOpenTransactions(PrintStream printStream);
 
+    /**
+     * Prints the most recent write operations and transaction submits, oldest first, including the stack trace
+     * of the caller if it was sampled, onto the printStream.
+     * @return true if there were any recorded operations, false if none or if recording is disabled
+     */
+    boolean printRecentOperations(PrintStream printStream);
+
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.trace.cli;
+
+import org.apache.karaf.shell.api.action.Action;
+import org.apache.karaf.shell.api.action.Command;
+import org.apache.karaf.shell.api.action.lifecycle.Reference;
+import org.apache.karaf.shell.api.action.lifecycle.Service;
+import org.opendaylight.controller.md.sal.trace.api.TracingDOMDataBroker;
+
+/**
+ * Karaf CLI command to dump the most recent operations.
+ */
+@Service
+@Command(scope = "trace", name = "operations",
+    description = "Show the most recent write operations and transaction submits; including sampled stack traces, "
+    + "if recent-operations-capacity is set in mdsaltrace_config.xml")
+public class PrintRecentOperationsCommand implements Action {
+
+    @Reference
+    private TracingDOMDataBroker tracingDOMDataBroker;
+
+    // NB: Do NOT have a non-default constructor for injection of @Reference
+    // Karaf needs a default constructor to create the command - and it works as is.
+
+    @Override
+    @SuppressWarnings("checkstyle:RegexpSingleLineJava")
+    public Object execute() throws Exception {
+        if (!tracingDOMDataBroker.printRecentOperations(System.out)) {
+            System.out.println("No recent operations recorded.");
+        }
+        return null;
+    }
+
+}
@@ -34,7 +34,7 @@ public class CloseTrackedRegistry<T extends CloseTracked<T>> {
     private final Set<CloseTracked<T>> tracked = new ConcurrentSkipListSet<>(
         (o1, o2) -> Integer.compare(System.identityHashCode(o1), System.identityHashCode(o2)));
 
-    private final boolean isDebugContextEnabled;
+    private final StackSampler stackSampler;
 
     /**
      * Constructor.
@@ -51,13 +51,34 @@ public class CloseTrackedRegistry<T extends CloseTracked<T>> {
      *            troubleshooting
      */
     public CloseTrackedRegistry(Object anchor, String createDescription, boolean isDebugContextEnabled) {
+        this(anchor, createDescription, isDebugContextEnabled ? StackSampler.always() : StackSampler.disabled());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param anchor
+     *            object where this registry is stored in, used for human output in
+     *            logging and other output
+     * @param createDescription
+     *            description of creator of instances of this registry, typically
+     *            e.g. name of method in the anchor class
+     * @param stackSampler
+     *            decides for which instances the call stack should be preserved; sampling
+     *            only some of them makes tracking affordable outside of troubleshooting
+     */
+    public CloseTrackedRegistry(Object anchor, String createDescription, StackSampler stackSampler) {
         this.anchor = anchor;
         this.createDescription = createDescription;
-        this.isDebugContextEnabled = isDebugContextEnabled;
+        this.stackSampler = stackSampler;
     }
 
     public boolean isDebugContextEnabled() {
-        return isDebugContextEnabled;
+        return stackSampler.isEnabled();
+    }
+
+    public StackSampler getStackSampler() {
+        return stackSampler;
     }
 
     public Object getAnchor() {
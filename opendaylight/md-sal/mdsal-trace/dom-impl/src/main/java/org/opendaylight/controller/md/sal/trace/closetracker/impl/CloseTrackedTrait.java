@@ -31,13 +31,9 @@ public class CloseTrackedTrait<T extends CloseTracked<T>> implements CloseTracke
     private final CloseTracked<T> realCloseTracked;
 
     public CloseTrackedTrait(CloseTrackedRegistry<T> transactionChainRegistry, CloseTracked<T> realCloseTracked) {
-        if (transactionChainRegistry.isDebugContextEnabled()) {
-            // NB: We're NOT doing the (expensive) getStackTrace() here just yet (only below)
-            // TODO When we're on Java 9, then instead use the new java.lang.StackWalker API..
-            this.allocationContext = new Throwable();
-        } else {
-            this.allocationContext = null;
-        }
+        // NB: We're NOT doing the (expensive) getStackTrace() here just yet (only below)
+        // TODO When we're on Java 9, then instead use the new java.lang.StackWalker API..
+        this.allocationContext = transactionChainRegistry.getStackSampler().sample();
         this.realCloseTracked = Objects.requireNonNull(realCloseTracked, "realCloseTracked");
         this.closeTrackedRegistry = Objects.requireNonNull(transactionChainRegistry, "transactionChainRegistry");
         this.closeTrackedRegistry.add(this);
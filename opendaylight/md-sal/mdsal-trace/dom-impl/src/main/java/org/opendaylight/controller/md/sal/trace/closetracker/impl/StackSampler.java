@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.trace.closetracker.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Decides which call sites get their stack captured, capturing one in every {@code interval} invocations of
+ * {@link #sample()}.
+ *
+ * <p>The stack is captured as a {@link Throwable}, whose frames are only materialized when
+ * {@link Throwable#getStackTrace()} is invoked. This is the closest we have to java.lang.StackWalker's lazy frames
+ * on Java 8: filling in the stack trace is a cheap native walk, while creating the {@link StackTraceElement}s is
+ * what makes {@code Thread.currentThread().getStackTrace()} expensive.
+ */
+@ThreadSafe
+public final class StackSampler {
+    private static final StackSampler DISABLED = new StackSampler(0);
+    private static final StackSampler ALWAYS = new StackSampler(1);
+
+    private final AtomicLong counter = new AtomicLong();
+    private final long interval;
+
+    private StackSampler(long interval) {
+        this.interval = interval;
+    }
+
+    public static StackSampler disabled() {
+        return DISABLED;
+    }
+
+    public static StackSampler always() {
+        return ALWAYS;
+    }
+
+    /**
+     * Returns a sampler which captures one in every {@code interval} stacks.
+     *
+     * @param interval sampling interval, 1 to capture every stack, 0 to capture none
+     * @return a sampler
+     */
+    public static StackSampler everyNth(long interval) {
+        if (interval < 0) {
+            throw new IllegalArgumentException("Invalid sampling interval " + interval);
+        }
+        if (interval == 0) {
+            return DISABLED;
+        }
+        return interval == 1 ? ALWAYS : new StackSampler(interval);
+    }
+
+    public boolean isEnabled() {
+        return interval > 0;
+    }
+
+    public long getInterval() {
+        return interval;
+    }
+
+    /**
+     * Captures the current stack if this invocation is sampled.
+     *
+     * @return A Throwable holding the caller's stack, or null if this invocation was not sampled
+     */
+    public @Nullable Throwable sample() {
+        if (interval == 0) {
+            return null;
+        }
+        if (interval == 1 || counter.getAndIncrement() % interval == 0) {
+            return new Throwable();
+        }
+        return null;
+    }
+}
@@ -24,9 +24,26 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
 abstract class AbstractTracingWriteTransaction implements DOMDataWriteTransaction {
 
+    private static final class WriteOp {
+        final LogicalDatastoreType store;
+        final YangInstanceIdentifier yiid;
+        final String method;
+        final NormalizedNode<?, ?> node;
+        final Throwable context;
+
+        WriteOp(LogicalDatastoreType store, YangInstanceIdentifier yiid, String method, NormalizedNode<?, ?> node,
+                Throwable context) {
+            this.store = store;
+            this.yiid = yiid;
+            this.method = method;
+            this.node = node;
+            this.context = context;
+        }
+    }
+
     private final DOMDataWriteTransaction delegate;
     private final TracingBroker tracingBroker;
-    private final List<String> logs = new ArrayList<>();
+    private final List<WriteOp> ops = new ArrayList<>();
 
     AbstractTracingWriteTransaction(DOMDataWriteTransaction delegate, TracingBroker tracingBroker) {
         this.delegate = Objects.requireNonNull(delegate);
@@ -35,7 +52,15 @@ abstract class AbstractTracingWriteTransaction implements DOMDataWriteTransactio
 
     private void recordOp(LogicalDatastoreType store, YangInstanceIdentifier yiid, String method,
             NormalizedNode<?, ?> node) {
-        if (!tracingBroker.isWriteWatched(yiid, store)) {
+        final boolean watched = tracingBroker.isWriteWatched(yiid, store);
+        if (!watched && !tracingBroker.isRecordingOperations()) {
+            return;
+        }
+
+        // Only the stack is captured here, everything is rendered when (and if) the operation is logged or dumped
+        final Throwable context = tracingBroker.sampleWriteStack();
+        tracingBroker.recordOperation(method, getIdentifier(), store, yiid, context);
+        if (!watched) {
             return;
         }
 
@@ -46,27 +71,33 @@ abstract class AbstractTracingWriteTransaction implements DOMDataWriteTransactio
                 TracingBroker.LOG.debug("Empty data set write to {}", tracingBroker.toPathString(yiid));
             }
         } else {
-            StringBuilder sb = new StringBuilder();
-            sb.append("Method \"").append(method);
-            sb.append("\" to ").append(store);
-            sb.append(" at ").append(tracingBroker.toPathString(yiid)).append('.');
-            sb.append(" Data: ");
-            if (node != null) {
-                sb.append(node.getValue());
-            } else {
-                sb.append("null");
-            }
-            sb.append(" Stack:").append(tracingBroker.getStackSummary());
             synchronized (this) {
-                logs.add(sb.toString());
+                ops.add(new WriteOp(store, yiid, method, node, context));
             }
         }
     }
 
+    private String toLogString(WriteOp op) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Method \"").append(op.method);
+        sb.append("\" to ").append(op.store);
+        sb.append(" at ").append(tracingBroker.toPathString(op.yiid)).append('.');
+        sb.append(" Data: ");
+        if (op.node != null) {
+            sb.append(op.node.getValue());
+        } else {
+            sb.append("null");
+        }
+        sb.append(" Stack:").append(tracingBroker.getStackSummary(op.context));
+        return sb.toString();
+    }
+
     private synchronized void logOps() {
         synchronized (this) {
-            logs.forEach(log -> TracingBroker.LOG.warn(log));
-            logs.clear();
+            if (TracingBroker.LOG.isWarnEnabled()) {
+                ops.forEach(op -> TracingBroker.LOG.warn(toLogString(op)));
+            }
+            ops.clear();
         }
     }
 
@@ -85,8 +116,9 @@ abstract class AbstractTracingWriteTransaction implements DOMDataWriteTransactio
     @Override
     public boolean cancel() {
         synchronized (this) {
-            logs.clear();
+            ops.clear();
         }
+        tracingBroker.recordOperation("cancel", getIdentifier(), null, null, null);
         boolean result = delegate.cancel();
         return result;
     }
@@ -100,12 +132,14 @@ abstract class AbstractTracingWriteTransaction implements DOMDataWriteTransactio
     @Override
     public CheckedFuture<Void, TransactionCommitFailedException> submit() {
         logOps();
+        tracingBroker.recordOperation("submit", getIdentifier(), null, null, null);
         return delegate.submit();
     }
 
     @Override
     public ListenableFuture<RpcResult<TransactionStatus>> commit() {
         logOps();
+        tracingBroker.recordOperation("commit", getIdentifier(), null, null, null);
         return delegate.commit();
     }
 
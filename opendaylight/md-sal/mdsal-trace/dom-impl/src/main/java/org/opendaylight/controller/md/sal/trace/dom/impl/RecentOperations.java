@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.trace.dom.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+/**
+ * Bounded ring buffer of the most recent operations performed through a {@link TracingBroker}. Recording an
+ * operation only stores references, everything is rendered when the buffer is dumped, hence it is cheap enough
+ * to be left enabled.
+ */
+final class RecentOperations {
+    static final class Operation {
+        final long timestampMillis;
+        final String threadName;
+        final String method;
+        final Object transactionId;
+        final @Nullable LogicalDatastoreType store;
+        final @Nullable YangInstanceIdentifier path;
+        final @Nullable Throwable context;
+
+        Operation(String method, Object transactionId, @Nullable LogicalDatastoreType store,
+                @Nullable YangInstanceIdentifier path, @Nullable Throwable context) {
+            this.timestampMillis = System.currentTimeMillis();
+            this.threadName = Thread.currentThread().getName();
+            this.method = method;
+            this.transactionId = transactionId;
+            this.store = store;
+            this.path = path;
+            this.context = context;
+        }
+    }
+
+    private final AtomicLong nextIndex = new AtomicLong();
+    private final AtomicReferenceArray<Operation> ring;
+
+    RecentOperations(int capacity) {
+        ring = new AtomicReferenceArray<>(capacity);
+    }
+
+    boolean isEnabled() {
+        return ring.length() > 0;
+    }
+
+    int capacity() {
+        return ring.length();
+    }
+
+    void record(Operation operation) {
+        ring.set((int) (nextIndex.getAndIncrement() % ring.length()), operation);
+    }
+
+    /**
+     * Returns the recorded operations, oldest first. Operations recorded concurrently with this method may or may not
+     * be included.
+     *
+     * @return List of recorded operations
+     */
+    List<Operation> snapshot() {
+        final int capacity = ring.length();
+        final long end = nextIndex.get();
+        final List<Operation> ret = new ArrayList<>(capacity);
+        for (long i = Math.max(0, end - capacity); i < end; ++i) {
+            final Operation op = ring.get((int) (i % capacity));
+            if (op != null) {
+                ret.add(op);
+            }
+        }
+        return ret;
+    }
+}
@@ -8,13 +8,18 @@
 package org.opendaylight.controller.md.sal.trace.dom.impl;
 
 import java.io.PrintStream;
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import org.opendaylight.controller.md.sal.common.api.data.AsyncDataBroker;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionChainListener;
@@ -33,6 +38,7 @@ import org.opendaylight.controller.md.sal.trace.api.TracingDOMDataBroker;
 import org.opendaylight.controller.md.sal.trace.closetracker.impl.CloseTracked;
 import org.opendaylight.controller.md.sal.trace.closetracker.impl.CloseTrackedRegistry;
 import org.opendaylight.controller.md.sal.trace.closetracker.impl.CloseTrackedRegistryReportEntry;
+import org.opendaylight.controller.md.sal.trace.closetracker.impl.StackSampler;
 import org.opendaylight.mdsal.binding.dom.codec.api.BindingNormalizedNodeSerializer;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsaltrace.rev160908.Config;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
@@ -90,6 +96,13 @@ import org.slf4j.LoggerFactory;
  * convenient but non-standard representation of the instance identifiers. Each instance identifier segment's
  * class.getSimpleName() is used separated by a '/'.
  * <p> </p>
+ * <h1>Production use:</h1>
+ * Capturing call stacks is what makes tracing expensive. Setting stack-sample-interval to N captures the stack
+ * of only one in N transaction allocations and write operations, and stacks are only rendered when they are
+ * printed. Matching writes against write watches is memoized per schema path in a {@link WriteWatchTrie}.
+ * Setting recent-operations-capacity keeps a bounded ring buffer of the most recent write operations, which can
+ * be dumped using the trace:operations command.
+ * <p> </p>
  * <h1>Known issues</h1>
  * <ul>
  *     <li>
@@ -110,6 +123,9 @@ public class TracingBroker implements TracingDOMDataBroker {
     private final DOMDataBroker delegate;
     private final List<Watch> registrationWatches = new ArrayList<>();
     private final List<Watch> writeWatches = new ArrayList<>();
+    private final WriteWatchTrie writeWatchTrie = new WriteWatchTrie(this::matchesWriteWatches);
+    private final StackSampler writeStackSampler;
+    private final RecentOperations recentOperations;
 
     private final boolean isDebugging;
     private final CloseTrackedRegistry<TracingTransactionChain> transactionChainsRegistry;
@@ -186,11 +202,19 @@ public class TracingBroker implements TracingDOMDataBroker {
         } else {
             this.isDebugging = false;
         }
+        final long sampleInterval = config.getStackSampleInterval() != null ? config.getStackSampleInterval() : 1;
+        this.writeStackSampler = StackSampler.everyNth(sampleInterval);
+        final StackSampler txSampler = isDebugging ? StackSampler.everyNth(sampleInterval) : StackSampler.disabled();
+
+        final Long recentOperationsCapacity = config.getRecentOperationsCapacity();
+        this.recentOperations = new RecentOperations(recentOperationsCapacity != null
+                ? (int) Math.min(recentOperationsCapacity, Integer.MAX_VALUE) : 0);
+
         final String db = "DataBroker";
-        this.transactionChainsRegistry     = new CloseTrackedRegistry<>(db, "createTransactionChain()", isDebugging);
-        this.readOnlyTransactionsRegistry  = new CloseTrackedRegistry<>(db, "newReadOnlyTransaction()", isDebugging);
-        this.writeTransactionsRegistry     = new CloseTrackedRegistry<>(db, "newWriteOnlyTransaction()", isDebugging);
-        this.readWriteTransactionsRegistry = new CloseTrackedRegistry<>(db, "newReadWriteTransaction()", isDebugging);
+        this.transactionChainsRegistry     = new CloseTrackedRegistry<>(db, "createTransactionChain()", txSampler);
+        this.readOnlyTransactionsRegistry  = new CloseTrackedRegistry<>(db, "newReadOnlyTransaction()", txSampler);
+        this.writeTransactionsRegistry     = new CloseTrackedRegistry<>(db, "newWriteOnlyTransaction()", txSampler);
+        this.readWriteTransactionsRegistry = new CloseTrackedRegistry<>(db, "newReadWriteTransaction()", txSampler);
     }
 
     private void configure(Config config) {
@@ -230,6 +254,7 @@ public class TracingBroker implements TracingDOMDataBroker {
         LOG.info("Watching writes to {} in {}", iidString, store);
         Watch watch = new Watch(iidString, store);
         writeWatches.add(watch);
+        writeWatchTrie.clear();
     }
 
     private boolean isRegistrationWatched(YangInstanceIdentifier iid,
@@ -252,6 +277,10 @@ public class TracingBroker implements TracingDOMDataBroker {
             return true;
         }
 
+        return writeWatchTrie.isWatched(iid, store);
+    }
+
+    private boolean matchesWriteWatches(YangInstanceIdentifier iid, LogicalDatastoreType store) {
         for (Watch watch : writeWatches) {
             if (watch.eventIsOfInterest(iid, store)) {
                 return true;
@@ -294,9 +323,25 @@ public class TracingBroker implements TracingDOMDataBroker {
         }
     }
 
+    /**
+     * Capture the stack of a write operation, if it is sampled.
+     *
+     * @return A Throwable to be passed to {@link #getStackSummary(Throwable)}, or null if this operation is not
+     *         sampled
+     */
+    @Nullable Throwable sampleWriteStack() {
+        return writeStackSampler.sample();
+    }
+
     String getStackSummary() {
-        StackTraceElement[] stack = Thread.currentThread().getStackTrace();
+        return toStackSummary(Thread.currentThread().getStackTrace());
+    }
+
+    String getStackSummary(@Nullable Throwable context) {
+        return context != null ? toStackSummary(context.getStackTrace()) : " (not sampled)";
+    }
 
+    private static String toStackSummary(StackTraceElement[] stack) {
         StringBuilder sb = new StringBuilder();
         for (int i = STACK_TRACE_FIRST_RELEVANT_FRAME; i < stack.length; i++) {
             StackTraceElement frame = stack[i];
@@ -306,6 +351,17 @@ public class TracingBroker implements TracingDOMDataBroker {
         return sb.toString();
     }
 
+    boolean isRecordingOperations() {
+        return recentOperations.isEnabled();
+    }
+
+    void recordOperation(String method, Object transactionId, @Nullable LogicalDatastoreType store,
+            @Nullable YangInstanceIdentifier yiid, @Nullable Throwable context) {
+        if (recentOperations.isEnabled()) {
+            recentOperations.record(new RecentOperations.Operation(method, transactionId, store, yiid, context));
+        }
+    }
+
     @Override
     public DOMDataReadWriteTransaction newReadWriteTransaction() {
         return new TracingReadWriteTransaction(delegate.newReadWriteTransaction(), this, readWriteTransactionsRegistry);
@@ -408,6 +464,43 @@ public class TracingBroker implements TracingDOMDataBroker {
         return true;
     }
 
+    @Override
+    public boolean printRecentOperations(PrintStream ps) {
+        if (!recentOperations.isEnabled()) {
+            ps.println(getClass().getSimpleName() + " does not record operations, "
+                    + "set recent-operations-capacity in mdsaltrace_config.xml to enable it");
+            return false;
+        }
+
+        final List<RecentOperations.Operation> ops = recentOperations.snapshot();
+        if (ops.isEmpty()) {
+            return false;
+        }
+
+        ps.println(getClass().getSimpleName() + " recorded " + ops.size() + " most recent operations (out of "
+                + recentOperations.capacity() + ", oldest first, one in " + writeStackSampler.getInterval()
+                + " stacks sampled):");
+        final DateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+        for (RecentOperations.Operation op : ops) {
+            final StringBuilder sb = new StringBuilder("  ").append(format.format(new Date(op.timestampMillis)))
+                    .append(" [").append(op.threadName).append("] ").append(op.method)
+                    .append(" transaction ").append(op.transactionId);
+            if (op.store != null) {
+                sb.append(" to ").append(op.store);
+            }
+            if (op.path != null) {
+                sb.append(" at ").append(toPathString(op.path));
+            }
+            ps.println(sb);
+            if (op.context != null) {
+                printStackTraceElements(ps, "      ", Arrays.asList(op.context.getStackTrace()));
+            }
+        }
+        ps.println();
+
+        return true;
+    }
+
     private <T extends CloseTracked<T>> void printRegistryOpenTransactions(
             CloseTrackedRegistry<T> registry, PrintStream ps, String indent) {
         Set<CloseTrackedRegistryReportEntry<T>> entries = registry.getAllUnique();
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.trace.dom.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiPredicate;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+
+/**
+ * Prefix trie over the {@link PathArgument}s of written paths, which remembers whether writes to a path are watched.
+ *
+ * <p>Write watches are configured as paths of binding class names, hence matching a write against them requires
+ * the path to be translated by the codec and rendered as a string. The outcome does not depend on key values, so
+ * the trie is keyed by the node types of path arguments only and the outcome is computed once per schema path
+ * and datastore. Subsequent writes are matched by walking the trie, without any translation or string building.
+ */
+final class WriteWatchTrie {
+    private static final class Node {
+        final ConcurrentMap<Object, Node> children = new ConcurrentHashMap<>();
+        volatile Boolean watched;
+    }
+
+    private final BiPredicate<YangInstanceIdentifier, LogicalDatastoreType> matcher;
+    private volatile Node root = new Node();
+
+    WriteWatchTrie(BiPredicate<YangInstanceIdentifier, LogicalDatastoreType> matcher) {
+        this.matcher = matcher;
+    }
+
+    boolean isWatched(YangInstanceIdentifier path, LogicalDatastoreType store) {
+        Node node = root.children.computeIfAbsent(store, key -> new Node());
+        for (PathArgument arg : path.getPathArguments()) {
+            node = node.children.computeIfAbsent(nodeTypeOf(arg), key -> new Node());
+        }
+
+        Boolean watched = node.watched;
+        if (watched == null) {
+            watched = matcher.test(path, store);
+            node.watched = watched;
+        }
+        return watched;
+    }
+
+    /**
+     * Forget all outcomes, because the watches have changed.
+     */
+    void clear() {
+        root = new Node();
+    }
+
+    private static Object nodeTypeOf(PathArgument arg) {
+        // Augmentation identifiers do not have a node type, they are identified by their child nodes
+        return arg instanceof AugmentationIdentifier ? arg : arg.getNodeType();
+    }
+}
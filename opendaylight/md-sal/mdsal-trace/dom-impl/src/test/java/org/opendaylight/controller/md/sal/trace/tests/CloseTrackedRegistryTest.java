@@ -16,6 +16,7 @@ import org.junit.Test;
 import org.opendaylight.controller.md.sal.trace.closetracker.impl.AbstractCloseTracked;
 import org.opendaylight.controller.md.sal.trace.closetracker.impl.CloseTrackedRegistry;
 import org.opendaylight.controller.md.sal.trace.closetracker.impl.CloseTrackedRegistryReportEntry;
+import org.opendaylight.controller.md.sal.trace.closetracker.impl.StackSampler;
 
 public class CloseTrackedRegistryTest {
 
@@ -92,4 +93,28 @@ public class CloseTrackedRegistryTest {
         assertThat(closeRegistryReportEntry1.getNumberAddedNotRemoved()).isEqualTo(1);
         assertThat(closeRegistryReportEntry1.getStackTraceElements()).isEmpty();
     }
+
+    @Test
+    @SuppressWarnings({ "unused", "resource" })
+    public void testSampledDebugContext() {
+        final CloseTrackedRegistry<SomethingClosable> sampledRegistry =
+                new CloseTrackedRegistry<>(this, "testSampledDebugContext", StackSampler.everyNth(10));
+        assertThat(sampledRegistry.isDebugContextEnabled()).isTrue();
+
+        for (int i = 0; i < 100; i++) {
+            new SomethingClosable(sampledRegistry);
+        }
+
+        Set<CloseTrackedRegistryReportEntry<SomethingClosable>> report = sampledRegistry.getAllUnique();
+        assertThat(report).hasSize(2);
+        report.forEach(entry -> {
+            if (entry.getStackTraceElements().isEmpty()) {
+                assertThat(entry.getNumberAddedNotRemoved()).isEqualTo(90);
+            } else {
+                assertThat(entry.getNumberAddedNotRemoved()).isEqualTo(10);
+                assertThatIterableContains(entry.getStackTraceElements(),
+                    element -> element.getMethodName().equals("testSampledDebugContext"));
+            }
+        });
+    }
 }
@@ -9,19 +9,26 @@ package org.opendaylight.controller.md.sal.trace.tests;
 
 import static com.google.common.truth.Truth.assertThat;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.util.Collections;
 import org.junit.Test;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataBroker;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataReadWriteTransaction;
+import org.opendaylight.controller.md.sal.dom.api.DOMDataWriteTransaction;
 import org.opendaylight.controller.md.sal.dom.api.DOMTransactionChain;
 import org.opendaylight.controller.md.sal.trace.dom.impl.TracingBroker;
 import org.opendaylight.mdsal.binding.dom.codec.api.BindingNormalizedNodeSerializer;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsaltrace.rev160908.Config;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsaltrace.rev160908.ConfigBuilder;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 
 /**
  * Test of {@link TracingBroker}.
@@ -29,6 +36,8 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.mdsaltra
  * @author Michael Vorburger.ch
  */
 public class TracingBrokerTest {
+    private static final QName FOO = QName.create("urn:opendaylight:test:trace", "2018-01-01", "foo");
+    private static final QName BAR = QName.create(FOO, "bar");
 
     @Test
     @SuppressWarnings({ "resource", "unused" }) // Finding resource leaks is the point of this test
@@ -66,4 +75,45 @@ public class TracingBrokerTest {
         // (e.g. it used to have a ClassCastException).
     }
 
+    @Test
+    public void testPrintRecentOperations() {
+        DOMDataBroker domDataBroker = mock(DOMDataBroker.class, RETURNS_DEEP_STUBS);
+        Config config = new ConfigBuilder().setWriteWatches(Collections.singletonList("/this/will/never/exist"))
+                .setStackSampleInterval(2L).setRecentOperationsCapacity(3L).build();
+        BindingNormalizedNodeSerializer codec = mock(BindingNormalizedNodeSerializer.class);
+        doReturn(null).when(codec).fromYangInstanceIdentifier(any(YangInstanceIdentifier.class));
+        TracingBroker tracingBroker = new TracingBroker(domDataBroker, config, codec);
+
+        DOMDataWriteTransaction tx = tracingBroker.newWriteOnlyTransaction();
+        tx.delete(LogicalDatastoreType.CONFIGURATION, YangInstanceIdentifier.of(FOO));
+        tx.delete(LogicalDatastoreType.OPERATIONAL, YangInstanceIdentifier.of(FOO));
+        tx.delete(LogicalDatastoreType.CONFIGURATION, YangInstanceIdentifier.of(BAR));
+        tx.submit();
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        PrintStream ps = new PrintStream(baos);
+        assertThat(tracingBroker.printRecentOperations(ps)).isTrue();
+        String output = new String(baos.toByteArray(), UTF_8);
+
+        // The first delete has been evicted from the ring buffer
+        assertThat(output).contains("3 most recent operations");
+        assertThat(output).contains("delete transaction");
+        assertThat(output).contains("to OPERATIONAL at <RECONSTRUCTED FROM");
+        assertThat(output).contains("submit transaction");
+        // Only the first and the third delete have their stack sampled
+        assertThat(output.split("testPrintRecentOperations\\(TracingBrokerTest.java", -1)).hasLength(2);
+    }
+
+    @Test
+    public void testRecentOperationsDisabled() {
+        DOMDataBroker domDataBroker = mock(DOMDataBroker.class, RETURNS_DEEP_STUBS);
+        TracingBroker tracingBroker = new TracingBroker(domDataBroker, new ConfigBuilder().build(),
+                mock(BindingNormalizedNodeSerializer.class));
+        tracingBroker.newWriteOnlyTransaction().delete(LogicalDatastoreType.CONFIGURATION,
+                YangInstanceIdentifier.of(FOO));
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        assertThat(tracingBroker.printRecentOperations(new PrintStream(baos))).isFalse();
+        assertThat(new String(baos.toByteArray(), UTF_8)).contains("recent-operations-capacity");
+    }
 }
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.example;
+
+import akka.actor.AbstractActor;
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.actor.ExtendedActorSystem;
+import akka.actor.PoisonPill;
+import akka.actor.Props;
+import akka.pattern.Patterns;
+import akka.util.Timeout;
+import com.google.common.base.Optional;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.example.messages.KeyValue;
+import org.opendaylight.controller.cluster.example.messages.KeyValueSaved;
+import org.opendaylight.controller.cluster.raft.ConfigParams;
+import org.opendaylight.controller.cluster.raft.DefaultConfigParamsImpl;
+import org.opendaylight.controller.cluster.raft.client.messages.FindLeader;
+import org.opendaylight.controller.cluster.raft.client.messages.FindLeaderReply;
+import org.opendaylight.controller.cluster.raft.policy.DisableElectionsRaftPolicy;
+import scala.concurrent.Await;
+import scala.concurrent.duration.Duration;
+
+/**
+ * Measures the replication throughput between an {@link ExampleActor} leader and a single follower running in
+ * separate actor systems, which talk to each other over loopback remoting. The leader is run with different maximum
+ * numbers of AppendEntries in flight.
+ *
+ * <p>
+ * Usage: ReplicationBenchmark [entry count] [value size] [max in-flight AppendEntries...]
+ */
+public final class ReplicationBenchmark {
+    private static final Timeout TIMEOUT = new Timeout(10, TimeUnit.SECONDS);
+    private static final String LOG_LEVEL_PROPERTY = "org.slf4j.simpleLogger.defaultLogLevel";
+
+    private static final class BenchmarkClient extends AbstractActor {
+        private final ActorRef target;
+        private final int count;
+        private final String value;
+        private final CountDownLatch done;
+        private int saved;
+
+        BenchmarkClient(final ActorRef target, final int count, final String value, final CountDownLatch done) {
+            this.target = target;
+            this.count = count;
+            this.value = value;
+            this.done = done;
+        }
+
+        static Props props(final ActorRef target, final int count, final String value, final CountDownLatch done) {
+            return Props.create(BenchmarkClient.class, target, count, value, done);
+        }
+
+        @Override
+        public void preStart() {
+            for (int i = 0; i < count; i++) {
+                target.tell(new KeyValue("key " + i, value), getSelf());
+            }
+        }
+
+        @Override
+        public Receive createReceive() {
+            return receiveBuilder().match(KeyValueSaved.class, this::onKeyValueSaved).build();
+        }
+
+        private void onKeyValueSaved(final KeyValueSaved message) {
+            if (++saved == count) {
+                done.countDown();
+            }
+        }
+    }
+
+    private ReplicationBenchmark() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static void main(final String[] args) throws Exception {
+        // Debug logging configured in simplelogger.properties would dominate the results
+        if (System.getProperty(LOG_LEVEL_PROPERTY) == null) {
+            System.setProperty(LOG_LEVEL_PROPERTY, "warn");
+        }
+
+        final int count = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        final int valueSize = args.length > 1 ? Integer.parseInt(args[1]) : 1024;
+        final int[] inFlight;
+        if (args.length > 2) {
+            inFlight = new int[args.length - 2];
+            for (int i = 0; i < inFlight.length; i++) {
+                inFlight[i] = Integer.parseInt(args[i + 2]);
+            }
+        } else {
+            inFlight = new int[] { 1, 2, 4, 8 };
+        }
+
+        final Config config = ConfigFactory.load().getConfig("raft-benchmark");
+        final ActorSystem leaderSystem = ActorSystem.create("raft-benchmark", config);
+        final ActorSystem followerSystem = ActorSystem.create("raft-benchmark", config);
+        final String value = Strings.repeat("x", valueSize);
+
+        try {
+            // Warm up the JIT before taking any measurements
+            run(leaderSystem, followerSystem, "warmup", inFlight[0], count, value);
+
+            for (int max : inFlight) {
+                final long elapsed = run(leaderSystem, followerSystem, "run-" + max, max, count, value);
+                System.out.printf("max-in-flight-append-entries %d: %d entries of %d bytes in %d ms, %.0f entries/s%n",
+                    max, count, valueSize, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                    count * 1e9 / elapsed);
+            }
+        } finally {
+            leaderSystem.terminate();
+            followerSystem.terminate();
+            Await.ready(leaderSystem.whenTerminated(), Duration.Inf());
+            Await.ready(followerSystem.whenTerminated(), Duration.Inf());
+        }
+    }
+
+    private static long run(final ActorSystem leaderSystem, final ActorSystem followerSystem, final String name,
+            final int maxInFlight, final int count, final String value) throws Exception {
+        final String leaderId = name + "-leader";
+        final String followerId = name + "-follower";
+
+        final DefaultConfigParamsImpl leaderConfig = new DefaultConfigParamsImpl();
+        leaderConfig.setMaxInFlightAppendEntries(maxInFlight);
+        // Keep the whole run in the in-memory journal
+        leaderConfig.setSnapshotBatchCount(count * 2);
+
+        final DefaultConfigParamsImpl followerConfig = new DefaultConfigParamsImpl();
+        followerConfig.setSnapshotBatchCount(count * 2);
+        followerConfig.setCustomRaftPolicyImplementationClass(DisableElectionsRaftPolicy.class.getName());
+
+        final ActorRef follower = followerSystem.actorOf(ExampleActor.props(followerId,
+            ImmutableMap.of(leaderId, actorPath(leaderSystem, leaderId)), Optional.<ConfigParams>of(followerConfig)),
+            followerId);
+        final ActorRef leader = leaderSystem.actorOf(ExampleActor.props(leaderId,
+            ImmutableMap.of(followerId, actorPath(followerSystem, followerId)), Optional.<ConfigParams>of(leaderConfig)),
+            leaderId);
+
+        waitForLeader(leader);
+
+        final CountDownLatch done = new CountDownLatch(1);
+        final long start = System.nanoTime();
+        final ActorRef client = leaderSystem.actorOf(BenchmarkClient.props(leader, count, value, done));
+        if (!done.await(5, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Timed out waiting for entries to be replicated");
+        }
+        final long elapsed = System.nanoTime() - start;
+
+        client.tell(PoisonPill.getInstance(), ActorRef.noSender());
+        leader.tell(PoisonPill.getInstance(), ActorRef.noSender());
+        follower.tell(PoisonPill.getInstance(), ActorRef.noSender());
+        return elapsed;
+    }
+
+    private static String actorPath(final ActorSystem system, final String actorName) {
+        return ((ExtendedActorSystem) system).provider().getDefaultAddress().toString() + "/user/" + actorName;
+    }
+
+    private static void waitForLeader(final ActorRef actor) throws Exception {
+        for (int i = 0; i < 100; i++) {
+            final FindLeaderReply reply = (FindLeaderReply) Await.result(Patterns.ask(actor, FindLeader.INSTANCE,
+                TIMEOUT), TIMEOUT.duration());
+            if (reply.getLeaderActor().isPresent()) {
+                return;
+            }
+
+            Uninterruptibles.sleepUninterruptibly(100, TimeUnit.MILLISECONDS);
+        }
+
+        throw new IllegalStateException("No leader elected");
+    }
+}
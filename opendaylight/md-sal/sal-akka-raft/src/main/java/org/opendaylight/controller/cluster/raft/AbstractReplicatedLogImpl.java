@@ -9,9 +9,12 @@ package org.opendaylight.controller.cluster.raft;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,6 +39,10 @@ public abstract class AbstractReplicatedLogImpl implements ReplicatedLog {
     private long previousSnapshotTerm = -1;
     private int dataSize = 0;
 
+    // holds the serialized payloads of compacted entries
+    private CompactLogStore compactLogStore;
+    private long compactedIndex = -1;
+
     protected AbstractReplicatedLogImpl(long snapshotIndex, long snapshotTerm,
             List<ReplicatedLogEntry> unAppliedEntries, String logContext) {
         this.snapshotIndex = snapshotIndex;
@@ -113,6 +120,7 @@ public abstract class AbstractReplicatedLogImpl implements ReplicatedLog {
         }
 
         journal.subList(adjustedIndex , journal.size()).clear();
+        compactedIndex = Math.min(compactedIndex, logEntryIndex - 1);
 
         return adjustedIndex;
     }
@@ -238,12 +246,11 @@ public abstract class AbstractReplicatedLogImpl implements ReplicatedLog {
         Preconditions.checkArgument(snapshotCapturedIndex >= snapshotIndex,
                 "snapshotCapturedIndex must be greater than or equal to snapshotIndex");
 
-        snapshottedJournal = new ArrayList<>(journal.size());
-
         List<ReplicatedLogEntry> snapshotJournalEntries =
                 journal.subList(0, (int) (snapshotCapturedIndex - snapshotIndex));
 
-        snapshottedJournal.addAll(snapshotJournalEntries);
+        // Only the trimmed entries need to be retained for rollback
+        snapshottedJournal = new ArrayList<>(snapshotJournalEntries);
         snapshotJournalEntries.clear();
 
         previousSnapshotIndex = snapshotIndex;
@@ -279,6 +286,55 @@ public abstract class AbstractReplicatedLogImpl implements ReplicatedLog {
         previousSnapshotTerm = -1;
     }
 
+    @Override
+    public void compactTo(long toIndex, boolean offHeap) {
+        if (compactLogStore == null || compactLogStore.isOffHeap() != offHeap) {
+            compactLogStore = new CompactLogStore(offHeap);
+        }
+
+        for (long i = Math.max(compactedIndex, snapshotIndex) + 1; i <= toIndex; i++) {
+            final int adjustedIndex = adjustedIndex(i);
+            if (adjustedIndex < 0 || adjustedIndex >= journal.size()) {
+                break;
+            }
+
+            final ReplicatedLogEntry entry = journal.get(adjustedIndex);
+            if (entry.isPersistencePending()) {
+                break;
+            }
+
+            journal.set(adjustedIndex, compactLogStore.compact(entry, logContext));
+            compactedIndex = i;
+        }
+    }
+
+    @Override
+    public long compactedSize() {
+        long count = 0;
+        for (ReplicatedLogEntry entry : journal) {
+            if (entry instanceof CompactLogEntry) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long compactedFootprint() {
+        // Segments are shared by consecutive entries, make sure we account for each of them only once
+        final Map<ByteBuffer, Boolean> segments = new IdentityHashMap<>();
+        long footprint = 0;
+        for (ReplicatedLogEntry entry : journal) {
+            if (entry instanceof CompactLogEntry) {
+                final ByteBuffer segment = ((CompactLogEntry) entry).segment();
+                if (segments.put(segment, Boolean.TRUE) == null) {
+                    footprint += segment.capacity();
+                }
+            }
+        }
+        return footprint;
+    }
+
     @VisibleForTesting
     ReplicatedLogEntry getAtPhysicalIndex(int index) {
         return journal.get(index);
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import org.opendaylight.controller.cluster.raft.persisted.SimpleReplicatedLogEntry;
+import org.opendaylight.controller.cluster.raft.protobuff.client.messages.Payload;
+
+/**
+ * A {@link ReplicatedLogEntry} whose payload is kept in serialized form in a {@link CompactLogStore} segment and is
+ * deserialized each time {@link #getData()} is invoked. Instances are serialized as {@link SimpleReplicatedLogEntry}.
+ */
+final class CompactLogEntry implements ReplicatedLogEntry, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final long index;
+    private final long term;
+    private final int size;
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "This field is not Serializable but this class "
+            + "implements writeReplace to delegate serialization to SimpleReplicatedLogEntry and thus instances of "
+            + "this class aren't serialized. FindBugs does not recognize this.")
+    private final ByteBuffer segment;
+    private final int offset;
+    private final int length;
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "See segment")
+    private final ClassLoader classLoader;
+    private boolean persistencePending;
+
+    CompactLogEntry(final long index, final long term, final int size, final ByteBuffer segment, final int offset,
+            final int length, final ClassLoader classLoader) {
+        this.index = index;
+        this.term = term;
+        this.size = size;
+        this.segment = segment;
+        this.offset = offset;
+        this.length = length;
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public Payload getData() {
+        final byte[] bytes = new byte[length];
+        final ByteBuffer dup = segment.duplicate();
+        dup.position(offset);
+        dup.get(bytes);
+
+        try (ObjectInputStream in = new PayloadInputStream(new ByteArrayInputStream(bytes), classLoader)) {
+            return (Payload) in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Failed to deserialize payload of log entry " + index, e);
+        }
+    }
+
+    @Override
+    public long getTerm() {
+        return term;
+    }
+
+    @Override
+    public long getIndex() {
+        return index;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes taken by the serialized payload.
+     *
+     * @return the serialized size
+     */
+    int serializedSize() {
+        return length;
+    }
+
+    ByteBuffer segment() {
+        return segment;
+    }
+
+    @Override
+    public boolean isPersistencePending() {
+        return persistencePending;
+    }
+
+    @Override
+    public void setPersistencePending(final boolean pending) {
+        persistencePending = pending;
+    }
+
+    private Object writeReplace() {
+        return new SimpleReplicatedLogEntry(index, term, getData());
+    }
+
+    @Override
+    public String toString() {
+        return "CompactLogEntry [index=" + index + ", term=" + term + ", size=" + size + ", serializedSize=" + length
+                + "]";
+    }
+
+    private static final class PayloadInputStream extends ObjectInputStream {
+        private final ClassLoader classLoader;
+
+        PayloadInputStream(final InputStream in, final ClassLoader classLoader) throws IOException {
+            super(in);
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            if (classLoader != null) {
+                try {
+                    return Class.forName(desc.getName(), false, classLoader);
+                } catch (ClassNotFoundException e) {
+                    // Fall back to the default resolution
+                }
+            }
+
+            return super.resolveClass(desc);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stores the payloads of {@link ReplicatedLogEntry}s in serialized form, packed into fixed-size segments which are
+ * allocated either on the Java heap or off-heap. Each compacted entry references its segment and records the offset
+ * and length of its payload, so the payload can be deserialized when it is actually needed. A segment is released
+ * once all entries referencing it have been removed from the log.
+ */
+final class CompactLogStore {
+    private static final Logger LOG = LoggerFactory.getLogger(CompactLogStore.class);
+
+    static final int DEFAULT_SEGMENT_SIZE = 1024 * 1024;
+
+    private final boolean offHeap;
+    private final int segmentSize;
+    private ByteBuffer segment;
+
+    CompactLogStore(final boolean offHeap) {
+        this(offHeap, DEFAULT_SEGMENT_SIZE);
+    }
+
+    CompactLogStore(final boolean offHeap, final int segmentSize) {
+        this.offHeap = offHeap;
+        this.segmentSize = segmentSize;
+    }
+
+    boolean isOffHeap() {
+        return offHeap;
+    }
+
+    /**
+     * Returns a compact representation of the specified entry. If the entry is already compacted, is pending
+     * persistence or its payload cannot be serialized, the entry itself is returned.
+     *
+     * @param entry the entry to compact
+     * @param logContext the log context
+     * @return the compacted entry
+     */
+    ReplicatedLogEntry compact(final ReplicatedLogEntry entry, final String logContext) {
+        if (entry instanceof CompactLogEntry || entry.isPersistencePending()) {
+            return entry;
+        }
+
+        final byte[] bytes;
+        try {
+            final ByteArrayOutputStream bos = new ByteArrayOutputStream(entry.size() + 128);
+            try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+                out.writeObject(entry.getData());
+            }
+            bytes = bos.toByteArray();
+        } catch (IOException e) {
+            LOG.debug("{}: Failed to serialize payload of log entry {}, not compacting it", logContext,
+                entry.getIndex(), e);
+            return entry;
+        }
+
+        final ByteBuffer target = segmentFor(bytes.length);
+        final int offset = target.position();
+        target.put(bytes);
+        return new CompactLogEntry(entry.getIndex(), entry.getTerm(), entry.size(), target, offset, bytes.length,
+            entry.getData().getClass().getClassLoader());
+    }
+
+    private ByteBuffer segmentFor(final int length) {
+        if (length > segmentSize) {
+            // Oversized payloads get a segment of their own
+            return allocate(length);
+        }
+        if (segment == null || segment.remaining() < length) {
+            segment = allocate(segmentSize);
+        }
+        return segment;
+    }
+
+    private ByteBuffer allocate(final int size) {
+        return offHeap ? ByteBuffer.allocateDirect(size) : ByteBuffer.allocate(size);
+    }
+}
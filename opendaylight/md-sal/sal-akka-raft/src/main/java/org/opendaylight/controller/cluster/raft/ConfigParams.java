@@ -139,4 +139,48 @@ public interface ConfigParams {
      * @return the threshold in terms of number of journal entries.
      */
     long getSyncIndexThreshold();
+
+    /**
+     * Returns whether snapshots sent to followers via InstallSnapshot should be compressed. Compression is used only
+     * with followers which support it, as indicated by their raft version.
+     *
+     * @return true if InstallSnapshot data should be compressed.
+     */
+    boolean isInstallSnapshotCompressionEnabled();
+
+    /**
+     * Returns the maximum number of snapshot chunks a leader sends to a follower without having received their
+     * acknowledgement. A value of 1 results in each chunk being sent only after the previous one has been
+     * acknowledged. Larger windows are used only with followers which support them, as indicated by their raft
+     * version.
+     *
+     * @return the maximum number of unacknowledged snapshot chunks.
+     */
+    int getInstallSnapshotWindowSize();
+
+    /**
+     * Returns the maximum number of AppendEntries carrying log entries a leader sends to a follower without having
+     * received a reply. A value of 1 results in the next batch of entries being sent only after the previous one has
+     * been acknowledged.
+     *
+     * @return the maximum number of unacknowledged AppendEntries.
+     */
+    int getMaxInFlightAppendEntries();
+
+    /**
+     * Returns the number of applied entries the in-memory journal can hold before they are converted into a compact,
+     * serialized representation. Entries retained after having been applied are typically needed only by lagging
+     * followers, hence their payloads are deserialized only when they are sent out. A value of 0 disables compaction.
+     *
+     * @return the number of applied entries above which the in-memory journal is compacted, or 0.
+     */
+    int getInMemoryJournalCompactionThreshold();
+
+    /**
+     * Returns whether the serialized payloads of compacted in-memory journal entries are stored outside of the Java
+     * heap.
+     *
+     * @return true if compacted entries are stored off-heap.
+     */
+    boolean isInMemoryJournalOffHeap();
 }
@@ -74,6 +74,16 @@ public class DefaultConfigParamsImpl implements ConfigParams {
 
     private long syncIndexThreshold = 10;
 
+    private boolean installSnapshotCompressionEnabled = false;
+
+    private int installSnapshotWindowSize = 1;
+
+    private int maxInFlightAppendEntries = 1;
+
+    private int inMemoryJournalCompactionThreshold = 0;
+
+    private boolean inMemoryJournalOffHeap = false;
+
     public void setHeartBeatInterval(final FiniteDuration heartBeatInterval) {
         this.heartBeatInterval = heartBeatInterval;
         electionTimeOutInterval = null;
@@ -206,6 +216,54 @@ public class DefaultConfigParamsImpl implements ConfigParams {
         this.syncIndexThreshold = syncIndexThreshold;
     }
 
+    @Override
+    public boolean isInstallSnapshotCompressionEnabled() {
+        return installSnapshotCompressionEnabled;
+    }
+
+    public void setInstallSnapshotCompressionEnabled(final boolean installSnapshotCompressionEnabled) {
+        this.installSnapshotCompressionEnabled = installSnapshotCompressionEnabled;
+    }
+
+    @Override
+    public int getInstallSnapshotWindowSize() {
+        return installSnapshotWindowSize;
+    }
+
+    public void setInstallSnapshotWindowSize(final int installSnapshotWindowSize) {
+        Preconditions.checkArgument(installSnapshotWindowSize > 0);
+        this.installSnapshotWindowSize = installSnapshotWindowSize;
+    }
+
+    @Override
+    public int getMaxInFlightAppendEntries() {
+        return maxInFlightAppendEntries;
+    }
+
+    public void setMaxInFlightAppendEntries(final int maxInFlightAppendEntries) {
+        Preconditions.checkArgument(maxInFlightAppendEntries > 0);
+        this.maxInFlightAppendEntries = maxInFlightAppendEntries;
+    }
+
+    @Override
+    public int getInMemoryJournalCompactionThreshold() {
+        return inMemoryJournalCompactionThreshold;
+    }
+
+    public void setInMemoryJournalCompactionThreshold(final int inMemoryJournalCompactionThreshold) {
+        Preconditions.checkArgument(inMemoryJournalCompactionThreshold >= 0);
+        this.inMemoryJournalCompactionThreshold = inMemoryJournalCompactionThreshold;
+    }
+
+    @Override
+    public boolean isInMemoryJournalOffHeap() {
+        return inMemoryJournalOffHeap;
+    }
+
+    public void setInMemoryJournalOffHeap(final boolean inMemoryJournalOffHeap) {
+        this.inMemoryJournalOffHeap = inMemoryJournalOffHeap;
+    }
+
     @SuppressWarnings("checkstyle:IllegalCatch")
     private RaftPolicy getPolicy() {
         if (Strings.isNullOrEmpty(DefaultConfigParamsImpl.this.customRaftPolicyImplementationClass)) {
@@ -114,6 +114,54 @@ public interface FollowerLogInformation {
      */
     boolean okToReplicate();
 
+    /**
+     * Returns the index of the last log entry sent to the follower in an AppendEntries which has not been
+     * acknowledged yet. This is only tracked if the leader is configured to have multiple AppendEntries in flight.
+     *
+     * @return the index of the last log entry sent, or {@link #NO_INDEX} if there are no entries in flight.
+     */
+    long getSentIndex();
+
+    /**
+     * Checks whether another AppendEntries carrying the log entries following {@link #getSentIndex()} can be sent to
+     * the follower without waiting for replies to the ones already in flight. If replies have not been forthcoming
+     * within the heart beat interval, the in-flight AppendEntries are assumed to have been lost and the pipeline is
+     * reset, so replication restarts from {@link #getNextIndex()}.
+     *
+     * @return true if it is ok to send more entries, false otherwise
+     */
+    boolean okToPipeline();
+
+    /**
+     * Records that an AppendEntries has been sent to the follower.
+     *
+     * @param prevLogIndex the previous log index the AppendEntries was sent with
+     * @param lastIndex the index of the last log entry sent, or {@link #NO_INDEX} if the AppendEntries carried none
+     */
+    void markAppendEntriesSent(long prevLogIndex, long lastIndex);
+
+    /**
+     * Records that the follower has replied to the oldest AppendEntries in flight. Replies arrive in the order the
+     * AppendEntries were sent, hence the reply can be matched with the previous log index that AppendEntries was sent
+     * with. If that does not match the current {@link #getNextIndex()}, the AppendEntries was sent before the next
+     * index was last changed and a failure reply to it must not cause the next index to be changed again.
+     *
+     * @return true if the reply is to an AppendEntries sent before the next index was last changed, false otherwise
+     */
+    boolean markAppendEntriesReplied();
+
+    /**
+     * Records a successful AppendEntriesReply from the follower, after its match index has been updated.
+     */
+    void markAppendEntriesAcknowledged();
+
+    /**
+     * Forgets about the log entries in flight, so that replication restarts from {@link #getNextIndex()}. This
+     * should be invoked when the follower rejects an AppendEntries. The AppendEntries in flight are still tracked, so
+     * that the replies to them can be recognized by {@link #markAppendEntriesReplied()}.
+     */
+    void resetPipeline();
+
     /**
      * Returns the log entry payload data version of the follower.
      *
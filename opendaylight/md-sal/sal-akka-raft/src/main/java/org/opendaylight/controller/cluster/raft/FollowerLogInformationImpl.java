@@ -10,6 +10,8 @@ package org.opendaylight.controller.cluster.raft;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -34,6 +36,13 @@ public class FollowerLogInformationImpl implements FollowerLogInformation {
 
     private final Stopwatch lastReplicatedStopwatch = Stopwatch.createUnstarted();
 
+    private long sentIndex = NO_INDEX;
+
+    // The previous log index of each AppendEntries in flight, in the order they were sent
+    private final Deque<Long> inFlightPrevLogIndexes = new ArrayDeque<>();
+
+    private final Stopwatch lastPipelineProgressStopwatch = Stopwatch.createUnstarted();
+
     private short payloadVersion = -1;
 
     // Assume the HELIUM_VERSION version initially for backwards compatibility until we obtain the follower's
@@ -172,6 +181,85 @@ public class FollowerLogInformationImpl implements FollowerLogInformation {
         return true;
     }
 
+    @Override
+    public long getSentIndex() {
+        return sentIndex;
+    }
+
+    @Override
+    public boolean okToPipeline() {
+        if (peerInfo.getVotingState() == VotingState.VOTING_NOT_INITIALIZED || !isPipeliningEnabled()) {
+            return false;
+        }
+
+        return checkPipelineProgress()
+                && inFlightPrevLogIndexes.size() < context.getConfigParams().getMaxInFlightAppendEntries();
+    }
+
+    @Override
+    public void markAppendEntriesSent(final long prevLogIndex, final long lastIndex) {
+        if (!isPipeliningEnabled()) {
+            return;
+        }
+
+        checkPipelineProgress();
+        if (inFlightPrevLogIndexes.isEmpty()) {
+            restartPipelineProgress();
+        }
+
+        inFlightPrevLogIndexes.add(prevLogIndex);
+        if (lastIndex != NO_INDEX) {
+            sentIndex = lastIndex;
+        }
+    }
+
+    @Override
+    public boolean markAppendEntriesReplied() {
+        final Long prevLogIndex = inFlightPrevLogIndexes.poll();
+        if (prevLogIndex == null) {
+            // Not tracked or assumed to have been lost
+            return false;
+        }
+
+        restartPipelineProgress();
+        return prevLogIndex != nextIndex - 1;
+    }
+
+    @Override
+    public void markAppendEntriesAcknowledged() {
+        if (matchIndex >= sentIndex) {
+            // Everything we have sent has been acknowledged
+            sentIndex = NO_INDEX;
+        }
+    }
+
+    @Override
+    public void resetPipeline() {
+        sentIndex = NO_INDEX;
+    }
+
+    private boolean isPipeliningEnabled() {
+        return context.getConfigParams().getMaxInFlightAppendEntries() > 1;
+    }
+
+    private boolean checkPipelineProgress() {
+        // If replies have not been forthcoming within the heart beat interval, assume the AppendEntries in flight
+        // have been lost
+        if (!inFlightPrevLogIndexes.isEmpty() && lastPipelineProgressStopwatch.elapsed(TimeUnit.MILLISECONDS)
+                >= context.getConfigParams().getHeartBeatInterval().toMillis()) {
+            inFlightPrevLogIndexes.clear();
+            resetPipeline();
+            return false;
+        }
+
+        return true;
+    }
+
+    private void restartPipelineProgress() {
+        lastPipelineProgressStopwatch.reset();
+        lastPipelineProgressStopwatch.start();
+    }
+
     private void resetLastReplicated() {
         lastReplicatedIndex = getNextIndex();
         if (lastReplicatedStopwatch.isRunning()) {
@@ -233,7 +321,9 @@ public class FollowerLogInformationImpl implements FollowerLogInformation {
     @Override
     public String toString() {
         return "FollowerLogInformationImpl [id=" + getId() + ", nextIndex=" + nextIndex + ", matchIndex=" + matchIndex
-                + ", lastReplicatedIndex=" + lastReplicatedIndex + ", votingState=" + peerInfo.getVotingState()
+                + ", lastReplicatedIndex=" + lastReplicatedIndex + ", sentIndex=" + sentIndex
+                + ", inFlightAppendEntries=" + inFlightPrevLogIndexes.size()
+                + ", votingState=" + peerInfo.getVotingState()
                 + ", stopwatch=" + stopwatch.elapsed(TimeUnit.MILLISECONDS) + ", followerTimeoutMillis="
                 + context.getConfigParams().getElectionTimeOutInterval().toMillis() + "]";
     }
@@ -48,6 +48,8 @@ import org.opendaylight.controller.cluster.raft.client.messages.FindLeader;
 import org.opendaylight.controller.cluster.raft.client.messages.FindLeaderReply;
 import org.opendaylight.controller.cluster.raft.client.messages.FollowerInfo;
 import org.opendaylight.controller.cluster.raft.client.messages.GetOnDemandRaftState;
+import org.opendaylight.controller.cluster.raft.client.messages.GetReadIndex;
+import org.opendaylight.controller.cluster.raft.client.messages.GetReadIndexReply;
 import org.opendaylight.controller.cluster.raft.client.messages.OnDemandRaftState;
 import org.opendaylight.controller.cluster.raft.client.messages.Shutdown;
 import org.opendaylight.controller.cluster.raft.messages.RequestLeadership;
@@ -123,6 +125,8 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
 
     private boolean shuttingDown;
 
+    private long readIndexCount;
+
     protected RaftActor(final String id, final Map<String, String> peerAddresses,
          final Optional<ConfigParams> configParams, final short payloadVersion) {
 
@@ -252,6 +256,8 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
             );
         } else if (message instanceof GetOnDemandRaftState) {
             onGetOnDemandRaftStats();
+        } else if (message instanceof GetReadIndex) {
+            onGetReadIndex();
         } else if (message instanceof InitiateCaptureSnapshot) {
             captureSnapshot();
         } else if (message instanceof SwitchBehavior) {
@@ -440,6 +446,17 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
         return new RaftActorSnapshotMessageSupport(context, getRaftActorSnapshotCohort());
     }
 
+    private void onGetReadIndex() {
+        final RaftActorBehavior currentBehavior = getCurrentBehavior();
+        if (currentBehavior.state() == RaftState.Leader && isLeaderActive()) {
+            readIndexCount++;
+            ((AbstractLeader) currentBehavior).requestReadIndex(getSender());
+        } else {
+            LOG.debug("{}: cannot provide a read index in state {}", persistenceId(), getRaftState());
+            getSender().tell(GetReadIndexReply.unavailable(), getSelf());
+        }
+    }
+
     private void onGetOnDemandRaftStats() {
         // Debugging message to retrieve raft stats.
 
@@ -456,6 +473,11 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
                 .currentTerm(context.getTermInformation().getCurrentTerm())
                 .inMemoryJournalDataSize(replicatedLog().dataSize())
                 .inMemoryJournalLogSize(replicatedLog().size())
+                .inMemoryJournalCompactedLogSize(replicatedLog().compactedSize())
+                .inMemoryJournalCompactedFootprint(replicatedLog().compactedFootprint())
+                .installSnapshotSize(context.getSnapshotManager().getInstallSnapshotSize())
+                .installSnapshotUncompressedSize(context.getSnapshotManager().getInstallSnapshotUncompressedSize())
+                .installSnapshotCompressionNanos(context.getSnapshotManager().getInstallSnapshotCompressionNanos())
                 .isSnapshotCaptureInitiated(context.getSnapshotManager().isCapturing())
                 .lastApplied(context.getLastApplied())
                 .lastIndex(replicatedLog().lastIndex())
@@ -489,8 +511,15 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
             }
 
             builder.followerInfoList(followerInfoList);
+        } else if (currentBehavior instanceof Follower) {
+            final Follower follower = (Follower) currentBehavior;
+            builder.lastPersistBatchSize(follower.getLastPersistBatchSize())
+                .lastPersistBatchNanos(follower.getLastPersistBatchNanos())
+                .maxPersistBatchNanos(follower.getMaxPersistBatchNanos());
         }
 
+        builder.readIndexCount(readIndexCount);
+
         sender().tell(builder.build(), self());
 
     }
@@ -599,6 +628,7 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
         boolean wasAppended = replicatedLog().appendAndPersist(replicatedLogEntry, persistedLogEntry -> {
             // Clear the persistence pending flag in the log entry.
             persistedLogEntry.setPersistencePending(false);
+            onDataPersisted(identifier, data);
 
             if (!hasFollowers()) {
                 // Increment the Commit Index and the Last Applied values
@@ -841,6 +871,20 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
      */
     protected abstract Optional<ActorRef> getRoleChangeNotifier();
 
+    /**
+     * This method is called on the leader when a payload submitted via
+     * {@link #persistData(ActorRef, Identifier, Payload, boolean)} has been persisted in the local journal, before
+     * consensus on it is checked. It is not called if the payload is applied without being persisted.
+     *
+     * <p>
+     * The default implementation does nothing.
+     *
+     * @param identifier the payload identifier
+     * @param data the persisted payload
+     */
+    protected void onDataPersisted(final Identifier identifier, final Payload data) {
+    }
+
     /**
      * This method is called on the leader when a voting change operation completes.
      */
@@ -895,6 +939,29 @@ public abstract class RaftActor extends AbstractUntypedPersistentActor {
         return getRaftActorContext().hasFollowers();
     }
 
+    /**
+     * Checks whether all followers have reported a payload version which is at least specified version, i.e. whether
+     * they are able to apply payloads introduced in that version. This is trivially true if there are no followers.
+     * It is false if this actor is not the leader or if any of the followers has not reported its version yet.
+     *
+     * @param version the required payload version
+     * @return true if all followers support specified payload version
+     */
+    protected final boolean followersSupportPayloadVersion(final short version) {
+        final RaftActorBehavior behavior = getCurrentBehavior();
+        if (!(behavior instanceof AbstractLeader)) {
+            return false;
+        }
+
+        final AbstractLeader leader = (AbstractLeader) behavior;
+        for (String id : leader.getFollowerIds()) {
+            if (leader.getFollower(id).getPayloadVersion() < version) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private void captureSnapshot() {
         SnapshotManager snapshotManager = context.getSnapshotManager();
 
@@ -40,6 +40,19 @@ class RaftActorDelegatingPersistentDataProvider extends DelegatingPersistentData
         doPersist(entry, procedure, true);
     }
 
+    @Override
+    public <T> void persistAll(final Iterable<T> entries, final Procedure<T> procedure) {
+        if (getDelegate().isRecoveryApplicable()) {
+            super.persistAll(entries, procedure);
+        } else {
+            // Only PersistentPayloads are actually persisted, which are few and far between, hence there is no point
+            // in batching them.
+            for (T entry : entries) {
+                doPersist(entry, procedure, false);
+            }
+        }
+    }
+
     private <T> void doPersist(final T entry, final Procedure<T> procedure, final boolean async) {
         if (getDelegate().isRecoveryApplicable()) {
             persistSuper(entry, procedure, async);
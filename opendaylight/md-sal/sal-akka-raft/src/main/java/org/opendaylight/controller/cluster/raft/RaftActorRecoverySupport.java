@@ -11,6 +11,7 @@ import akka.persistence.RecoveryCompleted;
 import akka.persistence.SnapshotOffer;
 import com.google.common.base.Stopwatch;
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.cluster.PersistentDataProvider;
 import org.opendaylight.controller.cluster.raft.base.messages.ApplySnapshot;
 import org.opendaylight.controller.cluster.raft.persisted.ApplyJournalEntries;
@@ -33,6 +34,8 @@ class RaftActorRecoverySupport {
     private final RaftActorRecoveryCohort cohort;
 
     private int currentRecoveryBatchCount;
+    private long recoveredEntries;
+    private long recoveredBytes;
     private boolean dataRecoveredWithPersistenceDisabled;
     private boolean anyDataRecovered;
     private boolean hasMigratedDataRecovered;
@@ -224,6 +227,8 @@ class RaftActorRecoverySupport {
             }
 
             cohort.appendRecoveredLogEntry(logEntry.getData());
+            recoveredEntries++;
+            recoveredBytes += logEntry.size();
 
             if (++currentRecoveryBatchCount >= batchSize) {
                 endCurrentLogRecoveryBatch();
@@ -245,6 +250,11 @@ class RaftActorRecoverySupport {
         if (recoveryTimer != null) {
             recoveryTimer.stop();
             recoveryTime = " in " + recoveryTimer.toString();
+
+            final long elapsedMicros = Math.max(recoveryTimer.elapsed(TimeUnit.MICROSECONDS), 1);
+            log.info("{}: applied {} journal entries ({} bytes) during recovery, {} entries/s, {} bytes/s",
+                context.getId(), recoveredEntries, recoveredBytes, recoveredEntries * 1000000 / elapsedMicros,
+                recoveredBytes * 1000000 / elapsedMicros);
             recoveryTimer = null;
         }
 
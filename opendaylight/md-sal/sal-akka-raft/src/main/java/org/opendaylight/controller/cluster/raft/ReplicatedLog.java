@@ -100,6 +100,19 @@ public interface ReplicatedLog {
     boolean appendAndPersist(@Nonnull ReplicatedLogEntry replicatedLogEntry,
             @Nullable Procedure<ReplicatedLogEntry> callback, boolean doAsync);
 
+    /**
+     * Appends a batch of entries to the in-memory log and persists them with a single journal write. Subsequent
+     * messages are stashed until persistence is complete. Appending stops at the first entry which cannot be
+     * appended.
+     *
+     * @param replicatedLogEntries the entries to append
+     * @param callback the Procedure to be notified with the last appended entry when persistence of all appended
+     *        entries is complete (optional).
+     * @return the number of entries appended
+     */
+    int appendAndPersistAll(@Nonnull List<ReplicatedLogEntry> replicatedLogEntries,
+            @Nullable Procedure<ReplicatedLogEntry> callback);
+
     /**
      * Returns a list of log entries starting from the given index to the end of the log.
      *
@@ -204,6 +217,30 @@ public interface ReplicatedLog {
      */
     int dataSize();
 
+    /**
+     * Converts the entries up to and including the specified index into a compact representation, which keeps
+     * their payloads in serialized form and deserializes them on demand. Entries pending persistence are not
+     * compacted.
+     *
+     * @param toIndex the index of the last entry to compact
+     * @param offHeap true if serialized payloads should be stored outside of the Java heap
+     */
+    void compactTo(long toIndex, boolean offHeap);
+
+    /**
+     * Returns the number of entries in the log which are held in compact form.
+     *
+     * @return the number of compacted entries
+     */
+    long compactedSize();
+
+    /**
+     * Returns the number of bytes allocated to hold the serialized payloads of compacted entries.
+     *
+     * @return the memory footprint of compacted entries, in bytes
+     */
+    long compactedFootprint();
+
     /**
      * Determines if a snapshot needs to be captured based on the count/memory consumed and initiates the capture.
      *
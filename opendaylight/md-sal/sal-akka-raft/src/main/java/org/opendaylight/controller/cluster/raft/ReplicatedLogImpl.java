@@ -9,6 +9,7 @@ package org.opendaylight.controller.cluster.raft;
 
 import akka.japi.Procedure;
 import com.google.common.base.Preconditions;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import javax.annotation.Nonnull;
@@ -120,4 +121,37 @@ final class ReplicatedLogImpl extends AbstractReplicatedLogImpl {
 
         return true;
     }
+
+    @Override
+    public int appendAndPersistAll(@Nonnull final List<ReplicatedLogEntry> replicatedLogEntries,
+            @Nullable final Procedure<ReplicatedLogEntry> callback) {
+        final List<ReplicatedLogEntry> appended = new ArrayList<>(replicatedLogEntries.size());
+        for (ReplicatedLogEntry entry : replicatedLogEntries) {
+            if (!append(entry)) {
+                break;
+            }
+            appended.add(entry);
+        }
+
+        if (appended.isEmpty()) {
+            return 0;
+        }
+
+        context.getLogger().debug("{}: Appended {} log entries, persisting", context.getId(), appended.size());
+
+        final ReplicatedLogEntry lastEntry = appended.get(appended.size() - 1);
+        context.getPersistenceProvider().persistAll(appended, persistedLogEntry -> {
+            dataSizeSinceLastSnapshot += persistedLogEntry.size();
+
+            if (persistedLogEntry == lastEntry) {
+                context.getLogger().debug("{}: persist complete up to {}", context.getId(), persistedLogEntry);
+
+                if (callback != null) {
+                    callback.apply(persistedLogEntry);
+                }
+            }
+        });
+
+        return appended.size();
+    }
 }
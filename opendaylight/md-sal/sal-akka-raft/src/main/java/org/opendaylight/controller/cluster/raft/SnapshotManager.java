@@ -15,13 +15,17 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import javax.annotation.Nonnull;
+import org.opendaylight.controller.cluster.io.CompressedStreams;
+import org.opendaylight.controller.cluster.io.CompressedStreams.CompressingOutputStream;
 import org.opendaylight.controller.cluster.io.FileBackedOutputStream;
 import org.opendaylight.controller.cluster.raft.base.messages.ApplySnapshot;
 import org.opendaylight.controller.cluster.raft.base.messages.CaptureSnapshot;
 import org.opendaylight.controller.cluster.raft.base.messages.SendInstallSnapshot;
 import org.opendaylight.controller.cluster.raft.base.messages.SnapshotComplete;
+import org.opendaylight.controller.cluster.raft.behaviors.AbstractLeader;
 import org.opendaylight.controller.cluster.raft.behaviors.RaftActorBehavior;
 import org.opendaylight.controller.cluster.raft.persisted.EmptyState;
 import org.opendaylight.controller.cluster.raft.persisted.Snapshot;
@@ -61,6 +65,10 @@ public class SnapshotManager implements SnapshotState {
     private ApplySnapshot applySnapshot;
     private RaftActorSnapshotCohort snapshotCohort = NoopRaftActorSnapshotCohort.INSTANCE;
 
+    private long installSnapshotSize;
+    private long installSnapshotUncompressedSize;
+    private long installSnapshotCompressionNanos;
+
     /**
      * Constructs an instance.
      *
@@ -129,7 +137,35 @@ public class SnapshotManager implements SnapshotState {
 
     @Nonnull
     public Snapshot.State convertSnapshot(final ByteSource snapshotBytes) throws IOException {
-        return snapshotCohort.deserializeSnapshot(snapshotBytes);
+        return snapshotCohort.deserializeSnapshot(CompressedStreams.decompressIfNeeded(snapshotBytes));
+    }
+
+    /**
+     * Returns the size of the last snapshot captured for installation on a follower, as sent over the wire.
+     *
+     * @return the size in bytes
+     */
+    public long getInstallSnapshotSize() {
+        return installSnapshotSize;
+    }
+
+    /**
+     * Returns the size of the last snapshot captured for installation on a follower, before compression. If the
+     * snapshot was not compressed, this is the same as {@link #getInstallSnapshotSize()}.
+     *
+     * @return the size in bytes
+     */
+    public long getInstallSnapshotUncompressedSize() {
+        return installSnapshotUncompressedSize;
+    }
+
+    /**
+     * Returns the time spent compressing the last snapshot captured for installation on a follower.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getInstallSnapshotCompressionNanos() {
+        return installSnapshotCompressionNanos;
     }
 
     public long getLastSequenceNumber() {
@@ -145,6 +181,54 @@ public class SnapshotManager implements SnapshotState {
         return context.hasFollowers();
     }
 
+    private OutputStream newInstallSnapshotStream(final String targetFollower) {
+        final FileBackedOutputStream stream = context.getFileBackedOutputStreamFactory().newInstance();
+        if (!context.getConfigParams().isInstallSnapshotCompressionEnabled()) {
+            return stream;
+        }
+
+        // Compress only if the target follower can handle it. Any other follower requiring the same snapshot is
+        // handled by the leader, which decompresses the data on the fly for older followers.
+        final RaftActorBehavior currentBehavior = context.getCurrentBehavior();
+        if (currentBehavior instanceof AbstractLeader) {
+            final FollowerLogInformation followerInfo = ((AbstractLeader) currentBehavior).getFollower(targetFollower);
+            if (followerInfo != null && followerInfo.getRaftVersion() >= RaftVersions.FLUORINE_VERSION) {
+                try {
+                    return CompressedStreams.compress(stream);
+                } catch (IOException e) {
+                    log.warn("{}: Failed to initialize snapshot compression, sending uncompressed data",
+                            persistenceId(), e);
+                }
+            }
+        }
+
+        return stream;
+    }
+
+    private FileBackedOutputStream finishInstallSnapshotStream(final OutputStream stream) throws IOException {
+        if (stream instanceof CompressingOutputStream) {
+            final CompressingOutputStream compressing = (CompressingOutputStream) stream;
+            compressing.close();
+
+            final FileBackedOutputStream delegate = (FileBackedOutputStream) compressing.getDelegate();
+            installSnapshotSize = delegate.getCount();
+            installSnapshotUncompressedSize = compressing.getUncompressedSize();
+            installSnapshotCompressionNanos = compressing.getElapsedNanos();
+
+            log.info("{}: Compressed snapshot from {} to {} bytes in {} ms", persistenceId(),
+                    installSnapshotUncompressedSize, installSnapshotSize,
+                    TimeUnit.NANOSECONDS.toMillis(installSnapshotCompressionNanos));
+            return delegate;
+        }
+
+        final FileBackedOutputStream fbos = (FileBackedOutputStream) stream;
+        fbos.close();
+        installSnapshotSize = fbos.getCount();
+        installSnapshotUncompressedSize = installSnapshotSize;
+        installSnapshotCompressionNanos = 0;
+        return fbos;
+    }
+
     private String persistenceId() {
         return context.getId();
     }
@@ -281,7 +365,7 @@ public class SnapshotManager implements SnapshotState {
 
             OutputStream installSnapshotStream = null;
             if (targetFollower != null) {
-                installSnapshotStream = context.getFileBackedOutputStreamFactory().newInstance();
+                installSnapshotStream = newInstallSnapshotStream(targetFollower);
                 log.info("{}: Initiating snapshot capture {} to install on {}",
                         persistenceId(), captureSnapshot, targetFollower);
             } else {
@@ -413,17 +497,22 @@ public class SnapshotManager implements SnapshotState {
                     context.getReplicatedLog().getSnapshotTerm());
 
             if (installSnapshotStream.isPresent()) {
-                if (context.getId().equals(currentBehavior.getLeaderId())) {
-                    try {
-                        ByteSource snapshotBytes = ((FileBackedOutputStream)installSnapshotStream.get()).asByteSource();
+                FileBackedOutputStream fbos = null;
+                try {
+                    fbos = finishInstallSnapshotStream(installSnapshotStream.get());
+                    if (context.getId().equals(currentBehavior.getLeaderId())) {
+                        ByteSource snapshotBytes = fbos.asByteSource();
                         currentBehavior.handleMessage(context.getActor(),
                                 new SendInstallSnapshot(snapshot, snapshotBytes));
-                    } catch (IOException e) {
-                        log.error("{}: Snapshot install failed due to an unrecoverable streaming error",
-                                context.getId(), e);
+                    } else {
+                        fbos.cleanup();
+                    }
+                } catch (IOException e) {
+                    log.error("{}: Snapshot install failed due to an unrecoverable streaming error",
+                            context.getId(), e);
+                    if (fbos != null) {
+                        fbos.cleanup();
                     }
-                } else {
-                    ((FileBackedOutputStream)installSnapshotStream.get()).cleanup();
                 }
             }
 
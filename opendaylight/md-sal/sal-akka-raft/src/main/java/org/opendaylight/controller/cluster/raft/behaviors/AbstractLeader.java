@@ -14,20 +14,25 @@ import akka.actor.Cancellable;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Stopwatch;
 import com.google.common.io.ByteSource;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.io.CompressedStreams;
 import org.opendaylight.controller.cluster.io.SharedFileBackedOutputStream;
 import org.opendaylight.controller.cluster.messaging.MessageSlicer;
 import org.opendaylight.controller.cluster.messaging.SliceOptions;
@@ -38,14 +43,18 @@ import org.opendaylight.controller.cluster.raft.FollowerLogInformationImpl;
 import org.opendaylight.controller.cluster.raft.PeerInfo;
 import org.opendaylight.controller.cluster.raft.RaftActorContext;
 import org.opendaylight.controller.cluster.raft.RaftState;
+import org.opendaylight.controller.cluster.raft.RaftVersions;
 import org.opendaylight.controller.cluster.raft.ReplicatedLogEntry;
 import org.opendaylight.controller.cluster.raft.VotingState;
 import org.opendaylight.controller.cluster.raft.base.messages.CheckConsensusReached;
 import org.opendaylight.controller.cluster.raft.base.messages.Replicate;
 import org.opendaylight.controller.cluster.raft.base.messages.SendHeartBeat;
 import org.opendaylight.controller.cluster.raft.base.messages.SendInstallSnapshot;
+import org.opendaylight.controller.cluster.raft.client.messages.GetReadIndexReply;
 import org.opendaylight.controller.cluster.raft.messages.AppendEntries;
 import org.opendaylight.controller.cluster.raft.messages.AppendEntriesReply;
+import org.opendaylight.controller.cluster.raft.messages.ConfirmLeadership;
+import org.opendaylight.controller.cluster.raft.messages.ConfirmLeadershipReply;
 import org.opendaylight.controller.cluster.raft.messages.InstallSnapshot;
 import org.opendaylight.controller.cluster.raft.messages.InstallSnapshotReply;
 import org.opendaylight.controller.cluster.raft.messages.RaftRPC;
@@ -101,6 +110,17 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
     private Optional<SnapshotHolder> snapshotHolder = Optional.absent();
     private int minReplicationCount;
 
+    /**
+     * Read index requests waiting for the current round of leadership confirmation, and those which arrived after it
+     * started and hence have to wait for the next round.
+     */
+    private List<ActorRef> confirmingReadIndexRequests = new ArrayList<>();
+    private List<ActorRef> pendingReadIndexRequests = new ArrayList<>();
+    private final Set<String> leadershipConfirmations = new HashSet<>();
+    private final Stopwatch leadershipConfirmationStopwatch = Stopwatch.createUnstarted();
+    private long leadershipConfirmationRound;
+    private long confirmingReadIndex;
+
     protected AbstractLeader(final RaftActorContext context, final RaftState state,
             @Nullable final AbstractLeader initializeFromLeader) {
         super(context, state);
@@ -226,12 +246,14 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         }
 
         followerLogInformation.markFollowerActive();
+        final boolean staleReply = followerLogInformation.markAppendEntriesReplied();
         followerLogInformation.setPayloadVersion(appendEntriesReply.getPayloadVersion());
         followerLogInformation.setRaftVersion(appendEntriesReply.getRaftVersion());
 
         long followerLastLogIndex = appendEntriesReply.getLogLastIndex();
         long followersLastLogTermInLeadersLog = getLogEntryTerm(followerLastLogIndex);
         boolean updated = false;
+        boolean acknowledged = false;
         if (appendEntriesReply.getLogLastIndex() > context.getReplicatedLog().lastIndex()) {
             // The follower's log is actually ahead of the leader's log. Normally this doesn't happen
             // in raft as a node cannot become leader if it's log is behind another's. However, the
@@ -277,6 +299,7 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
                         followersLastLogTermInLeadersLog, followerLogInformation.getNextIndex());
             } else {
                 updated = updateFollowerLogInformation(followerLogInformation, appendEntriesReply);
+                acknowledged = true;
             }
         } else {
             log.info("{}: handleAppendEntriesReply - received unsuccessful reply: {}, leader snapshotIndex: {}",
@@ -302,6 +325,11 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
                 log.info("{}: follower {} appears to be behind the leader from the last snapshot - "
                     + "updated: matchIndex: {}, nextIndex: {}", logName(), followerId,
                     followerLogInformation.getMatchIndex(), followerLogInformation.getNextIndex());
+            } else if (staleReply) {
+                // The reply is to an AppendEntries pipelined before the follower's next index was last changed. The
+                // conflict has already been accounted for, hence we must not decrement the next index once more.
+                log.debug("{}: follower {} rejected an AppendEntries sent before its next index {} was changed",
+                        logName(), followerId, followerLogInformation.getNextIndex());
             } else {
                 // The follower's log conflicts with leader's log so decrement follower's next index by 1
                 // in an attempt to find where the logs match.
@@ -316,6 +344,14 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
             }
         }
 
+        if (acknowledged) {
+            followerLogInformation.markAppendEntriesAcknowledged();
+        } else {
+            // Any AppendEntries we have pipelined after the one which failed are going to fail as well, hence we
+            // restart replication from the follower's next index.
+            followerLogInformation.resetPipeline();
+        }
+
         if (log.isTraceEnabled()) {
             log.trace("{}: handleAppendEntriesReply from {}: commitIndex: {}, lastAppliedIndex: {}, currentTerm: {}",
                     logName(), followerId, context.getCommitIndex(), context.getLastApplied(), currentTerm());
@@ -489,6 +525,7 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
 
         if (message instanceof SendHeartBeat) {
             beforeSendHeartbeat();
+            checkLeadershipConfirmationExpired();
             sendHeartBeat();
             scheduleHeartBeat(context.getConfigParams().getHeartBeatInterval());
         } else if (message instanceof SendInstallSnapshot) {
@@ -530,7 +567,7 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
 
         followerLogInformation.markFollowerActive();
 
-        if (installSnapshotState.getChunkIndex() == reply.getChunkIndex()) {
+        if (installSnapshotState.isInFlight(reply.getChunkIndex())) {
             boolean wasLastChunk = false;
             if (reply.isSuccess()) {
                 if (installSnapshotState.isLastChunk(reply.getChunkIndex())) {
@@ -559,12 +596,12 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
                         log.debug("Sent message UnInitializedFollowerSnapshotReply to self");
                     }
                 } else {
-                    installSnapshotState.markSendStatus(true);
+                    installSnapshotState.markSendStatus(reply.getChunkIndex(), true);
                 }
             } else {
                 log.warn("{}: Received failed InstallSnapshotReply - will retry: {}", logName(), reply);
 
-                installSnapshotState.markSendStatus(false);
+                installSnapshotState.markSendStatus(reply.getChunkIndex(), false);
             }
 
             if (wasLastChunk) {
@@ -579,6 +616,11 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
                 }
             }
 
+        } else if (reply.isSuccess() && installSnapshotState.isAcknowledged(reply.getChunkIndex())) {
+            // A follower receiving chunks out of order acknowledges the chunks it has applied so far, which we may
+            // have seen already.
+            log.debug("{}: Ignoring duplicate InstallSnapshotReply from follower {} for chunk {}", logName(),
+                    followerId, reply.getChunkIndex());
         } else {
             log.error("{}: Chunk index {} in InstallSnapshotReply from follower {} does not match expected index {}",
                     logName(), reply.getChunkIndex(), followerId,
@@ -683,8 +725,18 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
                     log.debug("{}: sendAppendEntries: {} is present for follower {}", logName(),
                             followerNextIndex, followerId);
 
-                    if (followerLogInformation.okToReplicate()) {
-                        entries = getEntriesToSend(followerLogInformation, followerActor);
+                    // Entries up to sentIndex are in flight, send the subsequent ones without waiting for replies
+                    // if the pipeline has room. If the pipeline has stalled, it is reset and we fall back to sending
+                    // entries from the follower's next index.
+                    final long sentIndex = followerLogInformation.getSentIndex();
+                    if (sentIndex >= followerNextIndex && followerLogInformation.okToPipeline()) {
+                        if (context.getReplicatedLog().isPresent(sentIndex + 1)) {
+                            entries = getEntriesToSend(followerLogInformation, followerActor, sentIndex + 1);
+                            sendAppendEntries = true;
+                        }
+                    } else if (followerLogInformation.getSentIndex() < followerNextIndex
+                            && followerLogInformation.okToReplicate()) {
+                        entries = getEntriesToSend(followerLogInformation, followerActor, followerNextIndex);
                         sendAppendEntries = true;
                     }
                 } else if (isFollowerActive && followerNextIndex >= 0
@@ -726,14 +778,12 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
     }
 
     private List<ReplicatedLogEntry> getEntriesToSend(final FollowerLogInformation followerLogInfo,
-            final ActorSelection followerActor) {
+            final ActorSelection followerActor, final long fromIndex) {
         // Try to get all the entries in the journal but not exceeding the max data size for a single AppendEntries
         // message.
         int maxEntries = (int) context.getReplicatedLog().size();
         final int maxDataSize = context.getConfigParams().getSnapshotChunkSize();
-        final long followerNextIndex = followerLogInfo.getNextIndex();
-        List<ReplicatedLogEntry> entries = context.getReplicatedLog().getFrom(followerNextIndex,
-                maxEntries, maxDataSize);
+        List<ReplicatedLogEntry> entries = context.getReplicatedLog().getFrom(fromIndex, maxEntries, maxDataSize);
 
         // If the first entry's size exceeds the max data size threshold, it will be returned from the call above. If
         // that is the case, then we need to slice it into smaller chunks.
@@ -753,7 +803,7 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
             fileBackedStream = context.getFileBackedOutputStreamFactory().newSharedInstance();
 
             final AppendEntries appendEntries = new AppendEntries(currentTerm(), context.getId(),
-                    getLogEntryIndex(followerNextIndex - 1), getLogEntryTerm(followerNextIndex - 1), entries,
+                    getLogEntryIndex(fromIndex - 1), getLogEntryTerm(fromIndex - 1), entries,
                     context.getCommitIndex(), getReplicatedToAllIndex(), context.getPayloadVersion());
 
             log.debug("{}: Serializing {} for slicing for follower {}", logName(), appendEntries,
@@ -810,10 +860,12 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         long leaderCommitIndex = isInstallingSnaphot || followerLogInformation.isLogEntrySlicingInProgress()
                 || !followerLogInformation.isFollowerActive() ? -1 : context.getCommitIndex();
 
-        long followerNextIndex = followerLogInformation.getNextIndex();
+        // The entries follow the follower's next index, unless they are being pipelined after entries in flight
+        long prevLogIndex = entries.isEmpty() ? followerLogInformation.getNextIndex() - 1
+                : entries.get(0).getIndex() - 1;
         AppendEntries appendEntries = new AppendEntries(currentTerm(), context.getId(),
-            getLogEntryIndex(followerNextIndex - 1),
-            getLogEntryTerm(followerNextIndex - 1), entries,
+            getLogEntryIndex(prevLogIndex),
+            getLogEntryTerm(prevLogIndex), entries,
             leaderCommitIndex, super.getReplicatedToAllIndex(), context.getPayloadVersion());
 
         if (!entries.isEmpty() || log.isTraceEnabled()) {
@@ -822,6 +874,8 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         }
 
         followerActor.tell(appendEntries, actor());
+        followerLogInformation.markAppendEntriesSent(prevLogIndex, entries.isEmpty() ? FollowerLogInformation.NO_INDEX
+                : entries.get(entries.size() - 1).getIndex());
     }
 
     /**
@@ -858,8 +912,7 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         boolean captureInitiated = context.getSnapshotManager().captureToInstall(context.getReplicatedLog().last(),
             this.getReplicatedToAllIndex(), followerId);
         if (captureInitiated) {
-            followerLogInfo.setLeaderInstallSnapshotState(new LeaderInstallSnapshotState(
-                context.getConfigParams().getSnapshotChunkSize(), logName()));
+            followerLogInfo.setLeaderInstallSnapshotState(newInstallSnapshotState(followerLogInfo));
         }
 
         return captureInitiated;
@@ -901,52 +954,58 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         if (snapshotHolder.isPresent()) {
             LeaderInstallSnapshotState installSnapshotState = followerLogInfo.getInstallSnapshotState();
             if (installSnapshotState == null) {
-                installSnapshotState = new LeaderInstallSnapshotState(context.getConfigParams().getSnapshotChunkSize(),
-                        logName());
+                installSnapshotState = newInstallSnapshotState(followerLogInfo);
                 followerLogInfo.setLeaderInstallSnapshotState(installSnapshotState);
             }
 
             try {
                 // Ensure the snapshot bytes are set - this is a no-op.
-                installSnapshotState.setSnapshotBytes(snapshotHolder.get().getSnapshotBytes());
+                installSnapshotState.setSnapshotBytes(snapshotHolder.get().getSnapshotBytes(
+                        followerLogInfo.getRaftVersion()));
 
-                if (!installSnapshotState.canSendNextChunk()) {
-                    return;
-                }
+                // Fill the window of unacknowledged chunks
+                while (installSnapshotState.canSendNextChunk()) {
+                    byte[] nextSnapshotChunk = installSnapshotState.getNextChunk();
 
-                byte[] nextSnapshotChunk = installSnapshotState.getNextChunk();
+                    log.debug("{}: next snapshot chunk size for follower {}: {}", logName(), followerLogInfo.getId(),
+                            nextSnapshotChunk.length);
 
-                log.debug("{}: next snapshot chunk size for follower {}: {}", logName(), followerLogInfo.getId(),
-                        nextSnapshotChunk.length);
+                    int nextChunkIndex = installSnapshotState.getChunkIndex();
+                    Optional<ServerConfigurationPayload> serverConfig = Optional.absent();
+                    if (installSnapshotState.isLastChunk(nextChunkIndex)) {
+                        serverConfig = Optional.fromNullable(context.getPeerServerInfo(true));
+                    }
 
-                int nextChunkIndex = installSnapshotState.incrementChunkIndex();
-                Optional<ServerConfigurationPayload> serverConfig = Optional.absent();
-                if (installSnapshotState.isLastChunk(nextChunkIndex)) {
-                    serverConfig = Optional.fromNullable(context.getPeerServerInfo(true));
+                    followerActor.tell(
+                        new InstallSnapshot(currentTerm(), context.getId(),
+                            snapshotHolder.get().getLastIncludedIndex(),
+                            snapshotHolder.get().getLastIncludedTerm(),
+                            nextSnapshotChunk,
+                            nextChunkIndex,
+                            installSnapshotState.getTotalChunks(),
+                            Optional.of(installSnapshotState.getLastChunkHashCode()),
+                            serverConfig
+                        ).toSerializable(followerLogInfo.getRaftVersion()),
+                        actor()
+                    );
+
+                    log.debug("{}: InstallSnapshot sent to follower {}, Chunk: {}/{}", logName(),
+                        followerActor.path(), nextChunkIndex, installSnapshotState.getTotalChunks());
                 }
-
-                followerActor.tell(
-                    new InstallSnapshot(currentTerm(), context.getId(),
-                        snapshotHolder.get().getLastIncludedIndex(),
-                        snapshotHolder.get().getLastIncludedTerm(),
-                        nextSnapshotChunk,
-                        nextChunkIndex,
-                        installSnapshotState.getTotalChunks(),
-                        Optional.of(installSnapshotState.getLastChunkHashCode()),
-                        serverConfig
-                    ).toSerializable(followerLogInfo.getRaftVersion()),
-                    actor()
-                );
-
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
-
-            log.debug("{}: InstallSnapshot sent to follower {}, Chunk: {}/{}", logName(), followerActor.path(),
-                installSnapshotState.getChunkIndex(), installSnapshotState.getTotalChunks());
         }
     }
 
+    private LeaderInstallSnapshotState newInstallSnapshotState(final FollowerLogInformation followerLogInfo) {
+        // Followers which predate FLUORINE expect chunks to be sent one at a time
+        final int windowSize = followerLogInfo.getRaftVersion() >= RaftVersions.FLUORINE_VERSION
+                ? context.getConfigParams().getInstallSnapshotWindowSize() : 1;
+        return new LeaderInstallSnapshotState(context.getConfigParams().getSnapshotChunkSize(), windowSize,
+            logName());
+    }
+
     private void sendHeartBeat() {
         if (!followerToLog.isEmpty()) {
             log.trace("{}: Sending heartbeat", logName());
@@ -985,6 +1044,9 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
     public void close() {
         stopHeartBeat();
         appendEntriesMessageSlicer.close();
+
+        replyReadIndexUnavailable(confirmingReadIndexRequests);
+        replyReadIndexUnavailable(pendingReadIndexRequests);
     }
 
     @Override
@@ -1011,6 +1073,113 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         return minPresent != 0;
     }
 
+    /**
+     * Requests a read index, i.e. the index up to which a follower has to apply its journal before it can serve
+     * linearizable reads. This is the last index in the leader's journal, as the journal of an elected leader contains
+     * all committed entries. Before handing it out, the leader confirms it has not been superseded by a newer leader:
+     * it sends a {@link ConfirmLeadership} to its voting followers after the request arrived and waits for a majority
+     * of them to reply within the same term. Requests which arrive while a round of confirmation is in progress are
+     * batched into the next round. The result is sent to the requestor as a {@link GetReadIndexReply}, which is
+     * unavailable if leadership could not be confirmed within the election timeout.
+     *
+     * @param replyTo the actor to send the {@link GetReadIndexReply} to
+     */
+    public void requestReadIndex(final ActorRef replyTo) {
+        pendingReadIndexRequests.add(replyTo);
+        if (confirmingReadIndexRequests.isEmpty()) {
+            startLeadershipConfirmation();
+        }
+    }
+
+    private void startLeadershipConfirmation() {
+        final List<ActorRef> requests = confirmingReadIndexRequests;
+        confirmingReadIndexRequests = pendingReadIndexRequests;
+        pendingReadIndexRequests = requests;
+
+        leadershipConfirmations.clear();
+        leadershipConfirmationStopwatch.reset().start();
+        confirmingReadIndex = context.getReplicatedLog().lastIndex();
+        final long round = ++leadershipConfirmationRound;
+
+        log.debug("{}: Starting leadership confirmation round {} for read index {}", logName(), round,
+                confirmingReadIndex);
+
+        // Followers which do not understand ConfirmLeadership are not asked, so they do not count towards the majority
+        final ConfirmLeadership confirmLeadership = new ConfirmLeadership(currentTerm(), context.getId(), round);
+        for (FollowerLogInformation followerLogInformation : followerToLog.values()) {
+            final PeerInfo peerInfo = context.getPeerInfo(followerLogInformation.getId());
+            if (peerInfo != null && peerInfo.isVoting()
+                    && followerLogInformation.getRaftVersion() >= RaftVersions.FLUORINE_VERSION) {
+                final ActorSelection followerActor = context.getPeerActorSelection(followerLogInformation.getId());
+                if (followerActor != null) {
+                    followerActor.tell(confirmLeadership, actor());
+                }
+            }
+        }
+
+        possiblyCompleteLeadershipConfirmation();
+    }
+
+    @Override
+    protected RaftActorBehavior handleConfirmLeadershipReply(final ActorRef sender,
+            final ConfirmLeadershipReply reply) {
+        // Replies with a higher term have already made us step down
+        if (reply.getRound() != leadershipConfirmationRound || confirmingReadIndexRequests.isEmpty()
+                || reply.getTerm() != currentTerm()) {
+            log.debug("{}: Ignoring stale {}", logName(), reply);
+            return this;
+        }
+
+        final PeerInfo peerInfo = context.getPeerInfo(reply.getFollowerId());
+        if (peerInfo != null && peerInfo.isVoting()) {
+            leadershipConfirmations.add(reply.getFollowerId());
+            possiblyCompleteLeadershipConfirmation();
+        }
+
+        return this;
+    }
+
+    private void possiblyCompleteLeadershipConfirmation() {
+        if (leadershipConfirmations.size() < getMinIsolatedLeaderPeerCount()) {
+            return;
+        }
+
+        log.debug("{}: Leadership confirmed by {} in round {}, read index {}", logName(), leadershipConfirmations,
+                leadershipConfirmationRound, confirmingReadIndex);
+
+        final GetReadIndexReply reply = GetReadIndexReply.of(confirmingReadIndex);
+        for (ActorRef replyTo : confirmingReadIndexRequests) {
+            replyTo.tell(reply, actor());
+        }
+        confirmingReadIndexRequests.clear();
+
+        if (!pendingReadIndexRequests.isEmpty()) {
+            startLeadershipConfirmation();
+        }
+    }
+
+    private void checkLeadershipConfirmationExpired() {
+        if (confirmingReadIndexRequests.isEmpty() || leadershipConfirmationStopwatch.elapsed(TimeUnit.MILLISECONDS)
+                < context.getConfigParams().getElectionTimeOutInterval().toMillis()) {
+            return;
+        }
+
+        log.debug("{}: Leadership confirmation round {} timed out with confirmations from {}", logName(),
+                leadershipConfirmationRound, leadershipConfirmations);
+
+        replyReadIndexUnavailable(confirmingReadIndexRequests);
+        if (!pendingReadIndexRequests.isEmpty()) {
+            startLeadershipConfirmation();
+        }
+    }
+
+    private void replyReadIndexUnavailable(final List<ActorRef> requests) {
+        for (ActorRef replyTo : requests) {
+            replyTo.tell(GetReadIndexReply.unavailable(), actor());
+        }
+        requests.clear();
+    }
+
     // called from example-actor for printing the follower-states
     public String printFollowerStates() {
         final StringBuilder sb = new StringBuilder();
@@ -1042,6 +1211,7 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
         private final long lastIncludedTerm;
         private final long lastIncludedIndex;
         private final ByteSource snapshotBytes;
+        private Boolean compressed;
 
         SnapshotHolder(final Snapshot snapshot, final ByteSource snapshotBytes) {
             this.lastIncludedTerm = snapshot.getLastAppliedTerm();
@@ -1057,8 +1227,20 @@ public abstract class AbstractLeader extends AbstractRaftActorBehavior {
             return lastIncludedIndex;
         }
 
-        ByteSource getSnapshotBytes() {
-            return snapshotBytes;
+        /**
+         * Returns the snapshot bytes to send to a follower at the specified raft version. Followers which predate
+         * {@link RaftVersions#FLUORINE_VERSION} cannot handle compressed data, hence they are sent a decompressing
+         * view of the bytes.
+         */
+        ByteSource getSnapshotBytes(final short raftVersion) throws IOException {
+            if (raftVersion >= RaftVersions.FLUORINE_VERSION) {
+                return snapshotBytes;
+            }
+
+            if (compressed == null) {
+                compressed = CompressedStreams.isCompressed(snapshotBytes);
+            }
+            return compressed ? CompressedStreams.decompressIfNeeded(snapshotBytes) : snapshotBytes;
         }
     }
 }
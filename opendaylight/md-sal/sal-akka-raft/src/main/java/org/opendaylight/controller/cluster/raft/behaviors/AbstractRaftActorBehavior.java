@@ -16,11 +16,14 @@ import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.cluster.raft.ClientRequestTracker;
 import org.opendaylight.controller.cluster.raft.RaftActorContext;
 import org.opendaylight.controller.cluster.raft.RaftState;
+import org.opendaylight.controller.cluster.raft.ReplicatedLog;
 import org.opendaylight.controller.cluster.raft.ReplicatedLogEntry;
 import org.opendaylight.controller.cluster.raft.base.messages.ApplyState;
 import org.opendaylight.controller.cluster.raft.base.messages.ElectionTimeout;
 import org.opendaylight.controller.cluster.raft.messages.AppendEntries;
 import org.opendaylight.controller.cluster.raft.messages.AppendEntriesReply;
+import org.opendaylight.controller.cluster.raft.messages.ConfirmLeadership;
+import org.opendaylight.controller.cluster.raft.messages.ConfirmLeadershipReply;
 import org.opendaylight.controller.cluster.raft.messages.RequestVote;
 import org.opendaylight.controller.cluster.raft.messages.RequestVoteReply;
 import org.opendaylight.controller.cluster.raft.persisted.ApplyJournalEntries;
@@ -235,6 +238,34 @@ public abstract class AbstractRaftActorBehavior implements RaftActorBehavior {
     protected abstract RaftActorBehavior handleRequestVoteReply(ActorRef sender,
         RequestVoteReply requestVoteReply);
 
+    /**
+     * Handles a {@link ConfirmLeadership} from the leader. The reply carries our current term, which has already been
+     * updated if the leader's term was higher. A higher term in the reply tells the leader it has been superseded.
+     *
+     * @param sender             The actor that sent this message
+     * @param confirmLeadership  The ConfirmLeadership message
+     * @return a new behavior if it was changed or the current behavior
+     */
+    protected RaftActorBehavior handleConfirmLeadership(final ActorRef sender,
+            final ConfirmLeadership confirmLeadership) {
+        sender.tell(new ConfirmLeadershipReply(currentTerm(), context.getId(), confirmLeadership.getRound()),
+            actor());
+        return this;
+    }
+
+    /**
+     * Handles a {@link ConfirmLeadershipReply}. Only the leader is interested in these, other behaviors ignore late
+     * replies.
+     *
+     * @param sender The actor that sent this message
+     * @param reply  The ConfirmLeadershipReply message
+     * @return a new behavior if it was changed or the current behavior
+     */
+    protected RaftActorBehavior handleConfirmLeadershipReply(final ActorRef sender,
+            final ConfirmLeadershipReply reply) {
+        return this;
+    }
+
     /**
      * Returns a duration for election with an additional variance for randomness.
      *
@@ -397,6 +428,8 @@ public abstract class AbstractRaftActorBehavior implements RaftActorBehavior {
             }
         }
 
+        compactAppliedEntries();
+
         // send a message to persist a ApplyLogEntries marker message into akka's persistent journal
         // will be used during recovery
         //in case if the above code throws an error and this message is not sent, it would be fine
@@ -404,6 +437,19 @@ public abstract class AbstractRaftActorBehavior implements RaftActorBehavior {
         actor().tell(new ApplyJournalEntries(context.getLastApplied()), actor());
     }
 
+    /**
+     * Compacts the applied entries retained in the in-memory journal, if there are more of them than the configured
+     * threshold. These are normally kept only for the benefit of lagging followers.
+     */
+    private void compactAppliedEntries() {
+        final int threshold = context.getConfigParams().getInMemoryJournalCompactionThreshold();
+        final ReplicatedLog replicatedLog = context.getReplicatedLog();
+        final long lastApplied = context.getLastApplied();
+        if (threshold > 0 && lastApplied - replicatedLog.getSnapshotIndex() > threshold) {
+            replicatedLog.compactTo(lastApplied, context.getConfigParams().isInMemoryJournalOffHeap());
+        }
+    }
+
     @Override
     public RaftActorBehavior handleMessage(ActorRef sender, Object message) {
         if (message instanceof AppendEntries) {
@@ -414,6 +460,10 @@ public abstract class AbstractRaftActorBehavior implements RaftActorBehavior {
             return requestVote(sender, (RequestVote) message);
         } else if (message instanceof RequestVoteReply) {
             return handleRequestVoteReply(sender, (RequestVoteReply) message);
+        } else if (message instanceof ConfirmLeadership) {
+            return handleConfirmLeadership(sender, (ConfirmLeadership) message);
+        } else if (message instanceof ConfirmLeadershipReply) {
+            return handleConfirmLeadershipReply(sender, (ConfirmLeadershipReply) message);
         } else {
             return null;
         }
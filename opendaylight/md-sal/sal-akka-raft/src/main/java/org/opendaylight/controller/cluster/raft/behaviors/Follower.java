@@ -15,7 +15,6 @@ import akka.cluster.Cluster;
 import akka.cluster.ClusterEvent.CurrentClusterState;
 import akka.cluster.Member;
 import akka.cluster.MemberStatus;
-import akka.japi.Procedure;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Stopwatch;
 import java.io.IOException;
@@ -24,7 +23,6 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.Nullable;
 import org.opendaylight.controller.cluster.messaging.MessageAssembler;
 import org.opendaylight.controller.cluster.raft.RaftActorContext;
@@ -63,6 +61,9 @@ public class Follower extends AbstractRaftActorBehavior {
     private SnapshotTracker snapshotTracker = null;
     private String leaderId;
     private short leaderPayloadVersion;
+    private int lastPersistBatchSize;
+    private long lastPersistBatchNanos;
+    private long maxPersistBatchNanos;
 
     public Follower(final RaftActorContext context) {
         this(context, null, (short)-1);
@@ -166,7 +167,8 @@ public class Follower extends AbstractRaftActorBehavior {
             return this;
         }
 
-        if (!processNewEntries(appendEntries, sender)) {
+        final PendingReply pendingReply = new PendingReply(sender);
+        if (!processNewEntries(appendEntries, sender, pendingReply)) {
             updateInitialSyncStatus(appendEntries.getLeaderCommit(), appendEntries.getLeaderId());
             return this;
         }
@@ -192,8 +194,9 @@ public class Follower extends AbstractRaftActorBehavior {
             log.debug("{}: handleAppendEntries returning : {}", logName(), reply);
         }
 
-        // Reply to the leader before applying any previous state so as not to hold up leader consensus.
-        sender.tell(reply, actor());
+        // Reply to the leader before applying any previous state so as not to hold up leader consensus. If we have
+        // appended new entries, the reply goes out once they have been persisted.
+        pendingReply.setReply(reply);
 
         updateInitialSyncStatus(appendEntries.getLeaderCommit(), appendEntries.getLeaderId());
 
@@ -218,7 +221,8 @@ public class Follower extends AbstractRaftActorBehavior {
         return this;
     }
 
-    private boolean processNewEntries(final AppendEntries appendEntries, final ActorRef sender) {
+    private boolean processNewEntries(final AppendEntries appendEntries, final ActorRef sender,
+            final PendingReply pendingReply) {
         int numLogEntries = appendEntries.getEntries().size();
         if (numLogEntries == 0) {
             return true;
@@ -284,32 +288,45 @@ public class Follower extends AbstractRaftActorBehavior {
         log.debug("{}: After cleanup, lastIndex: {}, entries to be added from: {}", logName(), lastIndex,
                 addEntriesFrom);
 
-        // When persistence successfully completes for each new log entry appended, we need to determine if we
-        // should capture a snapshot to compact the persisted log. shouldCaptureSnapshot tracks whether or not
-        // one of the log entries has exceeded the log size threshold whereby a snapshot should be taken. However
-        // we don't initiate the snapshot at that log entry but rather after the last log entry has been persisted.
-        // This is done because subsequent log entries after the one that tripped the threshold may have been
-        // applied to the state already, as the persistence callback occurs async, and we want those entries
-        // purged from the persisted log as well.
-        final AtomicBoolean shouldCaptureSnapshot = new AtomicBoolean(false);
-        final Procedure<ReplicatedLogEntry> appendAndPersistCallback = logEntry -> {
-            final List<ReplicatedLogEntry> entries = appendEntries.getEntries();
-            final ReplicatedLogEntry lastEntryToAppend = entries.get(entries.size() - 1);
-            if (shouldCaptureSnapshot.get() && logEntry == lastEntryToAppend) {
-                context.getSnapshotManager().capture(context.getReplicatedLog().last(), getReplicatedToAllIndex());
-            }
-        };
+        if (addEntriesFrom >= numLogEntries) {
+            return true;
+        }
 
-        // Append any new entries not already in the log
-        for (int i = addEntriesFrom; i < numLogEntries; i++) {
-            ReplicatedLogEntry entry = appendEntries.getEntries().get(i);
+        // Append all new entries not already in the log and persist them with a single journal write. Once that
+        // completes, we need to determine if we should capture a snapshot to compact the persisted log. We don't
+        // initiate the snapshot at the log entry which exceeded the log size threshold, but rather after the last
+        // log entry has been persisted. This is done because subsequent log entries after the one that tripped the
+        // threshold may have been applied to the state already, as the persistence callback occurs async, and we
+        // want those entries purged from the persisted log as well.
+        final List<ReplicatedLogEntry> newEntries = appendEntries.getEntries().subList(addEntriesFrom, numLogEntries);
+        final long startNanos = System.nanoTime();
+        pendingReply.setPersisting();
 
-            log.debug("{}: Append entry to log {}", logName(), entry.getData());
+        final int appended = context.getReplicatedLog().appendAndPersistAll(newEntries, lastEntry -> {
+            final int batchSize = (int) (lastEntry.getIndex() - newEntries.get(0).getIndex() + 1);
+            recordPersistBatch(batchSize, System.nanoTime() - startNanos);
 
-            context.getReplicatedLog().appendAndPersist(entry, appendAndPersistCallback, false);
+            for (ReplicatedLogEntry entry : newEntries) {
+                if (entry.getIndex() > lastEntry.getIndex()) {
+                    break;
+                }
+                if (context.getReplicatedLog().shouldCaptureSnapshot(entry.getIndex())) {
+                    context.getSnapshotManager().capture(context.getReplicatedLog().last(),
+                        getReplicatedToAllIndex());
+                    break;
+                }
+            }
 
-            shouldCaptureSnapshot.compareAndSet(false,
-                    context.getReplicatedLog().shouldCaptureSnapshot(entry.getIndex()));
+            pendingReply.setPersisted();
+        });
+
+        if (appended == 0) {
+            // Nothing to persist, do not hold up the reply
+            pendingReply.setPersisted();
+        }
+
+        for (ReplicatedLogEntry entry : newEntries.subList(0, appended)) {
+            log.debug("{}: Appended entry to log {}", logName(), entry.getData());
 
             if (entry.getData() instanceof ServerConfigurationPayload) {
                 context.updatePeerIds((ServerConfigurationPayload)entry.getData());
@@ -321,6 +338,43 @@ public class Follower extends AbstractRaftActorBehavior {
         return true;
     }
 
+    private void recordPersistBatch(final int batchSize, final long elapsedNanos) {
+        log.debug("{}: Persisted {} log entries in {}us", logName(), batchSize,
+            TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+
+        lastPersistBatchSize = batchSize;
+        lastPersistBatchNanos = elapsedNanos;
+        maxPersistBatchNanos = Math.max(maxPersistBatchNanos, elapsedNanos);
+    }
+
+    /**
+     * Returns the number of log entries persisted by the most recent journal write of new entries received from
+     * the leader.
+     *
+     * @return the number of log entries
+     */
+    public int getLastPersistBatchSize() {
+        return lastPersistBatchSize;
+    }
+
+    /**
+     * Returns the time it took to persist the most recent batch of new entries received from the leader.
+     *
+     * @return elapsed time in nanoseconds
+     */
+    public long getLastPersistBatchNanos() {
+        return lastPersistBatchNanos;
+    }
+
+    /**
+     * Returns the maximum time it took to persist a batch of new entries received from the leader.
+     *
+     * @return elapsed time in nanoseconds
+     */
+    public long getMaxPersistBatchNanos() {
+        return maxPersistBatchNanos;
+    }
+
     private boolean isOutOfSync(final AppendEntries appendEntries, final ActorRef sender) {
 
         final long lastIndex = lastIndex();
@@ -560,11 +614,19 @@ public class Follower extends AbstractRaftActorBehavior {
         updateInitialSyncStatus(installSnapshot.getLastIncludedIndex(), installSnapshot.getLeaderId());
 
         try {
-            final InstallSnapshotReply reply = new InstallSnapshotReply(
-                    currentTerm(), context.getId(), installSnapshot.getChunkIndex(), true);
+            final boolean complete = snapshotTracker.addChunk(installSnapshot.getChunkIndex(),
+                    installSnapshot.getData(), installSnapshot.getLastChunkHashCode());
 
-            if (snapshotTracker.addChunk(installSnapshot.getChunkIndex(), installSnapshot.getData(),
-                    installSnapshot.getLastChunkHashCode())) {
+            // Acknowledge all chunks received so far, unless we have detected a gap, in which case we ask the leader
+            // to retransmit the missing chunk.
+            final int missingChunkIndex = complete ? LeaderInstallSnapshotState.INVALID_CHUNK_INDEX
+                    : snapshotTracker.pollMissingChunkIndex();
+            final InstallSnapshotReply reply = missingChunkIndex != LeaderInstallSnapshotState.INVALID_CHUNK_INDEX
+                    ? new InstallSnapshotReply(currentTerm(), context.getId(), missingChunkIndex, false)
+                    : new InstallSnapshotReply(currentTerm(), context.getId(), snapshotTracker.getLastChunkIndex(),
+                        true);
+
+            if (complete) {
 
                 log.info("{}: Snapshot installed from leader: {}", logName(), installSnapshot.getLeaderId());
 
@@ -629,4 +691,39 @@ public class Follower extends AbstractRaftActorBehavior {
     SnapshotTracker getSnapshotTracker() {
         return snapshotTracker;
     }
+
+    /**
+     * An {@link AppendEntriesReply} which must not be sent until the entries it acknowledges have been persisted.
+     * Depending on the persistence provider, persistence may complete before or after the reply is ready.
+     */
+    private final class PendingReply {
+        private final ActorRef sender;
+        private AppendEntriesReply reply;
+        private boolean persisted = true;
+
+        PendingReply(final ActorRef sender) {
+            this.sender = sender;
+        }
+
+        void setPersisting() {
+            persisted = false;
+        }
+
+        void setPersisted() {
+            persisted = true;
+            sendIfReady();
+        }
+
+        void setReply(final AppendEntriesReply newReply) {
+            reply = newReply;
+            sendIfReady();
+        }
+
+        private void sendIfReady() {
+            if (persisted && reply != null) {
+                sender.tell(reply, actor());
+                reply = null;
+            }
+        }
+    }
 }
@@ -7,15 +7,22 @@
  */
 package org.opendaylight.controller.cluster.raft.behaviors;
 
+import com.google.common.base.Preconditions;
 import com.google.common.io.ByteSource;
+import com.google.common.io.ByteStreams;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Encapsulates the leader state and logic for sending snapshot chunks to a follower.
+ * Encapsulates the leader state and logic for sending snapshot chunks to a follower. Up to a configured number of
+ * chunks may be in flight at any given time, i.e. sent but not yet acknowledged by the follower.
  */
 public final class LeaderInstallSnapshotState implements AutoCloseable {
     private static final Logger LOG = LoggerFactory.getLogger(LeaderInstallSnapshotState.class);
@@ -29,23 +36,42 @@ public final class LeaderInstallSnapshotState implements AutoCloseable {
     // This would be passed as the hash code of the last chunk when sending the first chunk
     static final int INITIAL_LAST_CHUNK_HASH_CODE = -1;
 
+    private final NavigableMap<Integer, SentChunk> inFlightChunks = new TreeMap<>();
+    private final NavigableSet<Integer> retransmitChunks = new TreeSet<>();
     private final int snapshotChunkSize;
+    private final int windowSize;
     private final String logName;
     private ByteSource snapshotBytes;
     private int offset = 0;
-    // the next snapshot chunk is sent only if the replyReceivedForOffset matches offset
-    private int replyReceivedForOffset = -1;
-    // if replyStatus is false, the previous chunk is attempted
-    private boolean replyStatus = false;
+    private int nextChunkIndex = FIRST_CHUNK_INDEX;
+    private int nextChunkLastHashCode = INITIAL_LAST_CHUNK_HASH_CODE;
     private int chunkIndex = FIRST_CHUNK_INDEX;
     private int totalChunks;
     private int lastChunkHashCode = INITIAL_LAST_CHUNK_HASH_CODE;
-    private int nextChunkHashCode = INITIAL_LAST_CHUNK_HASH_CODE;
     private long snapshotSize;
     private InputStream snapshotInputStream;
 
+    /**
+     * A chunk which has been sent, but not acknowledged yet. We keep its data around so it can be retransmitted.
+     */
+    private static final class SentChunk {
+        final byte[] data;
+        final int lastChunkHashCode;
+
+        SentChunk(final byte[] data, final int lastChunkHashCode) {
+            this.data = data;
+            this.lastChunkHashCode = lastChunkHashCode;
+        }
+    }
+
     LeaderInstallSnapshotState(final int snapshotChunkSize, final String logName) {
+        this(snapshotChunkSize, 1, logName);
+    }
+
+    LeaderInstallSnapshotState(final int snapshotChunkSize, final int windowSize, final String logName) {
+        Preconditions.checkArgument(windowSize > 0, "Window size must be positive, not %s", windowSize);
         this.snapshotChunkSize = snapshotChunkSize;
+        this.windowSize = windowSize;
         this.logName = logName;
     }
 
@@ -61,28 +87,15 @@ public final class LeaderInstallSnapshotState implements AutoCloseable {
 
         totalChunks = (int) (snapshotSize / snapshotChunkSize + (snapshotSize % snapshotChunkSize > 0 ? 1 : 0));
 
-        LOG.debug("{}: Snapshot {} bytes, total chunks to send: {}", logName, snapshotSize, totalChunks);
-
-        replyReceivedForOffset = -1;
-        chunkIndex = FIRST_CHUNK_INDEX;
-    }
-
-    int incrementOffset() {
-        if (replyStatus) {
-            // if prev chunk failed, we would want to sent the same chunk again
-            offset = offset + snapshotChunkSize;
-        }
-        return offset;
-    }
-
-    int incrementChunkIndex() {
-        if (replyStatus) {
-            // if prev chunk failed, we would want to sent the same chunk again
-            chunkIndex =  chunkIndex + 1;
-        }
-        return chunkIndex;
+        LOG.debug("{}: Snapshot {} bytes, total chunks to send: {}, window size: {}", logName, snapshotSize,
+            totalChunks, windowSize);
     }
 
+    /**
+     * Returns the index of the chunk most recently returned by {@link #getNextChunk()}.
+     *
+     * @return a chunk index
+     */
     int getChunkIndex() {
         return chunkIndex;
     }
@@ -91,31 +104,76 @@ public final class LeaderInstallSnapshotState implements AutoCloseable {
         return totalChunks;
     }
 
+    int getWindowSize() {
+        return windowSize;
+    }
+
     boolean canSendNextChunk() {
-        // we only send a false if a chunk is sent but we have not received a reply yet
-        return snapshotBytes != null && (nextChunkHashCode == INITIAL_LAST_CHUNK_HASH_CODE
-                || replyReceivedForOffset == offset);
+        // We can send a chunk if one needs to be retransmitted, or if there is room in the window for a new one
+        return snapshotBytes != null && (!retransmitChunks.isEmpty()
+                || inFlightChunks.size() < windowSize && nextChunkIndex <= totalChunks);
     }
 
     boolean isLastChunk(final int index) {
         return totalChunks == index;
     }
 
-    void markSendStatus(final boolean success) {
-        if (success) {
-            // if the chunk sent was successful
-            replyReceivedForOffset = offset;
-            replyStatus = true;
-            lastChunkHashCode = nextChunkHashCode;
-        } else {
-            // if the chunk sent was failure
-            replyReceivedForOffset = offset;
-            replyStatus = false;
+    /**
+     * Checks whether a chunk has been sent and is awaiting acknowledgement.
+     *
+     * @param index the chunk index
+     * @return true if the chunk is awaiting acknowledgement
+     */
+    boolean isInFlight(final int index) {
+        return inFlightChunks.containsKey(index);
+    }
+
+    /**
+     * Checks whether a chunk has already been acknowledged.
+     *
+     * @param index the chunk index
+     * @return true if the chunk has already been acknowledged
+     */
+    boolean isAcknowledged(final int index) {
+        return index < (inFlightChunks.isEmpty() ? nextChunkIndex : inFlightChunks.firstKey());
+    }
+
+    /**
+     * Records the follower's reply to a chunk. Followers apply chunks in order, hence a successful reply acknowledges
+     * all chunks up to and including the specified one. A failed reply acknowledges all chunks preceding the specified
+     * one and causes the specified chunk to be retransmitted.
+     *
+     * @param index the chunk index
+     * @param success true if the follower has applied the chunk
+     */
+    void markSendStatus(final int index, final boolean success) {
+        inFlightChunks.headMap(index, success).clear();
+        retransmitChunks.headSet(index, success).clear();
+        if (!success && inFlightChunks.containsKey(index)) {
+            retransmitChunks.add(index);
         }
     }
 
+    /**
+     * Returns the next chunk to send, which is either a chunk scheduled for retransmission or the next chunk of the
+     * snapshot. {@link #getChunkIndex()} and {@link #getLastChunkHashCode()} are updated to reflect the returned
+     * chunk.
+     *
+     * @return chunk data
+     * @throws IOException if the snapshot cannot be read
+     */
     byte[] getNextChunk() throws IOException {
-        int start = incrementOffset();
+        final Integer retransmit = retransmitChunks.pollFirst();
+        if (retransmit != null) {
+            final SentChunk chunk = inFlightChunks.get(retransmit);
+            chunkIndex = retransmit;
+            lastChunkHashCode = chunk.lastChunkHashCode;
+
+            LOG.debug("{}: Retransmitting chunk {}", logName, retransmit);
+            return chunk.data;
+        }
+
+        final int start = offset;
         int size = snapshotChunkSize;
         if (snapshotChunkSize > snapshotSize) {
             size = (int) snapshotSize;
@@ -124,16 +182,20 @@ public final class LeaderInstallSnapshotState implements AutoCloseable {
         }
 
         byte[] nextChunk = new byte[size];
-        int numRead = snapshotInputStream.read(nextChunk);
+        int numRead = ByteStreams.read(snapshotInputStream, nextChunk, 0, size);
         if (numRead != size) {
             throw new IOException(String.format(
                     "The # of bytes read from the input stream, %d, does not match the expected # %d", numRead, size));
         }
 
-        nextChunkHashCode = Arrays.hashCode(nextChunk);
+        chunkIndex = nextChunkIndex++;
+        lastChunkHashCode = nextChunkLastHashCode;
+        nextChunkLastHashCode = Arrays.hashCode(nextChunk);
+        offset += size;
+        inFlightChunks.put(chunkIndex, new SentChunk(nextChunk, lastChunkHashCode));
 
-        LOG.debug("{}: Next chunk: total length={}, offset={}, size={}, hashCode={}", logName,
-                snapshotSize, start, size, nextChunkHashCode);
+        LOG.debug("{}: Next chunk: index={}, total length={}, offset={}, size={}, hashCode={}", logName, chunkIndex,
+                snapshotSize, start, size, nextChunkLastHashCode);
         return nextChunk;
     }
 
@@ -144,8 +206,10 @@ public final class LeaderInstallSnapshotState implements AutoCloseable {
         closeStream();
 
         offset = 0;
-        replyStatus = false;
-        replyReceivedForOffset = offset;
+        inFlightChunks.clear();
+        retransmitChunks.clear();
+        nextChunkIndex = FIRST_CHUNK_INDEX;
+        nextChunkLastHashCode = INITIAL_LAST_CHUNK_HASH_CODE;
         chunkIndex = FIRST_CHUNK_INDEX;
         lastChunkHashCode = INITIAL_LAST_CHUNK_HASH_CODE;
 
@@ -159,6 +223,8 @@ public final class LeaderInstallSnapshotState implements AutoCloseable {
     @Override
     public void close() {
         closeStream();
+        inFlightChunks.clear();
+        retransmitChunks.clear();
         snapshotBytes = null;
     }
 
@@ -174,6 +240,11 @@ public final class LeaderInstallSnapshotState implements AutoCloseable {
         }
     }
 
+    /**
+     * Returns the hash code of the chunk preceding the one most recently returned by {@link #getNextChunk()}.
+     *
+     * @return a hash code
+     */
     int getLastChunkHashCode() {
         return lastChunkHashCode;
     }
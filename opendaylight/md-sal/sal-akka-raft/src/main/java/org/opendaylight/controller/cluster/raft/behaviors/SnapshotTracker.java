@@ -14,14 +14,22 @@ import com.google.common.io.ByteSource;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 import org.opendaylight.controller.cluster.io.FileBackedOutputStream;
 import org.opendaylight.controller.cluster.raft.RaftActorContext;
 import org.slf4j.Logger;
 
 /**
- * Helper class that maintains state for a snapshot that is being installed in chunks on a Follower.
+ * Helper class that maintains state for a snapshot that is being installed in chunks on a Follower. The leader may
+ * have multiple chunks in flight, hence chunks arriving ahead of a missing one are held back until the missing chunk
+ * has been retransmitted.
  */
 class SnapshotTracker implements AutoCloseable {
+    // The maximum number of chunks we hold back waiting for a missing chunk
+    private static final int MAX_PENDING_CHUNKS = 32;
+
+    private final NavigableMap<Integer, PendingChunk> pendingChunks = new TreeMap<>();
     private final Logger log;
     private final int totalChunks;
     private final String leaderId;
@@ -31,6 +39,18 @@ class SnapshotTracker implements AutoCloseable {
     private boolean sealed = false;
     private int lastChunkHashCode = LeaderInstallSnapshotState.INITIAL_LAST_CHUNK_HASH_CODE;
     private long count;
+    private int missingChunkIndex = LeaderInstallSnapshotState.INVALID_CHUNK_INDEX;
+    private int requestedChunkIndex = LeaderInstallSnapshotState.INVALID_CHUNK_INDEX;
+
+    private static final class PendingChunk {
+        final byte[] data;
+        final Optional<Integer> lastChunkHashCode;
+
+        PendingChunk(final byte[] data, final Optional<Integer> lastChunkHashCode) {
+            this.data = data;
+            this.lastChunkHashCode = lastChunkHashCode;
+        }
+    }
 
     SnapshotTracker(Logger log, int totalChunks, String leaderId, RaftActorContext context) {
         this.log = log;
@@ -41,7 +61,9 @@ class SnapshotTracker implements AutoCloseable {
     }
 
     /**
-     * Adds a chunk to the tracker.
+     * Adds a chunk to the tracker. Chunks are applied in order: a chunk arriving ahead of its predecessor is held back
+     * until the predecessor arrives, at which point {@link #pollMissingChunkIndex()} reports the index of the missing
+     * chunk. Chunks which have already been applied are ignored.
      *
      * @param chunkIndex the index of the chunk
      * @param chunk the chunk data
@@ -59,10 +81,46 @@ class SnapshotTracker implements AutoCloseable {
                     + " all chunks already received");
         }
 
-        if (lastChunkIndex + 1 != chunkIndex) {
-            throw new InvalidChunkException("Expected chunkIndex " + (lastChunkIndex + 1) + " got " + chunkIndex);
+        final int expectedChunkIndex = lastChunkIndex + 1;
+        if (chunkIndex < expectedChunkIndex && chunkIndex >= LeaderInstallSnapshotState.FIRST_CHUNK_INDEX) {
+            log.debug("Ignoring duplicate chunk {}", chunkIndex);
+            return false;
+        }
+
+        if (chunkIndex != expectedChunkIndex) {
+            // We tolerate chunks arriving out of order only once the transfer is known to be in progress
+            if (lastChunkIndex < LeaderInstallSnapshotState.FIRST_CHUNK_INDEX || chunkIndex > totalChunks
+                    || pendingChunks.size() >= MAX_PENDING_CHUNKS) {
+                throw new InvalidChunkException("Expected chunkIndex " + expectedChunkIndex + " got " + chunkIndex);
+            }
+
+            log.debug("Holding back chunk {} until chunk {} is received", chunkIndex, expectedChunkIndex);
+            pendingChunks.put(chunkIndex, new PendingChunk(chunk, maybeLastChunkHashCode));
+            if (requestedChunkIndex != expectedChunkIndex) {
+                missingChunkIndex = expectedChunkIndex;
+            }
+            return false;
         }
 
+        applyChunk(chunkIndex, chunk, maybeLastChunkHashCode);
+
+        // Apply any chunks we have held back, which are now in sequence
+        PendingChunk pending;
+        while (!sealed && (pending = pendingChunks.remove(lastChunkIndex + 1)) != null) {
+            applyChunk(lastChunkIndex + 1, pending.data, pending.lastChunkHashCode);
+        }
+        pendingChunks.headMap(lastChunkIndex, true).clear();
+
+        // If we are still holding back chunks, there is another gap to fill
+        if (!pendingChunks.isEmpty() && requestedChunkIndex != lastChunkIndex + 1) {
+            missingChunkIndex = lastChunkIndex + 1;
+        }
+
+        return sealed;
+    }
+
+    private void applyChunk(final int chunkIndex, final byte[] chunk, final Optional<Integer> maybeLastChunkHashCode)
+            throws InvalidChunkException, IOException {
         if (maybeLastChunkHashCode.isPresent() && maybeLastChunkHashCode.get() != this.lastChunkHashCode) {
             throw new InvalidChunkException("The hash code of the recorded last chunk does not match "
                     + "the senders hash code, expected " + this.lastChunkHashCode + " was "
@@ -75,7 +133,32 @@ class SnapshotTracker implements AutoCloseable {
         sealed = chunkIndex == totalChunks;
         lastChunkIndex = chunkIndex;
         this.lastChunkHashCode = Arrays.hashCode(chunk);
-        return sealed;
+    }
+
+    /**
+     * Returns the index of the last chunk which has been applied. All chunks up to and including this index have
+     * been received.
+     *
+     * @return a chunk index
+     */
+    int getLastChunkIndex() {
+        return lastChunkIndex;
+    }
+
+    /**
+     * Returns the index of a chunk which needs to be retransmitted by the leader because a later chunk has been
+     * received ahead of it. Each missing chunk is reported only once.
+     *
+     * @return the index of the missing chunk, or {@link LeaderInstallSnapshotState#INVALID_CHUNK_INDEX} if there
+     *         is no newly-detected missing chunk
+     */
+    int pollMissingChunkIndex() {
+        final int ret = missingChunkIndex;
+        if (ret != LeaderInstallSnapshotState.INVALID_CHUNK_INDEX) {
+            requestedChunkIndex = ret;
+            missingChunkIndex = LeaderInstallSnapshotState.INVALID_CHUNK_INDEX;
+        }
+        return ret;
     }
 
     ByteSource getSnapshotBytes() throws IOException {
@@ -93,6 +176,7 @@ class SnapshotTracker implements AutoCloseable {
 
     @Override
     public void close() {
+        pendingChunks.clear();
         fileBackedStream.cleanup();
     }
 
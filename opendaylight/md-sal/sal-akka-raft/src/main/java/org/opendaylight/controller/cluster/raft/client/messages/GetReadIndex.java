@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft.client.messages;
+
+import java.io.Serializable;
+
+/**
+ * Request sent to the leader {@link org.opendaylight.controller.cluster.raft.RaftActor} to obtain a read index. The
+ * leader responds with a {@link GetReadIndexReply}. Once a follower has applied its journal up to the read index, its
+ * state reflects every change the leader could have acknowledged before the request was received, hence it can serve
+ * linearizable reads.
+ */
+public final class GetReadIndex implements Serializable {
+    private static final long serialVersionUID = 1L;
+    public static final GetReadIndex INSTANCE = new GetReadIndex();
+
+    private GetReadIndex() {
+        // Hidden to force reuse
+    }
+
+    private Object readResolve() {
+        return INSTANCE;
+    }
+}
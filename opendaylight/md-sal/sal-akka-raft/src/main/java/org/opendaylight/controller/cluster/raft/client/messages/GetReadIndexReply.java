@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft.client.messages;
+
+import java.io.Serializable;
+
+/**
+ * Reply to {@link GetReadIndex} message. If the responding actor is not the leader or cannot confirm its leadership,
+ * {@link #isPresent()} returns false.
+ */
+public final class GetReadIndexReply implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final GetReadIndexReply UNAVAILABLE = new GetReadIndexReply(false, -1);
+
+    private final boolean present;
+    private final long readIndex;
+
+    private GetReadIndexReply(final boolean present, final long readIndex) {
+        this.present = present;
+        this.readIndex = readIndex;
+    }
+
+    public static GetReadIndexReply of(final long readIndex) {
+        return new GetReadIndexReply(true, readIndex);
+    }
+
+    public static GetReadIndexReply unavailable() {
+        return UNAVAILABLE;
+    }
+
+    public boolean isPresent() {
+        return present;
+    }
+
+    public long getReadIndex() {
+        return readIndex;
+    }
+
+    @Override
+    public String toString() {
+        return "GetReadIndexReply [present=" + present + ", readIndex=" + readIndex + "]";
+    }
+}
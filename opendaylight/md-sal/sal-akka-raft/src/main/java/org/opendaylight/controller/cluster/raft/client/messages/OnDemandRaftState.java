@@ -31,6 +31,15 @@ public class OnDemandRaftState {
     private long replicatedToAllIndex = -1L;
     private long inMemoryJournalDataSize;
     private long inMemoryJournalLogSize;
+    private long inMemoryJournalCompactedLogSize;
+    private long inMemoryJournalCompactedFootprint;
+    private long installSnapshotSize;
+    private long installSnapshotUncompressedSize;
+    private long installSnapshotCompressionNanos;
+    private int lastPersistBatchSize;
+    private long lastPersistBatchNanos;
+    private long maxPersistBatchNanos;
+    private long readIndexCount;
     private String leader;
     private String raftState;
     private String votedFor;
@@ -97,6 +106,42 @@ public class OnDemandRaftState {
         return inMemoryJournalLogSize;
     }
 
+    public long getInMemoryJournalCompactedLogSize() {
+        return inMemoryJournalCompactedLogSize;
+    }
+
+    public long getInMemoryJournalCompactedFootprint() {
+        return inMemoryJournalCompactedFootprint;
+    }
+
+    public long getInstallSnapshotSize() {
+        return installSnapshotSize;
+    }
+
+    public long getInstallSnapshotUncompressedSize() {
+        return installSnapshotUncompressedSize;
+    }
+
+    public long getInstallSnapshotCompressionNanos() {
+        return installSnapshotCompressionNanos;
+    }
+
+    public int getLastPersistBatchSize() {
+        return lastPersistBatchSize;
+    }
+
+    public long getLastPersistBatchNanos() {
+        return lastPersistBatchNanos;
+    }
+
+    public long getMaxPersistBatchNanos() {
+        return maxPersistBatchNanos;
+    }
+
+    public long getReadIndexCount() {
+        return readIndexCount;
+    }
+
     public String getLeader() {
         return leader;
     }
@@ -202,6 +247,51 @@ public class OnDemandRaftState {
             return self();
         }
 
+        public B inMemoryJournalCompactedLogSize(long value) {
+            state().inMemoryJournalCompactedLogSize = value;
+            return self();
+        }
+
+        public B inMemoryJournalCompactedFootprint(long value) {
+            state().inMemoryJournalCompactedFootprint = value;
+            return self();
+        }
+
+        public B installSnapshotSize(long value) {
+            state().installSnapshotSize = value;
+            return self();
+        }
+
+        public B installSnapshotUncompressedSize(long value) {
+            state().installSnapshotUncompressedSize = value;
+            return self();
+        }
+
+        public B installSnapshotCompressionNanos(long value) {
+            state().installSnapshotCompressionNanos = value;
+            return self();
+        }
+
+        public B lastPersistBatchSize(int value) {
+            state().lastPersistBatchSize = value;
+            return self();
+        }
+
+        public B lastPersistBatchNanos(long value) {
+            state().lastPersistBatchNanos = value;
+            return self();
+        }
+
+        public B maxPersistBatchNanos(long value) {
+            state().maxPersistBatchNanos = value;
+            return self();
+        }
+
+        public B readIndexCount(long value) {
+            state().readIndexCount = value;
+            return self();
+        }
+
         public B leader(String value) {
             state().leader = value;
             return self();
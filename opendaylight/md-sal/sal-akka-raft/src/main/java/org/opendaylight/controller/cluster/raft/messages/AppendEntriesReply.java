@@ -53,8 +53,8 @@ public class AppendEntriesReply extends AbstractRaftRPC {
 
     }
 
-    private AppendEntriesReply(String followerId, long term, boolean success, long logLastIndex, long logLastTerm,
-                              short payloadVersion, boolean forceInstallSnapshot, short raftVersion) {
+    AppendEntriesReply(String followerId, long term, boolean success, long logLastIndex, long logLastTerm,
+                       short payloadVersion, boolean forceInstallSnapshot, short raftVersion) {
         super(term);
 
         this.followerId = followerId;
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft.messages;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+/**
+ * Message sent by the leader to its followers to confirm it is still the leader before it hands out a read index.
+ * Each follower answers with a {@link ConfirmLeadershipReply} carrying the same round, so that the leader can tell
+ * which confirmation round a reply belongs to. Only followers at
+ * {@link org.opendaylight.controller.cluster.raft.RaftVersions#FLUORINE_VERSION} or later understand this message.
+ */
+public final class ConfirmLeadership extends AbstractRaftRPC {
+    private static final long serialVersionUID = 1L;
+
+    private final String leaderId;
+    private final long round;
+
+    public ConfirmLeadership(final long term, final String leaderId, final long round) {
+        super(term);
+        this.leaderId = leaderId;
+        this.round = round;
+    }
+
+    public String getLeaderId() {
+        return leaderId;
+    }
+
+    public long getRound() {
+        return round;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfirmLeadership [term=" + getTerm() + ", leaderId=" + leaderId + ", round=" + round + "]";
+    }
+
+    private Object writeReplace() {
+        return new Proxy(this);
+    }
+
+    private static class Proxy implements Externalizable {
+        private static final long serialVersionUID = 1L;
+
+        private ConfirmLeadership confirmLeadership;
+
+        // checkstyle flags the public modifier as redundant which really doesn't make sense since it clearly isn't
+        // redundant. It is explicitly needed for Java serialization to be able to create instances via reflection.
+        @SuppressWarnings("checkstyle:RedundantModifier")
+        public Proxy() {
+        }
+
+        Proxy(final ConfirmLeadership confirmLeadership) {
+            this.confirmLeadership = confirmLeadership;
+        }
+
+        @Override
+        public void writeExternal(final ObjectOutput out) throws IOException {
+            out.writeLong(confirmLeadership.getTerm());
+            out.writeObject(confirmLeadership.leaderId);
+            out.writeLong(confirmLeadership.round);
+        }
+
+        @Override
+        public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+            long term = in.readLong();
+            String leaderId = (String) in.readObject();
+            long round = in.readLong();
+
+            confirmLeadership = new ConfirmLeadership(term, leaderId, round);
+        }
+
+        private Object readResolve() {
+            return confirmLeadership;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft.messages;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+/**
+ * Reply to {@link ConfirmLeadership}. It carries the follower's current term, which is higher than the leader's if
+ * the follower has moved on to a later term.
+ */
+public final class ConfirmLeadershipReply extends AbstractRaftRPC {
+    private static final long serialVersionUID = 1L;
+
+    private final String followerId;
+    private final long round;
+
+    public ConfirmLeadershipReply(final long term, final String followerId, final long round) {
+        super(term);
+        this.followerId = followerId;
+        this.round = round;
+    }
+
+    public String getFollowerId() {
+        return followerId;
+    }
+
+    public long getRound() {
+        return round;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfirmLeadershipReply [term=" + getTerm() + ", followerId=" + followerId + ", round=" + round + "]";
+    }
+
+    private Object writeReplace() {
+        return new Proxy(this);
+    }
+
+    private static class Proxy implements Externalizable {
+        private static final long serialVersionUID = 1L;
+
+        private ConfirmLeadershipReply confirmLeadershipReply;
+
+        // checkstyle flags the public modifier as redundant which really doesn't make sense since it clearly isn't
+        // redundant. It is explicitly needed for Java serialization to be able to create instances via reflection.
+        @SuppressWarnings("checkstyle:RedundantModifier")
+        public Proxy() {
+        }
+
+        Proxy(final ConfirmLeadershipReply confirmLeadershipReply) {
+            this.confirmLeadershipReply = confirmLeadershipReply;
+        }
+
+        @Override
+        public void writeExternal(final ObjectOutput out) throws IOException {
+            out.writeLong(confirmLeadershipReply.getTerm());
+            out.writeObject(confirmLeadershipReply.followerId);
+            out.writeLong(confirmLeadershipReply.round);
+        }
+
+        @Override
+        public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+            long term = in.readLong();
+            String followerId = (String) in.readObject();
+            long round = in.readLong();
+
+            confirmLeadershipReply = new ConfirmLeadershipReply(term, followerId, round);
+        }
+
+        private Object readResolve() {
+            return confirmLeadershipReply;
+        }
+    }
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft.messages;
+
+import akka.actor.ExtendedActorSystem;
+import com.google.common.base.Optional;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.opendaylight.controller.cluster.io.AbstractCompactSerializer;
+import org.opendaylight.controller.cluster.raft.ReplicatedLogEntry;
+import org.opendaylight.controller.cluster.raft.persisted.ServerConfigurationPayload;
+import org.opendaylight.controller.cluster.raft.persisted.SimpleReplicatedLogEntry;
+import org.opendaylight.controller.cluster.raft.protobuff.client.messages.Payload;
+import org.opendaylight.yangtools.concepts.WritableObjects;
+
+/**
+ * Akka serializer for {@link RaftRPC} messages exchanged between the leader and its followers. It writes all fields
+ * directly, so that heartbeats and replies do not touch Java serialization at all. Payloads of {@link AppendEntries}
+ * and the server configuration of {@link InstallSnapshot} are still written as Java objects, but sharing a single
+ * object stream per message.
+ */
+public final class RaftRPCSerializer extends AbstractCompactSerializer {
+    private static final int APPEND_ENTRIES = 1;
+    private static final int APPEND_ENTRIES_REPLY = 2;
+    private static final int REQUEST_VOTE = 3;
+    private static final int REQUEST_VOTE_REPLY = 4;
+    private static final int INSTALL_SNAPSHOT = 5;
+    private static final int INSTALL_SNAPSHOT_REPLY = 6;
+    private static final int CONFIRM_LEADERSHIP = 7;
+    private static final int CONFIRM_LEADERSHIP_REPLY = 8;
+
+    private static final int FLAG_SUCCESS = 1;
+    private static final int FLAG_FORCE_INSTALL_SNAPSHOT = 2;
+    private static final int FLAG_LAST_CHUNK_HASH_CODE = 1;
+    private static final int FLAG_SERVER_CONFIG = 2;
+
+    public RaftRPCSerializer(final ExtendedActorSystem system) {
+        super(system);
+    }
+
+    @Override
+    public int identifier() {
+        return 97439438;
+    }
+
+    @Override
+    protected int manifestCode(final Object obj) {
+        if (obj instanceof AppendEntries) {
+            return APPEND_ENTRIES;
+        } else if (obj instanceof AppendEntriesReply) {
+            return APPEND_ENTRIES_REPLY;
+        } else if (obj instanceof RequestVote) {
+            return REQUEST_VOTE;
+        } else if (obj instanceof RequestVoteReply) {
+            return REQUEST_VOTE_REPLY;
+        } else if (obj instanceof InstallSnapshot) {
+            return INSTALL_SNAPSHOT;
+        } else if (obj instanceof InstallSnapshotReply) {
+            return INSTALL_SNAPSHOT_REPLY;
+        } else if (obj instanceof ConfirmLeadership) {
+            return CONFIRM_LEADERSHIP;
+        } else if (obj instanceof ConfirmLeadershipReply) {
+            return CONFIRM_LEADERSHIP_REPLY;
+        } else {
+            throw new IllegalArgumentException("Unsupported object type " + obj.getClass());
+        }
+    }
+
+    @Override
+    protected void writeMessage(final int code, final Object obj, final DataOutputStream out) throws IOException {
+        switch (code) {
+            case APPEND_ENTRIES:
+                writeAppendEntries((AppendEntries) obj, out);
+                break;
+            case APPEND_ENTRIES_REPLY:
+                writeAppendEntriesReply((AppendEntriesReply) obj, out);
+                break;
+            case REQUEST_VOTE:
+                writeRequestVote((RequestVote) obj, out);
+                break;
+            case REQUEST_VOTE_REPLY:
+                writeRequestVoteReply((RequestVoteReply) obj, out);
+                break;
+            case INSTALL_SNAPSHOT:
+                writeInstallSnapshot((InstallSnapshot) obj, out);
+                break;
+            case INSTALL_SNAPSHOT_REPLY:
+                writeInstallSnapshotReply((InstallSnapshotReply) obj, out);
+                break;
+            case CONFIRM_LEADERSHIP:
+                writeConfirmLeadership((ConfirmLeadership) obj, out);
+                break;
+            case CONFIRM_LEADERSHIP_REPLY:
+                writeConfirmLeadershipReply((ConfirmLeadershipReply) obj, out);
+                break;
+            default:
+                throw unknownManifestCode(code);
+        }
+    }
+
+    @Override
+    protected Object readMessage(final int code, final DataInputStream in) throws IOException,
+            ClassNotFoundException {
+        switch (code) {
+            case APPEND_ENTRIES:
+                return readAppendEntries(in);
+            case APPEND_ENTRIES_REPLY:
+                return readAppendEntriesReply(in);
+            case REQUEST_VOTE:
+                return readRequestVote(in);
+            case REQUEST_VOTE_REPLY:
+                return readRequestVoteReply(in);
+            case INSTALL_SNAPSHOT:
+                return readInstallSnapshot(in);
+            case INSTALL_SNAPSHOT_REPLY:
+                return readInstallSnapshotReply(in);
+            case CONFIRM_LEADERSHIP:
+                return readConfirmLeadership(in);
+            case CONFIRM_LEADERSHIP_REPLY:
+                return readConfirmLeadershipReply(in);
+            default:
+                throw unknownManifestCode(code);
+        }
+    }
+
+    private static void writeAppendEntries(final AppendEntries msg, final DataOutputStream out) throws IOException {
+        WritableObjects.writeLongs(out, msg.getTerm(), msg.getPrevLogIndex());
+        WritableObjects.writeLongs(out, msg.getPrevLogTerm(), msg.getLeaderCommit());
+        WritableObjects.writeLong(out, msg.getReplicatedToAllIndex());
+        out.writeUTF(msg.getLeaderId());
+        out.writeShort(msg.getPayloadVersion());
+
+        final List<ReplicatedLogEntry> entries = msg.getEntries();
+        out.writeInt(entries.size());
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        for (ReplicatedLogEntry entry : entries) {
+            WritableObjects.writeLongs(out, entry.getIndex(), entry.getTerm());
+        }
+
+        final ObjectOutputStream oos = newObjectOutput(out);
+        for (ReplicatedLogEntry entry : entries) {
+            oos.writeObject(entry.getData());
+        }
+        oos.flush();
+    }
+
+    private AppendEntries readAppendEntries(final DataInputStream in) throws IOException, ClassNotFoundException {
+        byte header = WritableObjects.readLongHeader(in);
+        final long term = WritableObjects.readFirstLong(in, header);
+        final long prevLogIndex = WritableObjects.readSecondLong(in, header);
+        header = WritableObjects.readLongHeader(in);
+        final long prevLogTerm = WritableObjects.readFirstLong(in, header);
+        final long leaderCommit = WritableObjects.readSecondLong(in, header);
+        final long replicatedToAllIndex = WritableObjects.readLong(in);
+        final String leaderId = in.readUTF();
+        final short payloadVersion = in.readShort();
+
+        final int size = in.readInt();
+        final List<ReplicatedLogEntry> entries = new ArrayList<>(size);
+        if (size != 0) {
+            final long[] indices = new long[size];
+            final long[] terms = new long[size];
+            for (int i = 0; i < size; ++i) {
+                header = WritableObjects.readLongHeader(in);
+                indices[i] = WritableObjects.readFirstLong(in, header);
+                terms[i] = WritableObjects.readSecondLong(in, header);
+            }
+
+            final ObjectInputStream ois = newObjectInput(in);
+            for (int i = 0; i < size; ++i) {
+                entries.add(new SimpleReplicatedLogEntry(indices[i], terms[i], (Payload) ois.readObject()));
+            }
+        }
+
+        return new AppendEntries(term, leaderId, prevLogIndex, prevLogTerm, entries, leaderCommit,
+            replicatedToAllIndex, payloadVersion);
+    }
+
+    private static void writeAppendEntriesReply(final AppendEntriesReply msg, final DataOutputStream out)
+            throws IOException {
+        out.writeShort(msg.getRaftVersion());
+        WritableObjects.writeLongs(out, msg.getTerm(), msg.getLogLastIndex());
+        WritableObjects.writeLong(out, msg.getLogLastTerm());
+        writeNullableUTF(out, msg.getFollowerId());
+        out.writeByte((msg.isSuccess() ? FLAG_SUCCESS : 0)
+            | (msg.isForceInstallSnapshot() ? FLAG_FORCE_INSTALL_SNAPSHOT : 0));
+        out.writeShort(msg.getPayloadVersion());
+    }
+
+    private static AppendEntriesReply readAppendEntriesReply(final DataInputStream in) throws IOException {
+        final short raftVersion = in.readShort();
+        final byte header = WritableObjects.readLongHeader(in);
+        final long term = WritableObjects.readFirstLong(in, header);
+        final long logLastIndex = WritableObjects.readSecondLong(in, header);
+        final long logLastTerm = WritableObjects.readLong(in);
+        final String followerId = readNullableUTF(in);
+        final int flags = in.readByte();
+        final short payloadVersion = in.readShort();
+
+        return new AppendEntriesReply(followerId, term, (flags & FLAG_SUCCESS) != 0, logLastIndex, logLastTerm,
+            payloadVersion, (flags & FLAG_FORCE_INSTALL_SNAPSHOT) != 0, raftVersion);
+    }
+
+    private static void writeRequestVote(final RequestVote msg, final DataOutputStream out) throws IOException {
+        WritableObjects.writeLongs(out, msg.getTerm(), msg.getLastLogIndex());
+        WritableObjects.writeLong(out, msg.getLastLogTerm());
+        writeNullableUTF(out, msg.getCandidateId());
+    }
+
+    private static RequestVote readRequestVote(final DataInputStream in) throws IOException {
+        final byte header = WritableObjects.readLongHeader(in);
+        final long term = WritableObjects.readFirstLong(in, header);
+        final long lastLogIndex = WritableObjects.readSecondLong(in, header);
+        final long lastLogTerm = WritableObjects.readLong(in);
+        return new RequestVote(term, readNullableUTF(in), lastLogIndex, lastLogTerm);
+    }
+
+    private static void writeRequestVoteReply(final RequestVoteReply msg, final DataOutputStream out)
+            throws IOException {
+        WritableObjects.writeLong(out, msg.getTerm());
+        out.writeBoolean(msg.isVoteGranted());
+    }
+
+    private static RequestVoteReply readRequestVoteReply(final DataInputStream in) throws IOException {
+        final long term = WritableObjects.readLong(in);
+        return new RequestVoteReply(term, in.readBoolean());
+    }
+
+    private static void writeInstallSnapshot(final InstallSnapshot msg, final DataOutputStream out)
+            throws IOException {
+        WritableObjects.writeLongs(out, msg.getTerm(), msg.getLastIncludedIndex());
+        WritableObjects.writeLong(out, msg.getLastIncludedTerm());
+        writeNullableUTF(out, msg.getLeaderId());
+        out.writeInt(msg.getChunkIndex());
+        out.writeInt(msg.getTotalChunks());
+
+        final Optional<Integer> lastChunkHashCode = msg.getLastChunkHashCode();
+        final Optional<ServerConfigurationPayload> serverConfig = msg.getServerConfig();
+        out.writeByte((lastChunkHashCode.isPresent() ? FLAG_LAST_CHUNK_HASH_CODE : 0)
+            | (serverConfig.isPresent() ? FLAG_SERVER_CONFIG : 0));
+        if (lastChunkHashCode.isPresent()) {
+            out.writeInt(lastChunkHashCode.get());
+        }
+
+        final byte[] data = msg.getData();
+        out.writeInt(data.length);
+        out.write(data);
+
+        if (serverConfig.isPresent()) {
+            final ObjectOutputStream oos = newObjectOutput(out);
+            oos.writeObject(serverConfig.get());
+            oos.flush();
+        }
+    }
+
+    private InstallSnapshot readInstallSnapshot(final DataInputStream in) throws IOException,
+            ClassNotFoundException {
+        final byte header = WritableObjects.readLongHeader(in);
+        final long term = WritableObjects.readFirstLong(in, header);
+        final long lastIncludedIndex = WritableObjects.readSecondLong(in, header);
+        final long lastIncludedTerm = WritableObjects.readLong(in);
+        final String leaderId = readNullableUTF(in);
+        final int chunkIndex = in.readInt();
+        final int totalChunks = in.readInt();
+
+        final int flags = in.readByte();
+        final Optional<Integer> lastChunkHashCode = (flags & FLAG_LAST_CHUNK_HASH_CODE) != 0
+                ? Optional.of(in.readInt()) : Optional.absent();
+
+        final byte[] data = new byte[in.readInt()];
+        in.readFully(data);
+
+        final Optional<ServerConfigurationPayload> serverConfig = (flags & FLAG_SERVER_CONFIG) != 0
+                ? Optional.of((ServerConfigurationPayload) newObjectInput(in).readObject()) : Optional.absent();
+
+        return new InstallSnapshot(term, leaderId, lastIncludedIndex, lastIncludedTerm, data, chunkIndex,
+            totalChunks, lastChunkHashCode, serverConfig);
+    }
+
+    private static void writeInstallSnapshotReply(final InstallSnapshotReply msg, final DataOutputStream out)
+            throws IOException {
+        WritableObjects.writeLong(out, msg.getTerm());
+        writeNullableUTF(out, msg.getFollowerId());
+        out.writeInt(msg.getChunkIndex());
+        out.writeBoolean(msg.isSuccess());
+    }
+
+    private static InstallSnapshotReply readInstallSnapshotReply(final DataInputStream in) throws IOException {
+        final long term = WritableObjects.readLong(in);
+        final String followerId = readNullableUTF(in);
+        final int chunkIndex = in.readInt();
+        return new InstallSnapshotReply(term, followerId, chunkIndex, in.readBoolean());
+    }
+
+    private static void writeConfirmLeadership(final ConfirmLeadership msg, final DataOutputStream out)
+            throws IOException {
+        WritableObjects.writeLongs(out, msg.getTerm(), msg.getRound());
+        out.writeUTF(msg.getLeaderId());
+    }
+
+    private static ConfirmLeadership readConfirmLeadership(final DataInputStream in) throws IOException {
+        final byte header = WritableObjects.readLongHeader(in);
+        final long term = WritableObjects.readFirstLong(in, header);
+        final long round = WritableObjects.readSecondLong(in, header);
+        return new ConfirmLeadership(term, in.readUTF(), round);
+    }
+
+    private static void writeConfirmLeadershipReply(final ConfirmLeadershipReply msg, final DataOutputStream out)
+            throws IOException {
+        WritableObjects.writeLongs(out, msg.getTerm(), msg.getRound());
+        out.writeUTF(msg.getFollowerId());
+    }
+
+    private static ConfirmLeadershipReply readConfirmLeadershipReply(final DataInputStream in) throws IOException {
+        final byte header = WritableObjects.readLongHeader(in);
+        final long term = WritableObjects.readFirstLong(in, header);
+        final long round = WritableObjects.readSecondLong(in, header);
+        return new ConfirmLeadershipReply(term, in.readUTF(), round);
+    }
+}
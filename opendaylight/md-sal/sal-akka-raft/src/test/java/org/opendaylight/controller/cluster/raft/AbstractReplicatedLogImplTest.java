@@ -11,12 +11,15 @@ package org.opendaylight.controller.cluster.raft;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import akka.japi.Procedure;
+import java.io.Serializable;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import org.apache.commons.lang.SerializationUtils;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -298,6 +301,56 @@ public class AbstractReplicatedLogImplTest {
         assertEquals("removeFrom - adjusted", -1, replicatedLogImpl.removeFrom(100));
     }
 
+    @Test
+    public void testCompactTo() {
+        final ReplicatedLogEntry pending = new SimpleReplicatedLogEntry(4, 2, new MockPayload("E", 2));
+        pending.setPersistencePending(true);
+        replicatedLogImpl.append(pending);
+
+        assertEquals("compactedSize", 0, replicatedLogImpl.compactedSize());
+        assertEquals("compactedFootprint", 0, replicatedLogImpl.compactedFootprint());
+
+        replicatedLogImpl.compactTo(1, false);
+        assertEquals("compactedSize", 2, replicatedLogImpl.compactedSize());
+        assertTrue(replicatedLogImpl.get(1) instanceof CompactLogEntry);
+        assertFalse(replicatedLogImpl.get(2) instanceof CompactLogEntry);
+
+        final long footprint = replicatedLogImpl.compactedFootprint();
+        assertEquals("compactedFootprint", CompactLogStore.DEFAULT_SEGMENT_SIZE, footprint);
+
+        // Compaction stops at the entry pending persistence
+        replicatedLogImpl.compactTo(4, true);
+        assertEquals("compactedSize", 4, replicatedLogImpl.compactedSize());
+        assertSame(pending, replicatedLogImpl.get(4));
+        assertEquals("compactedFootprint", footprint + CompactLogStore.DEFAULT_SEGMENT_SIZE,
+            replicatedLogImpl.compactedFootprint());
+
+        // Compacted entries are indistinguishable from the original ones
+        assertEquals("dataSize", 6, replicatedLogImpl.dataSize());
+        final ReplicatedLogEntry entry = replicatedLogImpl.get(3);
+        assertEquals("getIndex", 3, entry.getIndex());
+        assertEquals("getTerm", 2, entry.getTerm());
+        assertEquals("size", 1, entry.size());
+        assertEquals("getData", new MockPayload("D"), entry.getData());
+        assertEquals("getData", new MockPayload("A"), replicatedLogImpl.get(0).getData());
+        assertEquals("lastTerm", 2, replicatedLogImpl.lastTerm());
+        assertEquals(new SimpleReplicatedLogEntry(3, 2, new MockPayload("D")),
+            SerializationUtils.clone((Serializable) entry));
+
+        // Trimming the log releases the first segment
+        takeSnapshot(2);
+        assertEquals("compactedSize", 2, replicatedLogImpl.compactedSize());
+        assertEquals("compactedFootprint", CompactLogStore.DEFAULT_SEGMENT_SIZE,
+            replicatedLogImpl.compactedFootprint());
+
+        // Replaced entries are compacted again
+        replicatedLogImpl.removeFrom(3);
+        replicatedLogImpl.append(new SimpleReplicatedLogEntry(3, 3, new MockPayload("F")));
+        replicatedLogImpl.compactTo(3, true);
+        assertEquals("compactedSize", 2, replicatedLogImpl.compactedSize());
+        assertEquals("getData", new MockPayload("F"), replicatedLogImpl.get(3).getData());
+    }
+
     // create a snapshot for test
     public Map<Long, String> takeSnapshot(final int numEntries) {
         Map<Long, String> map = new HashMap<>(numEntries);
@@ -330,6 +383,12 @@ public class AbstractReplicatedLogImplTest {
             return true;
         }
 
+        @Override
+        public int appendAndPersistAll(List<ReplicatedLogEntry> replicatedLogEntries,
+                Procedure<ReplicatedLogEntry> callback) {
+            return replicatedLogEntries.size();
+        }
+
         @Override
         public void captureSnapshotIfReady(ReplicatedLogEntry replicatedLogEntry) {
         }
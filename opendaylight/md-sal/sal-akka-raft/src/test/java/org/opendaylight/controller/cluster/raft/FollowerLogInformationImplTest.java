@@ -130,4 +130,74 @@ public class FollowerLogInformationImplTest {
         assertFalse(followerLogInformation.decrNextIndex());
         assertEquals("getNextIndex", -1, followerLogInformation.getNextIndex());
     }
+
+    @Test
+    public void testPipelining() {
+        MockRaftActorContext context = new MockRaftActorContext();
+        context.setCommitIndex(0);
+        DefaultConfigParamsImpl configParams = new DefaultConfigParamsImpl();
+        configParams.setHeartBeatInterval(new FiniteDuration(5, TimeUnit.SECONDS));
+        configParams.setMaxInFlightAppendEntries(2);
+        context.setConfigParams(configParams);
+
+        FollowerLogInformation followerLogInformation =
+                new FollowerLogInformationImpl(new PeerInfo("follower1", null, VotingState.VOTING), 1, context);
+        followerLogInformation.setNextIndex(2);
+        assertEquals("getSentIndex", -1, followerLogInformation.getSentIndex());
+        assertTrue(followerLogInformation.okToPipeline());
+
+        followerLogInformation.markAppendEntriesSent(1, 2);
+        assertEquals("getSentIndex", 2, followerLogInformation.getSentIndex());
+        assertTrue(followerLogInformation.okToPipeline());
+
+        followerLogInformation.markAppendEntriesSent(2, 4);
+        assertEquals("getSentIndex", 4, followerLogInformation.getSentIndex());
+        assertFalse(followerLogInformation.okToPipeline());
+
+        // The first AppendEntries is acknowledged, which makes room for another one
+        assertFalse(followerLogInformation.markAppendEntriesReplied());
+        followerLogInformation.setMatchIndex(2);
+        followerLogInformation.setNextIndex(3);
+        followerLogInformation.markAppendEntriesAcknowledged();
+        assertEquals("getSentIndex", 4, followerLogInformation.getSentIndex());
+        assertTrue(followerLogInformation.okToPipeline());
+
+        // Everything is acknowledged
+        assertFalse(followerLogInformation.markAppendEntriesReplied());
+        followerLogInformation.setMatchIndex(4);
+        followerLogInformation.setNextIndex(5);
+        followerLogInformation.markAppendEntriesAcknowledged();
+        assertEquals("getSentIndex", -1, followerLogInformation.getSentIndex());
+
+        // A heart beat does not change the sent index
+        followerLogInformation.markAppendEntriesSent(4, FollowerLogInformation.NO_INDEX);
+        assertEquals("getSentIndex", -1, followerLogInformation.getSentIndex());
+        assertFalse(followerLogInformation.markAppendEntriesReplied());
+
+        followerLogInformation.markAppendEntriesSent(4, 6);
+        followerLogInformation.markAppendEntriesSent(6, 8);
+        followerLogInformation.resetPipeline();
+        assertEquals("getSentIndex", -1, followerLogInformation.getSentIndex());
+
+        // The next index is decremented after the first AppendEntries is rejected, the reply to the second one is
+        // recognized as stale
+        assertFalse(followerLogInformation.markAppendEntriesReplied());
+        followerLogInformation.decrNextIndex();
+        assertTrue(followerLogInformation.markAppendEntriesReplied());
+        assertFalse(followerLogInformation.markAppendEntriesReplied());
+        assertTrue(followerLogInformation.okToPipeline());
+    }
+
+    @Test
+    public void testPipeliningDisabled() {
+        MockRaftActorContext context = new MockRaftActorContext();
+        context.setCommitIndex(0);
+        FollowerLogInformation followerLogInformation =
+                new FollowerLogInformationImpl(new PeerInfo("follower1", null, VotingState.VOTING), 1, context);
+
+        assertFalse(followerLogInformation.okToPipeline());
+        followerLogInformation.markAppendEntriesSent(1, 2);
+        assertEquals("getSentIndex", -1, followerLogInformation.getSentIndex());
+        assertFalse(followerLogInformation.markAppendEntriesReplied());
+    }
 }
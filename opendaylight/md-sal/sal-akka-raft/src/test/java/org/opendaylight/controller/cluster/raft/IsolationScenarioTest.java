@@ -8,6 +8,8 @@
 package org.opendaylight.controller.cluster.raft;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.opendaylight.controller.cluster.raft.utils.MessageCollectorActor.assertNoneMatching;
 import static org.opendaylight.controller.cluster.raft.utils.MessageCollectorActor.clearMessages;
@@ -16,6 +18,7 @@ import static org.opendaylight.controller.cluster.raft.utils.MessageCollectorAct
 import static org.opendaylight.controller.cluster.raft.utils.MessageCollectorActor.getAllMatching;
 
 import akka.actor.ActorRef;
+import akka.testkit.javadsl.TestKit;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import java.util.List;
@@ -25,8 +28,11 @@ import org.opendaylight.controller.cluster.notifications.RoleChanged;
 import org.opendaylight.controller.cluster.raft.MockRaftActorContext.MockPayload;
 import org.opendaylight.controller.cluster.raft.base.messages.ApplyState;
 import org.opendaylight.controller.cluster.raft.base.messages.TimeoutNow;
+import org.opendaylight.controller.cluster.raft.client.messages.GetReadIndex;
+import org.opendaylight.controller.cluster.raft.client.messages.GetReadIndexReply;
 import org.opendaylight.controller.cluster.raft.messages.AppendEntries;
 import org.opendaylight.controller.cluster.raft.messages.AppendEntriesReply;
+import org.opendaylight.controller.cluster.raft.messages.ConfirmLeadership;
 import org.opendaylight.controller.cluster.raft.messages.InstallSnapshot;
 import org.opendaylight.controller.cluster.raft.messages.RequestVote;
 import org.opendaylight.controller.cluster.raft.utils.MessageCollectorActor;
@@ -375,6 +381,53 @@ public class IsolationScenarioTest extends AbstractRaftActorIntegrationTest {
         testLog.info("testLeaderIsolationWithPriorUncommittedEntryAndMultipleConflictingEntries ending");
     }
 
+    /**
+     * Isolates the leader while it still considers itself the leader, i.e. before it notices it is isolated. While
+     * isolated, the majority partition elects a new leader which commits an entry. The isolated leader must not hand
+     * out a read index, as a read served up to it would miss the new leader's entry.
+     */
+    @Test
+    public void testIsolatedLeaderReadIndex() throws Exception {
+        testLog.info("testIsolatedLeaderReadIndex starting");
+
+        // Keep the leader from noticing it is isolated and use an election timeout long enough for the majority
+        // partition to elect a new leader and commit an entry within it.
+        final DefaultConfigParamsImpl configParams = newLeaderConfigParams();
+        configParams.setElectionTimeoutFactor(50);
+        createRaftActors(configParams);
+
+        sendPayloadData(leaderActor, "zero");
+        sendPayloadData(leaderActor, "one");
+        verifyApplyJournalEntries(leaderCollectorActor, 1);
+        verifyApplyJournalEntries(follower1CollectorActor, 1);
+        verifyApplyJournalEntries(follower2CollectorActor, 1);
+
+        final TestKit kit = new TestKit(getSystem());
+        leaderActor.tell(GetReadIndex.INSTANCE, kit.getRef());
+        GetReadIndexReply reply = kit.expectMsgClass(GetReadIndexReply.class);
+        assertTrue("Expected read index", reply.isPresent());
+        assertEquals("Read index", 1, reply.getReadIndex());
+
+        isolateLeader();
+        follower1Actor.underlyingActor().startDropMessages(ConfirmLeadership.class);
+        follower2Actor.underlyingActor().startDropMessages(ConfirmLeadership.class);
+
+        forceElectionOnFollower1();
+
+        sendPayloadData(follower1Actor, "two-new");
+        verifyApplyJournalEntries(follower1CollectorActor, 2);
+        verifyApplyJournalEntries(follower2CollectorActor, 2);
+
+        assertEquals("Prior leader state", RaftState.Leader,
+            leaderActor.underlyingActor().getCurrentBehavior().state());
+
+        leaderActor.tell(GetReadIndex.INSTANCE, kit.getRef());
+        reply = kit.expectMsgClass(kit.duration("10 seconds"), GetReadIndexReply.class);
+        assertFalse("Expected no read index from the isolated leader", reply.isPresent());
+
+        testLog.info("testIsolatedLeaderReadIndex ending");
+    }
+
     private void removeIsolation() {
         testLog.info("Removing isolation");
 
@@ -419,6 +472,12 @@ public class IsolationScenarioTest extends AbstractRaftActorIntegrationTest {
     }
 
     private void createRaftActors() {
+        final DefaultConfigParamsImpl configParams = newLeaderConfigParams();
+        configParams.setIsolatedLeaderCheckInterval(new FiniteDuration(500, TimeUnit.MILLISECONDS));
+        createRaftActors(configParams);
+    }
+
+    private void createRaftActors(final DefaultConfigParamsImpl configParams) {
         testLog.info("createRaftActors starting");
 
         follower1NotifierActor = factory.createActor(MessageCollectorActor.props(),
@@ -438,8 +497,7 @@ public class IsolationScenarioTest extends AbstractRaftActorIntegrationTest {
                 .put(follower1Id, follower1Actor.path().toString())
                 .put(follower2Id, follower2Actor.path().toString()).build();
 
-        leaderConfigParams = newLeaderConfigParams();
-        leaderConfigParams.setIsolatedLeaderCheckInterval(new FiniteDuration(500, TimeUnit.MILLISECONDS));
+        leaderConfigParams = configParams;
 
         leaderNotifierActor = factory.createActor(MessageCollectorActor.props(),
                 factory.generateActorId(leaderId + "-notifier"));
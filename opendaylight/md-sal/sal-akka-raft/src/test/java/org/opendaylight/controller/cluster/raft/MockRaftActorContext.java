@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -202,6 +203,25 @@ public class MockRaftActorContext extends RaftActorContextImpl {
 
             return true;
         }
+
+        @Override
+        @SuppressWarnings("checkstyle:IllegalCatch")
+        public int appendAndPersistAll(final List<ReplicatedLogEntry> replicatedLogEntries,
+                final Procedure<ReplicatedLogEntry> callback) {
+            replicatedLogEntries.forEach(this::append);
+
+            if (callback != null && !replicatedLogEntries.isEmpty()) {
+                try {
+                    callback.apply(replicatedLogEntries.get(replicatedLogEntries.size() - 1));
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            return replicatedLogEntries.size();
+        }
     }
 
     public static class MockPayload extends Payload implements Serializable {
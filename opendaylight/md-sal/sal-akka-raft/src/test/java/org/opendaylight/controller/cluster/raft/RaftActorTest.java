@@ -9,6 +9,7 @@
 package org.opendaylight.controller.cluster.raft;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
@@ -71,10 +72,14 @@ import org.opendaylight.controller.cluster.raft.base.messages.SwitchBehavior;
 import org.opendaylight.controller.cluster.raft.behaviors.Follower;
 import org.opendaylight.controller.cluster.raft.behaviors.Leader;
 import org.opendaylight.controller.cluster.raft.behaviors.RaftActorBehavior;
+import org.opendaylight.controller.cluster.raft.client.messages.GetReadIndex;
+import org.opendaylight.controller.cluster.raft.client.messages.GetReadIndexReply;
 import org.opendaylight.controller.cluster.raft.client.messages.GetSnapshot;
 import org.opendaylight.controller.cluster.raft.client.messages.GetSnapshotReply;
 import org.opendaylight.controller.cluster.raft.messages.AppendEntries;
 import org.opendaylight.controller.cluster.raft.messages.AppendEntriesReply;
+import org.opendaylight.controller.cluster.raft.messages.ConfirmLeadership;
+import org.opendaylight.controller.cluster.raft.messages.ConfirmLeadershipReply;
 import org.opendaylight.controller.cluster.raft.persisted.ApplyJournalEntries;
 import org.opendaylight.controller.cluster.raft.persisted.ByteState;
 import org.opendaylight.controller.cluster.raft.persisted.DeleteEntries;
@@ -1351,4 +1356,48 @@ public class RaftActorTest extends AbstractActorTest {
         AppendEntries appendEntries = MessageCollectorActor.expectFirstMatching(followerActor, AppendEntries.class);
         assertEquals("AppendEntries size", 3, appendEntries.getEntries().size());
     }
+
+    @Test
+    public void testGetReadIndex() throws Exception {
+        final String leaderId = factory.generateActorId("leader-");
+        final String followerId = factory.generateActorId("follower-");
+
+        final ActorRef followerActor = factory.createActor(MessageCollectorActor.props());
+
+        DefaultConfigParamsImpl config = new DefaultConfigParamsImpl();
+        config.setHeartBeatInterval(new FiniteDuration(1, TimeUnit.DAYS));
+        config.setIsolatedLeaderCheckInterval(new FiniteDuration(1, TimeUnit.DAYS));
+
+        TestActorRef<MockRaftActor> leaderActorRef = factory.createTestActor(
+                MockRaftActor.props(leaderId, ImmutableMap.of(followerId, followerActor.path().toString()), config),
+                    leaderId);
+        MockRaftActor leaderActor = leaderActorRef.underlyingActor();
+        leaderActor.waitForInitializeBehaviorComplete();
+
+        final TestKit kit = new TestKit(getSystem());
+        leaderActorRef.tell(GetReadIndex.INSTANCE, kit.getRef());
+        assertFalse("Expected no read index from follower",
+            kit.expectMsgClass(GetReadIndexReply.class).isPresent());
+
+        leaderActor.getRaftActorContext().getTermInformation().update(1, leaderId);
+        leaderActor.getReplicatedLog().append(new SimpleReplicatedLogEntry(0, 1, new MockPayload("0")));
+        leaderActor.getReplicatedLog().append(new SimpleReplicatedLogEntry(1, 1, new MockPayload("1")));
+
+        Leader leader = new Leader(leaderActor.getRaftActorContext());
+        leaderActor.setCurrentBehavior(leader);
+
+        // The follower's reply tells the leader it understands ConfirmLeadership
+        leaderActor.onReceiveCommand(new AppendEntriesReply(followerId, 1, true, -1, -1, (short)0));
+
+        leaderActorRef.tell(GetReadIndex.INSTANCE, kit.getRef());
+        ConfirmLeadership confirmLeadership = MessageCollectorActor.expectFirstMatching(followerActor,
+            ConfirmLeadership.class);
+        assertEquals("getTerm", 1, confirmLeadership.getTerm());
+        kit.expectNoMsg(kit.duration("100 milliseconds"));
+
+        leaderActor.onReceiveCommand(new ConfirmLeadershipReply(1, followerId, confirmLeadership.getRound()));
+        GetReadIndexReply reply = kit.expectMsgClass(GetReadIndexReply.class);
+        assertTrue("Expected read index", reply.isPresent());
+        assertEquals("Read index", 1, reply.getReadIndex());
+    }
 }
@@ -15,6 +15,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 import akka.japi.Procedure;
+import com.google.common.collect.ImmutableList;
+import java.util.Arrays;
 import java.util.Collections;
 import org.hamcrest.BaseMatcher;
 import org.hamcrest.Description;
@@ -126,6 +128,40 @@ public class ReplicatedLogImplTest {
         assertEquals("size", 1, log.size());
     }
 
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    @Test
+    public void testAppendAndPersistAll() throws Exception {
+        ReplicatedLog log = ReplicatedLogImpl.newInstance(context);
+
+        final ReplicatedLogEntry logEntry1 = new SimpleReplicatedLogEntry(1, 1, new MockPayload("1"));
+        final ReplicatedLogEntry logEntry2 = new SimpleReplicatedLogEntry(2, 1, new MockPayload("2"));
+        final ReplicatedLogEntry logEntry3 = new SimpleReplicatedLogEntry(3, 1, new MockPayload("3"));
+        Procedure<ReplicatedLogEntry> mockCallback = Mockito.mock(Procedure.class);
+
+        assertEquals("appended", 3, log.appendAndPersistAll(Arrays.asList(logEntry1, logEntry2, logEntry3),
+            mockCallback));
+        assertEquals("size", 3, log.size());
+
+        ArgumentCaptor<Iterable> entries = ArgumentCaptor.forClass(Iterable.class);
+        ArgumentCaptor<Procedure> procedure = ArgumentCaptor.forClass(Procedure.class);
+        verify(mockPersistence).persistAll(entries.capture(), procedure.capture());
+        verifyNoMoreInteractions(mockPersistence);
+        assertEquals("persisted", Arrays.asList(logEntry1, logEntry2, logEntry3),
+            ImmutableList.copyOf(entries.getValue()));
+
+        procedure.getValue().apply(logEntry1);
+        procedure.getValue().apply(logEntry2);
+        verifyNoMoreInteractions(mockCallback);
+
+        procedure.getValue().apply(logEntry3);
+        verify(mockCallback).apply(same(logEntry3));
+
+        // Duplicate entries are not appended nor persisted
+        reset(mockPersistence);
+        assertEquals("appended", 0, log.appendAndPersistAll(Arrays.asList(logEntry3), mockCallback));
+        verifyNoMoreInteractions(mockPersistence);
+    }
+
     @Test
     public void testAppendAndPersistExpectingCaptureDueToJournalCount() throws Exception {
         configParams.setSnapshotBatchCount(2);
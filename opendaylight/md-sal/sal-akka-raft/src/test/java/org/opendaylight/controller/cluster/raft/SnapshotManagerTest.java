@@ -26,6 +26,7 @@ import static org.mockito.Mockito.verify;
 
 import akka.actor.ActorRef;
 import akka.persistence.SnapshotSelectionCriteria;
+import com.google.common.io.ByteSource;
 import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Optional;
@@ -37,11 +38,13 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.controller.cluster.DataPersistenceProvider;
+import org.opendaylight.controller.cluster.io.CompressedStreams;
 import org.opendaylight.controller.cluster.io.FileBackedOutputStreamFactory;
 import org.opendaylight.controller.cluster.raft.SnapshotManager.LastAppliedTermInformationReader;
 import org.opendaylight.controller.cluster.raft.base.messages.CaptureSnapshot;
 import org.opendaylight.controller.cluster.raft.base.messages.SendInstallSnapshot;
 import org.opendaylight.controller.cluster.raft.base.messages.SnapshotComplete;
+import org.opendaylight.controller.cluster.raft.behaviors.Leader;
 import org.opendaylight.controller.cluster.raft.behaviors.RaftActorBehavior;
 import org.opendaylight.controller.cluster.raft.persisted.ByteState;
 import org.opendaylight.controller.cluster.raft.persisted.SimpleReplicatedLogEntry;
@@ -398,6 +401,46 @@ public class SnapshotManagerTest extends AbstractActorTest {
         assertArrayEquals("state", snapshotState.getBytes(), sendInstallSnapshot.getSnapshotBytes().read());
     }
 
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Test
+    public void testPersistSendCompressedInstallSnapshot() throws Exception {
+        final Leader mockLeader = mock(Leader.class);
+        final FollowerLogInformation mockFollowerInfo = mock(FollowerLogInformation.class);
+        doReturn(mockLeader).when(mockRaftActorContext).getCurrentBehavior();
+        doReturn(mockFollowerInfo).when(mockLeader).getFollower("follower-1");
+        doReturn(RaftVersions.CURRENT_VERSION).when(mockFollowerInfo).getRaftVersion();
+        doReturn(true).when(mockConfigParams).isInstallSnapshotCompressionEnabled();
+        doReturn(Integer.MAX_VALUE).when(mockReplicatedLog).dataSize();
+        doNothing().when(mockProcedure).accept(anyObject());
+
+        assertTrue(snapshotManager.captureToInstall(new SimpleReplicatedLogEntry(9, 6,
+                new MockRaftActorContext.MockPayload()), -1, "follower-1"));
+
+        ArgumentCaptor<Optional> installSnapshotStreamCapture = ArgumentCaptor.forClass(Optional.class);
+        verify(mockProcedure).accept(installSnapshotStreamCapture.capture());
+
+        Optional<OutputStream> installSnapshotStream = installSnapshotStreamCapture.getValue();
+        final byte[] bytes = new byte[10000];
+        installSnapshotStream.get().write(bytes);
+
+        // The leader's getLeaderId() cannot be mocked, hand over to the generic behavior mock
+        doReturn(mockRaftActorBehavior).when(mockRaftActorContext).getCurrentBehavior();
+
+        ByteState snapshotState = ByteState.of(bytes);
+        snapshotManager.persist(snapshotState, installSnapshotStream, Runtime.getRuntime().totalMemory());
+
+        ArgumentCaptor<SendInstallSnapshot> sendInstallSnapshotArgumentCaptor
+                = ArgumentCaptor.forClass(SendInstallSnapshot.class);
+        verify(mockRaftActorBehavior).handleMessage(any(ActorRef.class), sendInstallSnapshotArgumentCaptor.capture());
+
+        ByteSource snapshotBytes = sendInstallSnapshotArgumentCaptor.getValue().getSnapshotBytes();
+        assertTrue("compressed", CompressedStreams.isCompressed(snapshotBytes));
+        assertArrayEquals("state", bytes, CompressedStreams.decompressIfNeeded(snapshotBytes).read());
+
+        assertEquals(snapshotBytes.size(), snapshotManager.getInstallSnapshotSize());
+        assertEquals(bytes.length, snapshotManager.getInstallSnapshotUncompressedSize());
+    }
+
     @Test
     public void testCallingPersistWithoutCaptureWillDoNothing() {
         snapshotManager.persist(ByteState.empty(), Optional.empty(), Runtime.getRuntime().totalMemory());
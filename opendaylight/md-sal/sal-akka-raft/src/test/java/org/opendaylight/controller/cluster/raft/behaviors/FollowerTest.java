@@ -21,6 +21,7 @@ import static org.mockito.Mockito.verify;
 
 import akka.actor.ActorRef;
 import akka.dispatch.Dispatchers;
+import akka.japi.Procedure;
 import akka.testkit.TestActorRef;
 import akka.testkit.javadsl.TestKit;
 import com.google.common.base.Optional;
@@ -510,6 +511,34 @@ public class FollowerTest extends AbstractRaftActorBehaviorTest<Follower> {
         assertEquals("getLastApplied", 101L, context.getLastApplied());
     }
 
+    @Test
+    public void testHandleAppendEntriesCompactsAppliedEntries() {
+        logStart("testHandleAppendEntriesCompactsAppliedEntries");
+
+        MockRaftActorContext context = createActorContext();
+        ((DefaultConfigParamsImpl) context.getConfigParams()).setInMemoryJournalCompactionThreshold(2);
+        context.getTermInformation().update(1, "test");
+        context.getReplicatedLog().append(newReplicatedLogEntry(1, 0, "zero"));
+
+        List<ReplicatedLogEntry> entries = Arrays.asList(newReplicatedLogEntry(1, 1, "one"),
+                newReplicatedLogEntry(1, 2, "two"), newReplicatedLogEntry(1, 3, "three"));
+
+        follower = createBehavior(context);
+        follower.handleMessage(leaderActor, new AppendEntries(1, "leader", 0, 1, entries, 1, -1, (short)0));
+
+        // Below the threshold nothing is compacted
+        assertEquals("getLastApplied", 1L, context.getLastApplied());
+        assertEquals("compactedSize", 0, context.getReplicatedLog().compactedSize());
+
+        follower.handleMessage(leaderActor, new AppendEntries(1, "leader", 3, 1, Collections.emptyList(), 3, -1,
+                (short)0));
+
+        assertEquals("getLastApplied", 3L, context.getLastApplied());
+        assertEquals("compactedSize", 4, context.getReplicatedLog().compactedSize());
+        assertTrue(context.getReplicatedLog().compactedFootprint() > 0);
+        assertEquals("getData", "two", context.getReplicatedLog().get(2).getData().toString());
+    }
+
     /**
      * This test verifies that when an AppendEntries is received a specific prevLogTerm
      * which does not match the term that is in RaftActors log entry at prevLogIndex
@@ -593,6 +622,47 @@ public class FollowerTest extends AbstractRaftActorBehaviorTest<Follower> {
         expectAndVerifyAppendEntriesReply(1, true, context.getId(), 1, 4);
     }
 
+    @Test
+    public void testHandleAppendEntriesRepliesOncePersisted() throws Exception {
+        logStart("testHandleAppendEntriesRepliesOncePersisted");
+
+        MockRaftActorContext context = createActorContext();
+        context.getTermInformation().update(1, "test");
+
+        // A log which persists a batch with a single write, completing it only when we say so
+        final List<List<ReplicatedLogEntry>> persistedBatches = new ArrayList<>();
+        final AtomicReference<Procedure<ReplicatedLogEntry>> persistCallback = new AtomicReference<>();
+        MockRaftActorContext.SimpleReplicatedLog log = new MockRaftActorContext.SimpleReplicatedLog() {
+            @Override
+            public int appendAndPersistAll(final List<ReplicatedLogEntry> replicatedLogEntries,
+                    final Procedure<ReplicatedLogEntry> callback) {
+                replicatedLogEntries.forEach(this::append);
+                persistedBatches.add(new ArrayList<>(replicatedLogEntries));
+                persistCallback.set(callback);
+                return replicatedLogEntries.size();
+            }
+        };
+        log.append(newReplicatedLogEntry(1, 0, "zero"));
+        context.setReplicatedLog(log);
+
+        List<ReplicatedLogEntry> entries = Arrays.asList(newReplicatedLogEntry(1, 1, "one"),
+                newReplicatedLogEntry(1, 2, "two"), newReplicatedLogEntry(1, 3, "three"));
+
+        follower = createBehavior(context);
+        follower.handleMessage(leaderActor, new AppendEntries(1, "leader", 0, 1, entries, -1, -1, (short)0));
+
+        assertEquals("Persisted batches", 1, persistedBatches.size());
+        assertEquals("Persisted entries", entries, persistedBatches.get(0));
+        assertEquals("Log size", 4, log.size());
+
+        MessageCollectorActor.assertNoneMatching(leaderActor, AppendEntriesReply.class, 200);
+
+        persistCallback.get().apply(entries.get(2));
+
+        expectAndVerifyAppendEntriesReply(1, true, context.getId(), 1, 3);
+        assertEquals("getLastPersistBatchSize", 3, follower.getLastPersistBatchSize());
+    }
+
     /**
      * This test verifies that when a new AppendEntries message is received with
      * new entries and the logs of the sender and receiver are out-of-sync that
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft.behaviors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.base.Optional;
+import com.google.common.io.ByteSource;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.io.FileBackedOutputStream;
+import org.opendaylight.controller.cluster.io.FileBackedOutputStreamFactory;
+import org.opendaylight.controller.cluster.raft.RaftActorContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Drives a {@link LeaderInstallSnapshotState} against a {@link SnapshotTracker} over a simulated link with fixed
+ * latency and bandwidth, measuring the time it takes to install a snapshot in virtual time.
+ */
+public class InstallSnapshotWindowTest {
+    private static final Logger LOG = LoggerFactory.getLogger(InstallSnapshotWindowTest.class);
+
+    private static final int CHUNK_SIZE = 1024;
+    private static final int CHUNK_COUNT = 64;
+    // One-way latency of the link
+    private static final long LATENCY = 1000;
+    // Time it takes to put a single chunk on the link
+    private static final long CHUNK_TRANSMIT_TIME = 100;
+
+    private final byte[] snapshot = new byte[CHUNK_SIZE * CHUNK_COUNT - 100];
+
+    private RaftActorContext mockContext;
+
+    private abstract static class Event implements Comparable<Event> {
+        final long time;
+        final long sequence;
+
+        Event(final long time, final long sequence) {
+            this.time = time;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(final Event other) {
+            final int cmp = Long.compare(time, other.time);
+            return cmp != 0 ? cmp : Long.compare(sequence, other.sequence);
+        }
+
+        abstract void run() throws IOException;
+    }
+
+    private final class Simulation {
+        private final PriorityQueue<Event> events = new PriorityQueue<>();
+        private final LeaderInstallSnapshotState leader;
+        private final SnapshotTracker follower;
+        private final Set<Integer> toDrop;
+        private long now;
+        private long sequence;
+        private long linkAvailable;
+        private long completedAt = -1;
+        private int chunksSent;
+
+        Simulation(final int windowSize, final Set<Integer> toDrop) throws IOException {
+            this.toDrop = new HashSet<>(toDrop);
+            leader = new LeaderInstallSnapshotState(CHUNK_SIZE, windowSize, "test");
+            leader.setSnapshotBytes(ByteSource.wrap(snapshot));
+            follower = new SnapshotTracker(LOG, leader.getTotalChunks(), "leader", mockContext);
+        }
+
+        long run() throws IOException {
+            sendChunks();
+            while (!events.isEmpty()) {
+                final Event event = events.poll();
+                now = event.time;
+                event.run();
+            }
+
+            assertTrue("Snapshot was not installed", completedAt >= 0);
+            assertArrayEquals(snapshot, follower.getSnapshotBytes().read());
+            follower.close();
+            leader.close();
+            return completedAt;
+        }
+
+        private void schedule(final Event event) {
+            events.add(event);
+        }
+
+        private long nextSequence() {
+            return sequence++;
+        }
+
+        private void sendChunks() throws IOException {
+            while (leader.canSendNextChunk()) {
+                final byte[] data = leader.getNextChunk();
+                final int index = leader.getChunkIndex();
+                final Optional<Integer> hash = Optional.of(leader.getLastChunkHashCode());
+                chunksSent++;
+
+                // Chunks are serialized onto the link, hence the transmit time accumulates
+                linkAvailable = Math.max(now, linkAvailable) + CHUNK_TRANSMIT_TIME;
+                if (toDrop.remove(index)) {
+                    continue;
+                }
+
+                schedule(new Event(linkAvailable + LATENCY, nextSequence()) {
+                    @Override
+                    void run() throws IOException {
+                        receiveChunk(index, data, hash);
+                    }
+                });
+            }
+        }
+
+        private void receiveChunk(final int index, final byte[] data, final Optional<Integer> hash)
+                throws IOException {
+            final boolean complete = follower.addChunk(index, data, hash);
+            final int missing = complete ? LeaderInstallSnapshotState.INVALID_CHUNK_INDEX
+                    : follower.pollMissingChunkIndex();
+            final boolean success = missing == LeaderInstallSnapshotState.INVALID_CHUNK_INDEX;
+            final int replyIndex = success ? follower.getLastChunkIndex() : missing;
+
+            schedule(new Event(now + LATENCY, nextSequence()) {
+                @Override
+                void run() throws IOException {
+                    receiveReply(replyIndex, success);
+                }
+            });
+        }
+
+        private void receiveReply(final int index, final boolean success) throws IOException {
+            if (!leader.isInFlight(index)) {
+                return;
+            }
+            if (success && leader.isLastChunk(index)) {
+                completedAt = now;
+                return;
+            }
+
+            leader.markSendStatus(index, success);
+            sendChunks();
+        }
+    }
+
+    @Before
+    public void setup() {
+        new Random(42).nextBytes(snapshot);
+
+        mockContext = mock(RaftActorContext.class);
+        FileBackedOutputStreamFactory mockFactory = mock(FileBackedOutputStreamFactory.class);
+        doReturn(mockFactory).when(mockContext).getFileBackedOutputStreamFactory();
+        doAnswer(invocation -> new FileBackedOutputStream(100000000, "target")).when(mockFactory).newInstance();
+    }
+
+    @Test
+    public void testWindowSizes() throws IOException {
+        final long stopAndWait = new Simulation(1, new HashSet<>()).run();
+        final long window4 = new Simulation(4, new HashSet<>()).run();
+        final long window16 = new Simulation(16, new HashSet<>()).run();
+
+        LOG.info("Install time for {} chunks: window 1 {}, window 4 {}, window 16 {}", CHUNK_COUNT, stopAndWait,
+            window4, window16);
+
+        // Stop-and-wait pays a round trip for each chunk
+        assertEquals(CHUNK_COUNT * (CHUNK_TRANSMIT_TIME + 2 * LATENCY), stopAndWait);
+        assertTrue(window4 < stopAndWait);
+        assertTrue(window16 < window4);
+    }
+
+    @Test
+    public void testDroppedChunks() throws IOException {
+        final Set<Integer> toDrop = new HashSet<>();
+        toDrop.add(3);
+        toDrop.add(20);
+        toDrop.add(21);
+
+        final Simulation sim = new Simulation(16, toDrop);
+        final long elapsed = sim.run();
+
+        // Dropped chunks are retransmitted exactly once
+        assertEquals(CHUNK_COUNT + 3, sim.chunksSent);
+        assertTrue(elapsed < new Simulation(1, new HashSet<>()).run());
+    }
+}
@@ -61,8 +61,11 @@ import org.opendaylight.controller.cluster.raft.base.messages.SendHeartBeat;
 import org.opendaylight.controller.cluster.raft.base.messages.SendInstallSnapshot;
 import org.opendaylight.controller.cluster.raft.base.messages.TimeoutNow;
 import org.opendaylight.controller.cluster.raft.behaviors.AbstractLeader.SnapshotHolder;
+import org.opendaylight.controller.cluster.raft.client.messages.GetReadIndexReply;
 import org.opendaylight.controller.cluster.raft.messages.AppendEntries;
 import org.opendaylight.controller.cluster.raft.messages.AppendEntriesReply;
+import org.opendaylight.controller.cluster.raft.messages.ConfirmLeadership;
+import org.opendaylight.controller.cluster.raft.messages.ConfirmLeadershipReply;
 import org.opendaylight.controller.cluster.raft.messages.InstallSnapshot;
 import org.opendaylight.controller.cluster.raft.messages.InstallSnapshotReply;
 import org.opendaylight.controller.cluster.raft.messages.RaftRPC;
@@ -393,6 +396,116 @@ public class LeaderTest extends AbstractLeaderTest<Leader> {
         }
     }
 
+    @Test
+    public void testMultipleReplicateWithPipelining() throws Exception {
+        logStart("testMultipleReplicateWithPipelining");
+
+        MockRaftActorContext actorContext = createActorContextWithFollower();
+        DefaultConfigParamsImpl configParams = new DefaultConfigParamsImpl();
+        configParams.setHeartBeatInterval(FiniteDuration.apply(5, TimeUnit.SECONDS));
+        configParams.setMaxInFlightAppendEntries(3);
+        actorContext.setConfigParams(configParams);
+
+        long term = 1;
+        actorContext.getTermInformation().update(term, "");
+
+        leader = new Leader(actorContext);
+        actorContext.setCurrentBehavior(leader);
+
+        // Leader will send an immediate heartbeat - ignore it.
+        MessageCollectorActor.expectFirstMatching(followerActor, AppendEntries.class);
+
+        // The follower would normally reply - simulate that explicitly here.
+        long lastIndex = actorContext.getReplicatedLog().lastIndex();
+        leader.handleMessage(followerActor, new AppendEntriesReply(
+                FOLLOWER_ID, term, true, lastIndex, term, (short)0));
+        assertEquals("isFollowerActive", true, leader.getFollower(FOLLOWER_ID).isFollowerActive());
+
+        followerActor.underlyingActor().clear();
+
+        for (int i = 0; i < 5; i++) {
+            sendReplicate(actorContext, lastIndex + i + 1);
+        }
+
+        // We expect 3 messages, each carrying the entry following the previous one, as that is the maximum number
+        // of AppendEntries allowed in flight.
+        List<AppendEntries> allMessages = MessageCollectorActor.getAllMatching(followerActor, AppendEntries.class);
+        assertEquals("The number of append entries collected should be 3", 3, allMessages.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals("getPrevLogIndex", lastIndex + i, allMessages.get(i).getPrevLogIndex());
+            assertEquals("Entries size", 1, allMessages.get(i).getEntries().size());
+            assertEquals("Entry getIndex", lastIndex + i + 1, allMessages.get(i).getEntries().get(0).getIndex());
+        }
+        assertEquals("getSentIndex", lastIndex + 3, leader.getFollower(FOLLOWER_ID).getSentIndex());
+
+        followerActor.underlyingActor().clear();
+
+        // A reply to the first one makes room for the remaining entries
+        leader.handleMessage(followerActor, new AppendEntriesReply(
+                FOLLOWER_ID, term, true, lastIndex + 1, term, (short)0));
+
+        AppendEntries appendEntries = MessageCollectorActor.expectFirstMatching(followerActor, AppendEntries.class);
+        assertEquals("getPrevLogIndex", lastIndex + 3, appendEntries.getPrevLogIndex());
+        assertEquals("Entries size", 2, appendEntries.getEntries().size());
+        assertEquals("getSentIndex", lastIndex + 5, leader.getFollower(FOLLOWER_ID).getSentIndex());
+
+        followerActor.underlyingActor().clear();
+
+        // A rejected reply resets the pipeline, replication resumes from the follower's last index
+        leader.handleMessage(followerActor, new AppendEntriesReply(
+                FOLLOWER_ID, term, false, lastIndex + 1, term, (short)0));
+
+        appendEntries = MessageCollectorActor.expectFirstMatching(followerActor, AppendEntries.class);
+        assertEquals("getPrevLogIndex", lastIndex + 1, appendEntries.getPrevLogIndex());
+        assertEquals("Entries size", 4, appendEntries.getEntries().size());
+        assertEquals("Entry getIndex", lastIndex + 2, appendEntries.getEntries().get(0).getIndex());
+        assertEquals("getNextIndex", lastIndex + 2, leader.getFollower(FOLLOWER_ID).getNextIndex());
+        assertEquals("getSentIndex", lastIndex + 5, leader.getFollower(FOLLOWER_ID).getSentIndex());
+    }
+
+    @Test
+    public void testStaleRejectedRepliesWithPipelining() throws Exception {
+        logStart("testStaleRejectedRepliesWithPipelining");
+
+        MockRaftActorContext actorContext = createActorContextWithFollower();
+        DefaultConfigParamsImpl configParams = new DefaultConfigParamsImpl();
+        configParams.setHeartBeatInterval(FiniteDuration.apply(5, TimeUnit.SECONDS));
+        configParams.setMaxInFlightAppendEntries(3);
+        actorContext.setConfigParams(configParams);
+
+        long term = 1;
+        actorContext.getTermInformation().update(term, "");
+
+        leader = new Leader(actorContext);
+        actorContext.setCurrentBehavior(leader);
+
+        // Leader will send an immediate heartbeat - ignore it.
+        MessageCollectorActor.expectFirstMatching(followerActor, AppendEntries.class);
+
+        long lastIndex = actorContext.getReplicatedLog().lastIndex();
+        leader.handleMessage(followerActor, new AppendEntriesReply(
+                FOLLOWER_ID, term, true, lastIndex, term, (short)0));
+
+        for (int i = 0; i < 3; i++) {
+            sendReplicate(actorContext, lastIndex + i + 1);
+        }
+
+        assertEquals("getSentIndex", lastIndex + 3, leader.getFollower(FOLLOWER_ID).getSentIndex());
+
+        // The follower's last entry conflicts with the leader's, hence it rejects all 3 AppendEntries. Only the
+        // reply to the first one should decrement the next index, the others were sent before it was changed.
+        for (int i = 0; i < 3; i++) {
+            leader.handleMessage(followerActor, new AppendEntriesReply(
+                    FOLLOWER_ID, term, false, lastIndex, term - 1, (short)0));
+            assertEquals("getNextIndex", lastIndex, leader.getFollower(FOLLOWER_ID).getNextIndex());
+        }
+
+        // The reply to the AppendEntries resent from the decremented next index is taken into account
+        leader.handleMessage(followerActor, new AppendEntriesReply(
+                FOLLOWER_ID, term, false, lastIndex, term - 1, (short)0));
+        assertEquals("getNextIndex", lastIndex - 1, leader.getFollower(FOLLOWER_ID).getNextIndex());
+    }
+
     @Test
     public void testDuplicateAppendEntriesWillBeSentOnHeartBeat() throws Exception {
         logStart("testDuplicateAppendEntriesWillBeSentOnHeartBeat");
@@ -602,7 +715,6 @@ public class LeaderTest extends AbstractLeaderTest<Leader> {
 
         //send first chunk and no InstallSnapshotReply received yet
         fts.getNextChunk();
-        fts.incrementChunkIndex();
 
         Uninterruptibles.sleepUninterruptibly(actorContext.getConfigParams().getHeartBeatInterval().toMillis(),
                 TimeUnit.MILLISECONDS);
@@ -614,7 +726,7 @@ public class LeaderTest extends AbstractLeaderTest<Leader> {
         assertTrue("AppendEntries should be sent with empty entries", ae.getEntries().isEmpty());
 
         //InstallSnapshotReply received
-        fts.markSendStatus(true);
+        fts.markSendStatus(1, true);
 
         leader.handleMessage(leaderActor, SendHeartBeat.INSTANCE);
 
@@ -960,10 +1072,9 @@ public class LeaderTest extends AbstractLeaderTest<Leader> {
                 actorContext.getConfigParams().getSnapshotChunkSize(), leader.logName());
         fts.setSnapshotBytes(ByteSource.wrap(bs.toByteArray()));
         leader.getFollower(FOLLOWER_ID).setLeaderInstallSnapshotState(fts);
-        while (!fts.isLastChunk(fts.getChunkIndex())) {
+        do {
             fts.getNextChunk();
-            fts.incrementChunkIndex();
-        }
+        } while (!fts.isLastChunk(fts.getChunkIndex()));
 
         //clears leaders log
         actorContext.getReplicatedLog().removeFrom(0);
@@ -1219,10 +1330,7 @@ public class LeaderTest extends AbstractLeaderTest<Leader> {
             assertEquals("bytestring size not matching for chunk:" + chunkIndex, length - i, chunk.length);
             assertEquals("chunkindex not matching", chunkIndex, fts.getChunkIndex());
 
-            fts.markSendStatus(true);
-            if (!fts.isLastChunk(chunkIndex)) {
-                fts.incrementChunkIndex();
-            }
+            fts.markSendStatus(chunkIndex, true);
         }
 
         assertEquals("totalChunks not matching", chunkIndex, fts.getTotalChunks());
@@ -1959,6 +2067,76 @@ public class LeaderTest extends AbstractLeaderTest<Leader> {
                 newBehavior instanceof Leader);
     }
 
+    @Test
+    public void testRequestReadIndex() {
+        logStart("testRequestReadIndex");
+
+        final TestKit kit = new TestKit(getSystem());
+
+        MockRaftActorContext leaderActorContext = createActorContext();
+        leaderActorContext.setReplicatedLog(
+                new MockRaftActorContext.MockReplicatedLogBuilder().createEntries(0, 2, 1).build());
+        leader = new Leader(leaderActorContext);
+        leader.requestReadIndex(kit.getRef());
+        assertEquals("getReadIndex", 1, kit.expectMsgClass(GetReadIndexReply.class).getReadIndex());
+        leader.close();
+
+        ActorRef followerActor1 = actorFactory.createActor(MessageCollectorActor.props());
+        ActorRef followerActor2 = actorFactory.createActor(MessageCollectorActor.props());
+
+        Map<String, String> peerAddresses = new HashMap<>();
+        peerAddresses.put("follower-1", followerActor1.path().toString());
+        peerAddresses.put("follower-2", followerActor2.path().toString());
+        leaderActorContext.setPeerAddresses(peerAddresses);
+
+        leader = new Leader(leaderActorContext);
+        leader.getFollower("follower-1").setRaftVersion(RaftVersions.FLUORINE_VERSION);
+        leader.getFollower("follower-2").setRaftVersion(RaftVersions.BORON_VERSION);
+        MessageCollectorActor.clearMessages(followerActor1);
+        MessageCollectorActor.clearMessages(followerActor2);
+
+        // Only followers which understand ConfirmLeadership are asked
+        leader.requestReadIndex(kit.getRef());
+        ConfirmLeadership confirmLeadership = MessageCollectorActor.expectFirstMatching(followerActor1,
+                ConfirmLeadership.class);
+        assertEquals("getTerm", leaderActorContext.getTermInformation().getCurrentTerm(),
+                confirmLeadership.getTerm());
+        assertEquals("getLeaderId", leaderActorContext.getId(), confirmLeadership.getLeaderId());
+        MessageCollectorActor.assertNoneMatching(followerActor2, ConfirmLeadership.class, 200);
+        kit.expectNoMsg(kit.duration("200 milliseconds"));
+
+        // A request arriving in the middle of a round waits for the next round
+        final TestKit kit2 = new TestKit(getSystem());
+        leaderActorContext.getReplicatedLog().append(new SimpleReplicatedLogEntry(2, 1,
+                new MockRaftActorContext.MockPayload("2")));
+        leader.requestReadIndex(kit2.getRef());
+
+        // Replies from an earlier round are ignored
+        leader.handleMessage(followerActor1, new ConfirmLeadershipReply(
+                leaderActorContext.getTermInformation().getCurrentTerm(), "follower-1",
+                confirmLeadership.getRound() - 1));
+        kit.expectNoMsg(kit.duration("200 milliseconds"));
+
+        MessageCollectorActor.clearMessages(followerActor1);
+        leader.handleMessage(followerActor1, new ConfirmLeadershipReply(
+                leaderActorContext.getTermInformation().getCurrentTerm(), "follower-1", confirmLeadership.getRound()));
+        assertEquals("getReadIndex", 1, kit.expectMsgClass(GetReadIndexReply.class).getReadIndex());
+        kit2.expectNoMsg(kit2.duration("200 milliseconds"));
+
+        ConfirmLeadership nextConfirmLeadership = MessageCollectorActor.expectFirstMatching(followerActor1,
+                ConfirmLeadership.class);
+        assertEquals("getRound", confirmLeadership.getRound() + 1, nextConfirmLeadership.getRound());
+        leader.handleMessage(followerActor1, new ConfirmLeadershipReply(
+                leaderActorContext.getTermInformation().getCurrentTerm(), "follower-1",
+                nextConfirmLeadership.getRound()));
+        assertEquals("getReadIndex", 2, kit2.expectMsgClass(GetReadIndexReply.class).getReadIndex());
+
+        // Pending requests are failed when leadership is lost
+        leader.requestReadIndex(kit.getRef());
+        leader.close();
+        assertFalse("Expected no read index after close", kit.expectMsgClass(GetReadIndexReply.class).isPresent());
+    }
+
     @Test
     public void testLaggingFollowerStarvation() throws Exception {
         logStart("testLaggingFollowerStarvation");
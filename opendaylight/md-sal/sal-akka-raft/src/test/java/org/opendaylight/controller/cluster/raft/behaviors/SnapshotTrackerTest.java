@@ -9,6 +9,8 @@
 package org.opendaylight.controller.cluster.raft.behaviors;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
@@ -103,6 +105,30 @@ public class SnapshotTrackerTest {
         }
     }
 
+    @Test
+    public void testAddChunksOutOfOrder() throws IOException {
+        try (SnapshotTracker tracker = new SnapshotTracker(LOG, 3, "leader", mockContext)) {
+            assertFalse(tracker.addChunk(1, chunk1,
+                Optional.of(LeaderInstallSnapshotState.INITIAL_LAST_CHUNK_HASH_CODE)));
+            assertEquals(LeaderInstallSnapshotState.INVALID_CHUNK_INDEX, tracker.pollMissingChunkIndex());
+
+            // Chunk 2 is missing, chunk 3 is held back
+            assertFalse(tracker.addChunk(3, chunk3, Optional.of(Arrays.hashCode(chunk2))));
+            assertEquals(1, tracker.getLastChunkIndex());
+            assertEquals(2, tracker.pollMissingChunkIndex());
+            assertEquals(LeaderInstallSnapshotState.INVALID_CHUNK_INDEX, tracker.pollMissingChunkIndex());
+
+            // Duplicates are ignored
+            assertFalse(tracker.addChunk(1, chunk1, Optional.<Integer>absent()));
+
+            assertTrue(tracker.addChunk(2, chunk2, Optional.of(Arrays.hashCode(chunk1))));
+            assertEquals(3, tracker.getLastChunkIndex());
+
+            ByteSource snapshotBytes = tracker.getSnapshotBytes();
+            assertEquals("Deserialized", data, SerializationUtils.deserialize(snapshotBytes.read()));
+        }
+    }
+
     @Test(expected = SnapshotTracker.InvalidChunkException.class)
     public void testInvalidLastChunkHashCode() throws IOException {
         try (SnapshotTracker tracker = new SnapshotTracker(LOG, 2, "leader", mockContext)) {
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft.messages;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+
+/**
+ * Unit tests for ConfirmLeadershipReply.
+ */
+public class ConfirmLeadershipReplyTest {
+
+    @Test
+    public void testSerialization() {
+        ConfirmLeadershipReply expected = new ConfirmLeadershipReply(5, "follower", 7);
+        ConfirmLeadershipReply cloned = (ConfirmLeadershipReply) SerializationUtils.clone(expected);
+
+        assertEquals("getTerm", expected.getTerm(), cloned.getTerm());
+        assertEquals("getFollowerId", expected.getFollowerId(), cloned.getFollowerId());
+        assertEquals("getRound", expected.getRound(), cloned.getRound());
+    }
+}
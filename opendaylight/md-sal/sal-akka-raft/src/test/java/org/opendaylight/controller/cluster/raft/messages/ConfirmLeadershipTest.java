@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft.messages;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+
+/**
+ * Unit tests for ConfirmLeadership.
+ */
+public class ConfirmLeadershipTest {
+
+    @Test
+    public void testSerialization() {
+        ConfirmLeadership expected = new ConfirmLeadership(5, "leader", 7);
+        ConfirmLeadership cloned = (ConfirmLeadership) SerializationUtils.clone(expected);
+
+        assertEquals("getTerm", expected.getTerm(), cloned.getTerm());
+        assertEquals("getLeaderId", expected.getLeaderId(), cloned.getLeaderId());
+        assertEquals("getRound", expected.getRound(), cloned.getRound());
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.raft.messages;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import akka.actor.ActorSystem;
+import akka.actor.ExtendedActorSystem;
+import akka.testkit.JavaTestKit;
+import com.google.common.base.Optional;
+import java.io.NotSerializableException;
+import java.util.Arrays;
+import java.util.Collections;
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.raft.MockRaftActorContext.MockPayload;
+import org.opendaylight.controller.cluster.raft.RaftVersions;
+import org.opendaylight.controller.cluster.raft.ReplicatedLogEntry;
+import org.opendaylight.controller.cluster.raft.persisted.ServerConfigurationPayload;
+import org.opendaylight.controller.cluster.raft.persisted.ServerInfo;
+import org.opendaylight.controller.cluster.raft.persisted.SimpleReplicatedLogEntry;
+
+/**
+ * Unit tests for RaftRPCSerializer.
+ */
+public class RaftRPCSerializerTest {
+    private ActorSystem system;
+    private RaftRPCSerializer serializer;
+
+    @Before
+    public void setUp() {
+        system = ActorSystem.apply();
+        serializer = new RaftRPCSerializer((ExtendedActorSystem) system);
+    }
+
+    @After
+    public void tearDown() {
+        JavaTestKit.shutdownActorSystem(system);
+    }
+
+    @Test
+    public void testAppendEntries() throws Exception {
+        final ReplicatedLogEntry entry1 = new SimpleReplicatedLogEntry(1, 2, new MockPayload("payload1"));
+        final ReplicatedLogEntry entry2 = new SimpleReplicatedLogEntry(3, 4, new MockPayload("payload2"));
+        final AppendEntries expected = new AppendEntries(5L, "node1", 7L, 8L, Arrays.asList(entry1, entry2), 10L,
+            -1, (short) 5);
+
+        final AppendEntries actual = (AppendEntries) roundTrip(expected);
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    public void testHeartbeat() throws Exception {
+        final AppendEntries expected = new AppendEntries(5L, "member-1-shard-default-config", 1000L, 5L,
+            Collections.emptyList(), 1000L, 999L, (short) 5);
+
+        final AppendEntries actual = (AppendEntries) roundTrip(expected);
+        assertEquals(expected.toString(), actual.toString());
+
+        assertTrue(serializer.toBinary(expected).length < SerializationUtils.serialize(expected).length);
+    }
+
+    @Test
+    public void testAppendEntriesReply() throws Exception {
+        final AppendEntriesReply expected = new AppendEntriesReply("follower", 5L, true, 100L, 4L, (short) 3, true,
+            RaftVersions.LITHIUM_VERSION);
+
+        final AppendEntriesReply actual = (AppendEntriesReply) roundTrip(expected);
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    public void testRequestVote() throws Exception {
+        final RequestVote expected = new RequestVote(4L, "candidate", 10L, 3L);
+
+        final RequestVote actual = (RequestVote) roundTrip(expected);
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    public void testRequestVoteReply() throws Exception {
+        final RequestVoteReply expected = new RequestVoteReply(4L, true);
+
+        final RequestVoteReply actual = (RequestVoteReply) roundTrip(expected);
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    public void testConfirmLeadership() throws Exception {
+        final ConfirmLeadership expected = new ConfirmLeadership(4L, "leader", 12L);
+
+        final ConfirmLeadership actual = (ConfirmLeadership) roundTrip(expected);
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    public void testConfirmLeadershipReply() throws Exception {
+        final ConfirmLeadershipReply expected = new ConfirmLeadershipReply(4L, "follower", 12L);
+
+        final ConfirmLeadershipReply actual = (ConfirmLeadershipReply) roundTrip(expected);
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    public void testInstallSnapshot() throws Exception {
+        final byte[] data = {0, 1, 2, 3, 4, 5, 7, 8, 9};
+        final ServerConfigurationPayload serverConfig = new ServerConfigurationPayload(Arrays.asList(
+            new ServerInfo("leader", true), new ServerInfo("follower", false)));
+        final InstallSnapshot expected = new InstallSnapshot(3L, "leaderId", 11L, 2L, data, 5, 6,
+            Optional.of(54321), Optional.of(serverConfig));
+
+        final InstallSnapshot actual = (InstallSnapshot) roundTrip(expected);
+        assertEquals(expected.toString(), actual.toString());
+        assertArrayEquals(data, actual.getData());
+        assertEquals(serverConfig.getServerConfig(), actual.getServerConfig().get().getServerConfig());
+
+        final InstallSnapshot minimal = new InstallSnapshot(3L, "leaderId", 11L, 2L, data, 1, 6);
+        assertEquals(minimal.toString(), roundTrip(minimal).toString());
+    }
+
+    @Test
+    public void testInstallSnapshotReply() throws Exception {
+        final InstallSnapshotReply expected = new InstallSnapshotReply(5L, "follower", 1, true);
+
+        final InstallSnapshotReply actual = (InstallSnapshotReply) roundTrip(expected);
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsupportedObject() {
+        serializer.toBinary(new AddServer("id", "address", true));
+    }
+
+    @Test(expected = NotSerializableException.class)
+    public void testUnknownManifest() throws NotSerializableException {
+        serializer.fromBinary(new byte[0], "foo");
+    }
+
+    private Object roundTrip(final Object obj) throws NotSerializableException {
+        return serializer.fromBinary(serializer.toBinary(obj), serializer.manifest(obj));
+    }
+}
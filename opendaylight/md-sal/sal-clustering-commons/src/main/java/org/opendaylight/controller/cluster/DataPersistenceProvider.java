@@ -43,6 +43,15 @@ public interface DataPersistenceProvider {
      */
     <T> void persistAsync(T entry, Procedure<T> procedure);
 
+    /**
+     * Persists multiple entries to the applicable journal synchronously as a single write.
+     *
+     * @param entries the journal entries to persist
+     * @param procedure the callback invoked for each entry, in order, when persistence of all entries is complete
+     * @param <T> the type of the journal entries
+     */
+    <T> void persistAll(Iterable<T> entries, Procedure<T> procedure);
+
     /**
      * Saves a snapshot.
      *
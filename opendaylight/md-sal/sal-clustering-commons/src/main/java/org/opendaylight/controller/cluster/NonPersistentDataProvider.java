@@ -42,6 +42,13 @@ public class NonPersistentDataProvider implements DataPersistenceProvider {
         actor.executeInSelf(() -> invokeProcedure(procedure, entry));
     }
 
+    @Override
+    public <T> void persistAll(final Iterable<T> entries, final Procedure<T> procedure) {
+        for (T entry : entries) {
+            invokeProcedure(procedure, entry);
+        }
+    }
+
     @Override
     public void saveSnapshot(final Object snapshot) {
         // no-op
@@ -422,7 +422,7 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
         }
     }
 
-    private void writeKeyValueMap(final Map<QName, Object> keyValueMap) throws IOException {
+    protected void writeKeyValueMap(final Map<QName, Object> keyValueMap) throws IOException {
         if (keyValueMap != null && !keyValueMap.isEmpty()) {
             output.writeInt(keyValueMap.size());
 
@@ -448,7 +448,7 @@ abstract class AbstractNormalizedNodeDataOutput implements NormalizedNodeDataOut
         }
     }
 
-    private void writeObject(final Object value) throws IOException {
+    protected final void writeObject(final Object value) throws IOException {
 
         byte type = ValueTypes.getSerializableType(value);
         // Write object type first
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.stream;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.common.Revision;
+
+/**
+ * NormalizedNodeOutputStreamWriter emitting {@link TokenTypes#FLUORINE_VERSION} streams. In addition to strings,
+ * QNames, QNameModules and the key sets of NodeIdentifierWithPredicates are coded, so that a QName which has been
+ * seen before is written as a single dictionary reference.
+ */
+final class FluorineNormalizedNodeOutputStreamWriter extends NormalizedNodeOutputStreamWriter {
+    private final Map<QName, Integer> qnameCodeMap = new HashMap<>();
+    private final Map<QNameModule, Integer> moduleCodeMap = new HashMap<>();
+    private final Map<Set<QName>, Integer> keySetCodeMap = new HashMap<>();
+    private final List<List<QName>> keySets = new ArrayList<>();
+
+    FluorineNormalizedNodeOutputStreamWriter(final DataOutput output) {
+        super(output);
+    }
+
+    @Override
+    protected short streamVersion() {
+        return TokenTypes.FLUORINE_VERSION;
+    }
+
+    @Override
+    protected void writeQName(final QName qname) throws IOException {
+        final Integer value = qnameCodeMap.get(qname);
+        if (value == null) {
+            // Fresh QName, remember it and emit its components
+            qnameCodeMap.put(qname, qnameCodeMap.size());
+            writeByte(TokenTypes.IS_QNAME_VALUE);
+            writeModule(qname.getModule());
+            writeString(qname.getLocalName());
+        } else {
+            writeByte(TokenTypes.IS_QNAME_CODE);
+            writeInt(value);
+        }
+    }
+
+    @Override
+    protected void writeKeyValueMap(final Map<QName, Object> keyValueMap) throws IOException {
+        final Set<QName> keySet = keyValueMap.keySet();
+        final Integer value = keySetCodeMap.get(keySet);
+        final List<QName> keys;
+        if (value == null) {
+            // Fresh key set, remember it in iteration order and emit its members. The values are then emitted in the
+            // same order, which the reader can use to reconstruct the map.
+            keys = ImmutableList.copyOf(keySet);
+            keySetCodeMap.put(ImmutableSet.copyOf(keys), keySets.size());
+            keySets.add(keys);
+
+            writeByte(TokenTypes.IS_KEY_SET_VALUE);
+            writeInt(keys.size());
+            for (QName key : keys) {
+                writeQName(key);
+            }
+        } else {
+            keys = keySets.get(value);
+            writeByte(TokenTypes.IS_KEY_SET_CODE);
+            writeInt(value);
+        }
+
+        for (QName key : keys) {
+            writeObject(keyValueMap.get(key));
+        }
+    }
+
+    private void writeModule(final QNameModule module) throws IOException {
+        final Integer value = moduleCodeMap.get(module);
+        if (value == null) {
+            moduleCodeMap.put(module, moduleCodeMap.size());
+            writeByte(TokenTypes.IS_MODULE_VALUE);
+            writeString(module.getNamespace().toString());
+            writeString(module.getRevision().map(Revision::toString).orElse(null));
+        } else {
+            writeByte(TokenTypes.IS_MODULE_CODE);
+            writeInt(value);
+        }
+    }
+}
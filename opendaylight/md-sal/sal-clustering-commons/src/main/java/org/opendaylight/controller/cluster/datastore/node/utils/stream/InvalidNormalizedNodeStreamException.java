@@ -21,4 +21,8 @@ public class InvalidNormalizedNodeStreamException extends IOException {
     public InvalidNormalizedNodeStreamException(String message) {
         super(message);
     }
+
+    public InvalidNormalizedNodeStreamException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
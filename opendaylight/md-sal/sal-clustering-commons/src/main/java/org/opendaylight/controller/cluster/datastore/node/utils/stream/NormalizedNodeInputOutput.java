@@ -36,7 +36,8 @@ public final class NormalizedNodeInputOutput {
         final short version = input.readShort();
         switch (version) {
             case TokenTypes.LITHIUM_VERSION:
-                return new NormalizedNodeInputStreamReader(input, true);
+            case TokenTypes.FLUORINE_VERSION:
+                return new NormalizedNodeInputStreamReader(input, version);
             default:
                 throw new InvalidNormalizedNodeStreamException(String.format("Unhandled stream version %s", version));
         }
@@ -50,16 +51,39 @@ public final class NormalizedNodeInputOutput {
      * @return a new {@link NormalizedNodeDataInput} instance
      */
     public static NormalizedNodeDataInput newDataInputWithoutValidation(@Nonnull final DataInput input) {
-        return new NormalizedNodeInputStreamReader(input, false);
+        return new NormalizedNodeInputStreamReader(input);
     }
 
     /**
-     * Creates a new {@link NormalizedNodeDataOutput} instance that writes to the given output.
+     * Creates a new {@link NormalizedNodeDataOutput} instance that writes to the given output, using the
+     * {@link NormalizedNodeStreamVersion#LITHIUM} stream version, which all released readers understand. Callers
+     * which know the reader supports a newer version should use {@link #newDataOutput(DataOutput,
+     * NormalizedNodeStreamVersion)}.
      *
      * @param output the DataOutput to write to
      * @return a new {@link NormalizedNodeDataOutput} instance
      */
     public static NormalizedNodeDataOutput newDataOutput(@Nonnull final DataOutput output) {
-        return new NormalizedNodeOutputStreamWriter(output);
+        return newDataOutput(output, NormalizedNodeStreamVersion.LITHIUM);
+    }
+
+    /**
+     * Creates a new {@link NormalizedNodeDataOutput} instance that writes to the given output, using the specified
+     * stream version.
+     *
+     * @param output the DataOutput to write to
+     * @param version the stream version to emit
+     * @return a new {@link NormalizedNodeDataOutput} instance
+     */
+    public static NormalizedNodeDataOutput newDataOutput(@Nonnull final DataOutput output,
+            @Nonnull final NormalizedNodeStreamVersion version) {
+        switch (version) {
+            case LITHIUM:
+                return new NormalizedNodeOutputStreamWriter(output);
+            case FLUORINE:
+                return new FluorineNormalizedNodeOutputStreamWriter(output);
+            default:
+                throw new IllegalStateException("Unhandled version " + version);
+        }
     }
 }
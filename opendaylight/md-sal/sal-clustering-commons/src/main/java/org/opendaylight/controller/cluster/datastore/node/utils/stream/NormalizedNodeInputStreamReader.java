@@ -15,7 +15,10 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -29,6 +32,8 @@ import javax.xml.transform.dom.DOMSource;
 import org.opendaylight.controller.cluster.datastore.node.utils.QNameFactory;
 import org.opendaylight.yangtools.yang.common.Empty;
 import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.common.Revision;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
@@ -61,7 +66,11 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
 
     private final DataInput input;
 
-    private final Map<Integer, String> codedStringMap = new HashMap<>();
+    // Per-stream dictionaries, indexed by their codes
+    private final List<String> codedStrings = new ArrayList<>();
+    private final List<QNameModule> codedModules = new ArrayList<>();
+    private final List<QName> codedQNames = new ArrayList<>();
+    private final List<List<QName>> codedKeySets = new ArrayList<>();
 
     private QName lastLeafSetQName;
 
@@ -73,11 +82,39 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
 
     private final StringBuilder reusableStringBuilder = new StringBuilder(50);
 
-    private boolean readSignatureMarker = true;
+    private boolean readSignatureMarker;
 
-    NormalizedNodeInputStreamReader(final DataInput input, final boolean versionChecked) {
+    private short version;
+
+    /**
+     * Create a reader which reads and validates the stream header before reading the first item.
+     *
+     * @param input the DataInput to read from
+     */
+    NormalizedNodeInputStreamReader(final DataInput input) {
+        this.input = Preconditions.checkNotNull(input);
+        readSignatureMarker = true;
+    }
+
+    /**
+     * Create a reader for a stream whose header has already been read.
+     *
+     * @param input the DataInput to read from
+     * @param version stream version indicated by the header
+     */
+    NormalizedNodeInputStreamReader(final DataInput input, final short version) {
         this.input = Preconditions.checkNotNull(input);
-        readSignatureMarker = !versionChecked;
+        this.version = checkVersion(version);
+        readSignatureMarker = false;
+    }
+
+    static boolean isSupportedVersion(final short version) {
+        return version == TokenTypes.LITHIUM_VERSION || version == TokenTypes.FLUORINE_VERSION;
+    }
+
+    private static short checkVersion(final short version) throws IllegalArgumentException {
+        Preconditions.checkArgument(isSupportedVersion(version), "Unhandled stream version %s", version);
+        return version;
     }
 
     @Override
@@ -96,10 +133,12 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
                         "Invalid signature marker: %d", marker));
             }
 
-            final short version = input.readShort();
-            if (version != TokenTypes.LITHIUM_VERSION) {
-                throw new InvalidNormalizedNodeStreamException(String.format("Unhandled stream version %s", version));
+            final short streamVersion = input.readShort();
+            if (!isSupportedVersion(streamVersion)) {
+                throw new InvalidNormalizedNodeStreamException(String.format("Unhandled stream version %s",
+                    streamVersion));
             }
+            version = streamVersion;
         }
     }
 
@@ -238,6 +277,10 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
     }
 
     private QName readQName() throws IOException {
+        return version == TokenTypes.LITHIUM_VERSION ? readLithiumQName() : readCodedQName();
+    }
+
+    private QName readLithiumQName() throws IOException {
         // Read in the same sequence of writing
         String localName = readCodedString();
         String namespace = readCodedString();
@@ -256,19 +299,86 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
     }
 
 
+    private QName readCodedQName() throws IOException {
+        final byte valueType = input.readByte();
+        switch (valueType) {
+            case TokenTypes.IS_QNAME_CODE:
+                return lookupCode(codedQNames, input.readInt());
+            case TokenTypes.IS_QNAME_VALUE:
+                final QNameModule module = readCodedModule();
+                final QName qname = QName.create(module, readCodedString()).intern();
+                codedQNames.add(qname);
+                return qname;
+            default:
+                throw new InvalidNormalizedNodeStreamException("Invalid QName token " + valueType);
+        }
+    }
+
+    private QNameModule readCodedModule() throws IOException {
+        final byte valueType = input.readByte();
+        switch (valueType) {
+            case TokenTypes.IS_MODULE_CODE:
+                return lookupCode(codedModules, input.readInt());
+            case TokenTypes.IS_MODULE_VALUE:
+                final String namespace = readCodedString();
+                final String revision = readCodedString();
+                if (namespace == null) {
+                    throw new InvalidNormalizedNodeStreamException("Missing module namespace");
+                }
+
+                final QNameModule module;
+                try {
+                    module = QNameModule.create(new URI(namespace),
+                        revision == null ? null : Revision.of(revision)).intern();
+                } catch (URISyntaxException | DateTimeParseException e) {
+                    throw new InvalidNormalizedNodeStreamException("Invalid module " + namespace + "@" + revision, e);
+                }
+                codedModules.add(module);
+                return module;
+            default:
+                throw new InvalidNormalizedNodeStreamException("Invalid module token " + valueType);
+        }
+    }
+
+    private List<QName> readCodedKeySet() throws IOException {
+        final byte valueType = input.readByte();
+        switch (valueType) {
+            case TokenTypes.IS_KEY_SET_CODE:
+                return lookupCode(codedKeySets, input.readInt());
+            case TokenTypes.IS_KEY_SET_VALUE:
+                final int size = input.readInt();
+                final List<QName> keys = new ArrayList<>(size);
+                for (int i = 0; i < size; ++i) {
+                    keys.add(readQName());
+                }
+                codedKeySets.add(keys);
+                return keys;
+            default:
+                throw new InvalidNormalizedNodeStreamException("Invalid key set token " + valueType);
+        }
+    }
+
     private String readCodedString() throws IOException {
         byte valueType = input.readByte();
         if (valueType == TokenTypes.IS_CODE_VALUE) {
-            return codedStringMap.get(input.readInt());
+            return lookupCode(codedStrings, input.readInt());
         } else if (valueType == TokenTypes.IS_STRING_VALUE) {
-            String value = input.readUTF().intern();
-            codedStringMap.put(codedStringMap.size(), value);
+            String value = input.readUTF();
+            codedStrings.add(value);
             return value;
         }
 
         return null;
     }
 
+    private static <T> T lookupCode(final List<T> dictionary, final int code)
+            throws InvalidNormalizedNodeStreamException {
+        if (code < 0 || code >= dictionary.size()) {
+            throw new InvalidNormalizedNodeStreamException("Invalid dictionary code " + code);
+        }
+        return dictionary.get(code);
+    }
+
     private Set<QName> readQNameSet() throws IOException {
         // Read the children count
         int count = input.readInt();
@@ -280,6 +390,15 @@ public class NormalizedNodeInputStreamReader implements NormalizedNodeDataInput
     }
 
     private Map<QName, Object> readKeyValueMap() throws IOException {
+        if (version != TokenTypes.LITHIUM_VERSION) {
+            final List<QName> keys = readCodedKeySet();
+            final Map<QName, Object> keyValueMap = new HashMap<>(keys.size());
+            for (QName key : keys) {
+                keyValueMap.put(key, readObject());
+            }
+            return keyValueMap;
+        }
+
         int count = input.readInt();
         Map<QName, Object> keyValueMap = new HashMap<>(count);
 
@@ -29,7 +29,7 @@ import org.opendaylight.yangtools.yang.common.Revision;
  * Based on the each node, the node type is also written to the stream, that helps in reconstructing the object,
  * while reading.
  */
-final class NormalizedNodeOutputStreamWriter extends AbstractNormalizedNodeDataOutput {
+class NormalizedNodeOutputStreamWriter extends AbstractNormalizedNodeDataOutput {
     private final Map<String, Integer> stringCodeMap = new HashMap<>();
 
     NormalizedNodeOutputStreamWriter(final DataOutput output) {
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.node.utils.stream;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * Enumeration of all stream versions this implementation can emit. Readers accept any of these versions, as indicated
+ * by the stream header.
+ */
+@Beta
+public enum NormalizedNodeStreamVersion {
+    /**
+     * Original stream version, where QNames are serialized as three dictionary-coded strings.
+     */
+    LITHIUM,
+    /**
+     * Revised stream version, where QNames, their modules and NodeIdentifierWithPredicates key sets are dictionary
+     * coded as well.
+     */
+    FLUORINE;
+}
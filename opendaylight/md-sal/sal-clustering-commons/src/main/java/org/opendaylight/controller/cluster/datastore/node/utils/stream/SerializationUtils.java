@@ -116,6 +116,27 @@ public final class SerializationUtils {
         }
     }
 
+    /**
+     * Serialize a NormalizedNode using specified stream version. Unlike {@link #serializeNormalizedNode(NormalizedNode,
+     * DataOutput)}, this method does not use {@link #REUSABLE_WRITER_TL}.
+     *
+     * @param node the node to serialize, may be null
+     * @param out the DataOutput to write to
+     * @param version the stream version to emit
+     */
+    public static void serializeNormalizedNode(NormalizedNode<?, ?> node, DataOutput out,
+            NormalizedNodeStreamVersion version) {
+        try {
+            out.writeBoolean(node != null);
+            if (node != null) {
+                NormalizedNodeInputOutput.newDataOutput(out, version).writeNormalizedNode(node);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException(String.format("Error serializing NormalizedNode %s",
+                    node), e);
+        }
+    }
+
     public static byte [] serializeNormalizedNode(NormalizedNode<?, ?> node) {
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
         serializeNormalizedNode(node, new DataOutputStream(bos));
@@ -23,4 +23,19 @@ final class TokenTypes {
     static final byte IS_CODE_VALUE = 1;
     static final byte IS_STRING_VALUE = 2;
     static final byte IS_NULL_VALUE = 3;
+
+    /**
+     * Revised stream version. In addition to strings, QNames, QNameModules and the key sets of
+     * NodeIdentifierWithPredicates use per-stream dictionaries, hence each of them is serialized in full only once and
+     * subsequently referenced by its index.
+     */
+    static final short FLUORINE_VERSION = 2;
+
+    // Tokens supported in FLUORINE_VERSION
+    static final byte IS_QNAME_CODE = 4;
+    static final byte IS_QNAME_VALUE = 5;
+    static final byte IS_MODULE_CODE = 6;
+    static final byte IS_MODULE_VALUE = 7;
+    static final byte IS_KEY_SET_CODE = 8;
+    static final byte IS_KEY_SET_VALUE = 9;
 }
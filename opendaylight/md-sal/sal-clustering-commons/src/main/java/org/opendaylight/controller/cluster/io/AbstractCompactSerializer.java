@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.io;
+
+import akka.actor.ExtendedActorSystem;
+import akka.serialization.JavaSerializer;
+import akka.serialization.JavaSerializer.CurrentSystem;
+import akka.serialization.SerializerWithStringManifest;
+import akka.util.ClassLoaderObjectInputStream;
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Base class for akka serializers which write a fixed set of message types in a compact binary form, as opposed to
+ * going through {@link JavaSerializer}, which emits full class descriptors with every message. Each supported type
+ * is assigned a small numeric code, which is used as the akka manifest and thus identifies the message type on the
+ * wire.
+ *
+ * <p>
+ * Subclasses are expected to write primitive fields directly and resort to Java serialization only for opaque
+ * objects, via {@link #newObjectOutput(OutputStream)} and {@link #newObjectInput(InputStream)}. The latter resolves
+ * classes through the actor system's class loader and allows {@link akka.actor.ActorRef}s to be deserialized, just
+ * like {@link JavaSerializer} does.
+ */
+@Beta
+public abstract class AbstractCompactSerializer extends SerializerWithStringManifest {
+    private static final int INITIAL_BUFFER_SIZE = 128;
+
+    private final ExtendedActorSystem system;
+
+    protected AbstractCompactSerializer(final ExtendedActorSystem system) {
+        this.system = Preconditions.checkNotNull(system);
+    }
+
+    @Override
+    public final String manifest(final Object obj) {
+        return Integer.toString(manifestCode(obj));
+    }
+
+    @Override
+    public final byte[] toBinary(final Object obj) {
+        final int code = manifestCode(obj);
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        try (DataOutputStream out = new DataOutputStream(bos)) {
+            writeMessage(code, obj, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize " + obj, e);
+        }
+        return bos.toByteArray();
+    }
+
+    @Override
+    public final Object fromBinary(final byte[] bytes, final String manifest) throws NotSerializableException {
+        final int code;
+        try {
+            code = Integer.parseInt(manifest);
+        } catch (NumberFormatException e) {
+            throw notSerializable("Unrecognized manifest " + manifest, e);
+        }
+
+        // Equivalent of JavaSerializer.currentSystem().withValue(), which does not propagate checked exceptions
+        final CurrentSystem currentSystem = JavaSerializer.currentSystem();
+        final ExtendedActorSystem prevSystem = currentSystem.value();
+        currentSystem.value_$eq(system);
+        try {
+            return readMessage(code, new DataInputStream(new ByteArrayInputStream(bytes)));
+        } catch (IOException | ClassNotFoundException e) {
+            throw notSerializable("Failed to deserialize message with manifest " + manifest, e);
+        } finally {
+            currentSystem.value_$eq(prevSystem);
+        }
+    }
+
+    /**
+     * Return the manifest code of a message.
+     *
+     * @param obj Message object
+     * @return Manifest code
+     * @throws IllegalArgumentException if the message is not supported by this serializer
+     */
+    protected abstract int manifestCode(Object obj);
+
+    /**
+     * Write a message of the type identified by a manifest code.
+     *
+     * @param code Manifest code, as returned by {@link #manifestCode(Object)}
+     * @param obj Message object
+     * @param out Output to write to
+     * @throws IOException if the output fails
+     */
+    protected abstract void writeMessage(int code, Object obj, DataOutputStream out) throws IOException;
+
+    /**
+     * Read a message of the type identified by a manifest code.
+     *
+     * @param code Manifest code
+     * @param in Input to read from
+     * @return Message object
+     * @throws IOException if the input fails or the manifest code is not recognized
+     * @throws ClassNotFoundException if an embedded object refers to an unknown class
+     */
+    protected abstract Object readMessage(int code, DataInputStream in) throws IOException, ClassNotFoundException;
+
+    /**
+     * Open an {@link ObjectOutputStream} on top of an output stream. Callers are required to flush the returned stream
+     * once they are done writing objects.
+     *
+     * @param out Underlying stream
+     * @return An ObjectOutputStream
+     * @throws IOException if the stream header cannot be written
+     */
+    protected static final ObjectOutputStream newObjectOutput(final OutputStream out) throws IOException {
+        return new ObjectOutputStream(out);
+    }
+
+    /**
+     * Open an {@link ObjectInputStream} on top of an input stream, resolving classes through the actor system's class
+     * loader.
+     *
+     * @param in Underlying stream
+     * @return An ObjectInputStream
+     * @throws IOException if the stream header cannot be read
+     */
+    protected final ObjectInputStream newObjectInput(final InputStream in) throws IOException {
+        return new ClassLoaderObjectInputStream(system.dynamicAccess().classLoader(), in);
+    }
+
+    protected static final void writeNullableUTF(final DataOutputStream out, final String str) throws IOException {
+        if (str != null) {
+            out.writeBoolean(true);
+            out.writeUTF(str);
+        } else {
+            out.writeBoolean(false);
+        }
+    }
+
+    protected static final String readNullableUTF(final DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    protected static final IOException unknownManifestCode(final int code) {
+        return new IOException("Unrecognized manifest code " + code);
+    }
+
+    private static NotSerializableException notSerializable(final String message, final Exception cause) {
+        final NotSerializableException ret = new NotSerializableException(message);
+        ret.initCause(cause);
+        return ret;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.io;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * An immutable sequence of bytes, stored as a list of {@code byte[]} chunks. Instances are produced by
+ * {@link ChunkedOutputStream} or read from a {@link DataInput}, and are consumed via {@link #openStream()} or
+ * {@link #copyTo(DataOutput)}, neither of which requires the chunks to be assembled into a single array.
+ */
+@Beta
+public final class ChunkedByteArray {
+    private final ImmutableList<byte[]> chunks;
+    private final int size;
+
+    ChunkedByteArray(final int size, final ImmutableList<byte[]> chunks) {
+        this.size = size;
+        this.chunks = Preconditions.checkNotNull(chunks);
+    }
+
+    /**
+     * Read a specified number of bytes from a {@link DataInput}, splitting them into chunks of at most
+     * {@code chunkSize} bytes.
+     *
+     * @param in Input to read from
+     * @param size Number of bytes to read
+     * @param chunkSize Maximum chunk size
+     * @return A ChunkedByteArray
+     * @throws IOException if the input fails
+     */
+    public static ChunkedByteArray readFrom(final DataInput in, final int size, final int chunkSize)
+            throws IOException {
+        Preconditions.checkArgument(size >= 0, "Invalid size %s", size);
+        Preconditions.checkArgument(chunkSize > 0, "Invalid chunk size %s", chunkSize);
+
+        final ImmutableList.Builder<byte[]> builder = ImmutableList.builder();
+        int remaining = size;
+        do {
+            final byte[] buffer = new byte[Math.min(remaining, chunkSize)];
+            in.readFully(buffer);
+            builder.add(buffer);
+            remaining -= buffer.length;
+        } while (remaining != 0);
+
+        return new ChunkedByteArray(size, builder.build());
+    }
+
+    /**
+     * Wrap a single byte array.
+     *
+     * @param bytes Byte array to wrap
+     * @return A ChunkedByteArray
+     */
+    public static ChunkedByteArray wrap(final byte[] bytes) {
+        return new ChunkedByteArray(bytes.length, ImmutableList.of(bytes));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Open an {@link InputStream} reading the contents of this array. The stream reads directly from the chunks.
+     *
+     * @return An InputStream
+     */
+    public InputStream openStream() {
+        return new ChunkedInputStream(size, chunks.iterator());
+    }
+
+    /**
+     * Write the contents of this array into a {@link DataOutput}, chunk by chunk.
+     *
+     * @param output Output to write to
+     * @throws IOException if the output fails
+     */
+    public void copyTo(final DataOutput output) throws IOException {
+        for (byte[] chunk : chunks) {
+            output.write(chunk, 0, chunk.length);
+        }
+    }
+
+    /**
+     * Return the contents of this array as a single byte array. This method copies data unless there is only a single
+     * chunk and should be avoided for large arrays.
+     *
+     * @return A byte array
+     */
+    public byte[] toByteArray() {
+        if (chunks.size() == 1) {
+            return chunks.get(0);
+        }
+
+        final byte[] ret = new byte[size];
+        int offset = 0;
+        for (byte[] chunk : chunks) {
+            System.arraycopy(chunk, 0, ret, offset, chunk.length);
+            offset += chunk.length;
+        }
+        return ret;
+    }
+
+    List<byte[]> getChunks() {
+        return chunks;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.io;
+
+import com.google.common.base.Preconditions;
+import java.io.InputStream;
+import java.util.Iterator;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * An {@link InputStream} reading from a sequence of {@code byte[]} chunks, as held by {@link ChunkedByteArray}.
+ */
+@NotThreadSafe
+final class ChunkedInputStream extends InputStream {
+    private final Iterator<byte[]> remainingChunks;
+
+    private byte[] currentChunk;
+    private int currentLimit;
+    private int currentOffset;
+    private int available;
+
+    ChunkedInputStream(final int size, final Iterator<byte[]> iterator) {
+        remainingChunks = Preconditions.checkNotNull(iterator);
+        available = size;
+        if (size != 0) {
+            nextChunk();
+        }
+    }
+
+    @Override
+    public int read() {
+        if (available == 0) {
+            return -1;
+        }
+
+        final int ret = currentChunk[currentOffset++] & 0xff;
+        consumeBytes(1);
+        return ret;
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:ParameterName")
+    public int read(final byte[] b) {
+        return read(b, 0, b.length);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:ParameterName")
+    public int read(final byte[] b, final int off, final int len) {
+        if (len < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (available == 0) {
+            return -1;
+        }
+
+        final int count = Math.min(len, currentLimit - currentOffset);
+        System.arraycopy(currentChunk, currentOffset, b, off, count);
+        currentOffset += count;
+        consumeBytes(count);
+        return count;
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:ParameterName")
+    public long skip(final long n) {
+        final int count = (int) Math.min(Math.max(n, 0), currentLimit - currentOffset);
+        currentOffset += count;
+        consumeBytes(count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return available;
+    }
+
+    private void consumeBytes(final int count) {
+        available -= count;
+        if (currentOffset == currentLimit && available != 0) {
+            nextChunk();
+        }
+    }
+
+    private void nextChunk() {
+        currentChunk = remainingChunks.next();
+        currentLimit = currentChunk.length;
+        currentOffset = 0;
+    }
+}
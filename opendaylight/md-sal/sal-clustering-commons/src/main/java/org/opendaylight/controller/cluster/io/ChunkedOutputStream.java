@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.io;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * An {@link OutputStream} implementation which collects data into a series of {@code byte[]} chunks, each of which
+ * has a fixed maximum size. This is generally preferable to {@link java.io.ByteArrayOutputStream}, as that can result
+ * in huge byte arrays -- which can create unnecessary pressure on the GC (as well as lot of copying).
+ *
+ * <p>
+ * This class takes a different approach: it recognizes that result of buffering will be collected at some point,
+ * when the stream is already closed (and thus unmodifiable). Thus it splits the process into two steps:
+ * <ul>
+ *   <li>Data acquisition, during which we start with an initial (power-of-two) size and proceed to fill it up. Once
+ *       the buffer is full, we stash it, allocate a new buffer twice its size and repeat the process. Once we hit
+ *       {@code maxChunkSize}, we do not grow subsequent buffer. We also can skip some intermediate sizes if data is
+ *       introduced in large chunks via {@link #write(byte[], int, int)}.</li>
+ *   <li>Buffer consolidation, which occurs when the stream is {@link #close() closed}. At this point we construct the
+ *       final collection of buffers, so that every buffer except the first and the last one is exactly
+ *       {@code maxChunkSize}. Small streams end up being a single, exactly-sized buffer.</li>
+ * </ul>
+ */
+@Beta
+@NotThreadSafe
+public final class ChunkedOutputStream extends OutputStream {
+    private static final int MIN_ARRAY_SIZE = 32;
+
+    private final List<byte[]> prevChunks = new ArrayList<>();
+    private final int maxChunkSize;
+
+    // byte[] or a List
+    private Object result;
+    private byte[] currentChunk;
+    private int currentOffset;
+    private int size;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param requestedInitialCapacity the initial size of the first chunk, rounded up to the next power of two
+     * @param maxChunkSize the maximum size of a single chunk, must be a power of two
+     */
+    public ChunkedOutputStream(final int requestedInitialCapacity, final int maxChunkSize) {
+        Preconditions.checkArgument(Integer.bitCount(maxChunkSize) == 1, "Maximum chunk size %s is not a power of two",
+            maxChunkSize);
+        Preconditions.checkArgument(maxChunkSize >= MIN_ARRAY_SIZE, "Maximum chunk size %s is less than %s",
+            maxChunkSize, MIN_ARRAY_SIZE);
+        this.maxChunkSize = maxChunkSize;
+        currentChunk = new byte[initialCapacity(requestedInitialCapacity, maxChunkSize)];
+    }
+
+    @Override
+    public void write(final int value) throws IOException {
+        checkNotClosed();
+        ensureOneByte();
+        currentChunk[currentOffset] = (byte) value;
+        currentOffset++;
+        size++;
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int off, final int len) throws IOException {
+        if (len < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        checkNotClosed();
+
+        int fromOffset = off;
+        int toCopy = len;
+
+        while (toCopy != 0) {
+            final int count = ensureMoreBytes(toCopy);
+            System.arraycopy(bytes, fromOffset, currentChunk, currentOffset, count);
+            currentOffset += count;
+            size += count;
+            fromOffset += count;
+            toCopy -= count;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (result == null) {
+            result = computeResult();
+            currentChunk = null;
+            prevChunks.clear();
+        }
+    }
+
+    /**
+     * Return the number of bytes written to this stream.
+     *
+     * @return Number of bytes written
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the collected data as a {@link ChunkedByteArray}. The stream needs to be closed.
+     *
+     * @return Collected data
+     * @throws IllegalStateException if this stream has not been closed
+     */
+    @SuppressWarnings("unchecked")
+    public ChunkedByteArray toChunkedByteArray() {
+        checkClosed();
+        return new ChunkedByteArray(size, result instanceof byte[] ? ImmutableList.of((byte[]) result)
+                : (ImmutableList<byte[]>) result);
+    }
+
+    /**
+     * Return the collected data as a single byte array. This is a convenience method for small streams, which fit
+     * into a single chunk. Larger streams will result in their data being copied.
+     *
+     * @return Collected data
+     * @throws IllegalStateException if this stream has not been closed
+     */
+    public byte[] toByteArray() {
+        checkClosed();
+        return result instanceof byte[] ? (byte[]) result : toChunkedByteArray().toByteArray();
+    }
+
+    private Object computeResult() {
+        if (prevChunks.isEmpty()) {
+            // Simple case: it's only the current buffer, return that
+            return trimChunk(currentChunk, currentOffset);
+        }
+        if (size <= maxChunkSize) {
+            // We have collected less than full chunk of data, let's have just one chunk ...
+            final byte[] singleChunk;
+            if (currentOffset == 0 && prevChunks.size() == 1) {
+                // ... which we have readily available
+                return prevChunks.get(0);
+            }
+
+            // ... which we need to collect
+            singleChunk = new byte[size];
+            int offset = 0;
+            for (byte[] chunk : prevChunks) {
+                System.arraycopy(chunk, 0, singleChunk, offset, chunk.length);
+                offset += chunk.length;
+            }
+            System.arraycopy(currentChunk, 0, singleChunk, offset, currentOffset);
+            return singleChunk;
+        }
+
+        // Determine number of chunks to aggregate and their required storage. Normally storage would be maxChunkSize,
+        // but we can have faster-than-exponential startup, which ends up needing less storage -- and we do not want to
+        // end up trimming this array.
+        int headSize = 0;
+        int headCount = 0;
+        for (byte[] chunk : prevChunks) {
+            if (chunk.length == maxChunkSize) {
+                break;
+            }
+            headSize += chunk.length;
+            headCount++;
+        }
+
+        final ImmutableList.Builder<byte[]> builder = ImmutableList.builder();
+        int index = 0;
+        if (headCount != 0) {
+            // Aggregate all the initial, smaller chunks into a single one
+            final byte[] head = new byte[headSize];
+            int offset = 0;
+            for (; index < headCount; ++index) {
+                final byte[] chunk = prevChunks.get(index);
+                System.arraycopy(chunk, 0, head, offset, chunk.length);
+                offset += chunk.length;
+            }
+            builder.add(head);
+        }
+
+        // Now append all full-sized chunks
+        for (; index < prevChunks.size(); ++index) {
+            builder.add(prevChunks.get(index));
+        }
+
+        // Finally append the current chunk, trimmed to size
+        if (currentOffset != 0) {
+            builder.add(trimChunk(currentChunk, currentOffset));
+        }
+        return builder.build();
+    }
+
+    // Ensure a single byte
+    private void ensureOneByte() {
+        if (currentChunk.length == currentOffset) {
+            nextChunk(nextChunkSize(currentChunk.length));
+        }
+    }
+
+    // Ensure more than one byte, returns the number of bytes available
+    private int ensureMoreBytes(final int requested) {
+        int available = currentChunk.length - currentOffset;
+        if (available == 0) {
+            nextChunk(nextChunkSize(currentChunk.length, requested));
+            available = currentChunk.length;
+        }
+        final int count = Math.min(requested, available);
+        Preconditions.checkState(count > 0);
+        return count;
+    }
+
+    private void nextChunk(final int chunkSize) {
+        prevChunks.add(currentChunk);
+        currentChunk = new byte[chunkSize];
+        currentOffset = 0;
+    }
+
+    private void checkClosed() {
+        Preconditions.checkState(result != null, "Stream has not been closed yet");
+    }
+
+    private void checkNotClosed() throws IOException {
+        if (result != null) {
+            throw new IOException("Stream has already been closed");
+        }
+    }
+
+    private int nextChunkSize(final int currentSize, final int requested) {
+        return currentSize == maxChunkSize || requested >= maxChunkSize
+                ? maxChunkSize : Math.max(currentSize * 2, ceilingPowerOfTwo(requested));
+    }
+
+    private int nextChunkSize(final int currentSize) {
+        return currentSize < maxChunkSize ? currentSize * 2 : maxChunkSize;
+    }
+
+    private static int initialCapacity(final int requestedSize, final int maxChunkSize) {
+        if (requestedSize < MIN_ARRAY_SIZE) {
+            return MIN_ARRAY_SIZE;
+        }
+        if (requestedSize > maxChunkSize) {
+            return maxChunkSize;
+        }
+        return ceilingPowerOfTwo(requestedSize);
+    }
+
+    private static int ceilingPowerOfTwo(final int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    private static byte[] trimChunk(final byte[] chunk, final int length) {
+        return chunk.length == length ? chunk : Arrays.copyOf(chunk, length);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.io;
+
+import com.google.common.annotations.Beta;
+import com.google.common.io.ByteSource;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Utility methods for dealing with GZIP-compressed snapshot streams. Compressed streams are recognized by the GZIP
+ * magic number, which cannot be confused with the header of a Java serialization stream, hence readers can accept
+ * both compressed and uncompressed data without any out-of-band information.
+ */
+@Beta
+public final class CompressedStreams {
+    private static final int GZIP_MAGIC = 0x1f8b;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private CompressedStreams() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * A {@link GZIPOutputStream} which keeps track of the number of uncompressed bytes written and the time spent
+     * compressing them.
+     */
+    public static final class CompressingOutputStream extends GZIPOutputStream {
+        private long uncompressedSize;
+        private long elapsedNanos;
+
+        CompressingOutputStream(final OutputStream out) throws IOException {
+            super(out, BUFFER_SIZE);
+        }
+
+        @Override
+        public void write(final byte[] buf, final int off, final int len) throws IOException {
+            final long start = System.nanoTime();
+            super.write(buf, off, len);
+            elapsedNanos += System.nanoTime() - start;
+            uncompressedSize += len;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            final long start = System.nanoTime();
+            super.finish();
+            elapsedNanos += System.nanoTime() - start;
+        }
+
+        /**
+         * Returns the stream this stream is writing compressed data to.
+         *
+         * @return the underlying stream
+         */
+        public OutputStream getDelegate() {
+            return out;
+        }
+
+        /**
+         * Returns the number of bytes written to this stream before compression.
+         *
+         * @return the number of uncompressed bytes
+         */
+        public long getUncompressedSize() {
+            return uncompressedSize;
+        }
+
+        /**
+         * Returns the time spent compressing data, in nanoseconds.
+         *
+         * @return compression time in nanoseconds
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+    }
+
+    /**
+     * Creates a new {@link CompressingOutputStream} writing to the specified stream.
+     *
+     * @param out the stream to write compressed data to
+     * @return a new {@link CompressingOutputStream}
+     * @throws IOException if the GZIP header cannot be written
+     */
+    public static CompressingOutputStream compress(final OutputStream out) throws IOException {
+        return new CompressingOutputStream(out);
+    }
+
+    /**
+     * Checks whether a stream contains GZIP-compressed data. The stream must support {@link InputStream#mark(int)},
+     * its position is not changed.
+     *
+     * @param in the stream to check
+     * @return true if the stream starts with the GZIP magic number
+     * @throws IOException if the stream cannot be read
+     */
+    public static boolean isCompressed(final InputStream in) throws IOException {
+        in.mark(2);
+        try {
+            final int first = in.read();
+            return first != -1 && (first << 8 | in.read()) == GZIP_MAGIC;
+        } finally {
+            in.reset();
+        }
+    }
+
+    /**
+     * Checks whether a {@link ByteSource} contains GZIP-compressed data.
+     *
+     * @param source the source to check
+     * @return true if the source starts with the GZIP magic number
+     * @throws IOException if the source cannot be read
+     */
+    public static boolean isCompressed(final ByteSource source) throws IOException {
+        try (InputStream in = new BufferedInputStream(source.openStream(), 2)) {
+            return isCompressed(in);
+        }
+    }
+
+    /**
+     * Returns a stream yielding the uncompressed contents of the specified stream. If the stream is not compressed,
+     * its contents are returned as-is.
+     *
+     * @param in the stream to read
+     * @return a stream with uncompressed contents
+     * @throws IOException if the stream cannot be read
+     */
+    public static InputStream decompressIfNeeded(final InputStream in) throws IOException {
+        final InputStream markable = in.markSupported() ? in : new BufferedInputStream(in, BUFFER_SIZE);
+        return isCompressed(markable) ? new GZIPInputStream(markable, BUFFER_SIZE) : markable;
+    }
+
+    /**
+     * Returns a view of the specified {@link ByteSource} yielding its uncompressed contents. If the source is not
+     * compressed, its contents are returned as-is.
+     *
+     * @param source the source to read
+     * @return a {@link ByteSource} with uncompressed contents
+     */
+    public static ByteSource decompressIfNeeded(final ByteSource source) {
+        return new ByteSource() {
+            @Override
+            public InputStream openStream() throws IOException {
+                final InputStream in = source.openStream();
+                try {
+                    return decompressIfNeeded(in);
+                } catch (IOException e) {
+                    in.close();
+                    throw e;
+                }
+            }
+        };
+    }
+}
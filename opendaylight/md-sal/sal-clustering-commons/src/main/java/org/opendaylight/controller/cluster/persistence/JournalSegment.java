@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import com.google.common.base.Preconditions;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A single memory-mapped file of a {@link SegmentedJournal}. Each record is laid out as:
+ * <pre>
+ *   int  length of the data
+ *   int  CRC32 of the data
+ *   long sequence number
+ *   byte[length] data
+ * </pre>
+ * The file is pre-allocated and therefore zero-filled, hence a zero length marks the end of the written records.
+ * A record with a mismatched checksum is considered a torn write and terminates the segment as well.
+ *
+ * <p>
+ * This class is not thread-safe.
+ */
+final class JournalSegment {
+    @FunctionalInterface
+    interface RecordVisitor {
+        /**
+         * Invoked for each record.
+         *
+         * @param sequenceNr the sequence number of the record
+         * @param data the record's data
+         * @return true if the iteration should continue, false otherwise
+         * @throws IOException if the visitor fails
+         */
+        boolean visit(long sequenceNr, byte[] data) throws IOException;
+    }
+
+    static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES;
+
+    private static final Logger LOG = LoggerFactory.getLogger(JournalSegment.class);
+
+    private final File file;
+    private final long firstSequenceNr;
+    private final MappedByteBuffer buffer;
+
+    private long lastSequenceNr;
+    private int position;
+    private boolean dirty;
+
+    private JournalSegment(final File file, final long firstSequenceNr, final MappedByteBuffer buffer) {
+        this.file = Preconditions.checkNotNull(file);
+        this.firstSequenceNr = firstSequenceNr;
+        this.buffer = Preconditions.checkNotNull(buffer);
+        this.lastSequenceNr = firstSequenceNr - 1;
+    }
+
+    /**
+     * Creates a new, empty segment file.
+     *
+     * @param file the file to create
+     * @param firstSequenceNr the sequence number of the first record which will be stored in the segment
+     * @param capacity size of the segment, in bytes
+     * @return a writable segment
+     * @throws IOException if the file cannot be created
+     */
+    static JournalSegment create(final File file, final long firstSequenceNr, final int capacity) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel()) {
+            raf.setLength(capacity);
+            return new JournalSegment(file, firstSequenceNr, channel.map(MapMode.READ_WRITE, 0, capacity));
+        }
+    }
+
+    /**
+     * Opens an existing segment file, recovering its write position.
+     *
+     * @param file the file to open
+     * @param firstSequenceNr the sequence number of the first record stored in the segment
+     * @param writable true if the segment should be opened for appending
+     * @return the opened segment
+     * @throws IOException if the file cannot be opened
+     */
+    static JournalSegment open(final File file, final long firstSequenceNr, final boolean writable)
+            throws IOException {
+        final JournalSegment segment;
+        try (RandomAccessFile raf = new RandomAccessFile(file, writable ? "rw" : "r");
+                FileChannel channel = raf.getChannel()) {
+            final long size = channel.size();
+            Preconditions.checkState(size <= Integer.MAX_VALUE, "Segment %s is too large (%s bytes)", file, size);
+            segment = new JournalSegment(file, firstSequenceNr,
+                channel.map(writable ? MapMode.READ_WRITE : MapMode.READ_ONLY, 0, size));
+        }
+
+        segment.recover(writable);
+        return segment;
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    long getFirstSequenceNr() {
+        return firstSequenceNr;
+    }
+
+    long getLastSequenceNr() {
+        return lastSequenceNr;
+    }
+
+    boolean isEmpty() {
+        return position == 0;
+    }
+
+    int getPosition() {
+        return position;
+    }
+
+    /**
+     * Attempts to append a record to this segment.
+     *
+     * @param sequenceNr the sequence number of the record
+     * @param data the record data
+     * @return true if the record was appended, false if it does not fit into this segment
+     */
+    boolean tryAppend(final long sequenceNr, final byte[] data) {
+        Preconditions.checkArgument(sequenceNr > lastSequenceNr, "Sequence number %s does not follow %s", sequenceNr,
+            lastSequenceNr);
+        if (buffer.capacity() - position < HEADER_SIZE + data.length) {
+            return false;
+        }
+
+        final CRC32 crc = new CRC32();
+        crc.update(data);
+
+        final ByteBuffer dup = buffer.duplicate();
+        dup.position(position + HEADER_SIZE);
+        dup.put(data);
+        buffer.putLong(position + Integer.BYTES + Integer.BYTES, sequenceNr);
+        buffer.putInt(position + Integer.BYTES, (int) crc.getValue());
+        // Length goes last: until it is written the record is not visible
+        buffer.putInt(position, data.length);
+
+        position += HEADER_SIZE + data.length;
+        lastSequenceNr = sequenceNr;
+        dirty = true;
+        return true;
+    }
+
+    /**
+     * Discards all records appended at or after specified position. The discarded area is zeroed, so that none of
+     * the discarded records can be picked up by recovery once shorter records are appended in its place.
+     *
+     * @param newPosition the position to truncate to, as previously reported by {@link #getPosition()}
+     * @param newLastSequenceNr the last sequence number at that position
+     */
+    void truncate(final int newPosition, final long newLastSequenceNr) {
+        Preconditions.checkArgument(newPosition >= 0 && newPosition <= position, "Invalid position %s", newPosition);
+        if (newPosition == position) {
+            return;
+        }
+
+        // Clear the first length field first, so the discarded records are invisible even if we fail half-way through
+        buffer.putInt(newPosition, 0);
+        for (int offset = newPosition + Integer.BYTES; offset < position; ++offset) {
+            buffer.put(offset, (byte) 0);
+        }
+
+        position = newPosition;
+        lastSequenceNr = newLastSequenceNr;
+        dirty = true;
+    }
+
+    /**
+     * Forces any appended records to the storage device.
+     */
+    void force() {
+        if (dirty) {
+            buffer.force();
+            dirty = false;
+        }
+    }
+
+    /**
+     * Visits all records whose sequence number falls into specified range, in order.
+     *
+     * @param fromSequenceNr the lowest sequence number to visit, inclusive
+     * @param toSequenceNr the highest sequence number to visit, inclusive
+     * @param visitor the visitor to invoke
+     * @return false if the visitor requested the iteration to be stopped, true otherwise
+     * @throws IOException if the visitor fails
+     */
+    boolean visit(final long fromSequenceNr, final long toSequenceNr, final RecordVisitor visitor)
+            throws IOException {
+        int offset = 0;
+        while (offset < position) {
+            final int length = buffer.getInt(offset);
+            final long sequenceNr = buffer.getLong(offset + Integer.BYTES + Integer.BYTES);
+            if (sequenceNr > toSequenceNr) {
+                break;
+            }
+
+            if (sequenceNr >= fromSequenceNr) {
+                final byte[] data = new byte[length];
+                final ByteBuffer dup = buffer.duplicate();
+                dup.position(offset + HEADER_SIZE);
+                dup.get(data);
+                if (!visitor.visit(sequenceNr, data)) {
+                    return false;
+                }
+            }
+
+            offset += HEADER_SIZE + length;
+        }
+
+        return true;
+    }
+
+    private void recover(final boolean writable) {
+        int offset = 0;
+        while (true) {
+            final int length = validRecordLength(offset);
+            if (length < 0) {
+                break;
+            }
+
+            lastSequenceNr = buffer.getLong(offset + Integer.BYTES + Integer.BYTES);
+            offset += HEADER_SIZE + length;
+        }
+
+        position = offset;
+        LOG.debug("Segment {} recovered up to offset {}, last sequence number {}", file, position, lastSequenceNr);
+
+        // Make sure a partially-written record is not picked up on next recovery once we append past it
+        if (writable && position + Integer.BYTES <= buffer.capacity() && buffer.getInt(position) != 0) {
+            LOG.warn("Segment {} has a torn record at offset {}, discarding it", file, position);
+            buffer.putInt(position, 0);
+            dirty = true;
+        }
+    }
+
+    private int validRecordLength(final int offset) {
+        if (buffer.capacity() - offset < HEADER_SIZE) {
+            return -1;
+        }
+
+        final int length = buffer.getInt(offset);
+        if (length <= 0 || length > buffer.capacity() - offset - HEADER_SIZE) {
+            return -1;
+        }
+
+        final ByteBuffer data = buffer.duplicate();
+        data.position(offset + HEADER_SIZE).limit(offset + HEADER_SIZE + length);
+        final CRC32 crc = new CRC32();
+        crc.update(data);
+        return (int) crc.getValue() == buffer.getInt(offset + Integer.BYTES) ? length : -1;
+    }
+
+    @Override
+    public String toString() {
+        return "JournalSegment [file=" + file + ", firstSequenceNr=" + firstSequenceNr + ", lastSequenceNr="
+                + lastSequenceNr + ", position=" + position + "]";
+    }
+}
@@ -16,9 +16,11 @@ import akka.persistence.serialization.Snapshot;
 import akka.persistence.serialization.SnapshotSerializer;
 import akka.persistence.snapshot.japi.SnapshotStore;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Stopwatch;
 import com.google.common.io.ByteStreams;
 import com.typesafe.config.Config;
 import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -26,6 +28,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
@@ -43,6 +46,7 @@ import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.io.CompressedStreams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import scala.concurrent.ExecutionContext;
@@ -61,9 +65,13 @@ public class LocalSnapshotStore extends SnapshotStore {
 
     private static final int PERSISTENCE_ID_START_INDEX = "snapshot-".length();
 
+    // Snapshots are streamed object-by-object, buffer file access so we do not issue a syscall for each block
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+
     private final ExecutionContext executionContext;
     private final int maxLoadAttempts;
     private final File snapshotDir;
+    private final boolean useCompression;
 
     public LocalSnapshotStore(final Config config) {
         this.executionContext = context().system().dispatchers().lookup(config.getString("stream-dispatcher"));
@@ -72,7 +80,11 @@ public class LocalSnapshotStore extends SnapshotStore {
         int localMaxLoadAttempts = config.getInt("max-load-attempts");
         maxLoadAttempts = localMaxLoadAttempts > 0 ? localMaxLoadAttempts : 1;
 
-        LOG.debug("LocalSnapshotStore ctor: snapshotDir: {}, maxLoadAttempts: {}", snapshotDir, maxLoadAttempts);
+        // Compressed snapshot files are recognized when loading, hence this can be toggled at any time
+        useCompression = config.hasPath("use-compression") && config.getBoolean("use-compression");
+
+        LOG.debug("LocalSnapshotStore ctor: snapshotDir: {}, maxLoadAttempts: {}, useCompression: {}", snapshotDir,
+            maxLoadAttempts, useCompression);
     }
 
     @Override
@@ -116,8 +128,10 @@ public class LocalSnapshotStore extends SnapshotStore {
         LOG.debug("doLoad {}", file);
 
         try {
+            final Stopwatch stopwatch = Stopwatch.createStarted();
             Object data = deserialize(file);
 
+            LOG.info("Loaded snapshot file {} ({} bytes) in {}", file, file.length(), stopwatch.stop());
             LOG.debug("deserialized data: {}", data);
 
             return Optional.of(new SelectedSnapshot(metadata, data));
@@ -133,7 +147,8 @@ public class LocalSnapshotStore extends SnapshotStore {
     }
 
     private Object deserialize(final File file) throws IOException {
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(file))) {
+        try (ObjectInputStream in = new ObjectInputStream(CompressedStreams.decompressIfNeeded(
+                new BufferedInputStream(new FileInputStream(file), FILE_BUFFER_SIZE)))) {
             return in.readObject();
         } catch (ClassNotFoundException e) {
             throw new IOException("Error loading snapshot file " + file, e);
@@ -171,7 +186,8 @@ public class LocalSnapshotStore extends SnapshotStore {
 
         LOG.debug("Saving to temp file: {}", temp);
 
-        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(temp))) {
+        final Stopwatch stopwatch = Stopwatch.createStarted();
+        try (ObjectOutputStream out = new ObjectOutputStream(newFileOutputStream(temp))) {
             out.writeObject(snapshot);
         } catch (IOException e) {
             LOG.error("Error saving snapshot file {}. Deleting file..", temp, e);
@@ -192,6 +208,7 @@ public class LocalSnapshotStore extends SnapshotStore {
             throw e;
         }
 
+        LOG.info("Saved snapshot file {} ({} bytes) in {}", actual, actual.length(), stopwatch.stop());
         return null;
     }
 
@@ -292,6 +309,20 @@ public class LocalSnapshotStore extends SnapshotStore {
         }
     }
 
+    private OutputStream newFileOutputStream(final File file) throws IOException {
+        final OutputStream out = new BufferedOutputStream(new FileOutputStream(file), FILE_BUFFER_SIZE);
+        if (!useCompression) {
+            return out;
+        }
+
+        try {
+            return CompressedStreams.compress(out);
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+    }
+
     private File toSnapshotFile(final SnapshotMetadata metadata) {
         return new File(snapshotDir, String.format("snapshot-%s-%d-%d", encode(metadata.persistenceId()),
             metadata.sequenceNr(), metadata.timestamp()));
@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import akka.dispatch.ExecutionContexts;
+import akka.dispatch.Futures;
+import akka.persistence.AtomicWrite;
+import akka.persistence.PersistentRepr;
+import akka.persistence.journal.japi.AsyncWriteJournal;
+import akka.serialization.Serialization;
+import akka.serialization.SerializationExtension;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.typesafe.config.Config;
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.concurrent.ExecutionContext;
+import scala.concurrent.Future;
+import scala.concurrent.Promise;
+
+/**
+ * Akka journal plugin which stores messages in append-only, memory-mapped segment files, one directory per
+ * persistence ID. Messages are serialized via akka serialization, so the on-disk format of each record is the same
+ * {@link PersistentRepr} encoding other journal plugins use.
+ *
+ * <p>
+ * All file operations are executed on a single dedicated thread. Writes requested while that thread is busy are
+ * queued and subsequently persisted as a group, with a single flush per touched journal. An AtomicWrite which cannot be
+ * appended is rolled back and rejected on its own, while a failed flush fails only the requests which appended to that
+ * journal. Deleting messages drops whole segments instead of tombstoning individual messages.
+ */
+public class SegmentedFileJournal extends AsyncWriteJournal {
+    private static final class PendingWrite {
+        final Promise<Iterable<Optional<Exception>>> promise = Futures.promise();
+        final Iterable<AtomicWrite> messages;
+        // Journals this request has appended to, which need to be flushed before it is complete
+        final Set<SegmentedJournal> journals = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        List<Optional<Exception>> results;
+        Exception failure;
+
+        PendingWrite(final Iterable<AtomicWrite> messages) {
+            this.messages = Preconditions.checkNotNull(messages);
+        }
+
+        void complete() {
+            if (failure != null) {
+                promise.failure(failure);
+            } else {
+                promise.success(results);
+            }
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentedFileJournal.class);
+
+    private final Queue<PendingWrite> pendingWrites = new ConcurrentLinkedQueue<>();
+    // Accessed only from the executor thread
+    private final Map<String, SegmentedJournal> journals = new HashMap<>();
+    private final Serialization serialization;
+    private final ExecutorService executor;
+    private final ExecutionContext executionContext;
+    private final File journalDir;
+    private final int maxSegmentSize;
+
+    public SegmentedFileJournal(final Config config) {
+        journalDir = new File(config.getString("dir"));
+        maxSegmentSize = (int) Math.min(config.getBytes("max-segment-size"), Integer.MAX_VALUE);
+        serialization = (Serialization) SerializationExtension.apply(context().system());
+        executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setDaemon(true)
+            .setNameFormat("segmented-journal-" + journalDir.getName() + "-%d").build());
+        executionContext = ExecutionContexts.fromExecutorService(executor);
+
+        LOG.debug("SegmentedFileJournal ctor: journalDir: {}, maxSegmentSize: {}", journalDir, maxSegmentSize);
+    }
+
+    @Override
+    public void preStart() throws Exception {
+        if (!journalDir.isDirectory()) {
+            // Try to create the directory, on failure double check if someone else beat us to it.
+            if (!journalDir.mkdirs() && !journalDir.isDirectory()) {
+                throw new IOException("Failed to create journal directory " + journalDir.getCanonicalPath());
+            }
+        }
+
+        super.preStart();
+    }
+
+    @Override
+    public void postStop() throws Exception {
+        executor.execute(() -> {
+            journals.values().forEach(SegmentedJournal::close);
+            journals.clear();
+        });
+        executor.shutdown();
+        super.postStop();
+    }
+
+    @Override
+    public Future<Iterable<Optional<Exception>>> doAsyncWriteMessages(final Iterable<AtomicWrite> messages) {
+        final PendingWrite write = new PendingWrite(messages);
+        pendingWrites.add(write);
+        executor.execute(this::flushPendingWrites);
+        return write.promise.future();
+    }
+
+    @Override
+    public Future<Void> doAsyncDeleteMessagesTo(final String persistenceId, final long toSequenceNr) {
+        LOG.debug("In doAsyncDeleteMessagesTo - persistenceId: {}, toSequenceNr: {}", persistenceId, toSequenceNr);
+
+        return Futures.future(() -> {
+            journalFor(persistenceId).deleteTo(toSequenceNr);
+            return null;
+        }, executionContext);
+    }
+
+    @Override
+    public Future<Void> doAsyncReplayMessages(final String persistenceId, final long fromSequenceNr,
+            final long toSequenceNr, final long max, final Consumer<PersistentRepr> replayCallback) {
+        LOG.debug("In doAsyncReplayMessages - persistenceId: {}, fromSequenceNr: {}, toSequenceNr: {}, max: {}",
+            persistenceId, fromSequenceNr, toSequenceNr, max);
+
+        return Futures.future(() -> {
+            if (max > 0) {
+                final long[] replayed = new long[1];
+                journalFor(persistenceId).replay(fromSequenceNr, toSequenceNr, (sequenceNr, data) -> {
+                    replayCallback.accept(deserialize(data));
+                    return ++replayed[0] < max;
+                });
+            }
+            return null;
+        }, executionContext);
+    }
+
+    @Override
+    public Future<Long> doAsyncReadHighestSequenceNr(final String persistenceId, final long fromSequenceNr) {
+        return Futures.future(() -> journalFor(persistenceId).highestSequenceNr(), executionContext);
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void flushPendingWrites() {
+        final List<PendingWrite> batch = new ArrayList<>();
+        for (PendingWrite write = pendingWrites.poll(); write != null; write = pendingWrites.poll()) {
+            batch.add(write);
+        }
+        if (batch.isEmpty()) {
+            // Already picked up by a previous invocation
+            return;
+        }
+
+        final Map<SegmentedJournal, String> touched = new IdentityHashMap<>();
+        for (PendingWrite write : batch) {
+            try {
+                write.results = writeMessages(write, touched);
+            } catch (IOException | RuntimeException e) {
+                LOG.error("Failed to write messages", e);
+                write.failure = e;
+            }
+        }
+
+        for (Map.Entry<SegmentedJournal, String> entry : touched.entrySet()) {
+            final SegmentedJournal journal = entry.getKey();
+            try {
+                journal.flush();
+            } catch (RuntimeException e) {
+                LOG.error("Failed to flush journal for {}", entry.getValue(), e);
+                closeJournal(entry.getValue());
+
+                // Only requests which appended to this journal may have lost data
+                for (PendingWrite write : batch) {
+                    if (write.failure == null && write.journals.contains(journal)) {
+                        write.failure = e;
+                    }
+                }
+            }
+        }
+
+        LOG.trace("Persisted {} write requests across {} journals", batch.size(), touched.size());
+        batch.forEach(PendingWrite::complete);
+    }
+
+    /**
+     * Append all AtomicWrites of a request. An AtomicWrite which could not be appended completely is rolled back and
+     * reported as rejected, without affecting the others.
+     *
+     * @throws IOException if an AtomicWrite could not be rolled back, hence we do not know what ends up in the journal
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private List<Optional<Exception>> writeMessages(final PendingWrite pending,
+            final Map<SegmentedJournal, String> touched) throws IOException {
+        final List<Optional<Exception>> results = new ArrayList<>();
+        for (AtomicWrite write : pending.messages) {
+            // Serialize the entire AtomicWrite first, so it is either written completely or rejected
+            final List<PersistentRepr> reprs = new ArrayList<>();
+            final List<byte[]> serialized = new ArrayList<>();
+            try {
+                final scala.collection.Iterator<PersistentRepr> it = write.payload().iterator();
+                while (it.hasNext()) {
+                    final PersistentRepr repr = it.next();
+                    reprs.add(repr);
+                    serialized.add(serialization.serialize(repr).get());
+                }
+            } catch (Exception e) {
+                LOG.debug("Rejecting write of {}", write.persistenceId(), e);
+                results.add(Optional.of(e));
+                continue;
+            }
+
+            final String persistenceId = write.persistenceId();
+            final SegmentedJournal journal;
+            try {
+                journal = journalFor(persistenceId);
+            } catch (IOException e) {
+                LOG.error("Failed to open journal for {}", persistenceId, e);
+                results.add(Optional.of(e));
+                continue;
+            }
+
+            final SegmentedJournal.Mark mark = journal.mark();
+            try {
+                for (int i = 0; i < reprs.size(); ++i) {
+                    journal.append(reprs.get(i).sequenceNr(), serialized.get(i));
+                }
+            } catch (IOException | RuntimeException e) {
+                // An AtomicWrite has to be all-or-nothing, discard whatever part of it has been appended
+                if (!rollback(persistenceId, journal, mark)) {
+                    throw e;
+                }
+
+                LOG.error("Failed to write messages of {}", persistenceId, e);
+                results.add(Optional.of(e));
+                continue;
+            }
+
+            touched.put(journal, persistenceId);
+            pending.journals.add(journal);
+            results.add(Optional.empty());
+        }
+
+        return results;
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private boolean rollback(final String persistenceId, final SegmentedJournal journal,
+            final SegmentedJournal.Mark mark) {
+        try {
+            journal.truncate(mark);
+            journal.flush();
+            return true;
+        } catch (IOException | RuntimeException e) {
+            // We do not know what state the journal is in, make sure it gets re-opened
+            LOG.error("Failed to roll back partial write of {}", persistenceId, e);
+            closeJournal(persistenceId);
+            return false;
+        }
+    }
+
+    private SegmentedJournal journalFor(final String persistenceId) throws IOException {
+        SegmentedJournal journal = journals.get(persistenceId);
+        if (journal == null) {
+            journal = SegmentedJournal.open(new File(journalDir, encode(persistenceId)), maxSegmentSize);
+            journals.put(persistenceId, journal);
+        }
+        return journal;
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void closeJournal(final String persistenceId) {
+        final SegmentedJournal journal = journals.remove(persistenceId);
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (RuntimeException e) {
+                LOG.debug("Failed to close journal for {}", persistenceId, e);
+            }
+        }
+    }
+
+    private PersistentRepr deserialize(final byte[] data) {
+        return serialization.deserialize(data, PersistentRepr.class).get();
+    }
+
+    private static String encode(final String str) {
+        try {
+            return URLEncoder.encode(str, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            // Shouldn't happen
+            LOG.warn("Error encoding {}", str, e);
+            return str;
+        }
+    }
+}
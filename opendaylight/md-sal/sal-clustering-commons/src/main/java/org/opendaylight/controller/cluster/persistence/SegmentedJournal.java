@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Verify;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.opendaylight.controller.cluster.persistence.JournalSegment.RecordVisitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only journal of a single persistence ID, stored as a sequence of {@link JournalSegment}s in a directory.
+ * Only the last segment is kept mapped for appends, older segments are mapped on demand during replay. Deleting
+ * messages removes all segments which are completely covered by the deletion, the remainder is masked by a persisted
+ * watermark.
+ *
+ * <p>
+ * This class is not thread-safe.
+ */
+final class SegmentedJournal {
+    /**
+     * A position in the journal, which appends can be rolled back to.
+     */
+    static final class Mark {
+        // Null if the journal had no segments
+        final Long segmentKey;
+        final int position;
+        final long lastSequenceNr;
+
+        Mark(final Long segmentKey, final int position, final long lastSequenceNr) {
+            this.segmentKey = segmentKey;
+            this.position = position;
+            this.lastSequenceNr = lastSequenceNr;
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentedJournal.class);
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String DELETED_TO_FILE = "deleted-to";
+
+    private final NavigableMap<Long, File> segmentFiles = new TreeMap<>();
+    private final File directory;
+    private final int maxSegmentSize;
+
+    private JournalSegment lastSegment;
+    private long deletedTo;
+
+    private SegmentedJournal(final File directory, final int maxSegmentSize) {
+        this.directory = Preconditions.checkNotNull(directory);
+        Preconditions.checkArgument(maxSegmentSize > JournalSegment.HEADER_SIZE, "Invalid segment size %s",
+            maxSegmentSize);
+        this.maxSegmentSize = maxSegmentSize;
+    }
+
+    /**
+     * Opens a journal in specified directory, creating the directory if needed.
+     *
+     * @param directory the directory holding the journal
+     * @param maxSegmentSize the size of newly-allocated segments
+     * @return an open journal
+     * @throws IOException if the journal cannot be opened
+     */
+    static SegmentedJournal open(final File directory, final int maxSegmentSize) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+            throw new IOException("Failed to create journal directory " + directory.getCanonicalPath());
+        }
+
+        final SegmentedJournal journal = new SegmentedJournal(directory, maxSegmentSize);
+        journal.recover();
+        return journal;
+    }
+
+    long highestSequenceNr() {
+        return lastSegment == null ? deletedTo : Math.max(deletedTo, lastSegment.getLastSequenceNr());
+    }
+
+    long deletedTo() {
+        return deletedTo;
+    }
+
+    int segmentCount() {
+        return segmentFiles.size();
+    }
+
+    /**
+     * Appends a record to the journal. The record is not guaranteed to be durable until {@link #flush()} is invoked.
+     *
+     * @param sequenceNr the sequence number of the record
+     * @param data the record data
+     * @throws IOException if a new segment cannot be allocated
+     */
+    void append(final long sequenceNr, final byte[] data) throws IOException {
+        if (lastSegment == null || !lastSegment.tryAppend(sequenceNr, data)) {
+            allocateSegment(sequenceNr, data.length);
+            Verify.verify(lastSegment.tryAppend(sequenceNr, data), "Failed to append to fresh segment %s",
+                lastSegment);
+        }
+    }
+
+    /**
+     * Returns the current append position, which can be passed to {@link #truncate(Mark)}.
+     *
+     * @return the current append position
+     */
+    Mark mark() {
+        return lastSegment == null ? new Mark(null, 0, 0)
+                : new Mark(lastSegment.getFirstSequenceNr(), lastSegment.getPosition(),
+                    lastSegment.getLastSequenceNr());
+    }
+
+    /**
+     * Discards all records appended since specified mark was taken, including any segments allocated since then.
+     *
+     * @param mark the position to truncate to, as returned by {@link #mark()}
+     * @throws IOException if the marked segment cannot be re-opened
+     */
+    void truncate(final Mark mark) throws IOException {
+        final NavigableMap<Long, File> allocated = mark.segmentKey == null ? segmentFiles
+                : segmentFiles.tailMap(mark.segmentKey, false);
+        for (File file : allocated.values()) {
+            LOG.debug("Deleting segment {}", file);
+            if (!file.delete()) {
+                LOG.warn("Failed to delete segment {}", file);
+            }
+        }
+        allocated.clear();
+
+        if (mark.segmentKey == null) {
+            lastSegment = null;
+            return;
+        }
+
+        if (lastSegment == null || lastSegment.getFirstSequenceNr() != mark.segmentKey) {
+            lastSegment = JournalSegment.open(segmentFiles.get(mark.segmentKey), mark.segmentKey, true);
+        }
+        lastSegment.truncate(mark.position, mark.lastSequenceNr);
+    }
+
+    /**
+     * Makes all appended records durable.
+     */
+    void flush() {
+        if (lastSegment != null) {
+            lastSegment.force();
+        }
+    }
+
+    /**
+     * Replays records in specified range.
+     *
+     * @param fromSequenceNr the lowest sequence number to replay, inclusive
+     * @param toSequenceNr the highest sequence number to replay, inclusive
+     * @param visitor the visitor to invoke for each record
+     * @throws IOException if a segment cannot be read or the visitor fails
+     */
+    void replay(final long fromSequenceNr, final long toSequenceNr, final RecordVisitor visitor) throws IOException {
+        final long from = Math.max(fromSequenceNr, deletedTo + 1);
+        if (from > toSequenceNr || segmentFiles.isEmpty()) {
+            return;
+        }
+
+        final Long startKey = segmentFiles.floorKey(from);
+        final NavigableMap<Long, File> candidates = startKey == null ? segmentFiles
+                : segmentFiles.tailMap(startKey, true);
+        for (Entry<Long, File> entry : candidates.entrySet()) {
+            final long firstSequenceNr = entry.getKey();
+            if (firstSequenceNr > toSequenceNr) {
+                break;
+            }
+
+            final JournalSegment segment = firstSequenceNr == lastSegment.getFirstSequenceNr() ? lastSegment
+                    : JournalSegment.open(entry.getValue(), firstSequenceNr, false);
+            if (!segment.visit(from, toSequenceNr, visitor)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Deletes all records up to and including specified sequence number. The highest sequence number is retained,
+     * even if all records are deleted.
+     *
+     * @param toSequenceNr the highest sequence number to delete
+     * @throws IOException if the deletion watermark cannot be persisted
+     */
+    void deleteTo(final long toSequenceNr) throws IOException {
+        final long newDeletedTo = Math.min(toSequenceNr, highestSequenceNr());
+        if (newDeletedTo <= deletedTo) {
+            return;
+        }
+
+        writeDeletedTo(newDeletedTo);
+        deletedTo = newDeletedTo;
+
+        // Drop all segments which are fully covered, i.e. their successor starts at or below deletedTo + 1. The last
+        // segment is always retained, as it holds the highest sequence number.
+        Entry<Long, File> current = segmentFiles.firstEntry();
+        Entry<Long, File> next = current == null ? null : segmentFiles.higherEntry(current.getKey());
+        while (next != null && next.getKey() - 1 <= deletedTo) {
+            final File file = current.getValue();
+            LOG.debug("Deleting segment {}", file);
+            segmentFiles.remove(current.getKey());
+            if (!file.delete()) {
+                LOG.warn("Failed to delete segment {}", file);
+            }
+
+            current = next;
+            next = segmentFiles.higherEntry(current.getKey());
+        }
+    }
+
+    /**
+     * Flushes any pending records. The journal should not be used afterwards.
+     */
+    void close() {
+        flush();
+        lastSegment = null;
+    }
+
+    private void allocateSegment(final long firstSequenceNr, final int dataLength) throws IOException {
+        if (lastSegment != null) {
+            // Make sure the sealed segment hits the disk before its successor
+            lastSegment.force();
+        }
+
+        final File file = new File(directory, String.format("%s%019d%s", SEGMENT_PREFIX, firstSequenceNr,
+            SEGMENT_SUFFIX));
+        final int capacity = Math.max(maxSegmentSize, JournalSegment.HEADER_SIZE + dataLength);
+        LOG.debug("Allocating segment {} capacity {}", file, capacity);
+
+        lastSegment = JournalSegment.create(file, firstSequenceNr, capacity);
+        segmentFiles.put(firstSequenceNr, file);
+    }
+
+    private void recover() throws IOException {
+        final File[] files = directory.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX)
+                && name.endsWith(SEGMENT_SUFFIX));
+        if (files != null) {
+            for (File file : files) {
+                final String name = file.getName();
+                try {
+                    segmentFiles.put(Long.valueOf(name.substring(SEGMENT_PREFIX.length(),
+                        name.length() - SEGMENT_SUFFIX.length())), file);
+                } catch (NumberFormatException e) {
+                    LOG.warn("Ignoring unrecognized file {}", file, e);
+                }
+            }
+        }
+
+        final File deletedToFile = new File(directory, DELETED_TO_FILE);
+        if (deletedToFile.isFile()) {
+            try (DataInputStream in = new DataInputStream(new FileInputStream(deletedToFile))) {
+                deletedTo = in.readLong();
+            }
+        }
+
+        if (!segmentFiles.isEmpty()) {
+            final Entry<Long, File> last = segmentFiles.lastEntry();
+            lastSegment = JournalSegment.open(last.getValue(), last.getKey(), true);
+        }
+
+        LOG.debug("Journal {} recovered {} segments, deletedTo {}, highestSequenceNr {}", directory,
+            segmentFiles.size(), deletedTo, highestSequenceNr());
+    }
+
+    private void writeDeletedTo(final long sequenceNr) throws IOException {
+        final File temp = File.createTempFile(DELETED_TO_FILE, null, directory);
+        try (FileOutputStream fos = new FileOutputStream(temp); DataOutputStream out = new DataOutputStream(fos)) {
+            out.writeLong(sequenceNr);
+            out.flush();
+            fos.getFD().sync();
+        } catch (IOException e) {
+            if (!temp.delete()) {
+                LOG.warn("Failed to delete temporary file {}", temp);
+            }
+            throw e;
+        }
+
+        Files.move(temp.toPath(), new File(directory, DELETED_TO_FILE).toPath(), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public String toString() {
+        return "SegmentedJournal [directory=" + directory + ", segments=" + segmentFiles.size() + ", deletedTo="
+                + deletedTo + ", lastSegment=" + lastSegment + "]";
+    }
+}
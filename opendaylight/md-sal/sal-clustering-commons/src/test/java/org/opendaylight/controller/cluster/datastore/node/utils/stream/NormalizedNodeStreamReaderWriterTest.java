@@ -9,7 +9,9 @@
 package org.opendaylight.controller.cluster.datastore.node.utils.stream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.io.ByteStreams;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -30,15 +32,19 @@ import org.opendaylight.yangtools.yang.common.Empty;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.AnyXmlNode;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
 import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableLeafSetEntryNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableLeafSetNodeBuilder;
@@ -227,6 +233,84 @@ public class NormalizedNodeStreamReaderWriterTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void testDefaultStreamVersion() throws IOException {
+        // Peers running older versions cannot read anything newer, hence it has to be requested explicitly
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newDataOutput(ByteStreams.newDataOutput(bos));
+        nnout.writeYangInstanceIdentifier(TestModel.TEST_PATH);
+
+        assertEquals(TokenTypes.LITHIUM_VERSION, ByteStreams.newDataInput(bos.toByteArray(), 1).readShort());
+    }
+
+    @Test
+    public void testLithiumStreamCompatibility() throws IOException {
+        final NormalizedNode<?, ?> testContainer = TestModel.createTestContainer();
+        final YangInstanceIdentifier path = YangInstanceIdentifier.builder(TestModel.TEST_PATH)
+                .node(TestModel.OUTER_LIST_QNAME).nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 10)
+                .build();
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newDataOutput(ByteStreams.newDataOutput(bos),
+            NormalizedNodeStreamVersion.LITHIUM);
+        nnout.writeNormalizedNode(testContainer);
+        nnout.writeYangInstanceIdentifier(path);
+
+        final byte[] bytes = bos.toByteArray();
+        assertEquals(TokenTypes.LITHIUM_VERSION, ByteStreams.newDataInput(bytes, 1).readShort());
+
+        NormalizedNodeDataInput nnin = NormalizedNodeInputOutput.newDataInput(ByteStreams.newDataInput(bytes));
+        assertEquals(testContainer, nnin.readNormalizedNode());
+        assertEquals(path, nnin.readYangInstanceIdentifier());
+
+        nnin = NormalizedNodeInputOutput.newDataInputWithoutValidation(ByteStreams.newDataInput(bytes));
+        assertEquals(testContainer, nnin.readNormalizedNode());
+        assertEquals(path, nnin.readYangInstanceIdentifier());
+    }
+
+    @Test
+    public void testFluorineStreamDictionaries() throws IOException {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> mapBuilder = ImmutableNodes.mapNodeBuilder(
+            TestModel.OUTER_LIST_QNAME);
+        for (int i = 0; i < 100; ++i) {
+            final NodeIdentifierWithPredicates entryId = new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME,
+                ImmutableMap.of(TestModel.ID_QNAME, i, TestModel.NAME_QNAME, "name-" + i));
+            mapBuilder.withChild(Builders.mapEntryBuilder().withNodeIdentifier(entryId)
+                .withChild(ImmutableNodes.leafNode(TestModel.ID_QNAME, i))
+                .withChild(ImmutableNodes.leafNode(TestModel.NAME_QNAME, "name-" + i))
+                .withChild(ImmutableNodes.leafNode(TestModel.VALUE_QNAME, "value-" + i)).build());
+        }
+        final NormalizedNode<?, ?> testContainer = ImmutableContainerNodeBuilder.create()
+                .withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME)).withChild(mapBuilder.build()).build();
+        final YangInstanceIdentifier path = YangInstanceIdentifier.builder(TestModel.TEST_PATH)
+                .node(TestModel.OUTER_LIST_QNAME).nodeWithKey(TestModel.OUTER_LIST_QNAME,
+                    ImmutableMap.of(TestModel.NAME_QNAME, "name-5", TestModel.ID_QNAME, 5)).build();
+
+        final byte[] lithium = writeStream(NormalizedNodeStreamVersion.LITHIUM, testContainer, path);
+        final byte[] fluorine = writeStream(NormalizedNodeStreamVersion.FLUORINE, testContainer, path);
+        assertEquals(TokenTypes.FLUORINE_VERSION, ByteStreams.newDataInput(fluorine, 1).readShort());
+        assertTrue("Expected " + fluorine.length + " to be less than " + lithium.length,
+            fluorine.length < lithium.length);
+
+        NormalizedNodeDataInput nnin = NormalizedNodeInputOutput.newDataInput(ByteStreams.newDataInput(fluorine));
+        assertEquals(testContainer, nnin.readNormalizedNode());
+        assertEquals(path, nnin.readYangInstanceIdentifier());
+
+        nnin = NormalizedNodeInputOutput.newDataInputWithoutValidation(ByteStreams.newDataInput(fluorine));
+        assertEquals(testContainer, nnin.readNormalizedNode());
+        assertEquals(path, nnin.readYangInstanceIdentifier());
+    }
+
+    private static byte[] writeStream(final NormalizedNodeStreamVersion version, final NormalizedNode<?, ?> node,
+            final YangInstanceIdentifier path) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newDataOutput(ByteStreams.newDataOutput(bos),
+            version);
+        nnout.writeNormalizedNode(node);
+        nnout.writeYangInstanceIdentifier(path);
+        return bos.toByteArray();
+    }
+
     private static String largeString(final int pow) {
         StringBuilder sb = new StringBuilder("X");
         for (int i = 0; i < pow; i++) {
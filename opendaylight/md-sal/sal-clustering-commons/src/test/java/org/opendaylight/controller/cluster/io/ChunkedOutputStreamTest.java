@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import org.junit.Test;
+
+public class ChunkedOutputStreamTest {
+    private static final int INIT_SIZE = 256;
+    private static final int MAX_SIZE = 1024;
+
+    private final ChunkedOutputStream stream = new ChunkedOutputStream(INIT_SIZE, MAX_SIZE);
+
+    @Test
+    public void testSingleChunk() throws IOException {
+        stream.write(data(100));
+        stream.close();
+
+        assertEquals(100, stream.size());
+        final ChunkedByteArray array = stream.toChunkedByteArray();
+        assertEquals(1, array.getChunks().size());
+        assertArrayEquals(data(100), array.toByteArray());
+        assertSame(stream.toByteArray(), array.toByteArray());
+    }
+
+    @Test
+    public void testGrowthIntoSingleChunk() throws IOException {
+        for (byte b : data(MAX_SIZE)) {
+            stream.write(b);
+        }
+        stream.close();
+
+        final ChunkedByteArray array = stream.toChunkedByteArray();
+        assertEquals(1, array.getChunks().size());
+        assertArrayEquals(data(MAX_SIZE), array.toByteArray());
+    }
+
+    @Test
+    public void testMultipleChunks() throws IOException {
+        final byte[] expected = data(MAX_SIZE * 5 + 10);
+        stream.write(expected, 0, 300);
+        stream.write(expected, 300, expected.length - 300);
+        stream.close();
+
+        final ChunkedByteArray array = stream.toChunkedByteArray();
+        assertEquals(expected.length, array.size());
+
+        final List<byte[]> chunks = array.getChunks();
+        for (int i = 1; i < chunks.size() - 1; ++i) {
+            assertEquals(MAX_SIZE, chunks.get(i).length);
+        }
+        assertArrayEquals(expected, array.toByteArray());
+        assertArrayEquals(expected, ByteStreams.toByteArray(array.openStream()));
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        array.copyTo(new DataOutputStream(bos));
+        assertArrayEquals(expected, bos.toByteArray());
+    }
+
+    @Test
+    public void testReadFrom() throws IOException {
+        final byte[] expected = data(MAX_SIZE * 3 + 1);
+        final ChunkedByteArray array = ChunkedByteArray.readFrom(
+            new DataInputStream(new ByteArrayInputStream(expected)), expected.length, MAX_SIZE);
+        assertEquals(4, array.getChunks().size());
+
+        final DataInputStream in = new DataInputStream(array.openStream());
+        final byte[] actual = new byte[expected.length];
+        in.readFully(actual);
+        assertArrayEquals(expected, actual);
+        assertEquals(-1, in.read());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNotClosed() throws IOException {
+        stream.write(1);
+        stream.toChunkedByteArray();
+    }
+
+    @Test(expected = IOException.class)
+    public void testWriteAfterClose() throws IOException {
+        stream.close();
+        stream.write(1);
+    }
+
+    private static byte[] data(final int size) {
+        final byte[] ret = new byte[size];
+        for (int i = 0; i < size; ++i) {
+            ret[i] = (byte) i;
+        }
+        return ret;
+    }
+}
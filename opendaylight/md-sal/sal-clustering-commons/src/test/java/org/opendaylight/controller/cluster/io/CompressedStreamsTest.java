@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.io.ByteSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.io.CompressedStreams.CompressingOutputStream;
+
+public class CompressedStreamsTest {
+    @Test
+    public void testCompressedRoundTrip() throws IOException {
+        final byte[] data = new byte[100000];
+        Arrays.fill(data, (byte) 'a');
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final CompressingOutputStream out = CompressedStreams.compress(bos);
+        out.write(data);
+        out.close();
+
+        assertEquals(data.length, out.getUncompressedSize());
+        assertTrue(bos.size() < data.length);
+
+        final ByteSource compressed = ByteSource.wrap(bos.toByteArray());
+        assertTrue(CompressedStreams.isCompressed(compressed));
+        assertArrayEquals(data, CompressedStreams.decompressIfNeeded(compressed).read());
+    }
+
+    @Test
+    public void testUncompressedPassThrough() throws IOException {
+        final ByteSource serialized = ByteSource.wrap(SerializationUtils.serialize("foo"));
+        assertFalse(CompressedStreams.isCompressed(serialized));
+        assertArrayEquals(serialized.read(), CompressedStreams.decompressIfNeeded(serialized).read());
+
+        assertFalse(CompressedStreams.isCompressed(ByteSource.empty()));
+        assertEquals(0, CompressedStreams.decompressIfNeeded(ByteSource.empty()).read().length);
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import akka.persistence.japi.journal.JavaJournalSpec;
+import com.typesafe.config.ConfigFactory;
+import java.io.File;
+import org.apache.commons.io.FileUtils;
+import org.junit.runner.RunWith;
+import org.scalatest.junit.JUnitRunner;
+
+/**
+ * Tests the SegmentedFileJournal using akka's standard test suite for journal plugins via JournalSpec. This class
+ * basically does the setup and tear down with JournalSpec doing the rest. JournalSpec uses ScalaTest so needs to be
+ * run with scala's JUnitRunner.
+ */
+@RunWith(JUnitRunner.class)
+public class SegmentedFileJournalSpecTest extends JavaJournalSpec {
+    private static final long serialVersionUID = 1L;
+    static final File JOURNAL_DIR = new File("target/segmented-journal");
+
+    public SegmentedFileJournalSpecTest() {
+        super(ConfigFactory.load("SegmentedFileJournalTest.conf"));
+    }
+
+    @Override
+    public void beforeAll() {
+        FileUtils.deleteQuietly(JOURNAL_DIR);
+        super.beforeAll();
+    }
+
+    @Override
+    public void afterAll() {
+        super.afterAll();
+        FileUtils.deleteQuietly(JOURNAL_DIR);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSystem;
+import akka.persistence.AtomicWrite;
+import akka.persistence.JournalProtocol;
+import akka.persistence.Persistence;
+import akka.persistence.PersistentEnvelope;
+import akka.persistence.PersistentRepr;
+import akka.testkit.javadsl.TestKit;
+import com.typesafe.config.ConfigFactory;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import scala.collection.JavaConverters;
+
+/**
+ * Unit tests for SegmentedFileJournal failure handling, which JournalSpec does not cover.
+ */
+public class SegmentedFileJournalTest {
+    private ActorSystem system;
+    private ActorRef journal;
+
+    @Before
+    public void setup() {
+        FileUtils.deleteQuietly(SegmentedFileJournalSpecTest.JOURNAL_DIR);
+        system = ActorSystem.create("test", ConfigFactory.load("SegmentedFileJournalTest.conf"));
+        journal = Persistence.get(system).journalFor("");
+    }
+
+    @After
+    public void cleanup() {
+        TestKit.shutdownActorSystem(system);
+        FileUtils.deleteQuietly(SegmentedFileJournalSpecTest.JOURNAL_DIR);
+    }
+
+    @Test
+    public void testFailedAtomicWriteDoesNotFailOthers() throws IOException {
+        // A regular file in place of the journal directory makes the journal impossible to open
+        final File dir = SegmentedFileJournalSpecTest.JOURNAL_DIR;
+        assertTrue(dir.isDirectory() || dir.mkdirs());
+        assertTrue(new File(dir, "broken").createNewFile());
+
+        final TestKit probe = new TestKit(system);
+        final PersistentRepr good = repr("good");
+        final PersistentRepr broken = repr("broken");
+        journal.tell(new JournalProtocol.WriteMessages(JavaConverters.asScalaBuffer(Arrays.<PersistentEnvelope>asList(
+            AtomicWrite.apply(good), AtomicWrite.apply(broken))).toList(), probe.getRef(), 1), ActorRef.noSender());
+
+        probe.expectMsgEquals(JournalProtocol.WriteMessagesSuccessful$.MODULE$);
+        final JournalProtocol.WriteMessageSuccess success = probe.expectMsgClass(
+            JournalProtocol.WriteMessageSuccess.class);
+        assertEquals("good", success.persistent().persistenceId());
+        final JournalProtocol.WriteMessageRejected rejected = probe.expectMsgClass(
+            JournalProtocol.WriteMessageRejected.class);
+        assertEquals("broken", rejected.message().persistenceId());
+
+        // The write which succeeded is durable
+        journal.tell(new JournalProtocol.ReplayMessages(1, Long.MAX_VALUE, Long.MAX_VALUE, "good", probe.getRef()),
+            ActorRef.noSender());
+        assertEquals("good-payload", probe.expectMsgClass(JournalProtocol.ReplayedMessage.class).persistent()
+            .payload());
+    }
+
+    private static PersistentRepr repr(final String persistenceId) {
+        return PersistentRepr.apply(persistenceId + "-payload", 1, persistenceId, PersistentRepr.Undefined(), false,
+            ActorRef.noSender(), "writer");
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.persistence;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for SegmentedJournal and JournalSegment. These cover the on-disk behavior which JournalSpec cannot
+ * observe: segment rollover, segment removal and torn write recovery.
+ */
+public class SegmentedJournalTest {
+    private static final File DIR = new File("target/segmented-journal-test");
+    private static final int SEGMENT_SIZE = 256;
+
+    @Before
+    public void setup() {
+        FileUtils.deleteQuietly(DIR);
+    }
+
+    @After
+    public void cleanup() {
+        FileUtils.deleteQuietly(DIR);
+    }
+
+    @Test
+    public void testAppendAndReplay() throws IOException {
+        final SegmentedJournal journal = SegmentedJournal.open(DIR, SEGMENT_SIZE);
+        assertEquals(0, journal.highestSequenceNr());
+
+        for (int i = 1; i <= 20; ++i) {
+            journal.append(i, data(i, 50));
+        }
+        journal.flush();
+
+        assertEquals(20, journal.highestSequenceNr());
+        assertTrue("Expected multiple segments", journal.segmentCount() > 1);
+
+        final List<Long> replayed = replay(journal, 1, Long.MAX_VALUE);
+        assertEquals(20, replayed.size());
+        for (int i = 0; i < 20; ++i) {
+            assertEquals(i + 1, replayed.get(i).longValue());
+        }
+
+        assertEquals(6, replay(journal, 5, 10).size());
+
+        journal.close();
+
+        final SegmentedJournal reopened = SegmentedJournal.open(DIR, SEGMENT_SIZE);
+        assertEquals(20, reopened.highestSequenceNr());
+        assertEquals(20, replay(reopened, 1, 20).size());
+
+        reopened.append(21, data(21, 10));
+        assertEquals(21, reopened.highestSequenceNr());
+        reopened.close();
+    }
+
+    @Test
+    public void testOversizedRecord() throws IOException {
+        final SegmentedJournal journal = SegmentedJournal.open(DIR, SEGMENT_SIZE);
+        journal.append(1, data(1, 10));
+        journal.append(2, data(2, SEGMENT_SIZE * 4));
+        journal.append(3, data(3, 10));
+        journal.close();
+
+        final SegmentedJournal reopened = SegmentedJournal.open(DIR, SEGMENT_SIZE);
+        final List<byte[]> records = new ArrayList<>();
+        reopened.replay(1, 3, (seq, bytes) -> records.add(bytes));
+        assertEquals(3, records.size());
+        assertArrayEquals(data(2, SEGMENT_SIZE * 4), records.get(1));
+    }
+
+    @Test
+    public void testDeleteTo() throws IOException {
+        final SegmentedJournal journal = SegmentedJournal.open(DIR, SEGMENT_SIZE);
+        for (int i = 1; i <= 20; ++i) {
+            journal.append(i, data(i, 50));
+        }
+
+        final int segments = journal.segmentCount();
+        journal.deleteTo(15);
+        assertEquals(15, journal.deletedTo());
+        assertTrue("Expected segments to be removed", journal.segmentCount() < segments);
+        assertEquals(journal.segmentCount(), DIR.list((dir, name) -> name.startsWith("segment-")).length);
+
+        final List<Long> replayed = replay(journal, 1, Long.MAX_VALUE);
+        assertEquals(5, replayed.size());
+        assertEquals(16, replayed.get(0).longValue());
+
+        // Highest sequence number must survive deletion of everything
+        journal.deleteTo(Long.MAX_VALUE);
+        assertEquals(20, journal.highestSequenceNr());
+        assertEquals(1, journal.segmentCount());
+        assertEquals(0, replay(journal, 1, Long.MAX_VALUE).size());
+        journal.close();
+
+        final SegmentedJournal reopened = SegmentedJournal.open(DIR, SEGMENT_SIZE);
+        assertEquals(20, reopened.deletedTo());
+        assertEquals(20, reopened.highestSequenceNr());
+        assertEquals(0, replay(reopened, 1, Long.MAX_VALUE).size());
+        reopened.close();
+    }
+
+    @Test
+    public void testTruncate() throws IOException {
+        final SegmentedJournal journal = SegmentedJournal.open(DIR, SEGMENT_SIZE);
+        journal.append(1, data(1, 50));
+        journal.append(2, data(2, 50));
+        final int segments = journal.segmentCount();
+
+        // Roll back appends spanning a segment rollover
+        final SegmentedJournal.Mark mark = journal.mark();
+        for (int i = 3; i <= 8; ++i) {
+            journal.append(i, data(i, 50));
+        }
+        assertTrue("Expected a new segment", journal.segmentCount() > segments);
+
+        journal.truncate(mark);
+        assertEquals(segments, journal.segmentCount());
+        assertEquals(segments, DIR.list((dir, name) -> name.startsWith("segment-")).length);
+        assertEquals(2, journal.highestSequenceNr());
+
+        // A shorter record takes the place of the discarded ones, which must not re-appear on recovery
+        journal.append(3, data(3, 10));
+        journal.close();
+
+        final SegmentedJournal reopened = SegmentedJournal.open(DIR, SEGMENT_SIZE);
+        assertEquals(3, reopened.highestSequenceNr());
+        final List<byte[]> records = new ArrayList<>();
+        reopened.replay(1, Long.MAX_VALUE, (seq, bytes) -> records.add(bytes));
+        assertEquals(3, records.size());
+        assertArrayEquals(data(3, 10), records.get(2));
+        reopened.close();
+    }
+
+    @Test
+    public void testTornWriteRecovery() throws IOException {
+        final SegmentedJournal journal = SegmentedJournal.open(DIR, SEGMENT_SIZE * 4);
+        for (int i = 1; i <= 3; ++i) {
+            journal.append(i, data(i, 20));
+        }
+        journal.close();
+
+        // Corrupt the data of the last record
+        final File segment = DIR.listFiles((dir, name) -> name.startsWith("segment-"))[0];
+        try (RandomAccessFile raf = new RandomAccessFile(segment, "rw")) {
+            raf.seek(2 * (JournalSegment.HEADER_SIZE + 20) + JournalSegment.HEADER_SIZE + 5);
+            raf.write(0xff);
+        }
+
+        final SegmentedJournal reopened = SegmentedJournal.open(DIR, SEGMENT_SIZE * 4);
+        assertEquals(2, reopened.highestSequenceNr());
+        reopened.append(3, data(3, 5));
+        reopened.close();
+
+        final SegmentedJournal again = SegmentedJournal.open(DIR, SEGMENT_SIZE * 4);
+        final List<byte[]> records = new ArrayList<>();
+        again.replay(1, Long.MAX_VALUE, (seq, bytes) -> records.add(bytes));
+        assertEquals(3, records.size());
+        assertArrayEquals(data(3, 5), records.get(2));
+        again.close();
+    }
+
+    private static List<Long> replay(final SegmentedJournal journal, final long from, final long to)
+            throws IOException {
+        final List<Long> ret = new ArrayList<>();
+        journal.replay(from, to, (seq, bytes) -> {
+            assertArrayEquals(data(seq, bytes.length), bytes);
+            return ret.add(seq);
+        });
+        return ret;
+    }
+
+    private static byte[] data(final long seq, final int length) {
+        final byte[] ret = new byte[length];
+        for (int i = 0; i < length; ++i) {
+            ret[i] = (byte) (seq + i);
+        }
+        return ret;
+    }
+}
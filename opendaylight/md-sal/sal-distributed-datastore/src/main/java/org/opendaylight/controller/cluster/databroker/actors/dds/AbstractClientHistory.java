@@ -9,13 +9,19 @@ package org.opendaylight.controller.cluster.databroker.actors.dds;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Verify;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
 import javax.annotation.concurrent.GuardedBy;
 import org.opendaylight.controller.cluster.access.client.AbstractClientConnection;
 import org.opendaylight.controller.cluster.access.client.ConnectedClientConnection;
@@ -23,6 +29,7 @@ import org.opendaylight.controller.cluster.access.client.ConnectionEntry;
 import org.opendaylight.controller.cluster.access.client.InversibleLockException;
 import org.opendaylight.controller.cluster.access.commands.CreateLocalHistoryRequest;
 import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifier;
+import org.opendaylight.controller.cluster.access.concepts.Request;
 import org.opendaylight.controller.cluster.access.concepts.Response;
 import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
 import org.opendaylight.mdsal.common.api.TransactionChainClosedException;
@@ -30,6 +37,7 @@ import org.opendaylight.yangtools.concepts.Identifiable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import scala.concurrent.duration.FiniteDuration;
 
 /**
  * Abstract base class for client view of a history. This class has two implementations, one for normal local histories
@@ -61,6 +69,7 @@ public abstract class AbstractClientHistory extends LocalAbortable implements Id
 
     private final AbstractDataStoreClientBehavior client;
     private final LocalHistoryIdentifier identifier;
+    private final boolean blocking;
 
     // Used via NEXT_TX_UPDATER
     @SuppressWarnings("unused")
@@ -69,8 +78,14 @@ public abstract class AbstractClientHistory extends LocalAbortable implements Id
     private volatile State state = State.IDLE;
 
     AbstractClientHistory(final AbstractDataStoreClientBehavior client, final LocalHistoryIdentifier identifier) {
+        this(client, identifier, true);
+    }
+
+    AbstractClientHistory(final AbstractDataStoreClientBehavior client, final LocalHistoryIdentifier identifier,
+            final boolean blocking) {
         this.client = Preconditions.checkNotNull(client);
         this.identifier = Preconditions.checkNotNull(identifier);
+        this.blocking = blocking;
         Preconditions.checkArgument(identifier.getCookie() == 0);
     }
 
@@ -143,7 +158,7 @@ public abstract class AbstractClientHistory extends LocalAbortable implements Id
 
         // Request creation of the history, if it is not the single history
         if (ret.getIdentifier().getHistoryId() != 0) {
-            connection.sendRequest(new CreateLocalHistoryRequest(ret.getIdentifier(), connection.localActor()),
+            sendRequest(connection, new CreateLocalHistoryRequest(ret.getIdentifier(), connection.localActor()),
                 this::createHistoryCallback);
         }
         return ret;
@@ -156,6 +171,61 @@ public abstract class AbstractClientHistory extends LocalAbortable implements Id
         LOG.debug("Create history response {}", response);
     }
 
+    /**
+     * Send a request on behalf of this history. Blocking histories use
+     * {@link AbstractClientConnection#sendRequest(Request, Consumer)}, which may put the calling thread to sleep
+     * to exert backpressure. Non-blocking histories enqueue the request immediately and rely on the user to respect
+     * {@link #admission()}.
+     */
+    final void sendRequest(final AbstractClientConnection<ShardBackendInfo> connection, final Request<?, ?> request,
+            final Consumer<Response<?, ?>> callback) {
+        if (blocking) {
+            connection.sendRequest(request, callback);
+        } else {
+            connection.enqueueRequest(request, callback, connection.currentTime());
+        }
+    }
+
+    /**
+     * Check whether this history puts application threads to sleep when the backend is not keeping up with requests.
+     *
+     * @return True if requests issued through this history may block the calling thread.
+     */
+    public final boolean isBlocking() {
+        return blocking;
+    }
+
+    /**
+     * Return a {@link CompletionStage} which completes when the shards this history has interacted with are ready to
+     * accept more requests. Users of non-blocking histories should wait for it to complete before issuing further
+     * requests, so as not to overwhelm the backend. The stage is never completed on the client actor thread.
+     *
+     * @return A CompletionStage completing when requests can be issued without exceeding the backend's rate
+     */
+    @SuppressFBWarnings(value = "NP_NONNULL_PARAM_VIOLATION", justification = "Void futures complete with null")
+    public final CompletionStage<Void> admission() {
+        ProxyHistory slowest = null;
+        long delay = 0;
+        for (ProxyHistory proxy : histories.values()) {
+            final long proxyDelay = proxy.admissionDelay();
+            if (proxyDelay > delay) {
+                delay = proxyDelay;
+                slowest = proxy;
+            }
+        }
+        if (slowest == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        LOG.trace("History {} admission delayed by {}ns by {}", this, delay, slowest);
+        final CompletableFuture<Void> ret = new CompletableFuture<>();
+        slowest.context().executeInActor(behavior -> {
+            ForkJoinPool.commonPool().execute(() -> ret.complete(null));
+            return behavior;
+        }, FiniteDuration.create(delay, TimeUnit.NANOSECONDS));
+        return ret;
+    }
+
     private ProxyHistory ensureHistoryProxy(final TransactionIdentifier transactionId, final Long shard) {
         while (true) {
             try {
@@ -187,6 +187,15 @@ abstract class AbstractDataStoreClientBehavior extends ClientActorBehavior<Shard
 
     @Override
     public final ClientLocalHistory createLocalHistory() {
+        return newLocalHistory(true);
+    }
+
+    @Override
+    public final ClientLocalHistory createNonBlockingLocalHistory() {
+        return newLocalHistory(false);
+    }
+
+    private ClientLocalHistory newLocalHistory(final boolean blocking) {
         final LocalHistoryIdentifier historyId = new LocalHistoryIdentifier(getIdentifier(),
             nextHistoryId.getAndIncrement());
 
@@ -197,7 +206,7 @@ abstract class AbstractDataStoreClientBehavior extends ClientActorBehavior<Shard
                 throw new RuntimeException(aborted);
             }
 
-            final ClientLocalHistory history = new ClientLocalHistory(this, historyId);
+            final ClientLocalHistory history = new ClientLocalHistory(this, historyId, blocking);
             LOG.debug("{}: creating a new local history {}", persistenceId(), history);
 
             Verify.verify(histories.put(historyId, history) == null);
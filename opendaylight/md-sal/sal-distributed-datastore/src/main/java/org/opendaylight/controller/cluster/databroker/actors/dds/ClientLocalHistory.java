@@ -30,6 +30,11 @@ public class ClientLocalHistory extends AbstractClientHistory implements AutoClo
         super(client, historyId);
     }
 
+    ClientLocalHistory(final AbstractDataStoreClientBehavior client, final LocalHistoryIdentifier historyId,
+            final boolean blocking) {
+        super(client, historyId, blocking);
+    }
+
     @Override
     public void close() {
         doClose();
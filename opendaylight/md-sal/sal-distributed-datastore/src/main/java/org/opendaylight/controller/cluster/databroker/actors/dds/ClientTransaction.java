@@ -13,6 +13,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterables;
 import com.google.common.util.concurrent.CheckedFuture;
 import java.util.Collection;
+import java.util.concurrent.CompletionStage;
 import javax.annotation.Nonnull;
 import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
 import org.opendaylight.mdsal.common.api.ReadFailedException;
@@ -96,6 +97,16 @@ public class ClientTransaction extends AbstractClientHandle<AbstractProxyTransac
         ensureTransactionProxy(path).write(path, data);
     }
 
+    /**
+     * Return a {@link CompletionStage} which completes when the backend is ready to accept more requests. See
+     * {@link AbstractClientHistory#admission()} for details.
+     *
+     * @return A CompletionStage completing when requests can be issued without exceeding the backend's rate
+     */
+    public CompletionStage<Void> admission() {
+        return parent().admission();
+    }
+
     public DOMStoreThreePhaseCommitCohort ready() {
         final Collection<AbstractProxyTransaction> toReady = ensureClosed();
         Preconditions.checkState(toReady != null, "Attempted to submit a closed transaction %s", this);
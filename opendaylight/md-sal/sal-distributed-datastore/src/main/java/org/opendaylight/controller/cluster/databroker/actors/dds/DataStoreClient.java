@@ -36,6 +36,15 @@ public interface DataStoreClient extends Identifiable<ClientIdentifier>, AutoClo
      */
     @Nonnull ClientLocalHistory createLocalHistory();
 
+    /**
+     * Create a new local history, which does not put application threads to sleep when the backend is not keeping
+     * up with requests. Users are expected to wait for {@link ClientLocalHistory#admission()} before issuing further
+     * requests instead.
+     *
+     * @return Client history handle
+     */
+    @Nonnull ClientLocalHistory createNonBlockingLocalHistory();
+
     /**
      * Create a new free-standing snapshot.
      *
@@ -432,7 +432,7 @@ abstract class ProxyHistory implements Identifiable<LocalHistoryIdentifier> {
             }
 
             LOG.debug("Proxy {} invoking destroy", this);
-            connection.sendRequest(new DestroyLocalHistoryRequest(getIdentifier(), 1, localActor()),
+            parent.sendRequest(connection, new DestroyLocalHistoryRequest(getIdentifier(), 1, localActor()),
                 this::onDestroyComplete);
         } finally {
             lock.unlock();
@@ -445,7 +445,11 @@ abstract class ProxyHistory implements Identifiable<LocalHistoryIdentifier> {
     }
 
     final void sendRequest(final TransactionRequest<?> request, final Consumer<Response<?, ?>> callback) {
-        connection.sendRequest(request, callback);
+        parent.sendRequest(connection, request, callback);
+    }
+
+    final long admissionDelay() {
+        return connection.admissionDelay();
     }
 
     @GuardedBy("lock")
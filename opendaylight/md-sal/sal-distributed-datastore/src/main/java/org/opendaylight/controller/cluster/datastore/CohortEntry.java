@@ -28,6 +28,7 @@ final class CohortEntry {
     private boolean doImmediateCommit;
     private ActorRef replySender;
     private Shard shard;
+    private long canCommitTicks;
 
     private CohortEntry(final ReadWriteShardDataTreeTransaction transaction, final short clientVersion) {
         this.transaction = Preconditions.checkNotNull(transaction);
@@ -144,6 +145,14 @@ final class CohortEntry {
         this.shard = shard;
     }
 
+    long getCanCommitTicks() {
+        return canCommitTicks;
+    }
+
+    void setCanCommitTicks(final long canCommitTicks) {
+        this.canCommitTicks = canCommitTicks;
+    }
+
     @Override
     public String toString() {
         final StringBuilder builder = new StringBuilder();
@@ -18,5 +18,9 @@ public interface DataStoreVersions {
     short HELIUM_2_VERSION = 2;
     short LITHIUM_VERSION = 3;
     short BORON_VERSION = 5;
-    short CURRENT_VERSION = BORON_VERSION;
+    /**
+     * Version which introduced batched commit payloads and commit statistics in CommitTransactionReply.
+     */
+    short OXYGEN_VERSION = 6;
+    short CURRENT_VERSION = OXYGEN_VERSION;
 }
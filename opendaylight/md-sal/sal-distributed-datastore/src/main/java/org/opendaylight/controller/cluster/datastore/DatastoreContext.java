@@ -63,6 +63,22 @@ public class DatastoreContext implements ClientActorConfig {
 
     public static final long DEFAULT_SYNC_INDEX_THRESHOLD = 10;
 
+    public static final long DEFAULT_TRANSACTION_BATCH_TIME_BUDGET_IN_MICROS = 1000;
+
+    public static final int DEFAULT_PARALLEL_VALIDATION_WINDOW = 0;
+
+    public static final boolean DEFAULT_INSTALL_SNAPSHOT_COMPRESSION_ENABLED = false;
+
+    public static final int DEFAULT_INSTALL_SNAPSHOT_WINDOW_SIZE = 1;
+
+    public static final int DEFAULT_MAX_IN_FLIGHT_APPEND_ENTRIES = 1;
+
+    public static final int DEFAULT_IN_MEMORY_JOURNAL_COMPACTION_THRESHOLD = 0;
+
+    public static final boolean DEFAULT_IN_MEMORY_JOURNAL_OFF_HEAP = false;
+    public static final boolean DEFAULT_FOLLOWER_READS_ENABLED = false;
+    public static final int DEFAULT_TX_ADMISSION_INITIAL_WINDOW = 100;
+
     private static final Logger LOG = LoggerFactory.getLogger(DatastoreContext.class);
 
     private static final Set<String> GLOBAL_DATASTORE_NAMES = ConcurrentHashMap.newKeySet();
@@ -93,6 +109,10 @@ public class DatastoreContext implements ClientActorConfig {
     private long backendAlivenessTimerInterval = AbstractClientConnection.DEFAULT_BACKEND_ALIVE_TIMEOUT_NANOS;
     private long requestTimeout = AbstractClientConnection.DEFAULT_REQUEST_TIMEOUT_NANOS;
     private long noProgressTimeout = AbstractClientConnection.DEFAULT_NO_PROGRESS_TIMEOUT_NANOS;
+    private long transactionBatchTimeBudgetInMicros = DEFAULT_TRANSACTION_BATCH_TIME_BUDGET_IN_MICROS;
+    private int parallelValidationWindow = DEFAULT_PARALLEL_VALIDATION_WINDOW;
+    private boolean followerReadsEnabled = DEFAULT_FOLLOWER_READS_ENABLED;
+    private int transactionAdmissionInitialWindow = DEFAULT_TX_ADMISSION_INITIAL_WINDOW;
 
     public static Set<String> getGlobalDatastoreNames() {
         return GLOBAL_DATASTORE_NAMES;
@@ -106,6 +126,11 @@ public class DatastoreContext implements ClientActorConfig {
         setSnapshotDataThresholdPercentage(DEFAULT_SHARD_SNAPSHOT_DATA_THRESHOLD_PERCENTAGE);
         setElectionTimeoutFactor(DEFAULT_SHARD_ELECTION_TIMEOUT_FACTOR);
         setSyncIndexThreshold(DEFAULT_SYNC_INDEX_THRESHOLD);
+        setInstallSnapshotCompressionEnabled(DEFAULT_INSTALL_SNAPSHOT_COMPRESSION_ENABLED);
+        setInstallSnapshotWindowSize(DEFAULT_INSTALL_SNAPSHOT_WINDOW_SIZE);
+        setMaxInFlightAppendEntries(DEFAULT_MAX_IN_FLIGHT_APPEND_ENTRIES);
+        setInMemoryJournalCompactionThreshold(DEFAULT_IN_MEMORY_JOURNAL_COMPACTION_THRESHOLD);
+        setInMemoryJournalOffHeap(DEFAULT_IN_MEMORY_JOURNAL_OFF_HEAP);
         setMaximumMessageSliceSize(DEFAULT_MAX_MESSAGE_SLICE_SIZE);
     }
 
@@ -133,6 +158,10 @@ public class DatastoreContext implements ClientActorConfig {
         this.backendAlivenessTimerInterval = other.backendAlivenessTimerInterval;
         this.requestTimeout = other.requestTimeout;
         this.noProgressTimeout = other.noProgressTimeout;
+        this.transactionBatchTimeBudgetInMicros = other.transactionBatchTimeBudgetInMicros;
+        this.parallelValidationWindow = other.parallelValidationWindow;
+        this.followerReadsEnabled = other.followerReadsEnabled;
+        this.transactionAdmissionInitialWindow = other.transactionAdmissionInitialWindow;
 
         setShardJournalRecoveryLogBatchSize(other.raftConfig.getJournalRecoveryLogBatchSize());
         setSnapshotBatchCount(other.raftConfig.getSnapshotBatchCount());
@@ -147,6 +176,11 @@ public class DatastoreContext implements ClientActorConfig {
         setTempFileDirectory(other.getTempFileDirectory());
         setFileBackedStreamingThreshold(other.getFileBackedStreamingThreshold());
         setSyncIndexThreshold(other.raftConfig.getSyncIndexThreshold());
+        setInstallSnapshotCompressionEnabled(other.raftConfig.isInstallSnapshotCompressionEnabled());
+        setInstallSnapshotWindowSize(other.raftConfig.getInstallSnapshotWindowSize());
+        setMaxInFlightAppendEntries(other.raftConfig.getMaxInFlightAppendEntries());
+        setInMemoryJournalCompactionThreshold(other.raftConfig.getInMemoryJournalCompactionThreshold());
+        setInMemoryJournalOffHeap(other.raftConfig.isInMemoryJournalOffHeap());
     }
 
     public static Builder newBuilder() {
@@ -298,6 +332,26 @@ public class DatastoreContext implements ClientActorConfig {
         raftConfig.setSyncIndexThreshold(syncIndexThreshold);
     }
 
+    private void setInstallSnapshotCompressionEnabled(final boolean installSnapshotCompressionEnabled) {
+        raftConfig.setInstallSnapshotCompressionEnabled(installSnapshotCompressionEnabled);
+    }
+
+    private void setInstallSnapshotWindowSize(final int installSnapshotWindowSize) {
+        raftConfig.setInstallSnapshotWindowSize(installSnapshotWindowSize);
+    }
+
+    private void setMaxInFlightAppendEntries(final int maxInFlightAppendEntries) {
+        raftConfig.setMaxInFlightAppendEntries(maxInFlightAppendEntries);
+    }
+
+    private void setInMemoryJournalCompactionThreshold(final int inMemoryJournalCompactionThreshold) {
+        raftConfig.setInMemoryJournalCompactionThreshold(inMemoryJournalCompactionThreshold);
+    }
+
+    private void setInMemoryJournalOffHeap(final boolean inMemoryJournalOffHeap) {
+        raftConfig.setInMemoryJournalOffHeap(inMemoryJournalOffHeap);
+    }
+
     public int getShardBatchedModificationCount() {
         return shardBatchedModificationCount;
     }
@@ -318,6 +372,14 @@ public class DatastoreContext implements ClientActorConfig {
         return useTellBasedProtocol;
     }
 
+    public boolean isFollowerReadsEnabled() {
+        return followerReadsEnabled;
+    }
+
+    public int getTransactionAdmissionInitialWindow() {
+        return transactionAdmissionInitialWindow;
+    }
+
     @Override
     public int getMaximumMessageSliceSize() {
         return maximumMessageSliceSize;
@@ -338,6 +400,34 @@ public class DatastoreContext implements ClientActorConfig {
         return noProgressTimeout;
     }
 
+    public long getTransactionBatchTimeBudgetInMicros() {
+        return transactionBatchTimeBudgetInMicros;
+    }
+
+    public int getParallelValidationWindow() {
+        return parallelValidationWindow;
+    }
+
+    public boolean isInstallSnapshotCompressionEnabled() {
+        return raftConfig.isInstallSnapshotCompressionEnabled();
+    }
+
+    public int getInstallSnapshotWindowSize() {
+        return raftConfig.getInstallSnapshotWindowSize();
+    }
+
+    public int getMaxInFlightAppendEntries() {
+        return raftConfig.getMaxInFlightAppendEntries();
+    }
+
+    public int getInMemoryJournalCompactionThreshold() {
+        return raftConfig.getInMemoryJournalCompactionThreshold();
+    }
+
+    public boolean isInMemoryJournalOffHeap() {
+        return raftConfig.isInMemoryJournalOffHeap();
+    }
+
     public static class Builder implements org.opendaylight.yangtools.concepts.Builder<DatastoreContext> {
         private final DatastoreContext datastoreContext;
         private int maxShardDataChangeExecutorPoolSize =
@@ -552,6 +642,18 @@ public class DatastoreContext implements ClientActorConfig {
             return this;
         }
 
+        public Builder followerReadsEnabled(final boolean value) {
+            datastoreContext.followerReadsEnabled = value;
+            return this;
+        }
+
+        public Builder transactionAdmissionInitialWindow(final int window) {
+            Preconditions.checkArgument(window > 0, "Transaction admission initial window must be positive, not %s",
+                window);
+            datastoreContext.transactionAdmissionInitialWindow = window;
+            return this;
+        }
+
         /**
          * For unit tests only.
          */
@@ -614,6 +716,50 @@ public class DatastoreContext implements ClientActorConfig {
             return this;
         }
 
+        public Builder transactionBatchTimeBudgetInMicros(final long budget) {
+            Preconditions.checkArgument(budget > 0, "Transaction batch time budget must be positive, not %s", budget);
+            datastoreContext.transactionBatchTimeBudgetInMicros = budget;
+            return this;
+        }
+
+        public Builder parallelValidationWindow(final int window) {
+            Preconditions.checkArgument(window >= 0, "Parallel validation window must not be negative, not %s",
+                window);
+            datastoreContext.parallelValidationWindow = window;
+            return this;
+        }
+
+        public Builder installSnapshotCompressionEnabled(final boolean enabled) {
+            datastoreContext.setInstallSnapshotCompressionEnabled(enabled);
+            return this;
+        }
+
+        public Builder installSnapshotWindowSize(final int windowSize) {
+            Preconditions.checkArgument(windowSize > 0, "InstallSnapshot window size must be positive, not %s",
+                windowSize);
+            datastoreContext.setInstallSnapshotWindowSize(windowSize);
+            return this;
+        }
+
+        public Builder maxInFlightAppendEntries(final int maxInFlight) {
+            Preconditions.checkArgument(maxInFlight > 0, "Maximum in-flight AppendEntries must be positive, not %s",
+                maxInFlight);
+            datastoreContext.setMaxInFlightAppendEntries(maxInFlight);
+            return this;
+        }
+
+        public Builder inMemoryJournalCompactionThreshold(final int threshold) {
+            Preconditions.checkArgument(threshold >= 0,
+                "In-memory journal compaction threshold must not be negative, not %s", threshold);
+            datastoreContext.setInMemoryJournalCompactionThreshold(threshold);
+            return this;
+        }
+
+        public Builder inMemoryJournalOffHeap(final boolean offHeap) {
+            datastoreContext.setInMemoryJournalOffHeap(offHeap);
+            return this;
+        }
+
         @Override
         public DatastoreContext build() {
             datastoreContext.dataStoreProperties = InMemoryDOMDataStoreConfigProperties.create(
@@ -0,0 +1,263 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import akka.actor.ActorRef;
+import akka.actor.ActorSelection;
+import akka.actor.Cancellable;
+import akka.actor.Status.Failure;
+import akka.dispatch.OnComplete;
+import akka.pattern.Patterns;
+import akka.util.Timeout;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.opendaylight.controller.cluster.datastore.exceptions.NoShardLeaderException;
+import org.opendaylight.controller.cluster.datastore.messages.CreateTransaction;
+import org.opendaylight.controller.cluster.raft.client.messages.GetReadIndex;
+import org.opendaylight.controller.cluster.raft.client.messages.GetReadIndexReply;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import scala.concurrent.duration.FiniteDuration;
+
+/**
+ * Supporting class for Shard that serves read-only transactions while the shard is a follower. A read is held until
+ * the leader has provided its read index and this shard has applied its journal up to that index, at which point the
+ * local state reflects every change acknowledged before the read was requested. Reads which arrive while a read index
+ * request is outstanding are batched into the next request. Reads which cannot be confirmed within the election
+ * timeout are forwarded to the leader, as are all reads while the leader runs a version which cannot provide a read
+ * index.
+ */
+final class FollowerReadSupport implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(FollowerReadSupport.class);
+
+    private final List<PendingRead> awaitingApply = new ArrayList<>();
+    private final Shard shard;
+
+    private List<PendingRead> queued = new ArrayList<>();
+    private List<PendingRead> requested = new ArrayList<>();
+    private boolean readIndexRequested;
+
+    FollowerReadSupport(final Shard shard) {
+        this.shard = shard;
+    }
+
+    boolean handleMessage(final Object message) {
+        if (message instanceof ReadIndexResponse) {
+            onReadIndexResponse((ReadIndexResponse) message);
+            return true;
+        }
+        if (message instanceof PendingRead) {
+            onTimeout((PendingRead) message);
+            return true;
+        }
+        return false;
+    }
+
+    void addRead(final Object message, final CreateTransaction createTransaction, final ActorRef replyTo) {
+        final PendingRead read = new PendingRead(message, createTransaction, replyTo);
+        if (!shard.leaderSupportsReadIndex()) {
+            // The leader would never answer, do not make the read wait for the timeout
+            LOG.debug("{}: Leader cannot provide a read index, forwarding read {}", shard.persistenceId(),
+                createTransaction.getTransactionId());
+            forwardToLeader(read);
+            return;
+        }
+
+        LOG.debug("{}: Adding follower read {}", shard.persistenceId(), createTransaction.getTransactionId());
+
+        read.timer = shard.getContext().system().scheduler().scheduleOnce(electionTimeout(), shard.getSelf(), read,
+            shard.getContext().dispatcher(), ActorRef.noSender());
+
+        queued.add(read);
+        if (!readIndexRequested) {
+            requestReadIndex();
+        }
+    }
+
+    /**
+     * Serves the reads whose read index has been applied.
+     *
+     * @param lastApplied the index of the last applied journal entry
+     */
+    void onApplied(final long lastApplied) {
+        if (awaitingApply.isEmpty()) {
+            return;
+        }
+
+        final Iterator<PendingRead> it = awaitingApply.iterator();
+        while (it.hasNext()) {
+            final PendingRead read = it.next();
+            if (read.readIndex <= lastApplied) {
+                it.remove();
+                serve(read);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        for (PendingRead read : awaitingApply) {
+            fail(read);
+        }
+        for (PendingRead read : queued) {
+            fail(read);
+        }
+        for (PendingRead read : requested) {
+            fail(read);
+        }
+
+        awaitingApply.clear();
+        queued.clear();
+        requested.clear();
+    }
+
+    private FiniteDuration electionTimeout() {
+        return shard.getDatastoreContext().getShardRaftConfig().getElectionTimeOutInterval();
+    }
+
+    private void requestReadIndex() {
+        final List<PendingRead> reads = queued;
+        queued = new ArrayList<>();
+
+        final ActorSelection leader = shard.getLeader();
+        if (leader == null || !shard.leaderSupportsReadIndex()) {
+            for (PendingRead read : reads) {
+                forwardToLeader(read);
+            }
+            return;
+        }
+
+        readIndexRequested = true;
+        requested = reads;
+
+        final ActorRef self = shard.getSelf();
+        Patterns.ask(leader, GetReadIndex.INSTANCE, new Timeout(electionTimeout())).onComplete(
+            new OnComplete<Object>() {
+                @Override
+                public void onComplete(final Throwable failure, final Object response) {
+                    self.tell(new ReadIndexResponse(reads, failure != null ? failure : response), ActorRef.noSender());
+                }
+            }, shard.getContext().dispatcher());
+    }
+
+    private void onReadIndexResponse(final ReadIndexResponse response) {
+        readIndexRequested = false;
+        requested = new ArrayList<>();
+
+        if (response.result instanceof GetReadIndexReply && ((GetReadIndexReply) response.result).isPresent()) {
+            final long readIndex = ((GetReadIndexReply) response.result).getReadIndex();
+            LOG.debug("{}: Obtained read index {} for {} reads", shard.persistenceId(), readIndex,
+                response.reads.size());
+
+            for (PendingRead read : response.reads) {
+                if (!read.done) {
+                    read.readIndex = readIndex;
+                    awaitingApply.add(read);
+                }
+            }
+
+            onApplied(shard.getLastApplied());
+        } else {
+            LOG.debug("{}: Failed to obtain read index: {}", shard.persistenceId(), response.result);
+
+            for (PendingRead read : response.reads) {
+                forwardToLeader(read);
+            }
+        }
+
+        if (!queued.isEmpty()) {
+            requestReadIndex();
+        }
+    }
+
+    private void onTimeout(final PendingRead read) {
+        if (read.done) {
+            return;
+        }
+
+        if (read.readIndex <= shard.getLastApplied()) {
+            // We may have applied entries without being notified, for example no-op entries
+            awaitingApply.remove(read);
+            serve(read);
+            return;
+        }
+
+        LOG.debug("{}: Timed out waiting to serve read {} at read index {}", shard.persistenceId(),
+            read.createTransaction.getTransactionId(), read.readIndex);
+
+        awaitingApply.remove(read);
+        queued.remove(read);
+        forwardToLeader(read);
+    }
+
+    private void serve(final PendingRead read) {
+        read.complete();
+        shard.getShardMBean().incrementFollowerReadOnlyTransactionCount();
+        shard.createTransaction(read.createTransaction, read.replyTo);
+    }
+
+    private void forwardToLeader(final PendingRead read) {
+        if (read.done) {
+            return;
+        }
+
+        final ActorSelection leader = shard.getLeader();
+        if (leader == null) {
+            fail(read);
+            return;
+        }
+
+        read.complete();
+        shard.getShardMBean().incrementForwardedReadOnlyTransactionCount();
+        leader.tell(read.message, read.replyTo);
+    }
+
+    private void fail(final PendingRead read) {
+        if (read.done) {
+            return;
+        }
+
+        read.complete();
+        read.replyTo.tell(new Failure(new NoShardLeaderException("Could not create a shard transaction",
+            shard.persistenceId())), shard.getSelf());
+    }
+
+    private static final class PendingRead {
+        final Object message;
+        final CreateTransaction createTransaction;
+        final ActorRef replyTo;
+        long readIndex = Long.MAX_VALUE;
+        Cancellable timer;
+        boolean done;
+
+        PendingRead(final Object message, final CreateTransaction createTransaction, final ActorRef replyTo) {
+            this.message = message;
+            this.createTransaction = createTransaction;
+            this.replyTo = replyTo;
+        }
+
+        void complete() {
+            done = true;
+            if (timer != null) {
+                timer.cancel();
+            }
+        }
+    }
+
+    private static final class ReadIndexResponse {
+        final List<PendingRead> reads;
+        final Object result;
+
+        ReadIndexResponse(final List<PendingRead> reads, final Object result) {
+            this.reads = reads;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.datastore.util.AbstractDataTreeModificationCursor;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextNode;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * The set of paths touched by a {@link DataTreeModification}, i.e. the paths at which it writes, merges or deletes
+ * data. Two modifications whose footprints do not overlap, i.e. no path in one is equal to, or a prefix of, a path in
+ * the other, cannot affect each other's validation. A modification touching too many paths has an unbounded
+ * footprint, which overlaps with any other footprint.
+ *
+ * <p>
+ * Constraints spanning multiple entries of a list or leaf-list, i.e. unique and min-elements/max-elements, make
+ * entries which do not overlap depend on each other. A path inside such a list is therefore widened to the outermost
+ * constrained list containing it, so that modifications of its entries are never validated in parallel.
+ */
+final class ModificationFootprint {
+    private static final ModificationFootprint UNBOUNDED = new ModificationFootprint(null);
+
+    private final List<YangInstanceIdentifier> paths;
+
+    private ModificationFootprint(@Nullable final List<YangInstanceIdentifier> paths) {
+        this.paths = paths;
+    }
+
+    static ModificationFootprint of(final DataTreeModification modification, final SchemaContext schemaContext,
+            final int maxPaths) {
+        final FootprintCursor cursor = new FootprintCursor(maxPaths);
+        modification.applyToCursor(cursor);
+        if (cursor.overflow) {
+            return UNBOUNDED;
+        }
+
+        final DataSchemaContextTree schemaTree = DataSchemaContextTree.from(schemaContext);
+        final List<YangInstanceIdentifier> paths = new ArrayList<>(cursor.paths.size());
+        for (YangInstanceIdentifier path : cursor.paths) {
+            final YangInstanceIdentifier widened = widenPath(schemaTree, path);
+            if (widened == null) {
+                return UNBOUNDED;
+            }
+            paths.add(widened);
+        }
+        return new ModificationFootprint(ImmutableList.copyOf(paths));
+    }
+
+    /**
+     * Widen a path to the outermost list or leaf-list with cross-entry constraints which contains it.
+     *
+     * @return Widened path, or null if the path cannot be resolved in the schema
+     */
+    private static @Nullable YangInstanceIdentifier widenPath(final DataSchemaContextTree schemaTree,
+            final YangInstanceIdentifier path) {
+        DataSchemaContextNode<?> node = schemaTree.getRoot();
+        int depth = 0;
+        for (PathArgument arg : path.getPathArguments()) {
+            node = node.getChild(arg);
+            if (node == null) {
+                return null;
+            }
+            depth++;
+            if (node.isMixin() && hasCrossEntryConstraints(node.getDataSchemaNode())) {
+                return YangInstanceIdentifier.create(path.getPathArguments().subList(0, depth));
+            }
+        }
+        return path;
+    }
+
+    private static boolean hasCrossEntryConstraints(final DataSchemaNode schema) {
+        if (schema instanceof ListSchemaNode) {
+            final ListSchemaNode list = (ListSchemaNode) schema;
+            return !list.getUniqueConstraints().isEmpty() || list.getElementCountConstraint().isPresent();
+        }
+        return schema instanceof LeafListSchemaNode
+                && ((LeafListSchemaNode) schema).getElementCountConstraint().isPresent();
+    }
+
+    boolean isUnbounded() {
+        return paths == null;
+    }
+
+    boolean overlaps(final ModificationFootprint other) {
+        if (paths == null || other.paths == null) {
+            return true;
+        }
+
+        for (YangInstanceIdentifier path : paths) {
+            for (YangInstanceIdentifier otherPath : other.paths) {
+                if (path.contains(otherPath) || otherPath.contains(path)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("paths", paths == null ? "unbounded" : paths).toString();
+    }
+
+    private static final class FootprintCursor extends AbstractDataTreeModificationCursor {
+        private final List<YangInstanceIdentifier> paths = new ArrayList<>();
+        private final int maxPaths;
+        private boolean overflow;
+
+        FootprintCursor(final int maxPaths) {
+            this.maxPaths = maxPaths;
+        }
+
+        @Override
+        public void delete(final PathArgument child) {
+            addPath(child);
+        }
+
+        @Override
+        public void merge(final PathArgument child, final NormalizedNode<?, ?> data) {
+            addPath(child);
+        }
+
+        @Override
+        public void write(final PathArgument child, final NormalizedNode<?, ?> data) {
+            addPath(child);
+        }
+
+        private void addPath(final PathArgument child) {
+            if (!overflow) {
+                if (paths.size() < maxPaths) {
+                    paths.add(current().node(child));
+                } else {
+                    overflow = true;
+                    paths.clear();
+                }
+            }
+        }
+    }
+}
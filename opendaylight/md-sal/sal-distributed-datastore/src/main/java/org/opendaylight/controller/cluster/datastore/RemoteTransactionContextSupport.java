@@ -8,6 +8,7 @@
  */
 package org.opendaylight.controller.cluster.datastore;
 
+import akka.actor.ActorRef;
 import akka.actor.ActorSelection;
 import akka.dispatch.OnComplete;
 import akka.pattern.AskTimeoutException;
@@ -35,6 +36,9 @@ import scala.concurrent.duration.FiniteDuration;
  * used to perform transaction operations. Transaction operations that occur before the
  * CreateTransaction completes are cache via a TransactionContextWrapper and executed once the
  * CreateTransaction completes, successfully or not.
+ * <p/>
+ * If follower reads are enabled, read-only transactions are created on the local shard replica, which serves them
+ * while it is a follower and forwards them to the leader otherwise.
  */
 final class RemoteTransactionContextSupport {
     private static final Logger LOG = LoggerFactory.getLogger(RemoteTransactionContextSupport.class);
@@ -120,15 +124,39 @@ final class RemoteTransactionContextSupport {
       Performs a CreateTransaction try async.
      */
     private void tryCreateTransaction() {
+        final Object serializedCreateMessage = new CreateTransaction(getIdentifier(), getTransactionType().ordinal(),
+                    primaryShardInfo.getPrimaryShardVersion()).toSerializable();
+
+        if (getTransactionType() == TransactionType.READ_ONLY
+                && getActorContext().getDatastoreContext().isFollowerReadsEnabled()) {
+            getActorContext().findLocalShardAsync(shardName).onComplete(new OnComplete<ActorRef>() {
+                @Override
+                public void onComplete(final Throwable failure, final ActorRef localShard) {
+                    if (failure == null) {
+                        LOG.debug("Tx {} Local shard {} found - trying create transaction", getIdentifier(),
+                            localShard);
+                        onCreateTransactionSent(getActorContext().executeOperationAsync(localShard,
+                            serializedCreateMessage, createTxMessageTimeout));
+                    } else {
+                        LOG.debug("Tx {} Local shard {} not available", getIdentifier(), shardName, failure);
+                        tryCreateTransaction(serializedCreateMessage);
+                    }
+                }
+            }, getActorContext().getClientDispatcher());
+        } else {
+            tryCreateTransaction(serializedCreateMessage);
+        }
+    }
+
+    private void tryCreateTransaction(final Object serializedCreateMessage) {
         LOG.debug("Tx {} Primary shard {} found - trying create transaction", getIdentifier(),
                 primaryShardInfo.getPrimaryShardActor());
 
-        Object serializedCreateMessage = new CreateTransaction(getIdentifier(), getTransactionType().ordinal(),
-                    primaryShardInfo.getPrimaryShardVersion()).toSerializable();
-
-        Future<Object> createTxFuture = getActorContext().executeOperationAsync(
-                primaryShardInfo.getPrimaryShardActor(), serializedCreateMessage, createTxMessageTimeout);
+        onCreateTransactionSent(getActorContext().executeOperationAsync(
+                primaryShardInfo.getPrimaryShardActor(), serializedCreateMessage, createTxMessageTimeout));
+    }
 
+    private void onCreateTransactionSent(final Future<Object> createTxFuture) {
         createTxFuture.onComplete(new OnComplete<Object>() {
             @Override
             public void onComplete(final Throwable failure, final Object response) {
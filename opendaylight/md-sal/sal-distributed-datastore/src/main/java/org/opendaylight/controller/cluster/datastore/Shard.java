@@ -25,11 +25,15 @@ import com.google.common.base.Verify;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Range;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -82,7 +86,9 @@ import org.opendaylight.controller.cluster.datastore.messages.RegisterChangeList
 import org.opendaylight.controller.cluster.datastore.messages.RegisterDataTreeChangeListener;
 import org.opendaylight.controller.cluster.datastore.messages.ShardLeaderStateChanged;
 import org.opendaylight.controller.cluster.datastore.messages.UpdateSchemaContext;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeStreamVersion;
 import org.opendaylight.controller.cluster.datastore.persisted.AbortTransactionPayload;
+import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionBatchPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.DatastoreSnapshot;
 import org.opendaylight.controller.cluster.datastore.persisted.DatastoreSnapshot.ShardSnapshot;
 import org.opendaylight.controller.cluster.messaging.MessageAssembler;
@@ -190,6 +196,12 @@ public class Shard extends RaftActor {
 
     private final ShardTransactionMessageRetrySupport messageRetrySupport;
 
+    private final FollowerReadSupport followerReadSupport;
+
+    // Executor running parallel validations of pending transactions, sized to parallelValidationWindow
+    private ThreadPoolExecutor parallelValidationExecutor;
+    private int parallelValidationWindow;
+
     private final FrontendMetadata frontendMetadata;
     private Map<FrontendIdentifier, LeaderFrontendState> knownFrontends = ImmutableMap.of();
     private boolean paused;
@@ -234,6 +246,8 @@ public class Shard extends RaftActor {
         commitCoordinator = new ShardCommitCoordinator(store, LOG, this.name);
 
         setTransactionCommitTimeout();
+        setTransactionBatchTimeBudget();
+        setParallelValidation();
 
         // create a notifier actor for each cluster member
         roleChangeNotifier = createRoleChangeNotifier(name);
@@ -251,6 +265,8 @@ public class Shard extends RaftActor {
 
         messageRetrySupport = new ShardTransactionMessageRetrySupport(this);
 
+        followerReadSupport = new FollowerReadSupport(this);
+
         responseMessageSlicer = MessageSlicer.builder().logContext(this.name)
                 .messageSliceSize(datastoreContext.getMaximumMessageSliceSize())
                 .fileBackedStreamFactory(getRaftActorContext().getFileBackedOutputStreamFactory())
@@ -271,6 +287,38 @@ public class Shard extends RaftActor {
                 datastoreContext.getShardTransactionCommitTimeoutInSeconds(), TimeUnit.SECONDS) / 2;
     }
 
+    private void setTransactionBatchTimeBudget() {
+        store.setTransactionBatchTimeBudget(datastoreContext.getTransactionBatchTimeBudgetInMicros(),
+            TimeUnit.MICROSECONDS);
+    }
+
+    private void setParallelValidation() {
+        final int window = datastoreContext.getParallelValidationWindow();
+        if (window != parallelValidationWindow) {
+            shutdownParallelValidationExecutor();
+            if (window != 0) {
+                // At most one validation per transaction in the window is outstanding at any time, hence the queue
+                // never needs to hold more than the window. Idle threads are reclaimed.
+                final int threads = Math.min(window, Runtime.getRuntime().availableProcessors());
+                parallelValidationExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(window), new ThreadFactoryBuilder().setDaemon(true)
+                        .setNameFormat("shard-validation-" + name + "-%d").build());
+                parallelValidationExecutor.allowCoreThreadTimeOut(true);
+            }
+            parallelValidationWindow = window;
+        }
+
+        store.setParallelValidation(window, parallelValidationExecutor);
+    }
+
+    private void shutdownParallelValidationExecutor() {
+        if (parallelValidationExecutor != null) {
+            // Validations already submitted complete normally, the data tree picks up their results
+            parallelValidationExecutor.shutdown();
+            parallelValidationExecutor = null;
+        }
+    }
+
     private Optional<ActorRef> createRoleChangeNotifier(final String shardId) {
         ActorRef shardRoleChangeNotifier = this.getContext().actorOf(
             RoleChangeNotifier.getProps(shardId), shardId + "-notifier");
@@ -285,12 +333,16 @@ public class Shard extends RaftActor {
 
         messageRetrySupport.close();
 
+        followerReadSupport.close();
+
         if (txCommitTimeoutCheckSchedule != null) {
             txCommitTimeoutCheckSchedule.cancel();
         }
 
         commitCoordinator.abortPendingTransactions("Transaction aborted due to shutdown.", this);
 
+        shutdownParallelValidationExecutor();
+
         shardMBean.unregisterMBean();
         listenerInfoMXBean.unregister();
     }
@@ -365,6 +417,8 @@ public class Shard extends RaftActor {
                 context().parent().forward(message, context());
             } else if (ShardTransactionMessageRetrySupport.TIMER_MESSAGE_CLASS.isInstance(message)) {
                 messageRetrySupport.onTimerMessage(message);
+            } else if (followerReadSupport.handleMessage(message)) {
+                // Handled
             } else if (message instanceof DataTreeCohortActorRegistry.CohortRegistryCommand) {
                 store.processCohortRegistryCommand(getSender(),
                         (DataTreeCohortActorRegistry.CohortRegistryCommand) message);
@@ -606,11 +660,46 @@ public class Shard extends RaftActor {
 
         setTransactionCommitTimeout();
 
+        setTransactionBatchTimeBudget();
+
+        setParallelValidation();
+
         setPersistence(datastoreContext.isPersistent());
 
         updateConfigParams(datastoreContext.getShardRaftConfig());
     }
 
+    /**
+     * Check whether commits can be replicated as {@link CommitTransactionBatchPayload}s, which followers running
+     * a version older than {@link DataStoreVersions#OXYGEN_VERSION} cannot apply.
+     *
+     * @return true if all followers can apply batched commits
+     */
+    boolean canReplicateCommitBatches() {
+        return followersSupportPayloadVersion(DataStoreVersions.OXYGEN_VERSION);
+    }
+
+    /**
+     * Check whether commit payloads and snapshots can be encoded using
+     * {@link NormalizedNodeStreamVersion#FLUORINE}, which followers running a version older than
+     * {@link DataStoreVersions#OXYGEN_VERSION} cannot decode.
+     *
+     * @return True if all followers can decode FLUORINE streams
+     */
+    boolean canReplicateFluorineStreams() {
+        return followersSupportPayloadVersion(DataStoreVersions.OXYGEN_VERSION);
+    }
+
+    /**
+     * Check whether the current leader can provide a read index. Leaders running a version older than
+     * {@link DataStoreVersions#OXYGEN_VERSION} never answer GetReadIndex.
+     *
+     * @return True if the leader's payload version indicates it supports GetReadIndex
+     */
+    boolean leaderSupportsReadIndex() {
+        return getCurrentBehavior().getLeaderPayloadVersion() >= DataStoreVersions.OXYGEN_VERSION;
+    }
+
     // applyState() will be invoked once consensus is reached on the payload
     void persistPayload(final Identifier id, final Payload payload, final boolean batchHint) {
         boolean canSkipPayload = !hasFollowers() && !persistence().isRecoveryApplicable();
@@ -622,6 +711,11 @@ public class Shard extends RaftActor {
         }
     }
 
+    @Override
+    protected void onDataPersisted(final Identifier identifier, final Payload data) {
+        store.payloadPersisted(identifier, data);
+    }
+
     private void handleCommitTransaction(final CommitTransaction commit) {
         if (isLeader()) {
             commitCoordinator.handleCommit(commit.getTransactionId(), getSender(), this);
@@ -779,8 +873,16 @@ public class Shard extends RaftActor {
 
     private void handleCreateTransaction(final Object message) {
         if (isLeader()) {
-            createTransaction(CreateTransaction.fromSerializable(message));
+            createTransaction(CreateTransaction.fromSerializable(message), getSender());
         } else if (getLeader() != null) {
+            if (datastoreContext.isFollowerReadsEnabled()) {
+                final CreateTransaction createTransaction = CreateTransaction.fromSerializable(message);
+                if (TransactionType.fromInt(createTransaction.getTransactionType()) == TransactionType.READ_ONLY) {
+                    followerReadSupport.addRead(message, createTransaction, getSender());
+                    return;
+                }
+            }
+
             getLeader().forward(message, getContext());
         } else {
             getSender().tell(new Failure(new NoShardLeaderException(
@@ -795,20 +897,20 @@ public class Shard extends RaftActor {
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
-    private void createTransaction(final CreateTransaction createTransaction) {
+    void createTransaction(final CreateTransaction createTransaction, final ActorRef sender) {
         try {
             if (TransactionType.fromInt(createTransaction.getTransactionType()) != TransactionType.READ_ONLY
-                    && failIfIsolatedLeader(getSender())) {
+                    && failIfIsolatedLeader(sender)) {
                 return;
             }
 
             ActorRef transactionActor = createTransaction(createTransaction.getTransactionType(),
                 createTransaction.getTransactionId());
 
-            getSender().tell(new CreateTransactionReply(Serialization.serializedActorPath(transactionActor),
+            sender.tell(new CreateTransactionReply(Serialization.serializedActorPath(transactionActor),
                     createTransaction.getTransactionId(), createTransaction.getVersion()).toSerializable(), getSelf());
         } catch (Exception e) {
-            getSender().tell(new Failure(e), getSelf());
+            sender.tell(new Failure(e), getSelf());
         }
     }
 
@@ -842,10 +944,11 @@ public class Shard extends RaftActor {
     @Nonnull
     protected RaftActorRecoveryCohort getRaftActorRecoveryCohort() {
         if (restoreFromSnapshot == null) {
-            return ShardRecoveryCoordinator.create(store, persistenceId(), LOG);
+            return ShardRecoveryCoordinator.create(store, persistenceId(), LOG, ForkJoinPool.commonPool());
         }
 
-        return ShardRecoveryCoordinator.forSnapshot(store, persistenceId(), LOG, restoreFromSnapshot.getSnapshot());
+        return ShardRecoveryCoordinator.forSnapshot(store, persistenceId(), LOG, ForkJoinPool.commonPool(),
+            restoreFromSnapshot.getSnapshot());
     }
 
     @Override
@@ -868,6 +971,8 @@ public class Shard extends RaftActor {
 
     @Override
     protected void applyState(final ActorRef clientActor, final Identifier identifier, final Object data) {
+        store.resetTransactionBatch();
+
         if (data instanceof Payload) {
             try {
                 store.applyReplicatedPayload(identifier, (Payload)data);
@@ -877,6 +982,8 @@ public class Shard extends RaftActor {
         } else {
             LOG.error("{}: Unknown state for {} received {}", persistenceId(), identifier, data);
         }
+
+        followerReadSupport.onApplied(getLastApplied());
     }
 
     @Override
@@ -1009,6 +1116,10 @@ public class Shard extends RaftActor {
         return store;
     }
 
+    long getLastApplied() {
+        return getRaftActorContext().getLastApplied();
+    }
+
     @VisibleForTesting
     ShardStats getShardMBean() {
         return shardMBean;
@@ -233,6 +233,7 @@ final class ShardCommitCoordinator {
     }
 
     private void handleCanCommit(final CohortEntry cohortEntry) {
+        cohortEntry.setCanCommitTicks(dataTree.readTime());
         cohortEntry.canCommit(new FutureCallback<Void>() {
             @Override
             public void onSuccess(final Void result) {
@@ -321,7 +322,8 @@ final class ShardCommitCoordinator {
                 cohortEntry.getShard().getDataStore().purgeTransaction(txId, null);
 
                 cohortCache.remove(cohortEntry.getTransactionId());
-                sender.tell(CommitTransactionReply.instance(cohortEntry.getClientVersion()).toSerializable(),
+                sender.tell(new CommitTransactionReply(cohortEntry.getClientVersion(), dataTree.getQueueSize(),
+                    dataTree.readTime() - cohortEntry.getCanCommitTicks()).toSerializable(),
                     cohortEntry.getShard().self());
             }
 
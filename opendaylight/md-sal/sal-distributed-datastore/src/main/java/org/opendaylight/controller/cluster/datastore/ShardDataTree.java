@@ -28,10 +28,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
@@ -44,10 +48,13 @@ import org.opendaylight.controller.cluster.access.concepts.LocalHistoryIdentifie
 import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.DataTreeCohortActorRegistry.CohortRegistryCommand;
 import org.opendaylight.controller.cluster.datastore.ShardDataTreeCohort.State;
+import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.CommitStage;
 import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardStats;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeStreamVersion;
 import org.opendaylight.controller.cluster.datastore.persisted.AbortTransactionPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.AbstractIdentifiablePayload;
 import org.opendaylight.controller.cluster.datastore.persisted.CloseLocalHistoryPayload;
+import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionBatchPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.CreateLocalHistoryPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.MetadataShardDataTreeSnapshot;
@@ -66,6 +73,9 @@ import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
 import org.opendaylight.yangtools.concepts.Identifier;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.ConflictingModificationAppliedException;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
@@ -78,6 +88,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeTip;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.slf4j.Logger;
@@ -98,23 +109,50 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         final SimpleShardDataTreeCohort cohort;
         long lastAccess;
 
+        // Parallel validation state, see startParallelValidation()
+        ModificationFootprint footprint;
+        CompletableFuture<Exception> validation;
+        long validationGeneration;
+        boolean validationResumeScheduled;
+
         CommitEntry(final SimpleShardDataTreeCohort cohort, final long now) {
             this.cohort = Preconditions.checkNotNull(cohort);
             lastAccess = now;
         }
+
+        ModificationFootprint footprint(final SchemaContext schemaContext) {
+            if (footprint == null) {
+                footprint = ModificationFootprint.of(cohort.getDataTreeModification(), schemaContext,
+                    MAX_FOOTPRINT_PATHS);
+            }
+            return footprint;
+        }
     }
 
     private static final Timeout COMMIT_STEP_TIMEOUT = new Timeout(Duration.create(5, TimeUnit.SECONDS));
     private static final Logger LOG = LoggerFactory.getLogger(ShardDataTree.class);
 
     /**
-     * Process this many transactions in a single batched run. If we exceed this limit, we need to schedule later
-     * execution to finish up the batch. This is necessary in case of a long list of transactions which progress
-     * immediately through their preCommit phase -- if that happens, their completion eats up stack frames and could
-     * result in StackOverflowError.
+     * Process at most this many transactions in a single batched run, even if the time budget has not been exhausted.
+     * If we exceed this limit, we need to schedule later execution to finish up the batch. This is necessary in case
+     * of a long list of transactions which progress immediately through their preCommit phase -- if that happens,
+     * their completion eats up stack frames and could result in StackOverflowError.
      */
     private static final int MAX_TRANSACTION_BATCH = 100;
 
+    /**
+     * Maximum size of commit payloads aggregated into a single journal entry. Once the accumulated size reaches this
+     * limit, the batch is handed off to persistence and a new one is started. This is kept well below the default
+     * AppendEntries data size, so that a batch does not need to be sliced during replication.
+     */
+    private static final int MAX_COMMIT_BATCH_BYTES = 512 * 1024;
+
+    /**
+     * Maximum number of paths tracked in a {@link ModificationFootprint}. Transactions touching more paths than this
+     * are not validated in parallel and also prevent parallel validation of any transactions queued behind them.
+     */
+    private static final int MAX_FOOTPRINT_PATHS = 64;
+
     private final Map<LocalHistoryIdentifier, ShardDataTreeTransactionChain> transactionChains = new HashMap<>();
     private final DataTreeCohortActorRegistry cohortRegistry = new DataTreeCohortActorRegistry();
     private final Queue<CommitEntry> pendingTransactions = new ArrayDeque<>();
@@ -126,6 +164,14 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
      */
     private final Map<Payload, Runnable> replicationCallbacks = new HashMap<>();
 
+    /**
+     * Commit payloads of transactions which have entered the commit phase, but have not been handed off to persistence
+     * yet. Consecutive COMMIT_PENDING transactions are accumulated here and persisted as a single journal entry.
+     */
+    private final List<CommitTransactionPayload> commitBatch = new ArrayList<>();
+    private TransactionIdentifier commitBatchId;
+    private int commitBatchBytes;
+
     private final ShardDataTreeChangeListenerPublisher treeChangeListenerPublisher;
     private final ShardDataChangeListenerPublisher dataChangeListenerPublisher;
     private final Collection<ShardDataTreeMetadata<?>> metadata;
@@ -144,7 +190,29 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
 
     private SchemaContext schemaContext;
 
+    /**
+     * Amount of time we are allowed to spend processing transactions in a single batched run, see
+     * {@link DatastoreContext#getTransactionBatchTimeBudgetInMicros()}. Unlimited until set by the shard.
+     */
+    private long transactionBatchTimeBudgetNanos = Long.MAX_VALUE;
+
+    /**
+     * Maximum number of transactions queued behind the head of {@link #pendingTransactions} which are validated in
+     * parallel, see {@link DatastoreContext#getParallelValidationWindow()}. Disabled until set by the shard.
+     */
+    private int parallelValidationWindow;
+    private Executor parallelValidationExecutor;
+
+    /**
+     * Incremented whenever {@link #tip} is moved other than by preparing the head of {@link #pendingTransactions}.
+     * This invalidates results of parallel validations started before that happened.
+     */
+    private long tipGeneration;
+
     private int currentTransactionBatch;
+    private int currentTransactionDepth;
+    private long currentTransactionBatchStart;
+    private boolean currentTransactionBatchYielded;
 
     ShardDataTree(final Shard shard, final SchemaContext schemaContext, final DataTree dataTree,
             final ShardDataTreeChangeListenerPublisher treeChangeListenerPublisher,
@@ -205,10 +273,69 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
     void updateSchemaContext(final SchemaContext newSchemaContext) {
         dataTree.setSchemaContext(newSchemaContext);
         this.schemaContext = Preconditions.checkNotNull(newSchemaContext);
+
+        // Footprints depend on the constraints defined in the schema
+        for (CommitEntry entry : pendingTransactions) {
+            entry.footprint = null;
+        }
+    }
+
+    void setTransactionBatchTimeBudget(final long budget, final TimeUnit unit) {
+        transactionBatchTimeBudgetNanos = unit.toNanos(budget);
+    }
+
+    /**
+     * Set how many pending transactions beyond the head of the queue may be validated ahead of time on specified
+     * executor. A window of 0 disables parallel validation.
+     *
+     * @param window number of transactions to validate ahead of time
+     * @param executor executor to run validations on, may be null if the window is 0
+     */
+    void setParallelValidation(final int window, @Nullable final Executor executor) {
+        Preconditions.checkArgument(window >= 0);
+        Preconditions.checkArgument(window == 0 || executor != null, "Executor is required for window %s", window);
+        parallelValidationWindow = window;
+        parallelValidationExecutor = executor;
     }
 
+    /**
+     * Finish the current transaction batch, if there is one. This method is invoked at the start of each message
+     * processed by the shard. It has no effect if we are being called from within transaction processing, as that
+     * would defeat {@link #MAX_TRANSACTION_BATCH}.
+     */
     void resetTransactionBatch() {
-        currentTransactionBatch = 0;
+        if (currentTransactionBatch != 0 && currentTransactionDepth == 0) {
+            getStats().recordTransactionBatch(currentTransactionBatch);
+            currentTransactionBatch = 0;
+            currentTransactionBatchYielded = false;
+        }
+    }
+
+    /**
+     * Check whether the current transaction batch should yield to other messages in the shard's mailbox. This is the
+     * case when either the batch has taken up its time budget, or it has reached {@link #MAX_TRANSACTION_BATCH}. When
+     * yielding, continuation of the batch is scheduled exactly once.
+     *
+     * @return True if the caller should stop processing transactions.
+     */
+    private boolean yieldTransactionBatch() {
+        if (currentTransactionBatchYielded) {
+            return true;
+        }
+
+        if (currentTransactionBatch == 0) {
+            currentTransactionBatchStart = readTime();
+        } else if (currentTransactionBatch >= MAX_TRANSACTION_BATCH
+                || readTime() - currentTransactionBatchStart >= transactionBatchTimeBudgetNanos) {
+            LOG.debug("{}: Already processed {}, scheduling continuation", logContext, currentTransactionBatch);
+            currentTransactionBatchYielded = true;
+            getStats().incrementTransactionBatchYieldCount();
+            shard.scheduleNextPendingTransaction();
+            return true;
+        }
+
+        ++currentTransactionBatch;
+        return false;
     }
 
     /**
@@ -228,7 +355,12 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
             }
         }
 
-        return new MetadataShardDataTreeSnapshot(rootNode, metaBuilder.build());
+        return new MetadataShardDataTreeSnapshot(rootNode, metaBuilder.build(), streamVersion());
+    }
+
+    private NormalizedNodeStreamVersion streamVersion() {
+        return shard.canReplicateFluorineStreams() ? NormalizedNodeStreamVersion.FLUORINE
+                : NormalizedNodeStreamVersion.LITHIUM;
     }
 
     private boolean anyPendingTransactions() {
@@ -266,7 +398,7 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         final java.util.Optional<NormalizedNode<?, ?>> maybeNode = snapshot.getRootNode();
         if (maybeNode.isPresent()) {
             // Add everything from the remote node back
-            mod.write(YangInstanceIdentifier.EMPTY, maybeNode.get());
+            writeSnapshotRoot(mod, maybeNode.get());
         }
         mod.ready();
 
@@ -290,6 +422,22 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         applySnapshot(snapshot, UnaryOperator.identity());
     }
 
+    private static void writeSnapshotRoot(final DataTreeModification mod, final NormalizedNode<?, ?> root) {
+        if (mod instanceof PruningDataTreeModification && root instanceof ContainerNode) {
+            // A pruning modification copies any node written to the root in its entirety. Write an empty root and
+            // then its children one by one, so that only the subtrees which do not match our SchemaContext get
+            // copied and we do not end up holding two instances of a potentially huge tree.
+            final ContainerNode container = (ContainerNode) root;
+            mod.write(YangInstanceIdentifier.EMPTY, ImmutableContainerNodeBuilder.create()
+                .withNodeIdentifier(container.getIdentifier()).build());
+            for (DataContainerChild<? extends PathArgument, ?> child : container.getValue()) {
+                mod.write(YangInstanceIdentifier.create(child.getIdentifier()), child);
+            }
+        } else {
+            mod.write(YangInstanceIdentifier.EMPTY, root);
+        }
+    }
+
     private PruningDataTreeModification wrapWithPruning(final DataTreeModification delegate) {
         return new PruningDataTreeModification(delegate, dataTree, schemaContext);
     }
@@ -312,55 +460,95 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         applySnapshot(snapshot, this::wrapWithPruning);
     }
 
-    @SuppressWarnings("checkstyle:IllegalCatch")
-    private void applyRecoveryCandidate(final DataTreeCandidate candidate) throws DataValidationFailedException {
-        final PruningDataTreeModification mod = wrapWithPruning(dataTree.takeSnapshot().newModification());
-        DataTreeCandidates.applyToModification(mod, candidate);
-        mod.ready();
+    /**
+     * A batch of payloads coming from recovery. Data tree changes of all committed transactions are folded into a
+     * single modification, which is committed when the batch is applied. Metadata updates are performed immediately,
+     * in the order of the corresponding payloads.
+     */
+    final class RecoveryBatch {
+        private final PruningDataTreeModification mod = wrapWithPruning(dataTree.takeSnapshot().newModification());
+        private int transactions;
 
-        final DataTreeModification unwrapped = mod.delegate();
-        LOG.trace("{}: Applying recovery modification {}", logContext, unwrapped);
+        private RecoveryBatch() {
+            // Hidden on purpose
+        }
 
-        try {
-            dataTree.validate(unwrapped);
-            dataTree.commit(dataTree.prepare(unwrapped));
-        } catch (Exception e) {
-            File file = new File(System.getProperty("karaf.data", "."),
-                    "failed-recovery-payload-" + logContext + ".out");
-            DataTreeModificationOutput.toFile(file, unwrapped);
-            throw new IllegalStateException(String.format(
-                    "%s: Failed to apply recovery payload. Modification data was written to file %s",
-                    logContext, file), e);
+        /**
+         * Append a committed transaction, whose candidate has already been decoded.
+         *
+         * @param txId Transaction identifier
+         * @param candidate Transaction candidate
+         */
+        void appendCommitted(final TransactionIdentifier txId, final DataTreeCandidate candidate) {
+            DataTreeCandidates.applyToModification(mod, candidate);
+            allMetadataCommittedTransaction(txId);
+            transactions++;
+        }
+
+        /**
+         * Append a payload which does not carry a {@link DataTreeCandidate}.
+         *
+         * @param payload Payload
+         * @throws IllegalArgumentException if the payload is a {@link CommitTransactionPayload} or a
+         *                                  {@link CommitTransactionBatchPayload}
+         */
+        void appendPayload(@Nonnull final Payload payload) {
+            Preconditions.checkArgument(!(payload instanceof CommitTransactionPayload)
+                && !(payload instanceof CommitTransactionBatchPayload), "Unexpected payload %s", payload);
+
+            if (payload instanceof AbortTransactionPayload) {
+                allMetadataAbortedTransaction(((AbortTransactionPayload) payload).getIdentifier());
+            } else if (payload instanceof PurgeTransactionPayload) {
+                allMetadataPurgedTransaction(((PurgeTransactionPayload) payload).getIdentifier());
+            } else if (payload instanceof CreateLocalHistoryPayload) {
+                allMetadataCreatedLocalHistory(((CreateLocalHistoryPayload) payload).getIdentifier());
+            } else if (payload instanceof CloseLocalHistoryPayload) {
+                allMetadataClosedLocalHistory(((CloseLocalHistoryPayload) payload).getIdentifier());
+            } else if (payload instanceof PurgeLocalHistoryPayload) {
+                allMetadataPurgedLocalHistory(((PurgeLocalHistoryPayload) payload).getIdentifier());
+            } else {
+                LOG.debug("{}: ignoring unhandled payload {}", logContext, payload);
+            }
+        }
+
+        /**
+         * Apply all appended transactions to the data tree in a single commit.
+         *
+         * @throws IllegalStateException if the combined modification fails to apply
+         */
+        @SuppressWarnings("checkstyle:IllegalCatch")
+        void apply() {
+            if (transactions == 0) {
+                return;
+            }
+
+            mod.ready();
+            final DataTreeModification unwrapped = mod.delegate();
+            LOG.trace("{}: Applying recovery modification of {} transactions {}", logContext, transactions,
+                unwrapped);
+
+            try {
+                dataTree.validate(unwrapped);
+                dataTree.commit(dataTree.prepare(unwrapped));
+            } catch (Exception e) {
+                File file = new File(System.getProperty("karaf.data", "."),
+                        "failed-recovery-payload-" + logContext + ".out");
+                DataTreeModificationOutput.toFile(file, unwrapped);
+                throw new IllegalStateException(String.format(
+                        "%s: Failed to apply recovery payload. Modification data was written to file %s",
+                        logContext, file), e);
+            }
         }
     }
 
     /**
-     * Apply a payload coming from recovery. This method does not assume the SchemaContexts match and performs data
-     * pruning in an attempt to adjust the state to our current SchemaContext.
+     * Start a batch of payloads coming from recovery. This method does not assume the SchemaContexts match and
+     * performs data pruning in an attempt to adjust the state to our current SchemaContext.
      *
-     * @param payload Payload
-     * @throws IOException when the snapshot fails to deserialize
-     * @throws DataValidationFailedException when the snapshot fails to apply
+     * @return A new recovery batch
      */
-    void applyRecoveryPayload(@Nonnull final Payload payload) throws IOException, DataValidationFailedException {
-        if (payload instanceof CommitTransactionPayload) {
-            final Entry<TransactionIdentifier, DataTreeCandidate> e =
-                    ((CommitTransactionPayload) payload).getCandidate();
-            applyRecoveryCandidate(e.getValue());
-            allMetadataCommittedTransaction(e.getKey());
-        } else if (payload instanceof AbortTransactionPayload) {
-            allMetadataAbortedTransaction(((AbortTransactionPayload) payload).getIdentifier());
-        } else if (payload instanceof PurgeTransactionPayload) {
-            allMetadataPurgedTransaction(((PurgeTransactionPayload) payload).getIdentifier());
-        } else if (payload instanceof CreateLocalHistoryPayload) {
-            allMetadataCreatedLocalHistory(((CreateLocalHistoryPayload) payload).getIdentifier());
-        } else if (payload instanceof CloseLocalHistoryPayload) {
-            allMetadataClosedLocalHistory(((CloseLocalHistoryPayload) payload).getIdentifier());
-        } else if (payload instanceof PurgeLocalHistoryPayload) {
-            allMetadataPurgedLocalHistory(((PurgeLocalHistoryPayload) payload).getIdentifier());
-        } else {
-            LOG.debug("{}: ignoring unhandled payload {}", logContext, payload);
-        }
+    RecoveryBatch startRecoveryBatch() {
+        return new RecoveryBatch();
     }
 
     private void applyReplicatedCandidate(final Identifier identifier, final DataTreeCandidate foreign)
@@ -414,6 +602,17 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
                 payloadReplicationComplete(txId);
             }
             allMetadataCommittedTransaction(txId);
+        } else if (payload instanceof CommitTransactionBatchPayload) {
+            final CommitTransactionBatchPayload batch = (CommitTransactionBatchPayload) payload;
+            if (identifier == null) {
+                for (CommitTransactionPayload committed : batch.getPayloads()) {
+                    final Entry<TransactionIdentifier, DataTreeCandidate> e = committed.getCandidate();
+                    applyReplicatedCandidate(e.getKey(), e.getValue());
+                    allMetadataCommittedTransaction(e.getKey());
+                }
+            } else {
+                payloadReplicationComplete(batch);
+            }
         } else if (payload instanceof AbortTransactionPayload) {
             if (identifier != null) {
                 payloadReplicationComplete((AbortTransactionPayload) payload);
@@ -445,6 +644,9 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
     }
 
     private void replicatePayload(final Identifier id, final Payload payload, @Nullable final Runnable callback) {
+        // Do not reorder this payload with respect to any commits we have not persisted yet
+        flushCommitBatch(true);
+
         if (callback != null) {
             replicationCallbacks.put(payload, callback);
         }
@@ -462,19 +664,80 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
     }
 
     private void payloadReplicationComplete(final TransactionIdentifier txId) {
+        if (finishReplicatedCommit(txId)) {
+            processNextPending();
+        }
+    }
+
+    private void payloadReplicationComplete(final CommitTransactionBatchPayload batch) throws IOException {
+        // Finish all transactions in the batch before processing any further pending transactions, as that could
+        // result in another batch being replicated while we are still holding the head of pendingFinishCommits.
+        boolean finished = false;
+        for (CommitTransactionPayload committed : batch.getPayloads()) {
+            final TransactionIdentifier txId = committed.getIdentifier();
+            finished |= finishReplicatedCommit(txId);
+            allMetadataCommittedTransaction(txId);
+        }
+
+        if (finished) {
+            processNextPending();
+        }
+    }
+
+    private boolean finishReplicatedCommit(final TransactionIdentifier txId) {
         final CommitEntry current = pendingFinishCommits.peek();
         if (current == null) {
             LOG.warn("{}: No outstanding transactions, ignoring consensus on transaction {}", logContext, txId);
-            return;
+            return false;
         }
 
         if (!current.cohort.getIdentifier().equals(txId)) {
             LOG.debug("{}: Head of pendingFinishCommits queue is {}, ignoring consensus on transaction {}", logContext,
                 current.cohort.getIdentifier(), txId);
-            return;
+            return false;
         }
 
+        recordCommitStage(CommitStage.CONSENSUS, current.lastAccess);
         finishCommit(current.cohort);
+        return true;
+    }
+
+    /**
+     * Invoked when a payload handed to {@link Shard#persistPayload(Identifier, Payload, boolean)} has been written to
+     * the local journal, before consensus on it has been reached. Records the persistence latency of the transactions
+     * carried by commit payloads.
+     *
+     * @param identifier payload identifier, which is the first transaction in case of a batch
+     * @param payload persisted payload
+     */
+    void payloadPersisted(final Identifier identifier, final Payload payload) {
+        int remaining;
+        if (payload instanceof CommitTransactionPayload) {
+            remaining = 1;
+        } else if (payload instanceof CommitTransactionBatchPayload) {
+            remaining = ((CommitTransactionBatchPayload) payload).getPayloads().size();
+        } else {
+            return;
+        }
+
+        // Transactions are batched in the order they are queued in pendingFinishCommits, hence a batch corresponds to
+        // consecutive entries starting with the one matching the identifier. This saves us from decoding identifiers.
+        final long now = readTime();
+        boolean found = false;
+        for (CommitEntry entry : pendingFinishCommits) {
+            if (!found) {
+                if (!identifier.equals(entry.cohort.getIdentifier())) {
+                    continue;
+                }
+                found = true;
+            }
+
+            getStats().recordCommitStageLatency(CommitStage.PERSISTENCE, now - entry.lastAccess);
+            entry.lastAccess = now;
+            if (--remaining == 0) {
+                break;
+            }
+        }
     }
 
     private void allMetadataAbortedTransaction(final TransactionIdentifier txId) {
@@ -702,6 +965,7 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         pendingCommits.clear();
         pendingTransactions.clear();
         tip = dataTree;
+        tipGeneration++;
         return ret;
     }
 
@@ -713,48 +977,161 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         processNextPending();
     }
 
-    @SuppressWarnings("checkstyle:IllegalCatch")
     private void processNextPendingTransaction() {
-        ++currentTransactionBatch;
-        if (currentTransactionBatch > MAX_TRANSACTION_BATCH) {
-            LOG.debug("{}: Already processed {}, scheduling continuation", logContext, currentTransactionBatch);
-            shard.scheduleNextPendingTransaction();
+        if (yieldTransactionBatch()) {
             return;
         }
 
+        ++currentTransactionDepth;
+        try {
+            validateNextPendingTransaction();
+        } finally {
+            --currentTransactionDepth;
+        }
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void validateNextPendingTransaction() {
         processNextPending(pendingTransactions, State.CAN_COMMIT_PENDING, entry -> {
             final SimpleShardDataTreeCohort cohort = entry.cohort;
-            final DataTreeModification modification = cohort.getDataTreeModification();
-
-            LOG.debug("{}: Validating transaction {}", logContext, cohort.getIdentifier());
-            Exception cause;
-            try {
-                tip.validate(modification);
-                LOG.debug("{}: Transaction {} validated", logContext, cohort.getIdentifier());
-                cohort.successfulCanCommit();
-                entry.lastAccess = readTime();
+            final CompletableFuture<Exception> validation = entry.validation;
+            if (validation != null && !validation.isDone()) {
+                awaitParallelValidation(entry, validation);
                 return;
-            } catch (ConflictingModificationAppliedException e) {
-                LOG.warn("{}: Store Tx {}: Conflicting modification for path {}.", logContext, cohort.getIdentifier(),
-                    e.getPath());
-                cause = new OptimisticLockFailedException("Optimistic lock failed.", e);
-            } catch (DataValidationFailedException e) {
-                LOG.warn("{}: Store Tx {}: Data validation failed for path {}.", logContext, cohort.getIdentifier(),
-                    e.getPath(), e);
-
-                // For debugging purposes, allow dumping of the modification. Coupled with the above
-                // precondition log, it should allow us to understand what went on.
-                LOG.debug("{}: Store Tx {}: modifications: {} tree: {}", cohort.getIdentifier(), modification,
-                        dataTree);
-                cause = new TransactionCommitFailedException("Data did not pass validation.", e);
-            } catch (Exception e) {
-                LOG.warn("{}: Unexpected failure in validation phase", logContext, e);
-                cause = e;
+            }
+
+            Exception cause = validation == null ? validateTransaction(tip, cohort)
+                    : parallelValidationResult(entry, validation);
+            if (cause == null) {
+                try {
+                    cohort.successfulCanCommit();
+                    entry.lastAccess = recordCommitStage(CommitStage.CAN_COMMIT, entry.lastAccess);
+                    return;
+                } catch (Exception e) {
+                    LOG.warn("{}: Unexpected failure in validation phase", logContext, e);
+                    cause = e;
+                }
             }
 
             // Failure path: propagate the failure, remove the transaction from the queue and loop to the next one
             pendingTransactions.poll().cohort.failedCanCommit(cause);
         });
+
+        startParallelValidation();
+    }
+
+    /**
+     * Validate a transaction against specified tip. This method may be invoked concurrently with the shard, hence it
+     * must not access any mutable state.
+     *
+     * @return Null if the transaction validated successfully, otherwise the failure cause
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private Exception validateTransaction(final DataTreeTip validationTip, final SimpleShardDataTreeCohort cohort) {
+        final DataTreeModification modification = cohort.getDataTreeModification();
+
+        LOG.debug("{}: Validating transaction {}", logContext, cohort.getIdentifier());
+        try {
+            validationTip.validate(modification);
+            LOG.debug("{}: Transaction {} validated", logContext, cohort.getIdentifier());
+            return null;
+        } catch (ConflictingModificationAppliedException e) {
+            LOG.warn("{}: Store Tx {}: Conflicting modification for path {}.", logContext, cohort.getIdentifier(),
+                e.getPath());
+            return new OptimisticLockFailedException("Optimistic lock failed.", e);
+        } catch (DataValidationFailedException e) {
+            LOG.warn("{}: Store Tx {}: Data validation failed for path {}.", logContext, cohort.getIdentifier(),
+                e.getPath(), e);
+
+            // For debugging purposes, allow dumping of the modification. Coupled with the above
+            // precondition log, it should allow us to understand what went on.
+            LOG.debug("{}: Store Tx {}: modifications: {} tree: {}", cohort.getIdentifier(), modification,
+                    dataTree);
+            return new TransactionCommitFailedException("Data did not pass validation.", e);
+        } catch (Exception e) {
+            LOG.warn("{}: Unexpected failure in validation phase", logContext, e);
+            return e;
+        }
+    }
+
+    private Exception parallelValidationResult(final CommitEntry entry, final CompletableFuture<Exception> validation) {
+        entry.validation = null;
+        if (entry.validationGeneration != tipGeneration) {
+            LOG.debug("{}: Discarding stale parallel validation of transaction {}", logContext,
+                entry.cohort.getIdentifier());
+            return validateTransaction(tip, entry.cohort);
+        }
+
+        LOG.debug("{}: Using parallel validation of transaction {}", logContext, entry.cohort.getIdentifier());
+        return validation.join();
+    }
+
+    private void awaitParallelValidation(final CommitEntry entry, final CompletableFuture<Exception> validation) {
+        // The worker owns the modification until it completes, hence we cannot validate it here. Pick the transaction
+        // up again once the worker is done.
+        if (!entry.validationResumeScheduled) {
+            LOG.debug("{}: Transaction {} is being validated in parallel, deferring", logContext,
+                entry.cohort.getIdentifier());
+            entry.validationResumeScheduled = true;
+            validation.whenComplete((result, failure) -> shard.scheduleNextPendingTransaction());
+        }
+    }
+
+    /**
+     * Start parallel validation of transactions queued behind the head of {@link #pendingTransactions}. A transaction
+     * validated against the current tip yields the same result as when validated against the tip it will see when it
+     * reaches the head of the queue, as long as it does not touch any path touched by the transactions ahead of it,
+     * which may get prepared in the meantime. We therefore reserve paths of all transactions in the window and only
+     * validate those which do not overlap with any reservations made by transactions ahead of them.
+     */
+    private void startParallelValidation() {
+        if (parallelValidationWindow == 0 || pendingTransactions.size() < 2) {
+            return;
+        }
+
+        final List<ModificationFootprint> reserved = new ArrayList<>();
+        final Iterator<CommitEntry> it = pendingTransactions.iterator();
+        int remaining = parallelValidationWindow + 1;
+        while (remaining-- > 0 && it.hasNext()) {
+            final CommitEntry entry = it.next();
+            final SimpleShardDataTreeCohort cohort = entry.cohort;
+            if (cohort.isFailed()) {
+                continue;
+            }
+
+            final ModificationFootprint footprint = entry.footprint(schemaContext);
+            if (!reserved.isEmpty() && canStartParallelValidation(entry)
+                    && reserved.stream().noneMatch(footprint::overlaps)) {
+                final DataTreeTip validationTip = tip;
+                LOG.debug("{}: Starting parallel validation of transaction {}", logContext, cohort.getIdentifier());
+                entry.validationGeneration = tipGeneration;
+                entry.validationResumeScheduled = false;
+                try {
+                    entry.validation = CompletableFuture.supplyAsync(() -> validateTransaction(validationTip, cohort),
+                        parallelValidationExecutor);
+                } catch (RejectedExecutionException e) {
+                    // Executor is saturated or shutting down, the transaction will be validated serially
+                    LOG.debug("{}: Parallel validation of transaction {} rejected", logContext,
+                        cohort.getIdentifier(), e);
+                }
+            }
+
+            if (footprint.isUnbounded()) {
+                // Conflicts with everything behind it
+                break;
+            }
+            reserved.add(footprint);
+        }
+    }
+
+    private boolean canStartParallelValidation(final CommitEntry entry) {
+        final State state = entry.cohort.getState();
+        if (state != State.READY && state != State.CAN_COMMIT_PENDING) {
+            return false;
+        }
+
+        final CompletableFuture<Exception> validation = entry.validation;
+        return validation == null || validation.isDone() && entry.validationGeneration != tipGeneration;
     }
 
     private void processNextPending() {
@@ -789,11 +1166,6 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
             entry -> startCommit(entry.cohort, entry.cohort.getCandidate()));
     }
 
-    private boolean peekNextPendingCommit() {
-        final CommitEntry first = pendingCommits.peek();
-        return first != null && first.cohort.getState() == State.COMMIT_PENDING;
-    }
-
     void startCanCommit(final SimpleShardDataTreeCohort cohort) {
         final CommitEntry head = pendingTransactions.peek();
         if (head == null) {
@@ -836,7 +1208,7 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         // Set the tip of the data tree.
         tip = Verify.verifyNotNull(candidate);
 
-        entry.lastAccess = readTime();
+        entry.lastAccess = recordCommitStage(CommitStage.PRE_COMMIT, entry.lastAccess);
 
         pendingTransactions.remove();
         pendingCommits.add(entry);
@@ -851,7 +1223,6 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
     private void failCommit(final Exception cause) {
         shard.getShardMBean().incrementFailedTransactionsCount();
         pendingFinishCommits.poll().cohort.failedCommit(cause);
-        processNextPending();
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
@@ -881,9 +1252,9 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         pendingFinishCommits.poll().cohort.successfulCommit(UnsignedLong.ZERO);
 
         LOG.trace("{}: Transaction {} committed, proceeding to notify", logContext, txId);
+        final long notifyStart = readTime();
         notifyListeners(candidate);
-
-        processNextPending();
+        recordCommitStage(CommitStage.NOTIFICATION, notifyStart);
     }
 
     void startCommit(final SimpleShardDataTreeCohort cohort, final DataTreeCandidate candidate) {
@@ -899,9 +1270,9 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         LOG.debug("{}: Starting commit for transaction {}", logContext, current.getIdentifier());
 
         final TransactionIdentifier txId = cohort.getIdentifier();
-        final Payload payload;
+        final CommitTransactionPayload payload;
         try {
-            payload = CommitTransactionPayload.create(txId, candidate);
+            payload = CommitTransactionPayload.create(txId, candidate, streamVersion());
         } catch (IOException e) {
             LOG.error("{}: Failed to encode transaction {} candidate {}", logContext, txId, candidate, e);
             pendingCommits.poll().cohort.failedCommit(e);
@@ -909,34 +1280,67 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
             return;
         }
 
-        // We process next transactions pending canCommit before we call persistPayload to possibly progress subsequent
-        // transactions to the COMMIT_PENDING state so the payloads can be batched for replication. This is done for
-        // single-shard transactions that immediately transition from canCommit to preCommit to commit. Note that
-        // if the next pending transaction is progressed to COMMIT_PENDING and this method (startCommit) is called,
+        // We process next transactions pending canCommit before we hand off the payload to possibly progress
+        // subsequent transactions to the COMMIT_PENDING state so the payloads can be batched for replication. This is
+        // done for single-shard transactions that immediately transition from canCommit to preCommit to commit. Note
+        // that if the next pending transaction is progressed to COMMIT_PENDING and this method (startCommit) is called,
         // the next transaction will not attempt to replicate b/c the current transaction is still at the head of the
         // pendingCommits queue.
         processNextPendingTransaction();
 
         // After processing next pending transactions, we can now remove the current transaction from pendingCommits.
-        // Note this must be done before the call to peekNextPendingCommit below so we check the next transaction
-        // in order to properly determine the batchHint flag for the call to persistPayload.
+        // Note this must be done before processing the next pending commit below, so it can be batched with this one.
         pendingCommits.remove();
         pendingFinishCommits.add(entry);
 
-        // See if the next transaction is pending commit (ie in the COMMIT_PENDING state) so it can be batched with
-        // this transaction for replication.
-        boolean replicationBatchHint = peekNextPendingCommit();
-
-        // Once completed, we will continue via payloadReplicationComplete
-        shard.persistPayload(txId, payload, replicationBatchHint);
+        // Once the batch is persisted, we will continue via payloadReplicationComplete
+        appendCommitBatch(txId, payload);
 
         entry.lastAccess = shard.ticker().read();
 
-        LOG.debug("{}: Transaction {} submitted to persistence", logContext, txId);
+        LOG.debug("{}: Transaction {} queued for persistence", logContext, txId);
 
-        // Process the next transaction pending commit, if any. If there is one it will be batched with this
-        // transaction for replication.
+        // Process the next transaction pending commit, if any. If there is one it will be added to the same batch.
         processNextPendingCommit();
+
+        // Persist whatever is left in the batch. If the next transaction was added to the batch, its startCommit has
+        // already done that and this is a no-op.
+        flushCommitBatch(false);
+    }
+
+    private void appendCommitBatch(final TransactionIdentifier txId, final CommitTransactionPayload payload) {
+        // If some followers cannot apply batches, each transaction is persisted in its own CommitTransactionPayload
+        if (!commitBatch.isEmpty() && (commitBatchBytes + payload.size() > MAX_COMMIT_BATCH_BYTES
+                || !shard.canReplicateCommitBatches())) {
+            flushCommitBatch(true);
+        }
+        if (commitBatch.isEmpty()) {
+            commitBatchId = txId;
+        }
+
+        commitBatch.add(payload);
+        commitBatchBytes += payload.size();
+    }
+
+    private void flushCommitBatch(final boolean batchHint) {
+        if (commitBatch.isEmpty()) {
+            return;
+        }
+
+        // A single transaction is persisted as a plain CommitTransactionPayload
+        final Payload payload = commitBatch.size() == 1 ? commitBatch.get(0)
+                : CommitTransactionBatchPayload.create(commitBatch);
+        final TransactionIdentifier txId = commitBatchId;
+
+        LOG.debug("{}: Submitting {} transaction(s) starting with {} to persistence", logContext,
+            commitBatch.size(), txId);
+
+        // Reset state first, as persistPayload() can end up calling back into startCommit()
+        commitBatch.clear();
+        commitBatchId = null;
+        commitBatchBytes = 0;
+
+        shard.persistPayload(txId, payload, batchHint);
     }
 
     Collection<ActorRef> getCohortActors() {
@@ -960,6 +1364,7 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         SimpleShardDataTreeCohort cohort = new SimpleShardDataTreeCohort(this, mod, txId,
                 cohortRegistry.createCohort(schemaContext, txId, COMMIT_STEP_TIMEOUT));
         pendingTransactions.add(new CommitEntry(cohort, readTime()));
+        startParallelValidation();
         return cohort;
     }
 
@@ -1125,6 +1530,7 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
     @SuppressWarnings("checkstyle:IllegalCatch")
     private void rebaseTransactions(final Iterator<CommitEntry> iter, @Nonnull final DataTreeTip newTip) {
         tip = Preconditions.checkNotNull(newTip);
+        tipGeneration++;
         while (iter.hasNext()) {
             final SimpleShardDataTreeCohort cohort = iter.next().cohort;
             if (cohort.getState() == State.CAN_COMMIT_COMPLETE) {
@@ -1173,6 +1579,19 @@ public class ShardDataTree extends ShardDataTreeTransactionParent {
         return shard.getShardMBean();
     }
 
+    /**
+     * Record the latency of a commit stage, which started at specified time and ends now.
+     *
+     * @param stage commit stage
+     * @param startTime stage start, as reported by {@link #readTime()}
+     * @return current time, which is the start of the next stage
+     */
+    private long recordCommitStage(final CommitStage stage, final long startTime) {
+        final long now = readTime();
+        getStats().recordCommitStageLatency(stage, now - startTime);
+        return now;
+    }
+
     Iterator<SimpleShardDataTreeCohort> cohortIterator() {
         return Iterables.transform(Iterables.concat(pendingFinishCommits, pendingCommits, pendingTransactions),
             e -> e.cohort).iterator();
@@ -8,7 +8,19 @@
 package org.opendaylight.controller.cluster.datastore;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Stopwatch;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.ShardDataTree.RecoveryBatch;
+import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionBatchPayload;
+import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.ShardDataTreeSnapshot;
 import org.opendaylight.controller.cluster.datastore.persisted.ShardSnapshotState;
 import org.opendaylight.controller.cluster.datastore.utils.NormalizedNodeXMLOutput;
@@ -16,21 +28,21 @@ import org.opendaylight.controller.cluster.raft.RaftActorRecoveryCohort;
 import org.opendaylight.controller.cluster.raft.persisted.Snapshot;
 import org.opendaylight.controller.cluster.raft.protobuff.client.messages.Payload;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 import org.slf4j.Logger;
 
 /**
- * Coordinates persistence recovery of journal log entries and snapshots for a shard. Each snapshot
- * and journal log entry batch are de-serialized and applied to their own write transaction
- * instance in parallel on a thread pool for faster recovery time. However the transactions are
- * committed to the data store in the order the corresponding snapshot or log batch are received
- * to preserve data store integrity.
+ * Coordinates persistence recovery of journal log entries and snapshots for a shard. Candidates carried by journal
+ * log entries are de-serialized on an executor as soon as the entries are appended, hence decoding of a batch proceeds
+ * in parallel while the journal is being read. Once the batch is complete, the candidates are applied in order into a
+ * single modification, which is committed to the data store in one go.
  *
  * @author Thomas Pantelis
  */
 abstract class ShardRecoveryCoordinator implements RaftActorRecoveryCohort {
     private static final class Simple extends ShardRecoveryCoordinator {
-        Simple(final ShardDataTree store, final String shardName, final Logger log) {
-            super(store, shardName, log);
+        Simple(final ShardDataTree store, final String shardName, final Logger log, final Executor executor) {
+            super(store, shardName, log, executor);
         }
 
         @Override
@@ -42,8 +54,9 @@ abstract class ShardRecoveryCoordinator implements RaftActorRecoveryCohort {
     private static final class WithSnapshot extends ShardRecoveryCoordinator {
         private final Snapshot restoreFromSnapshot;
 
-        WithSnapshot(final ShardDataTree store, final String shardName, final Logger log, final Snapshot snapshot) {
-            super(store, shardName, log);
+        WithSnapshot(final ShardDataTree store, final String shardName, final Logger log, final Executor executor,
+                final Snapshot snapshot) {
+            super(store, shardName, log, executor);
             this.restoreFromSnapshot = Preconditions.checkNotNull(snapshot);
         }
 
@@ -56,44 +69,67 @@ abstract class ShardRecoveryCoordinator implements RaftActorRecoveryCohort {
     private final ShardDataTree store;
     private final String shardName;
     private final Logger log;
+    private final Executor executor;
 
+    /*
+     * Entries of the current batch, in journal order. Each entry is either a Future of a decoded candidate or
+     * a Payload which does not carry a candidate.
+     */
+    private List<Object> batch = new ArrayList<>();
+    private Stopwatch batchTimer;
+    private long batchBytes;
     private boolean open;
 
-    ShardRecoveryCoordinator(final ShardDataTree store, final String shardName, final Logger log) {
+    ShardRecoveryCoordinator(final ShardDataTree store, final String shardName, final Logger log,
+            final Executor executor) {
         this.store = Preconditions.checkNotNull(store);
         this.shardName = Preconditions.checkNotNull(shardName);
         this.log = Preconditions.checkNotNull(log);
+        this.executor = Preconditions.checkNotNull(executor);
     }
 
-    static ShardRecoveryCoordinator create(final ShardDataTree store, final String shardName, final Logger log) {
-        return new Simple(store, shardName, log);
+    static ShardRecoveryCoordinator create(final ShardDataTree store, final String shardName, final Logger log,
+            final Executor executor) {
+        return new Simple(store, shardName, log, executor);
     }
 
     static ShardRecoveryCoordinator forSnapshot(final ShardDataTree store, final String shardName, final Logger log,
-            final Snapshot snapshot) {
-        return new WithSnapshot(store, shardName, log, snapshot);
+            final Executor executor, final Snapshot snapshot) {
+        return new WithSnapshot(store, shardName, log, executor, snapshot);
     }
 
     @Override
     public void startLogRecoveryBatch(final int maxBatchSize) {
         log.debug("{}: starting log recovery batch with max size {}", shardName, maxBatchSize);
+        batch = new ArrayList<>(maxBatchSize);
+        batchTimer = Stopwatch.createStarted();
+        batchBytes = 0;
         open = true;
     }
 
     @Override
-    @SuppressWarnings("checkstyle:IllegalCatch")
     public void appendRecoveredLogEntry(final Payload payload) {
         Preconditions.checkState(open, "call startLogRecovery before calling appendRecoveredLogEntry");
 
-        try {
-            store.applyRecoveryPayload(payload);
-        } catch (Exception e) {
-            log.error("{}: failed to apply payload {}", shardName, payload, e);
-            throw new IllegalStateException(String.format("%s: Failed to apply recovery payload %s",
-                shardName, payload), e);
+        batchBytes += payload.size();
+        if (payload instanceof CommitTransactionPayload) {
+            batch.add(decode((CommitTransactionPayload) payload));
+        } else if (payload instanceof CommitTransactionBatchPayload) {
+            for (CommitTransactionPayload committed : ((CommitTransactionBatchPayload) payload).getPayloads()) {
+                batch.add(decode(committed));
+            }
+        } else {
+            batch.add(payload);
         }
     }
 
+    private Future<Entry<TransactionIdentifier, DataTreeCandidate>> decode(final CommitTransactionPayload payload) {
+        final FutureTask<Entry<TransactionIdentifier, DataTreeCandidate>> task = new FutureTask<>(
+            payload::getCandidate);
+        executor.execute(task);
+        return task;
+    }
+
     /**
      * Applies the current batched log entries to the data store.
      */
@@ -101,6 +137,37 @@ abstract class ShardRecoveryCoordinator implements RaftActorRecoveryCohort {
     public void applyCurrentLogRecoveryBatch() {
         Preconditions.checkState(open, "call startLogRecovery before calling applyCurrentLogRecoveryBatch");
         open = false;
+
+        final RecoveryBatch recovery = store.startRecoveryBatch();
+        for (Object entry : batch) {
+            if (entry instanceof Payload) {
+                recovery.appendPayload((Payload) entry);
+            } else {
+                @SuppressWarnings("unchecked")
+                final Entry<TransactionIdentifier, DataTreeCandidate> candidate = decoded(
+                    (Future<Entry<TransactionIdentifier, DataTreeCandidate>>) entry);
+                recovery.appendCommitted(candidate.getKey(), candidate.getValue());
+            }
+        }
+        recovery.apply();
+
+        log.debug("{}: applied {} recovered entries ({} bytes) in {}", shardName, batch.size(), batchBytes,
+            batchTimer);
+        batch = new ArrayList<>();
+    }
+
+    private Entry<TransactionIdentifier, DataTreeCandidate> decoded(
+            final Future<Entry<TransactionIdentifier, DataTreeCandidate>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(String.format("%s: Interrupted while decoding recovery payload",
+                shardName), e);
+        } catch (ExecutionException e) {
+            log.error("{}: failed to decode recovery payload", shardName, e);
+            throw new IllegalStateException(String.format("%s: Failed to decode recovery payload", shardName), e);
+        }
     }
 
     private File writeRoot(final String kind, final NormalizedNode<?, ?> node) {
@@ -98,7 +98,7 @@ final class ShardSnapshotCohort implements RaftActorSnapshotCohort {
 
     @Override
     public State deserializeSnapshot(final ByteSource snapshotBytes) throws IOException {
-        try (ObjectInputStream in = new ObjectInputStream(snapshotBytes.openStream())) {
+        try (ObjectInputStream in = new ObjectInputStream(snapshotBytes.openBufferedStream())) {
             return new ShardSnapshotState(ShardDataTreeSnapshot.deserialize(in));
         }
     }
@@ -30,6 +30,7 @@ import org.opendaylight.controller.cluster.datastore.messages.CanCommitTransacti
 import org.opendaylight.controller.cluster.datastore.messages.CommitTransaction;
 import org.opendaylight.controller.cluster.datastore.messages.CommitTransactionReply;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
+import org.opendaylight.controller.cluster.datastore.utils.ShardAdmissionWindow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import scala.concurrent.Future;
@@ -234,6 +235,10 @@ public class ThreePhaseCommitCohortProxy extends AbstractThreePhaseCommitCohort<
 
     @Override
     public ListenableFuture<Void> abort() {
+        for (CohortInfo info : cohorts) {
+            info.releasePermit();
+        }
+
         // Note - we pass false for propagateException. In the front-end data broker, this method
         // is called when one of the 3 phases fails with an exception. We'd rather have that
         // original exception propagated to the client. If our abort fails and we propagate the
@@ -330,6 +335,12 @@ public class ThreePhaseCommitCohortProxy extends AbstractThreePhaseCommitCohort<
 
                 if (exceptionToPropagate != null) {
                     LOG.debug("Tx {}: a {} cohort Future failed", transactionId, operationName, exceptionToPropagate);
+                    if (CommitTransactionReply.class.equals(expectedResponseClass)) {
+                        for (CohortInfo info : cohorts) {
+                            info.failPermit(exceptionToPropagate);
+                        }
+                    }
+
                     if (propagateException) {
                         // We don't log the exception here to avoid redundant logging since we're
                         // propagating to the caller in MD-SAL core who will log it.
@@ -344,6 +355,13 @@ public class ThreePhaseCommitCohortProxy extends AbstractThreePhaseCommitCohort<
                     callback.failure();
                 } else {
                     LOG.debug("Tx {}: {} succeeded", transactionId, operationName);
+                    if (CommitTransactionReply.class.equals(expectedResponseClass)) {
+                        // Responses are in the same order as the cohorts they were received from
+                        final Iterator<CohortInfo> it = cohorts.iterator();
+                        for (Object response : responses) {
+                            it.next().completePermit((CommitTransactionReply) response);
+                        }
+                    }
 
                     returnFuture.set(null);
 
@@ -367,10 +385,17 @@ public class ThreePhaseCommitCohortProxy extends AbstractThreePhaseCommitCohort<
         private final Future<ActorSelection> actorFuture;
         private volatile ActorSelection resolvedActor;
         private final Supplier<Short> actorVersionSupplier;
+        private final ShardAdmissionWindow.Permit permit;
 
         CohortInfo(final Future<ActorSelection> actorFuture, final Supplier<Short> actorVersionSupplier) {
+            this(actorFuture, actorVersionSupplier, null);
+        }
+
+        CohortInfo(final Future<ActorSelection> actorFuture, final Supplier<Short> actorVersionSupplier,
+                final ShardAdmissionWindow.Permit permit) {
             this.actorFuture = actorFuture;
             this.actorVersionSupplier = actorVersionSupplier;
+            this.permit = permit;
         }
 
         Future<ActorSelection> getActorFuture() {
@@ -390,6 +415,24 @@ public class ThreePhaseCommitCohortProxy extends AbstractThreePhaseCommitCohort<
                     "getActorVersion cannot be called until the actor is resolved");
             return actorVersionSupplier.get();
         }
+
+        void completePermit(final CommitTransactionReply reply) {
+            if (permit != null) {
+                permit.committed(reply.getQueueDepth(), reply.getCommitLatencyNanos());
+            }
+        }
+
+        void failPermit(final Throwable cause) {
+            if (permit != null) {
+                permit.failed(cause);
+            }
+        }
+
+        void releasePermit() {
+            if (permit != null) {
+                permit.release();
+            }
+        }
     }
 
     private interface MessageSupplier {
@@ -8,6 +8,7 @@
 package org.opendaylight.controller.cluster.datastore;
 
 import akka.actor.ActorSelection;
+import akka.dispatch.OnComplete;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
@@ -28,6 +29,7 @@ import java.util.Map.Entry;
 import java.util.Set;
 import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
 import org.opendaylight.controller.cluster.datastore.messages.AbstractRead;
+import org.opendaylight.controller.cluster.datastore.messages.CommitTransactionReply;
 import org.opendaylight.controller.cluster.datastore.messages.DataExists;
 import org.opendaylight.controller.cluster.datastore.messages.ReadData;
 import org.opendaylight.controller.cluster.datastore.modification.AbstractModification;
@@ -36,6 +38,7 @@ import org.opendaylight.controller.cluster.datastore.modification.MergeModificat
 import org.opendaylight.controller.cluster.datastore.modification.WriteModification;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
 import org.opendaylight.controller.cluster.datastore.utils.NormalizedNodeAggregator;
+import org.opendaylight.controller.cluster.datastore.utils.ShardAdmissionWindow;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
 import org.opendaylight.controller.sal.core.spi.data.AbstractDOMStoreTransaction;
 import org.opendaylight.controller.sal.core.spi.data.DOMStoreReadWriteTransaction;
@@ -248,6 +251,8 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
 
         LOG.debug("Tx {} Readying transaction for shard {}", getIdentifier(), shardName);
 
+        final ShardAdmissionWindow.Permit permit = txContextFactory.getActorContext().getAdmissionWindow(shardName)
+                .acquire();
         final OperationCallback.Reference operationCallbackRef =
                 new OperationCallback.Reference(OperationCallback.NO_OP_CALLBACK);
 
@@ -267,6 +272,20 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
             future = getDirectCommitFuture(transactionContext, operationCallbackRef);
         }
 
+        future.onComplete(new OnComplete<Object>() {
+            @Override
+            public void onComplete(final Throwable failure, final Object reply) {
+                if (failure != null) {
+                    permit.failed(failure);
+                } else if (reply instanceof CommitTransactionReply) {
+                    final CommitTransactionReply commitReply = (CommitTransactionReply) reply;
+                    permit.committed(commitReply.getQueueDepth(), commitReply.getCommitLatencyNanos());
+                } else {
+                    permit.release();
+                }
+            }
+        }, txContextFactory.getActorContext().getClientDispatcher());
+
         return new SingleCommitCohortProxy(txContextFactory.getActorContext(), future, getIdentifier(),
             operationCallbackRef);
     }
@@ -283,8 +302,13 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
     private AbstractThreePhaseCommitCohort<ActorSelection> createMultiCommitCohort(
             final Set<Entry<String, TransactionContextWrapper>> txContextWrapperEntries) {
 
+        final ActorContext actorContext = txContextFactory.getActorContext();
         final List<ThreePhaseCommitCohortProxy.CohortInfo> cohorts = new ArrayList<>(txContextWrapperEntries.size());
-        for (Entry<String, TransactionContextWrapper> e : txContextWrapperEntries) {
+
+        // Acquire admission permits in a consistent order, so that concurrent transactions do not wait for each other
+        final List<Entry<String, TransactionContextWrapper>> sorted = new ArrayList<>(txContextWrapperEntries);
+        sorted.sort(Entry.comparingByKey());
+        for (Entry<String, TransactionContextWrapper> e : sorted) {
             LOG.debug("Tx {} Readying transaction for shard {}", getIdentifier(), e.getKey());
 
             final TransactionContextWrapper wrapper = e.getValue();
@@ -294,10 +318,12 @@ public class TransactionProxy extends AbstractDOMStoreTransaction<TransactionIde
             // TransactionContext is available.
             Supplier<Short> txVersionSupplier = () -> wrapper.getTransactionContext().getTransactionVersion();
 
-            cohorts.add(new ThreePhaseCommitCohortProxy.CohortInfo(wrapper.readyTransaction(), txVersionSupplier));
+            final ShardAdmissionWindow.Permit permit = actorContext.getAdmissionWindow(e.getKey()).acquire();
+            cohorts.add(new ThreePhaseCommitCohortProxy.CohortInfo(wrapper.readyTransaction(), txVersionSupplier,
+                permit));
         }
 
-        return new ThreePhaseCommitCohortProxy(txContextFactory.getActorContext(), cohorts, getIdentifier());
+        return new ThreePhaseCommitCohortProxy(actorContext, cohorts, getIdentifier());
     }
 
     private String shardNameFromIdentifier(final YangInstanceIdentifier path) {
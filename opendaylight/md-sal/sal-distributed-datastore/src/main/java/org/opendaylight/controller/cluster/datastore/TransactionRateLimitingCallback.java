@@ -16,8 +16,9 @@ import java.util.concurrent.TimeUnit;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
 
 /**
- * TransactionRateLimitingCallback computes the new transaction rate limit on the successful completion of a
- * transaction.
+ * TransactionRateLimitingCallback records the commit latency of successfully completed transactions in the commit
+ * timer. Admission of new transactions is controlled per shard by
+ * {@link org.opendaylight.controller.cluster.datastore.utils.ShardAdmissionWindow}.
  */
 public class TransactionRateLimitingCallback implements OperationCallback {
     private static Ticker TICKER = Ticker.systemTicker();
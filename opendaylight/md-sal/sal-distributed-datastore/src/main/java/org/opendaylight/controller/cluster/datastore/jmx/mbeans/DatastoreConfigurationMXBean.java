@@ -55,4 +55,22 @@ public interface DatastoreConfigurationMXBean {
     int getMaxShardDataStoreExecutorQueueSize();
 
     int getMaximumMessageSliceSize();
+
+    long getTransactionBatchTimeBudgetInMicros();
+
+    int getParallelValidationWindow();
+
+    boolean isInstallSnapshotCompressionEnabled();
+
+    int getInstallSnapshotWindowSize();
+
+    int getMaxInFlightAppendEntries();
+
+    int getInMemoryJournalCompactionThreshold();
+
+    boolean isInMemoryJournalOffHeap();
+
+    boolean isFollowerReadsEnabled();
+
+    int getTransactionAdmissionInitialWindow();
 }
@@ -133,4 +133,49 @@ public class DatastoreConfigurationMXBeanImpl extends AbstractMXBean implements
     public int getMaximumMessageSliceSize() {
         return context.getMaximumMessageSliceSize();
     }
+
+    @Override
+    public long getTransactionBatchTimeBudgetInMicros() {
+        return context.getTransactionBatchTimeBudgetInMicros();
+    }
+
+    @Override
+    public int getParallelValidationWindow() {
+        return context.getParallelValidationWindow();
+    }
+
+    @Override
+    public boolean isInstallSnapshotCompressionEnabled() {
+        return context.isInstallSnapshotCompressionEnabled();
+    }
+
+    @Override
+    public int getInstallSnapshotWindowSize() {
+        return context.getInstallSnapshotWindowSize();
+    }
+
+    @Override
+    public int getMaxInFlightAppendEntries() {
+        return context.getMaxInFlightAppendEntries();
+    }
+
+    @Override
+    public int getInMemoryJournalCompactionThreshold() {
+        return context.getInMemoryJournalCompactionThreshold();
+    }
+
+    @Override
+    public boolean isInMemoryJournalOffHeap() {
+        return context.isInMemoryJournalOffHeap();
+    }
+
+    @Override
+    public boolean isFollowerReadsEnabled() {
+        return context.isFollowerReadsEnabled();
+    }
+
+    @Override
+    public int getTransactionAdmissionInitialWindow() {
+        return context.getTransactionAdmissionInitialWindow();
+    }
 }
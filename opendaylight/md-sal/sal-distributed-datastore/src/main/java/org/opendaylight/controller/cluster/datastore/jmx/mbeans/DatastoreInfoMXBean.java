@@ -7,11 +7,29 @@
  */
 package org.opendaylight.controller.cluster.datastore.jmx.mbeans;
 
+import java.util.List;
+
 /**
  * JMX bean for general datastore info.
  *
  * @author Thomas Pantelis
  */
 public interface DatastoreInfoMXBean {
+    /**
+     * Returns the aggregate transaction rate the shard admission windows sustain at the commit latencies last
+     * reported by the shards, or the configured initial rate limit if no shard has reported one yet.
+     *
+     * @return transactions per second
+     * @deprecated Transactions are no longer admitted based on a rate, use {@link #getShardAdmissionWindows()}
+     *             instead.
+     */
+    @Deprecated
     double getTransactionCreationRateLimit();
+
+    /**
+     * Returns the state of the transaction admission windows of shards this frontend has committed transactions to.
+     *
+     * @return admission window state for each shard
+     */
+    List<ShardAdmissionWindowInfo> getShardAdmissionWindows();
 }
@@ -7,7 +7,10 @@
  */
 package org.opendaylight.controller.cluster.datastore.jmx.mbeans;
 
+import java.util.List;
+import java.util.stream.Collectors;
 import org.opendaylight.controller.cluster.datastore.utils.ActorContext;
+import org.opendaylight.controller.cluster.datastore.utils.ShardAdmissionWindow;
 import org.opendaylight.controller.md.sal.common.util.jmx.AbstractMXBean;
 
 /**
@@ -24,9 +27,17 @@ public class DatastoreInfoMXBeanImpl extends AbstractMXBean implements Datastore
         this.actorContext = actorContext;
     }
 
-
     @Override
+    @Deprecated
     public double getTransactionCreationRateLimit() {
-        return actorContext.getTxCreationLimit();
+        final double rate = actorContext.getAdmissionWindows().stream()
+                .mapToDouble(ShardAdmissionWindow::getAdmissionRate).sum();
+        return rate > 0 ? rate : actorContext.getDatastoreContext().getTransactionCreationInitialRateLimit();
+    }
+
+    @Override
+    public List<ShardAdmissionWindowInfo> getShardAdmissionWindows() {
+        return actorContext.getAdmissionWindows().stream().map(ShardAdmissionWindow::toInfo)
+                .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.jmx.mbeans;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * A bean class holding the state of the transaction admission window the frontend maintains for a single shard.
+ * This class is suitable for mapping to the MXBean CompositeDataSupport type.
+ */
+public class ShardAdmissionWindowInfo {
+    private final String shardName;
+    private final int window;
+    private final int inFlight;
+    private final long admittedCount;
+    private final long rejectedCount;
+    private final long timedOutCount;
+    private final long congestionCount;
+    private final long expiredCount;
+    private final int lastQueueDepth;
+    private final long lastCommitLatencyMicros;
+
+    @ConstructorProperties({"shardName", "window", "inFlight", "admittedCount", "rejectedCount", "timedOutCount",
+        "congestionCount", "expiredCount", "lastQueueDepth", "lastCommitLatencyMicros"})
+    public ShardAdmissionWindowInfo(final String shardName, final int window, final int inFlight,
+            final long admittedCount, final long rejectedCount, final long timedOutCount, final long congestionCount,
+            final long expiredCount, final int lastQueueDepth, final long lastCommitLatencyMicros) {
+        this.shardName = shardName;
+        this.window = window;
+        this.inFlight = inFlight;
+        this.admittedCount = admittedCount;
+        this.rejectedCount = rejectedCount;
+        this.timedOutCount = timedOutCount;
+        this.congestionCount = congestionCount;
+        this.expiredCount = expiredCount;
+        this.lastQueueDepth = lastQueueDepth;
+        this.lastCommitLatencyMicros = lastCommitLatencyMicros;
+    }
+
+    public String getShardName() {
+        return shardName;
+    }
+
+    /**
+     * Returns the maximum number of transactions which may be committing to the shard concurrently.
+     *
+     * @return current window size
+     */
+    public int getWindow() {
+        return window;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public long getAdmittedCount() {
+        return admittedCount;
+    }
+
+    /**
+     * Returns the number of transactions which found the window full and had to wait for admission.
+     *
+     * @return rejected transaction count
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Returns the number of transactions which were admitted over the window, because no permit was released within
+     * the operation timeout.
+     *
+     * @return timed out admission count
+     */
+    public long getTimedOutCount() {
+        return timedOutCount;
+    }
+
+    /**
+     * Returns the number of times the window was reduced because the shard was congested.
+     *
+     * @return congestion count
+     */
+    public long getCongestionCount() {
+        return congestionCount;
+    }
+
+    /**
+     * Returns the number of permits which were reclaimed because their transaction did not complete within
+     * the transaction commit timeout, for example because it was readied but never committed nor aborted.
+     *
+     * @return expired permit count
+     */
+    public long getExpiredCount() {
+        return expiredCount;
+    }
+
+    public int getLastQueueDepth() {
+        return lastQueueDepth;
+    }
+
+    public long getLastCommitLatencyMicros() {
+        return lastCommitLatencyMicros;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard;
+
+/**
+ * Stages of a transaction commit on the shard leader, for which {@link ShardStats} tracks latency. Each stage spans
+ * from the end of the previous stage, except for {@link #NOTIFICATION}, which only covers publishing the changes.
+ */
+public enum CommitStage {
+    /**
+     * From the transaction being readied to it being validated, including the time it spent queued behind other
+     * transactions.
+     */
+    CAN_COMMIT,
+    /**
+     * From validation to the transaction being prepared on top of the data tree and pre-committed by user cohorts.
+     */
+    PRE_COMMIT,
+    /**
+     * From the transaction being handed off for persistence to it being persisted in the local journal.
+     */
+    PERSISTENCE,
+    /**
+     * From the transaction being persisted locally, or handed off if no persistence is needed, to consensus being
+     * reached on it.
+     */
+    CONSENSUS,
+    /**
+     * Publishing the committed changes to data tree change listeners.
+     */
+    NOTIFICATION;
+}
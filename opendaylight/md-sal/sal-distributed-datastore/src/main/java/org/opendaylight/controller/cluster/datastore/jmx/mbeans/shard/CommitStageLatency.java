@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * A bean class holding latency percentiles of a single {@link CommitStage}. This class is suitable for mapping to
+ * the MXBean CompositeDataSupport type.
+ */
+public class CommitStageLatency {
+    private final String stage;
+    private final long count;
+    private final long meanMicros;
+    private final long p50Micros;
+    private final long p90Micros;
+    private final long p99Micros;
+    private final long p999Micros;
+    private final long maxMicros;
+
+    @ConstructorProperties({"stage", "count", "meanMicros", "p50Micros", "p90Micros", "p99Micros", "p999Micros",
+        "maxMicros"})
+    public CommitStageLatency(final String stage, final long count, final long meanMicros, final long p50Micros,
+            final long p90Micros, final long p99Micros, final long p999Micros, final long maxMicros) {
+        this.stage = stage;
+        this.count = count;
+        this.meanMicros = meanMicros;
+        this.p50Micros = p50Micros;
+        this.p90Micros = p90Micros;
+        this.p99Micros = p99Micros;
+        this.p999Micros = p999Micros;
+        this.maxMicros = maxMicros;
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMeanMicros() {
+        return meanMicros;
+    }
+
+    public long getP50Micros() {
+        return p50Micros;
+    }
+
+    public long getP90Micros() {
+        return p90Micros;
+    }
+
+    public long getP99Micros() {
+        return p99Micros;
+    }
+
+    public long getP999Micros() {
+        return p999Micros;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+
+    @Override
+    public String toString() {
+        return "CommitStageLatency [stage=" + stage + ", count=" + count + ", meanMicros=" + meanMicros
+                + ", p50Micros=" + p50Micros + ", p90Micros=" + p90Micros + ", p99Micros=" + p99Micros
+                + ", p999Micros=" + p999Micros + ", maxMicros=" + maxMicros + "]";
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.Arrays;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Fixed-size histogram of latencies in nanoseconds, using the same log-linear bucketing as HdrHistogram: values are
+ * grouped by their most significant bit, each such group being split into {@link #SUB_BUCKET_COUNT} linear buckets,
+ * which bounds the relative error of reported values to about 3%. Values up to {@link #MAX_VALUE} (about 18 minutes)
+ * are tracked, larger ones are recorded as that value.
+ *
+ * <p>
+ * Recording a value does not allocate and takes constant time. The histogram is updated by a single thread, reads
+ * from other threads may observe a slightly stale or inconsistent state, which is acceptable for statistics.
+ */
+@NotThreadSafe
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_VALUE_BITS = 40;
+
+    @VisibleForTesting
+    static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+
+    private final long[] counts = new long[bucketIndex(MAX_VALUE) + 1];
+    private long totalCount;
+    private long totalValue;
+    private long maxValue;
+
+    /**
+     * Record a single value.
+     *
+     * @param nanos value to record, negative values are recorded as 0
+     */
+    public void record(final long nanos) {
+        final long value = nanos < 0 ? 0 : Math.min(nanos, MAX_VALUE);
+        counts[bucketIndex(value)]++;
+        totalCount++;
+        totalValue += value;
+        if (value > maxValue) {
+            maxValue = value;
+        }
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        totalValue = 0;
+        maxValue = 0;
+    }
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    public long getMaxValue() {
+        return maxValue;
+    }
+
+    public double getMean() {
+        final long count = totalCount;
+        return count == 0 ? 0 : (double) totalValue / count;
+    }
+
+    /**
+     * Return the value at specified percentile. The reported value is the highest value equivalent to the bucket
+     * the percentile falls into, but not larger than the maximum recorded value.
+     *
+     * @param percentile percentile, in range 0 to 100
+     * @return value at specified percentile, or 0 if no values have been recorded
+     */
+    public long getValueAtPercentile(final double percentile) {
+        // Sum the buckets rather than use totalCount, so we are consistent with what we iterate over
+        long count = 0;
+        for (long bucket : counts) {
+            count += bucket;
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        final long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; ++i) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    @VisibleForTesting
+    static int bucketIndex(final long value) {
+        if (value < 2 * SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKET_COUNT + (int) (value >>> shift);
+    }
+
+    @VisibleForTesting
+    static long highestEquivalentValue(final int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        final int shift = index / SUB_BUCKET_COUNT - 1;
+        final long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -12,8 +12,10 @@ import akka.actor.ActorRef;
 import com.google.common.base.Joiner;
 import com.google.common.base.Joiner.MapJoiner;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
@@ -48,6 +50,10 @@ public class ShardStats extends AbstractMXBean implements ShardStatsMXBean {
 
     private long readWriteTransactionCount;
 
+    private long followerReadOnlyTransactionCount;
+
+    private long forwardedReadOnlyTransactionCount;
+
     private long lastCommittedTransactionTime;
 
     private long failedTransactionsCount;
@@ -64,10 +70,26 @@ public class ShardStats extends AbstractMXBean implements ShardStatsMXBean {
 
     private long lastLeadershipChangeTime;
 
+    private long transactionBatchCount;
+
+    private long transactionBatchTotalSize;
+
+    private long transactionBatchYieldCount;
+
+    private long lastTransactionBatchSize;
+
+    private long maxTransactionBatchSize;
+
+    // Indexed by CommitStage ordinal
+    private final LatencyHistogram[] commitStageLatencies = new LatencyHistogram[CommitStage.values().length];
+
     public ShardStats(final String shardName, final String mxBeanType, @Nullable final Shard shard) {
         super(shardName, mxBeanType, JMX_CATEGORY_SHARD);
         this.shard = shard;
         stateCache = new OnDemandShardStateCache(shardName, shard != null ? shard.self() : null);
+        for (int i = 0; i < commitStageLatencies.length; ++i) {
+            commitStageLatencies[i] = new LatencyHistogram();
+        }
     }
 
     @SuppressWarnings("checkstyle:IllegalCatch")
@@ -113,6 +135,21 @@ public class ShardStats extends AbstractMXBean implements ShardStatsMXBean {
         return readOnlyTransactionCount;
     }
 
+    @Override
+    public long getFollowerReadOnlyTransactionCount() {
+        return followerReadOnlyTransactionCount;
+    }
+
+    @Override
+    public long getForwardedReadOnlyTransactionCount() {
+        return forwardedReadOnlyTransactionCount;
+    }
+
+    @Override
+    public long getReadIndexRequestCount() {
+        return getOnDemandRaftState().getReadIndexCount();
+    }
+
     @Override
     public long getWriteOnlyTransactionCount() {
         return writeOnlyTransactionCount;
@@ -221,6 +258,14 @@ public class ShardStats extends AbstractMXBean implements ShardStatsMXBean {
         return ++readOnlyTransactionCount;
     }
 
+    public long incrementFollowerReadOnlyTransactionCount() {
+        return ++followerReadOnlyTransactionCount;
+    }
+
+    public long incrementForwardedReadOnlyTransactionCount() {
+        return ++forwardedReadOnlyTransactionCount;
+    }
+
     public long incrementWriteOnlyTransactionCount() {
         return ++writeOnlyTransactionCount;
     }
@@ -255,6 +300,48 @@ public class ShardStats extends AbstractMXBean implements ShardStatsMXBean {
         return getOnDemandRaftState().getInMemoryJournalLogSize();
     }
 
+    @Override
+    public long getInMemoryJournalCompactedLogSize() {
+        return getOnDemandRaftState().getInMemoryJournalCompactedLogSize();
+    }
+
+    @Override
+    public long getInMemoryJournalCompactedFootprint() {
+        return getOnDemandRaftState().getInMemoryJournalCompactedFootprint();
+    }
+
+    @Override
+    public long getInstallSnapshotSize() {
+        return getOnDemandRaftState().getInstallSnapshotSize();
+    }
+
+    @Override
+    public double getInstallSnapshotCompressionRatio() {
+        final OnDemandRaftState state = getOnDemandRaftState();
+        final long size = state.getInstallSnapshotSize();
+        return size == 0 ? 0 : (double) state.getInstallSnapshotUncompressedSize() / size;
+    }
+
+    @Override
+    public long getInstallSnapshotCompressionTimeInMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(getOnDemandRaftState().getInstallSnapshotCompressionNanos());
+    }
+
+    @Override
+    public int getLastFollowerPersistBatchSize() {
+        return getOnDemandRaftState().getLastPersistBatchSize();
+    }
+
+    @Override
+    public long getLastFollowerPersistBatchTimeInMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(getOnDemandRaftState().getLastPersistBatchNanos());
+    }
+
+    @Override
+    public long getMaxFollowerPersistBatchTimeInMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(getOnDemandRaftState().getMaxPersistBatchNanos());
+    }
+
     /**
      * Resets the counters related to transactions.
      */
@@ -264,6 +351,10 @@ public class ShardStats extends AbstractMXBean implements ShardStatsMXBean {
 
         readOnlyTransactionCount = 0;
 
+        followerReadOnlyTransactionCount = 0;
+
+        forwardedReadOnlyTransactionCount = 0;
+
         writeOnlyTransactionCount = 0;
 
         readWriteTransactionCount = 0;
@@ -276,6 +367,17 @@ public class ShardStats extends AbstractMXBean implements ShardStatsMXBean {
 
         abortTransactionsCount = 0;
 
+        transactionBatchCount = 0;
+
+        transactionBatchTotalSize = 0;
+
+        transactionBatchYieldCount = 0;
+
+        lastTransactionBatchSize = 0;
+
+        maxTransactionBatchSize = 0;
+
+        resetCommitStageLatencies();
     }
 
     public void setFollowerInitialSyncStatus(final boolean followerInitialSyncStatus) {
@@ -334,6 +436,83 @@ public class ShardStats extends AbstractMXBean implements ShardStatsMXBean {
         return shard != null ? shard.getCohortCacheSize() : -1;
     }
 
+    /**
+     * Record the completion of a transaction processing batch.
+     *
+     * @param batchSize number of transaction processing steps performed in the batch
+     */
+    public void recordTransactionBatch(final int batchSize) {
+        transactionBatchCount++;
+        transactionBatchTotalSize += batchSize;
+        lastTransactionBatchSize = batchSize;
+        if (batchSize > maxTransactionBatchSize) {
+            maxTransactionBatchSize = batchSize;
+        }
+    }
+
+    public long incrementTransactionBatchYieldCount() {
+        return ++transactionBatchYieldCount;
+    }
+
+    @Override
+    public long getTransactionBatchCount() {
+        return transactionBatchCount;
+    }
+
+    @Override
+    public long getTransactionBatchYieldCount() {
+        return transactionBatchYieldCount;
+    }
+
+    @Override
+    public long getLastTransactionBatchSize() {
+        return lastTransactionBatchSize;
+    }
+
+    @Override
+    public long getMaxTransactionBatchSize() {
+        return maxTransactionBatchSize;
+    }
+
+    @Override
+    public double getAverageTransactionBatchSize() {
+        final long count = transactionBatchCount;
+        return count == 0 ? 0 : (double) transactionBatchTotalSize / count;
+    }
+
+    /**
+     * Record the time a transaction spent in a commit stage. This method does not allocate.
+     *
+     * @param stage commit stage
+     * @param elapsedNanos time spent in the stage, in nanoseconds
+     */
+    public void recordCommitStageLatency(final CommitStage stage, final long elapsedNanos) {
+        commitStageLatencies[stage.ordinal()].record(elapsedNanos);
+    }
+
+    @Override
+    public List<CommitStageLatency> getCommitStageLatencies() {
+        final List<CommitStageLatency> ret = new ArrayList<>(commitStageLatencies.length);
+        for (CommitStage stage : CommitStage.values()) {
+            final LatencyHistogram histogram = commitStageLatencies[stage.ordinal()];
+            ret.add(new CommitStageLatency(stage.name(), histogram.getCount(),
+                TimeUnit.NANOSECONDS.toMicros((long) histogram.getMean()),
+                TimeUnit.NANOSECONDS.toMicros(histogram.getValueAtPercentile(50)),
+                TimeUnit.NANOSECONDS.toMicros(histogram.getValueAtPercentile(90)),
+                TimeUnit.NANOSECONDS.toMicros(histogram.getValueAtPercentile(99)),
+                TimeUnit.NANOSECONDS.toMicros(histogram.getValueAtPercentile(99.9)),
+                TimeUnit.NANOSECONDS.toMicros(histogram.getMaxValue())));
+        }
+        return ret;
+    }
+
+    @Override
+    public void resetCommitStageLatencies() {
+        for (LatencyHistogram histogram : commitStageLatencies) {
+            histogram.reset();
+        }
+    }
+
     @Override
     public void captureSnapshot() {
         if (shard != null) {
@@ -28,6 +28,12 @@ public interface ShardStatsMXBean {
 
     long getReadOnlyTransactionCount();
 
+    long getFollowerReadOnlyTransactionCount();
+
+    long getForwardedReadOnlyTransactionCount();
+
+    long getReadIndexRequestCount();
+
     long getWriteOnlyTransactionCount();
 
     long getReadWriteTransactionCount();
@@ -76,6 +82,22 @@ public interface ShardStatsMXBean {
 
     long getInMemoryJournalLogSize();
 
+    long getInMemoryJournalCompactedLogSize();
+
+    long getInMemoryJournalCompactedFootprint();
+
+    long getInstallSnapshotSize();
+
+    double getInstallSnapshotCompressionRatio();
+
+    long getInstallSnapshotCompressionTimeInMillis();
+
+    int getLastFollowerPersistBatchSize();
+
+    long getLastFollowerPersistBatchTimeInMicros();
+
+    long getMaxFollowerPersistBatchTimeInMicros();
+
     boolean getFollowerInitialSyncStatus();
 
     List<FollowerInfo> getFollowerInfo();
@@ -92,5 +114,24 @@ public interface ShardStatsMXBean {
 
     int getTxCohortCacheSize();
 
+    long getTransactionBatchCount();
+
+    long getTransactionBatchYieldCount();
+
+    long getLastTransactionBatchSize();
+
+    long getMaxTransactionBatchSize();
+
+    double getAverageTransactionBatchSize();
+
+    /**
+     * Returns latency percentiles of each stage of transactions committed while this shard has been the leader.
+     *
+     * @return latency of each {@link CommitStage}
+     */
+    List<CommitStageLatency> getCommitStageLatencies();
+
+    void resetCommitStageLatencies();
+
     void captureSnapshot();
 }
@@ -8,23 +8,86 @@
 
 package org.opendaylight.controller.cluster.datastore.messages;
 
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import org.opendaylight.controller.cluster.datastore.DataStoreVersions;
 
+/**
+ * Reply to a successful commit. Starting with {@link DataStoreVersions#OXYGEN_VERSION} the shard leader also reports
+ * the depth of its commit queue and the time it took to commit the transaction, which the frontend uses to size its
+ * admission window for the shard.
+ */
 public class CommitTransactionReply extends VersionedExternalizableMessage {
+    // Implicit value of previous versions, which did not declare it
+    private static final long serialVersionUID = -8342450250867395000L;
+
     public static final CommitTransactionReply INSTANCE = new CommitTransactionReply();
 
+    private int queueDepth;
+    private long commitLatencyNanos;
+
     public CommitTransactionReply() {
     }
 
-    private CommitTransactionReply(short version) {
+    private CommitTransactionReply(final short version) {
+        super(version);
+    }
+
+    public CommitTransactionReply(final short version, final int queueDepth, final long commitLatencyNanos) {
         super(version);
+        this.queueDepth = queueDepth;
+        this.commitLatencyNanos = commitLatencyNanos;
+    }
+
+    /**
+     * Return the number of transactions queued in the shard at the time this transaction committed.
+     *
+     * @return Queue depth, zero if not reported
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Return the time the shard took to commit this transaction, from the start of canCommit to the completion
+     * of commit.
+     *
+     * @return Commit latency in nanoseconds, zero if not reported
+     */
+    public long getCommitLatencyNanos() {
+        return commitLatencyNanos;
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+        super.readExternal(in);
+        if (getVersion() >= DataStoreVersions.OXYGEN_VERSION) {
+            queueDepth = in.readInt();
+            commitLatencyNanos = in.readLong();
+        }
+    }
+
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        super.writeExternal(out);
+        if (getVersion() >= DataStoreVersions.OXYGEN_VERSION) {
+            out.writeInt(queueDepth);
+            out.writeLong(commitLatencyNanos);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CommitTransactionReply [queueDepth=" + queueDepth + ", commitLatencyNanos=" + commitLatencyNanos
+                + ", version=" + getVersion() + "]";
     }
 
-    public static CommitTransactionReply instance(short version) {
+    public static CommitTransactionReply instance(final short version) {
         return version == DataStoreVersions.CURRENT_VERSION ? INSTANCE : new CommitTransactionReply(version);
     }
 
-    public static boolean isSerializedType(Object message) {
+    public static boolean isSerializedType(final Object message) {
         return message instanceof CommitTransactionReply;
     }
 }
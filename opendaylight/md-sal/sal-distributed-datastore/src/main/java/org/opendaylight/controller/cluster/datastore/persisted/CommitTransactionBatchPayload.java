@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.persisted;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.List;
+import org.opendaylight.controller.cluster.raft.protobuff.client.messages.Payload;
+
+/**
+ * Payload persisted when a number of consecutive transactions commit together. It contains the individual
+ * {@link CommitTransactionPayload}s in commit order, so that followers and recovery can apply them one by one and
+ * track each transaction identifier.
+ */
+@Beta
+public final class CommitTransactionBatchPayload extends Payload implements Serializable {
+    private static final class Proxy implements Externalizable {
+        private static final long serialVersionUID = 1L;
+        private List<CommitTransactionPayload> payloads;
+
+        // checkstyle flags the public modifier as redundant which really doesn't make sense since it clearly isn't
+        // redundant. It is explicitly needed for Java serialization to be able to create instances via reflection.
+        @SuppressWarnings("checkstyle:RedundantModifier")
+        public Proxy() {
+            // For Externalizable
+        }
+
+        Proxy(final List<CommitTransactionPayload> payloads) {
+            this.payloads = Preconditions.checkNotNull(payloads);
+        }
+
+        @Override
+        public void writeExternal(final ObjectOutput out) throws IOException {
+            out.writeInt(payloads.size());
+            for (CommitTransactionPayload payload : payloads) {
+                CommitTransactionPayload.writeSerialized(out, payload.serialized());
+            }
+        }
+
+        @Override
+        public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+            final int count = in.readInt();
+            final ImmutableList.Builder<CommitTransactionPayload> builder = ImmutableList.builder();
+            for (int i = 0; i < count; ++i) {
+                builder.add(new CommitTransactionPayload(CommitTransactionPayload.readSerialized(in)));
+            }
+            payloads = builder.build();
+        }
+
+        private Object readResolve() {
+            return new CommitTransactionBatchPayload(payloads);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<CommitTransactionPayload> payloads;
+    private final int size;
+
+    CommitTransactionBatchPayload(final List<CommitTransactionPayload> payloads) {
+        this.payloads = ImmutableList.copyOf(payloads);
+
+        int total = 0;
+        for (CommitTransactionPayload payload : this.payloads) {
+            total += payload.size();
+        }
+        this.size = total;
+    }
+
+    public static CommitTransactionBatchPayload create(final List<CommitTransactionPayload> payloads) {
+        Preconditions.checkArgument(!payloads.isEmpty(), "Attempted to create an empty batch");
+        return new CommitTransactionBatchPayload(payloads);
+    }
+
+    /**
+     * Return the individual transaction payloads, in the order in which they were committed.
+     *
+     * @return Transaction payloads
+     */
+    public List<CommitTransactionPayload> getPayloads() {
+        return payloads;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "CommitTransactionBatchPayload [payloads=" + payloads.size() + ", size=" + size + "]";
+    }
+
+    private Object writeReplace() {
+        return new Proxy(payloads);
+    }
+}
@@ -9,9 +9,11 @@ package org.opendaylight.controller.cluster.datastore.persisted;
 
 import com.google.common.annotations.Beta;
 import com.google.common.base.Preconditions;
-import com.google.common.io.ByteArrayDataOutput;
-import com.google.common.io.ByteStreams;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
@@ -20,6 +22,9 @@ import java.io.Serializable;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.Map.Entry;
 import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeStreamVersion;
+import org.opendaylight.controller.cluster.io.ChunkedByteArray;
+import org.opendaylight.controller.cluster.io.ChunkedOutputStream;
 import org.opendaylight.controller.cluster.raft.protobuff.client.messages.Payload;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 
@@ -27,13 +32,17 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
  * Payload persisted when a transaction commits. It contains the transaction identifier and the
  * {@link DataTreeCandidate}
  *
+ * <p>
+ * The serialized form is held in a {@link ChunkedByteArray}, so that large candidates do not require a single large
+ * array. It is written to the serialization stream chunk by chunk and decoded by streaming from the chunks.
+ *
  * @author Robert Varga
  */
 @Beta
 public final class CommitTransactionPayload extends Payload implements Serializable {
     private static final class Proxy implements Externalizable {
         private static final long serialVersionUID = 1L;
-        private byte[] serialized;
+        private ChunkedByteArray serialized;
 
         // checkstyle flags the public modifier as redundant which really doesn't make sense since it clearly isn't
         // redundant. It is explicitly needed for Java serialization to be able to create instances via reflection.
@@ -42,21 +51,18 @@ public final class CommitTransactionPayload extends Payload implements Serializa
             // For Externalizable
         }
 
-        Proxy(final byte[] serialized) {
+        Proxy(final ChunkedByteArray serialized) {
             this.serialized = Preconditions.checkNotNull(serialized);
         }
 
         @Override
         public void writeExternal(final ObjectOutput out) throws IOException {
-            out.writeInt(serialized.length);
-            out.write(serialized);
+            writeSerialized(out, serialized);
         }
 
         @Override
         public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
-            final int length = in.readInt();
-            serialized = new byte[length];
-            in.readFully(serialized);
+            serialized = readSerialized(in);
         }
 
         private Object readResolve() {
@@ -66,29 +72,90 @@ public final class CommitTransactionPayload extends Payload implements Serializa
 
     private static final long serialVersionUID = 1L;
 
-    private final byte[] serialized;
+    /**
+     * Initial size of the serialization buffer. Most transactions are small, so we start small and let the buffer
+     * grow as needed.
+     */
+    private static final int INITIAL_SERIALIZED_BUFFER_CAPACITY = 512;
+
+    /**
+     * Maximum size of a single chunk of the serialized form.
+     */
+    private static final int MAX_ARRAY_SIZE = 256 * 1024;
+
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "This field is not Serializable but this class "
+            + "implements writeReplace to delegate serialization to a Proxy class and thus instances of this class "
+            + "aren't serialized. FindBugs does not recognize this.")
+    private final ChunkedByteArray serialized;
 
-    CommitTransactionPayload(final byte[] serialized) {
+    CommitTransactionPayload(final ChunkedByteArray serialized) {
         this.serialized = Preconditions.checkNotNull(serialized);
     }
 
     public static CommitTransactionPayload create(final TransactionIdentifier transactionId,
             final DataTreeCandidate candidate) throws IOException {
-        final ByteArrayDataOutput out = ByteStreams.newDataOutput();
-        transactionId.writeTo(out);
-        DataTreeCandidateInputOutput.writeDataTreeCandidate(out, candidate);
-        return new CommitTransactionPayload(out.toByteArray());
+        return create(transactionId, candidate, NormalizedNodeStreamVersion.LITHIUM);
+    }
+
+    /**
+     * Create a payload, encoding the candidate using specified stream version. Versions newer than
+     * {@link NormalizedNodeStreamVersion#LITHIUM} should only be used when all members which are going to read
+     * the payload are known to support them.
+     *
+     * @param transactionId Transaction identifier
+     * @param candidate Committed candidate
+     * @param version NormalizedNode stream version to use for the candidate
+     * @return A new payload
+     * @throws IOException if the candidate cannot be encoded
+     */
+    public static CommitTransactionPayload create(final TransactionIdentifier transactionId,
+            final DataTreeCandidate candidate, final NormalizedNodeStreamVersion version) throws IOException {
+        final ChunkedOutputStream cos = new ChunkedOutputStream(INITIAL_SERIALIZED_BUFFER_CAPACITY, MAX_ARRAY_SIZE);
+        try (DataOutputStream dos = new DataOutputStream(cos)) {
+            transactionId.writeTo(dos);
+            DataTreeCandidateInputOutput.writeDataTreeCandidate(dos, candidate, version);
+        }
+
+        return new CommitTransactionPayload(cos.toChunkedByteArray());
+    }
+
+    /**
+     * Return the identifier of the committed transaction. Unlike {@link #getCandidate()}, this method does not need
+     * to decode the candidate.
+     *
+     * @return Transaction identifier
+     * @throws IOException if the identifier cannot be decoded
+     */
+    public TransactionIdentifier getIdentifier() throws IOException {
+        return TransactionIdentifier.readFrom(newDataInput());
     }
 
     public Entry<TransactionIdentifier, DataTreeCandidate> getCandidate() throws IOException {
-        final DataInput in = ByteStreams.newDataInput(serialized);
+        final DataInput in = newDataInput();
         return new SimpleImmutableEntry<>(TransactionIdentifier.readFrom(in),
                 DataTreeCandidateInputOutput.readDataTreeCandidate(in));
     }
 
     @Override
     public int size() {
-        return serialized.length;
+        return serialized.size();
+    }
+
+    ChunkedByteArray serialized() {
+        return serialized;
+    }
+
+    static void writeSerialized(final DataOutput out, final ChunkedByteArray serialized) throws IOException {
+        out.writeInt(serialized.size());
+        serialized.copyTo(out);
+    }
+
+    static ChunkedByteArray readSerialized(final DataInput in) throws IOException {
+        return ChunkedByteArray.readFrom(in, in.readInt(), MAX_ARRAY_SIZE);
+    }
+
+    private DataInput newDataInput() {
+        return new DataInputStream(serialized.openStream());
     }
 
     private Object writeReplace() {
@@ -17,6 +17,7 @@ import java.util.Collections;
 import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataInput;
 import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataOutput;
 import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeStreamVersion;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
@@ -173,7 +174,12 @@ public final class DataTreeCandidateInputOutput {
     }
 
     public static void writeDataTreeCandidate(final DataOutput out, DataTreeCandidate candidate) throws IOException {
-        try (NormalizedNodeDataOutput writer = NormalizedNodeInputOutput.newDataOutput(out)) {
+        writeDataTreeCandidate(out, candidate, NormalizedNodeStreamVersion.LITHIUM);
+    }
+
+    public static void writeDataTreeCandidate(final DataOutput out, final DataTreeCandidate candidate,
+            final NormalizedNodeStreamVersion version) throws IOException {
+        try (NormalizedNodeDataOutput writer = NormalizedNodeInputOutput.newDataOutput(out, version)) {
             writer.writeYangInstanceIdentifier(candidate.getRootPath());
 
             final DataTreeCandidateNode node = candidate.getRootNode();
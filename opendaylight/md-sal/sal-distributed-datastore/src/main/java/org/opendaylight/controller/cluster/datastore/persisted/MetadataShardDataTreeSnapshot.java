@@ -20,6 +20,7 @@ import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.io.Serializable;
 import java.util.Map;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeStreamVersion;
 import org.opendaylight.controller.cluster.datastore.node.utils.stream.SerializationUtils;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.slf4j.Logger;
@@ -39,6 +40,8 @@ public final class MetadataShardDataTreeSnapshot extends AbstractVersionedShardD
 
         private Map<Class<? extends ShardDataTreeSnapshotMetadata<?>>, ShardDataTreeSnapshotMetadata<?>> metadata;
         private NormalizedNode<?, ?> rootNode;
+        // Only used when writing
+        private NormalizedNodeStreamVersion streamVersion;
 
         // checkstyle flags the public modifier as redundant which really doesn't make sense since it clearly isn't
         // redundant. It is explicitly needed for Java serialization to be able to create instances via reflection.
@@ -50,6 +53,7 @@ public final class MetadataShardDataTreeSnapshot extends AbstractVersionedShardD
         Proxy(final MetadataShardDataTreeSnapshot snapshot) {
             this.rootNode = snapshot.getRootNode().get();
             this.metadata = snapshot.getMetadata();
+            this.streamVersion = snapshot.streamVersion;
         }
 
         @Override
@@ -59,7 +63,7 @@ public final class MetadataShardDataTreeSnapshot extends AbstractVersionedShardD
                 out.writeObject(m);
             }
 
-            SerializationUtils.serializeNormalizedNode(rootNode, out);
+            SerializationUtils.serializeNormalizedNode(rootNode, out, streamVersion);
         }
 
         @Override
@@ -98,14 +102,32 @@ public final class MetadataShardDataTreeSnapshot extends AbstractVersionedShardD
     @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "See above justification.")
     private final NormalizedNode<?, ?> rootNode;
 
+    private final NormalizedNodeStreamVersion streamVersion;
+
     public MetadataShardDataTreeSnapshot(final NormalizedNode<?, ?> rootNode) {
         this(rootNode, ImmutableMap.of());
     }
 
     public MetadataShardDataTreeSnapshot(final NormalizedNode<?, ?> rootNode,
             final Map<Class<? extends ShardDataTreeSnapshotMetadata<?>>, ShardDataTreeSnapshotMetadata<?>> metadata) {
+        this(rootNode, metadata, NormalizedNodeStreamVersion.LITHIUM);
+    }
+
+    /**
+     * Create a snapshot whose root node is serialized using specified stream version. Versions newer than
+     * {@link NormalizedNodeStreamVersion#LITHIUM} should only be used when all members which are going to read
+     * the snapshot are known to support them.
+     *
+     * @param rootNode Root node
+     * @param metadata Snapshot metadata
+     * @param streamVersion NormalizedNode stream version to use when serializing the root node
+     */
+    public MetadataShardDataTreeSnapshot(final NormalizedNode<?, ?> rootNode,
+            final Map<Class<? extends ShardDataTreeSnapshotMetadata<?>>, ShardDataTreeSnapshotMetadata<?>> metadata,
+            final NormalizedNodeStreamVersion streamVersion) {
         this.rootNode = Preconditions.checkNotNull(rootNode);
         this.metadata = ImmutableMap.copyOf(metadata);
+        this.streamVersion = Preconditions.checkNotNull(streamVersion);
     }
 
     public Map<Class<? extends ShardDataTreeSnapshotMetadata<?>>, ShardDataTreeSnapshotMetadata<?>> getMetadata() {
@@ -25,6 +25,9 @@ import com.codahale.metrics.Timer;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import org.opendaylight.controller.cluster.access.concepts.MemberName;
@@ -98,7 +101,7 @@ public class ActorContext {
     private FiniteDuration operationDuration;
     private Timeout operationTimeout;
     private final String selfAddressHostPort;
-    private TransactionRateLimiter txRateLimiter;
+    private final ConcurrentMap<String, ShardAdmissionWindow> admissionWindows = new ConcurrentHashMap<>();
     private Timeout transactionCommitOperationTimeout;
     private Timeout shardInitializationTimeout;
     private final Dispatchers dispatchers;
@@ -148,8 +151,6 @@ public class ActorContext {
     }
 
     private void setCachedProperties() {
-        txRateLimiter = new TransactionRateLimiter(this);
-
         operationDuration = Duration.create(datastoreContext.getOperationTimeoutInMillis(), TimeUnit.MILLISECONDS);
         operationTimeout = new Timeout(operationDuration);
 
@@ -494,19 +495,23 @@ public class ActorContext {
     }
 
     /**
-     * Get the current transaction creation rate limit.
+     * Get the transaction admission window for a shard, creating it if needed.
      *
-     * @return the rate limit
+     * @param shardName the shard name
+     * @return the admission window
      */
-    public double getTxCreationLimit() {
-        return txRateLimiter.getTxCreationLimit();
+    public ShardAdmissionWindow getAdmissionWindow(final String shardName) {
+        return admissionWindows.computeIfAbsent(shardName,
+            name -> ShardAdmissionWindow.create(name, datastoreContext));
     }
 
     /**
-     * Try to acquire a transaction creation permit. Will block if no permits are available.
+     * Get the transaction admission windows of all shards transactions have been committed to.
+     *
+     * @return the admission windows
      */
-    public void acquireTxCreationPermit() {
-        txRateLimiter.acquire();
+    public Collection<ShardAdmissionWindow> getAdmissionWindows() {
+        return admissionWindows.values();
     }
 
     /**
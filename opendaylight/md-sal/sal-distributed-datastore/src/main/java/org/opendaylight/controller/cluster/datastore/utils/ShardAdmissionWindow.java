@@ -0,0 +1,390 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.utils;
+
+import akka.pattern.AskTimeoutException;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.concurrent.GuardedBy;
+import org.opendaylight.controller.cluster.datastore.DatastoreContext;
+import org.opendaylight.controller.cluster.datastore.jmx.mbeans.ShardAdmissionWindowInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Admission control for transactions committing to a single shard. The window limits the number of transactions
+ * this frontend has in flight towards the shard and is sized using additive-increase/multiplicative-decrease:
+ * each transaction committed without signs of congestion grows the window by one over the course of a window's
+ * worth of commits, while a congested commit halves it.
+ *
+ * <p>
+ * Congestion is inferred from the feedback the shard leader piggybacks on
+ * {@link org.opendaylight.controller.cluster.datastore.messages.CommitTransactionReply}: the commit latency exceeding
+ * the lowest observed latency by more than the larger of that latency and {@link #TARGET_QUEUE_DELAY_NANOS}, the
+ * shard's queue being deeper than our window, which means other frontends are competing for it, or the commit timing
+ * out.
+ *
+ * <p>
+ * Callers which find the window full are blocked until a permit is released, but never longer than the operation
+ * timeout, after which the transaction is admitted regardless. Permits which have not been released within
+ * the transaction commit timeout are reclaimed, as by that time their transaction has either completed or timed out.
+ * This prevents transactions which are readied but never committed nor aborted from shrinking the window forever.
+ */
+public final class ShardAdmissionWindow {
+    /**
+     * A permit to commit a single transaction. Exactly one of the completion methods takes effect, subsequent
+     * invocations are ignored.
+     */
+    public final class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+        private final long sequence;
+        private final long expiresAtNanos;
+
+        Permit(final long sequence, final long expiresAtNanos) {
+            this.sequence = sequence;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        /**
+         * Release this permit after the transaction has committed.
+         *
+         * @param queueDepth queue depth reported by the shard
+         * @param commitLatencyNanos commit latency reported by the shard, zero if not reported
+         */
+        public void committed(final int queueDepth, final long commitLatencyNanos) {
+            if (released.compareAndSet(false, true)) {
+                onCommitted(this, queueDepth, commitLatencyNanos);
+            }
+        }
+
+        /**
+         * Release this permit after the transaction has failed. Timeouts are taken as a sign of congestion, other
+         * failures do not affect the window.
+         *
+         * @param cause failure cause
+         */
+        public void failed(final Throwable cause) {
+            if (released.compareAndSet(false, true)) {
+                onFailed(this, cause instanceof AskTimeoutException || cause instanceof TimeoutException);
+            }
+        }
+
+        /**
+         * Release this permit without affecting the window, for example because the transaction was aborted.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                onReleased(this);
+            }
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShardAdmissionWindow.class);
+
+    /**
+     * Queueing delay we tolerate in the shard before we consider it congested.
+     */
+    @VisibleForTesting
+    static final long TARGET_QUEUE_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    /**
+     * Number of latency samples after which the baseline latency is re-evaluated, so that it can recover from
+     * an unusually fast commit and follow changes in the shard's service time.
+     */
+    private static final int BASELINE_SAMPLES = 1000;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+    // Outstanding permits in the order they were acquired, which is also the order in which they expire
+    @GuardedBy("lock")
+    private final Set<Permit> inFlight = new LinkedHashSet<>();
+    private final String shardName;
+    private final int maxWindow;
+    private final long admissionTimeoutNanos;
+    private final long permitTimeoutNanos;
+    private final Ticker ticker;
+
+    @GuardedBy("lock")
+    private double window;
+    @GuardedBy("lock")
+    private long nextSequence;
+    @GuardedBy("lock")
+    private long decreaseSequence;
+    @GuardedBy("lock")
+    private long baselineLatencyNanos = Long.MAX_VALUE;
+    @GuardedBy("lock")
+    private long epochMinLatencyNanos = Long.MAX_VALUE;
+    @GuardedBy("lock")
+    private int epochSamples;
+
+    @GuardedBy("lock")
+    private int lastQueueDepth;
+    @GuardedBy("lock")
+    private long lastCommitLatencyNanos;
+    @GuardedBy("lock")
+    private long admittedCount;
+    @GuardedBy("lock")
+    private long rejectedCount;
+    @GuardedBy("lock")
+    private long timedOutCount;
+    @GuardedBy("lock")
+    private long congestionCount;
+    @GuardedBy("lock")
+    private long expiredCount;
+
+    @VisibleForTesting
+    ShardAdmissionWindow(final String shardName, final int initialWindow, final int maxWindow,
+            final long admissionTimeoutNanos, final long permitTimeoutNanos, final Ticker ticker) {
+        Preconditions.checkArgument(maxWindow > 0);
+        this.shardName = Preconditions.checkNotNull(shardName);
+        this.maxWindow = maxWindow;
+        this.admissionTimeoutNanos = admissionTimeoutNanos;
+        this.permitTimeoutNanos = permitTimeoutNanos;
+        this.ticker = Preconditions.checkNotNull(ticker);
+        this.window = Math.min(Math.max(1, initialWindow), maxWindow);
+    }
+
+    /**
+     * Create a window for a shard. The initial window is the configured initial transaction admission window,
+     * and it can grow up to the configured shard transaction commit queue capacity. Callers wait for admission at most
+     * the operation timeout, while permits are reclaimed after the transaction commit timeout.
+     *
+     * @param shardName shard name
+     * @param context datastore context
+     * @return a new window
+     */
+    public static ShardAdmissionWindow create(final String shardName, final DatastoreContext context) {
+        return new ShardAdmissionWindow(shardName, context.getTransactionAdmissionInitialWindow(),
+            Math.max(1, context.getShardTransactionCommitQueueCapacity()),
+            TimeUnit.MILLISECONDS.toNanos(context.getOperationTimeoutInMillis()),
+            TimeUnit.SECONDS.toNanos(context.getShardTransactionCommitTimeoutInSeconds()), Ticker.systemTicker());
+    }
+
+    public String getShardName() {
+        return shardName;
+    }
+
+    /**
+     * Acquire a permit to commit a transaction to this shard, blocking while the window is full.
+     *
+     * @return A permit, which has to be released once the transaction completes
+     */
+    public Permit acquire() {
+        lock.lock();
+        try {
+            long now = ticker.read();
+            reclaimExpired(now);
+
+            if (inFlight.size() >= currentWindow()) {
+                rejectedCount++;
+                LOG.debug("Shard {} admission window {} is full, waiting for a permit", shardName, currentWindow());
+
+                long remaining = admissionTimeoutNanos;
+                while (inFlight.size() >= currentWindow()) {
+                    if (remaining <= 0) {
+                        timedOutCount++;
+                        LOG.debug("Shard {} did not release a permit in {}ns, admitting transaction over window {}",
+                            shardName, admissionTimeoutNanos, currentWindow());
+                        break;
+                    }
+
+                    // Do not sleep past the expiry of the oldest permit, so it can be reclaimed
+                    final long wait = Math.max(1, Math.min(remaining, inFlight.iterator().next().expiresAtNanos - now));
+                    try {
+                        remaining -= wait - permitReleased.awaitNanos(wait);
+                    } catch (InterruptedException e) {
+                        LOG.debug("Interrupted while waiting for shard {} admission", shardName, e);
+                        Thread.currentThread().interrupt();
+                        timedOutCount++;
+                        break;
+                    }
+
+                    now = ticker.read();
+                    reclaimExpired(now);
+                }
+            }
+
+            final Permit permit = new Permit(nextSequence++, now + permitTimeoutNanos);
+            inFlight.add(permit);
+            admittedCount++;
+            return permit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @GuardedBy("lock")
+    private void reclaimExpired(final long now) {
+        boolean reclaimed = false;
+        final Iterator<Permit> it = inFlight.iterator();
+        while (it.hasNext()) {
+            final Permit permit = it.next();
+            if (permit.expiresAtNanos - now > 0) {
+                // Permits expire in the order they were acquired
+                break;
+            }
+
+            // If the owner is releasing the permit concurrently, it will remove it once it gets the lock
+            if (permit.released.compareAndSet(false, true)) {
+                it.remove();
+                expiredCount++;
+                reclaimed = true;
+                LOG.debug("Shard {} reclaimed admission permit {} which was not released in {}ns", shardName,
+                    permit.sequence, permitTimeoutNanos);
+            }
+        }
+
+        if (reclaimed) {
+            permitReleased.signalAll();
+        }
+    }
+
+    @GuardedBy("lock")
+    private int currentWindow() {
+        return (int) window;
+    }
+
+    private void onCommitted(final Permit permit, final int queueDepth, final long commitLatencyNanos) {
+        lock.lock();
+        try {
+            lastQueueDepth = queueDepth;
+            lastCommitLatencyNanos = commitLatencyNanos;
+
+            final boolean congested = updateLatency(commitLatencyNanos) || queueDepth > currentWindow();
+            if (congested) {
+                decrease(permit.sequence);
+            } else {
+                window = Math.min(maxWindow, window + 1 / window);
+            }
+            releasePermit(permit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onFailed(final Permit permit, final boolean congested) {
+        lock.lock();
+        try {
+            if (congested) {
+                decrease(permit.sequence);
+            }
+            releasePermit(permit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onReleased(final Permit permit) {
+        lock.lock();
+        try {
+            releasePermit(permit);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @GuardedBy("lock")
+    private boolean updateLatency(final long latency) {
+        if (latency <= 0) {
+            // Not reported by the shard
+            return false;
+        }
+
+        epochMinLatencyNanos = Math.min(epochMinLatencyNanos, latency);
+        if (++epochSamples >= BASELINE_SAMPLES || baselineLatencyNanos == Long.MAX_VALUE) {
+            baselineLatencyNanos = epochMinLatencyNanos;
+            epochMinLatencyNanos = Long.MAX_VALUE;
+            epochSamples = 0;
+        } else {
+            baselineLatencyNanos = Math.min(baselineLatencyNanos, latency);
+        }
+
+        return latency - baselineLatencyNanos > Math.max(TARGET_QUEUE_DELAY_NANOS, baselineLatencyNanos);
+    }
+
+    @GuardedBy("lock")
+    private void decrease(final long sequence) {
+        // React only once to the transactions which were in flight when we last decreased the window, as they were
+        // admitted under the old window and report the same congestion.
+        if (sequence >= decreaseSequence) {
+            window = Math.max(1, window / 2);
+            decreaseSequence = nextSequence;
+            congestionCount++;
+            LOG.debug("Shard {} is congested, admission window reduced to {}", shardName, currentWindow());
+        }
+    }
+
+    @GuardedBy("lock")
+    private void releasePermit(final Permit permit) {
+        inFlight.remove(permit);
+        permitReleased.signal();
+    }
+
+    /**
+     * Return the current size of the window.
+     *
+     * @return current window size
+     */
+    public int getWindow() {
+        lock.lock();
+        try {
+            return currentWindow();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return the number of transactions currently holding a permit.
+     *
+     * @return number of transactions in flight
+     */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Return the transaction rate this window sustains at the last reported commit latency, as given by Little's law.
+     *
+     * @return transactions per second, or zero if the shard has not reported any commit latency yet
+     */
+    public double getAdmissionRate() {
+        lock.lock();
+        try {
+            return lastCommitLatencyNanos <= 0 ? 0
+                    : currentWindow() * (double) TimeUnit.SECONDS.toNanos(1) / lastCommitLatencyNanos;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public ShardAdmissionWindowInfo toInfo() {
+        lock.lock();
+        try {
+            return new ShardAdmissionWindowInfo(shardName, currentWindow(), inFlight.size(), admittedCount,
+                rejectedCount, timedOutCount, congestionCount, expiredCount, lastQueueDepth,
+                TimeUnit.NANOSECONDS.toMicros(lastCommitLatencyNanos));
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -102,6 +102,15 @@ public class DistributedOperationalDataStoreProviderModule
                 .backendAlivenessTimerIntervalInSeconds(props.getBackendAlivenessTimerIntervalInSeconds().getValue())
                 .frontendRequestTimeoutInSeconds(props.getFrontendRequestTimeoutInSeconds().getValue())
                 .frontendNoProgressTimeoutInSeconds(props.getFrontendNoProgressTimeoutInSeconds().getValue())
+                .transactionBatchTimeBudgetInMicros(props.getTransactionBatchTimeBudgetInMicros().getValue())
+                .parallelValidationWindow(props.getParallelValidationWindow())
+                .installSnapshotCompressionEnabled(props.getInstallSnapshotCompressionEnabled())
+                .installSnapshotWindowSize(props.getInstallSnapshotWindowSize().getValue().intValue())
+                .maxInFlightAppendEntries(props.getMaxInFlightAppendEntries().getValue().intValue())
+                .inMemoryJournalCompactionThreshold(props.getInMemoryJournalCompactionThreshold().intValue())
+                .inMemoryJournalOffHeap(props.getInMemoryJournalOffHeap())
+                .followerReadsEnabled(props.getFollowerReadsEnabled())
+                .transactionAdmissionInitialWindow(props.getTransactionAdmissionInitialWindow().getValue().intValue())
                 .build();
     }
 
@@ -82,6 +82,14 @@ public abstract class AbstractClientHistoryTest<T extends AbstractClientHistory>
         Assert.assertNotEquals(TRANSACTION_ID, transactionProxy.getIdentifier());
     }
 
+    @Test
+    public void testAdmission() throws Exception {
+        Assert.assertTrue(object().isBlocking());
+        // No requests have been sent, hence there is nothing to wait for
+        object().createTransactionProxy(TRANSACTION_ID, 0L);
+        Assert.assertTrue(object().admission().toCompletableFuture().isDone());
+    }
+
     @Test
     public void testState() throws Exception {
         Assert.assertEquals(AbstractClientHistory.State.IDLE, object().state());
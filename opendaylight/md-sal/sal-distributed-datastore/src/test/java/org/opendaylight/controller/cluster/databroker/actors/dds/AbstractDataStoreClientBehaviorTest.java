@@ -99,6 +99,15 @@ public abstract class AbstractDataStoreClientBehaviorTest {
     public void testCreateLocalHistory() throws Exception {
         final ClientLocalHistory history = behavior.createLocalHistory();
         Assert.assertEquals(behavior.getIdentifier(), history.getIdentifier().getClientId());
+        Assert.assertTrue(history.isBlocking());
+    }
+
+    @Test
+    public void testCreateNonBlockingLocalHistory() throws Exception {
+        final ClientLocalHistory history = behavior.createNonBlockingLocalHistory();
+        Assert.assertEquals(behavior.getIdentifier(), history.getIdentifier().getClientId());
+        Assert.assertFalse(history.isBlocking());
+        Assert.assertTrue(history.admission().toCompletableFuture().isDone());
     }
 
     @Test
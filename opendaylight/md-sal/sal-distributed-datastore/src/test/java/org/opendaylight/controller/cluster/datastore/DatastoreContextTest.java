@@ -10,11 +10,18 @@ package org.opendaylight.controller.cluster.datastore;
 
 import static org.junit.Assert.assertEquals;
 import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_CONFIGURATION_READER;
+import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_FOLLOWER_READS_ENABLED;
 import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_HEARTBEAT_INTERVAL_IN_MILLIS;
+import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_INSTALL_SNAPSHOT_COMPRESSION_ENABLED;
+import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_INSTALL_SNAPSHOT_WINDOW_SIZE;
+import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_IN_MEMORY_JOURNAL_COMPACTION_THRESHOLD;
+import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_IN_MEMORY_JOURNAL_OFF_HEAP;
 import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_ISOLATED_LEADER_CHECK_INTERVAL_IN_MILLIS;
 import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_JOURNAL_RECOVERY_BATCH_SIZE;
+import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_MAX_IN_FLIGHT_APPEND_ENTRIES;
 import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_MAX_MESSAGE_SLICE_SIZE;
 import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_OPERATION_TIMEOUT_IN_MS;
+import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_PARALLEL_VALIDATION_WINDOW;
 import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_PERSISTENT;
 import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_SHARD_BATCHED_MODIFICATION_COUNT;
 import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_SHARD_ELECTION_TIMEOUT_FACTOR;
@@ -25,6 +32,8 @@ import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEF
 import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_SHARD_TX_COMMIT_QUEUE_CAPACITY;
 import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_SHARD_TX_COMMIT_TIMEOUT_IN_SECONDS;
 import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_SNAPSHOT_BATCH_COUNT;
+import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_TRANSACTION_BATCH_TIME_BUDGET_IN_MICROS;
+import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_TX_ADMISSION_INITIAL_WINDOW;
 import static org.opendaylight.controller.cluster.datastore.DatastoreContext.DEFAULT_TX_CREATION_INITIAL_RATE_LIMIT;
 
 import java.util.concurrent.TimeUnit;
@@ -70,6 +79,15 @@ public class DatastoreContextTest {
         assertEquals(InMemoryDOMDataStoreConfigProperties.DEFAULT_MAX_DATA_STORE_EXECUTOR_QUEUE_SIZE,
                 context.getDataStoreProperties().getMaxDataStoreExecutorQueueSize());
         assertEquals(DEFAULT_MAX_MESSAGE_SLICE_SIZE, context.getMaximumMessageSliceSize());
+        assertEquals(DEFAULT_TRANSACTION_BATCH_TIME_BUDGET_IN_MICROS, context.getTransactionBatchTimeBudgetInMicros());
+        assertEquals(DEFAULT_PARALLEL_VALIDATION_WINDOW, context.getParallelValidationWindow());
+        assertEquals(DEFAULT_INSTALL_SNAPSHOT_COMPRESSION_ENABLED, context.isInstallSnapshotCompressionEnabled());
+        assertEquals(DEFAULT_INSTALL_SNAPSHOT_WINDOW_SIZE, context.getInstallSnapshotWindowSize());
+        assertEquals(DEFAULT_MAX_IN_FLIGHT_APPEND_ENTRIES, context.getMaxInFlightAppendEntries());
+        assertEquals(DEFAULT_IN_MEMORY_JOURNAL_COMPACTION_THRESHOLD, context.getInMemoryJournalCompactionThreshold());
+        assertEquals(DEFAULT_IN_MEMORY_JOURNAL_OFF_HEAP, context.isInMemoryJournalOffHeap());
+        assertEquals(DEFAULT_FOLLOWER_READS_ENABLED, context.isFollowerReadsEnabled());
+        assertEquals(DEFAULT_TX_ADMISSION_INITIAL_WINDOW, context.getTransactionAdmissionInitialWindow());
     }
 
     @Test
@@ -105,6 +123,15 @@ public class DatastoreContextTest {
         builder.maxShardDataStoreExecutorQueueSize(
                 InMemoryDOMDataStoreConfigProperties.DEFAULT_MAX_DATA_STORE_EXECUTOR_QUEUE_SIZE + 1);
         builder.maximumMessageSliceSize(DEFAULT_MAX_MESSAGE_SLICE_SIZE + 1);
+        builder.transactionBatchTimeBudgetInMicros(DEFAULT_TRANSACTION_BATCH_TIME_BUDGET_IN_MICROS + 1);
+        builder.parallelValidationWindow(DEFAULT_PARALLEL_VALIDATION_WINDOW + 1);
+        builder.installSnapshotCompressionEnabled(!DEFAULT_INSTALL_SNAPSHOT_COMPRESSION_ENABLED);
+        builder.installSnapshotWindowSize(DEFAULT_INSTALL_SNAPSHOT_WINDOW_SIZE + 1);
+        builder.maxInFlightAppendEntries(DEFAULT_MAX_IN_FLIGHT_APPEND_ENTRIES + 1);
+        builder.inMemoryJournalCompactionThreshold(DEFAULT_IN_MEMORY_JOURNAL_COMPACTION_THRESHOLD + 1);
+        builder.inMemoryJournalOffHeap(!DEFAULT_IN_MEMORY_JOURNAL_OFF_HEAP);
+        builder.followerReadsEnabled(!DEFAULT_FOLLOWER_READS_ENABLED);
+        builder.transactionAdmissionInitialWindow(DEFAULT_TX_ADMISSION_INITIAL_WINDOW + 1);
 
         DatastoreContext context = builder.build();
 
@@ -156,5 +183,16 @@ public class DatastoreContextTest {
         assertEquals(InMemoryDOMDataStoreConfigProperties.DEFAULT_MAX_DATA_STORE_EXECUTOR_QUEUE_SIZE + 1,
                 context.getDataStoreProperties().getMaxDataStoreExecutorQueueSize());
         assertEquals(DEFAULT_MAX_MESSAGE_SLICE_SIZE + 1, context.getMaximumMessageSliceSize());
+        assertEquals(DEFAULT_TRANSACTION_BATCH_TIME_BUDGET_IN_MICROS + 1,
+                context.getTransactionBatchTimeBudgetInMicros());
+        assertEquals(DEFAULT_PARALLEL_VALIDATION_WINDOW + 1, context.getParallelValidationWindow());
+        assertEquals(!DEFAULT_INSTALL_SNAPSHOT_COMPRESSION_ENABLED, context.isInstallSnapshotCompressionEnabled());
+        assertEquals(DEFAULT_INSTALL_SNAPSHOT_WINDOW_SIZE + 1, context.getInstallSnapshotWindowSize());
+        assertEquals(DEFAULT_MAX_IN_FLIGHT_APPEND_ENTRIES + 1, context.getMaxInFlightAppendEntries());
+        assertEquals(DEFAULT_IN_MEMORY_JOURNAL_COMPACTION_THRESHOLD + 1,
+                context.getInMemoryJournalCompactionThreshold());
+        assertEquals(!DEFAULT_IN_MEMORY_JOURNAL_OFF_HEAP, context.isInMemoryJournalOffHeap());
+        assertEquals(!DEFAULT_FOLLOWER_READS_ENABLED, context.isFollowerReadsEnabled());
+        assertEquals(DEFAULT_TX_ADMISSION_INITIAL_WINDOW + 1, context.getTransactionAdmissionInitialWindow());
     }
 }
@@ -354,6 +354,32 @@ public class DistributedDataStoreRemotingIntegrationTest extends AbstractTest {
         verifyCars(followerDistributedDataStore.newReadOnlyTransaction(), car1, car2);
     }
 
+    @Test
+    public void testReadOnlyTransactionsServedByFollower() throws Exception {
+        leaderDatastoreContextBuilder.shardElectionTimeoutFactor(10);
+        followerDatastoreContextBuilder.followerReadsEnabled(true);
+        initDatastoresWithCars("testReadOnlyTransactionsServedByFollower");
+
+        final DOMStoreWriteTransaction writeTx = leaderDistributedDataStore.newWriteOnlyTransaction();
+        writeTx.write(CarsModel.BASE_PATH, CarsModel.emptyContainer());
+        writeTx.write(CarsModel.CAR_LIST_PATH, CarsModel.newCarMapNode());
+        final MapEntryNode car1 = CarsModel.newCarEntry("optima", BigInteger.valueOf(20000));
+        writeTx.merge(CarsModel.newCarPath("optima"), car1);
+        leaderTestKit.doCommit(writeTx.ready());
+
+        // The follower has to observe the committed data right away
+        verifyCars(followerDistributedDataStore.newReadOnlyTransaction(), car1);
+        verifyCars(followerDistributedDataStore.newReadOnlyTransaction(), car1);
+
+        if (testParameter == DistributedDataStore.class) {
+            IntegrationTestKit.verifyShardStats(followerDistributedDataStore, "cars",
+                stats -> assertEquals("getFollowerReadOnlyTransactionCount", 2,
+                    stats.getFollowerReadOnlyTransactionCount()));
+            IntegrationTestKit.verifyShardStats(leaderDistributedDataStore, "cars",
+                stats -> assertEquals("getReadIndexRequestCount", 2, stats.getReadIndexRequestCount()));
+        }
+    }
+
     @Test
     public void testWriteTransactionWithMultipleShards() throws Exception {
         initDatastoresWithCarsAndPeople("testWriteTransactionWithMultipleShards");
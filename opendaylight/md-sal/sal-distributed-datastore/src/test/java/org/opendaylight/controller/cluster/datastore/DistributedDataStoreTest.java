@@ -9,8 +9,9 @@
 package org.opendaylight.controller.cluster.datastore;
 
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.doReturn;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import akka.util.Timeout;
@@ -56,34 +57,15 @@ public class DistributedDataStoreTest extends AbstractActorTest {
     }
 
     @Test
-    public void testRateLimitingUsedInReadWriteTxCreation() {
+    public void testAdmissionNotUsedInTxCreation() {
         try (DistributedDataStore distributedDataStore = new DistributedDataStore(actorContext, UNKNOWN_ID)) {
 
             distributedDataStore.newReadWriteTransaction();
-
-            verify(actorContext, times(1)).acquireTxCreationPermit();
-        }
-    }
-
-    @Test
-    public void testRateLimitingUsedInWriteOnlyTxCreation() {
-        try (DistributedDataStore distributedDataStore = new DistributedDataStore(actorContext, UNKNOWN_ID)) {
-
             distributedDataStore.newWriteOnlyTransaction();
-
-            verify(actorContext, times(1)).acquireTxCreationPermit();
-        }
-    }
-
-    @Test
-    public void testRateLimitingNotUsedInReadOnlyTxCreation() {
-        try (DistributedDataStore distributedDataStore = new DistributedDataStore(actorContext, UNKNOWN_ID)) {
-
-            distributedDataStore.newReadOnlyTransaction();
-            distributedDataStore.newReadOnlyTransaction();
             distributedDataStore.newReadOnlyTransaction();
 
-            verify(actorContext, times(0)).acquireTxCreationPermit();
+            // Admission is performed per shard when the transaction is readied
+            verify(actorContext, never()).getAdmissionWindow(anyString());
         }
     }
 
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import akka.testkit.javadsl.TestKit;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardStats;
+import org.opendaylight.controller.cluster.datastore.messages.CreateTransaction;
+import scala.concurrent.duration.FiniteDuration;
+
+/**
+ * Unit tests for FollowerReadSupport.
+ */
+public class FollowerReadSupportTest extends AbstractActorTest {
+    @Test
+    public void testReadForwardedToLeaderWithoutReadIndex() {
+        final TestKit leader = new TestKit(getSystem());
+        final TestKit client = new TestKit(getSystem());
+        final ShardStats stats = mock(ShardStats.class);
+
+        // A leader running an older version, which never answers GetReadIndex
+        final Shard shard = mock(Shard.class);
+        doReturn("shard").when(shard).persistenceId();
+        doReturn(false).when(shard).leaderSupportsReadIndex();
+        doReturn(getSystem().actorSelection(leader.getRef().path())).when(shard).getLeader();
+        doReturn(stats).when(shard).getShardMBean();
+
+        final CreateTransaction createTransaction = new CreateTransaction(nextTransactionId(),
+            TransactionType.READ_ONLY.ordinal(), DataStoreVersions.CURRENT_VERSION);
+        new FollowerReadSupport(shard).addRead(createTransaction, createTransaction, client.getRef());
+
+        // The read is forwarded straight away, without waiting for a read index
+        leader.expectMsgEquals(createTransaction);
+        verify(stats).incrementForwardedReadOnlyTransactionCount();
+        leader.expectNoMsg(FiniteDuration.create(100, TimeUnit.MILLISECONDS));
+        client.expectNoMsg(FiniteDuration.create(100, TimeUnit.MILLISECONDS));
+    }
+}
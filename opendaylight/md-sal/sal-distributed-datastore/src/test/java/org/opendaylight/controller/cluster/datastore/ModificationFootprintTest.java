@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.function.Consumer;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.md.cluster.datastore.model.CarsModel;
+import org.opendaylight.controller.md.cluster.datastore.model.PeopleModel;
+import org.opendaylight.controller.md.cluster.datastore.model.SchemaContextHelper;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class ModificationFootprintTest {
+    private static final String NAMESPACE =
+        "urn:opendaylight:params:xml:ns:yang:controller:md:sal:dom:store:test:constrained-lists";
+    private static final String REVISION = "2018-03-01";
+    private static final QName LISTS = QName.create(NAMESPACE, REVISION, "lists");
+    private static final QName NAME = QName.create(LISTS, "name");
+    private static final QName PLAIN_LIST = QName.create(LISTS, "plain-list");
+    private static final QName UNIQUE_LIST = QName.create(LISTS, "unique-list");
+    private static final QName BOUNDED_LIST = QName.create(LISTS, "bounded-list");
+    private static final QName BOUNDED_LEAF_LIST = QName.create(LISTS, "bounded-leaf-list");
+
+    private SchemaContext schemaContext;
+    private DataTree dataTree;
+
+    @Before
+    public void setUp() {
+        schemaContext = SchemaContextHelper.select(SchemaContextHelper.ODL_DATASTORE_TEST_YANG,
+            SchemaContextHelper.PEOPLE_YANG, SchemaContextHelper.CARS_YANG, "/constrained-lists.yang");
+        dataTree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL, schemaContext);
+    }
+
+    @Test
+    public void testDisjoint() {
+        final ModificationFootprint cars = footprint(mod -> mod.write(CarsModel.BASE_PATH, CarsModel.create()));
+        final ModificationFootprint people = footprint(mod -> mod.merge(PeopleModel.BASE_PATH, PeopleModel.create()));
+
+        assertFalse(cars.overlaps(people));
+        assertFalse(people.overlaps(cars));
+    }
+
+    @Test
+    public void testPrefix() {
+        final ModificationFootprint cars = footprint(mod -> mod.write(CarsModel.BASE_PATH, CarsModel.create()));
+        final ModificationFootprint car = footprint(mod -> mod.delete(CarsModel.newCarPath("optima")));
+
+        assertTrue(cars.overlaps(car));
+        assertTrue(car.overlaps(cars));
+        assertTrue(car.overlaps(car));
+    }
+
+    @Test
+    public void testSiblingListEntries() {
+        final ModificationFootprint cars = footprint(mod -> mod.write(CarsModel.BASE_PATH, CarsModel.create()));
+        final ModificationFootprint sportage = footprint(mod -> mod.write(CarsModel.newCarPath("sportage"),
+            CarsModel.newCarEntry("sportage", BigInteger.TEN)));
+        final ModificationFootprint cruze = footprint(mod -> mod.write(CarsModel.newCarPath("cruze"),
+            CarsModel.newCarEntry("cruze", BigInteger.ONE)));
+
+        assertFalse(sportage.overlaps(cruze));
+        assertTrue(cars.overlaps(cruze));
+    }
+
+    @Test
+    public void testUnbounded() {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(CarsModel.BASE_PATH, CarsModel.create());
+        mod.write(PeopleModel.BASE_PATH, PeopleModel.create());
+        mod.ready();
+
+        final ModificationFootprint unbounded = ModificationFootprint.of(mod, schemaContext, 1);
+        assertTrue(unbounded.isUnbounded());
+        assertFalse(ModificationFootprint.of(mod, schemaContext, 2).isUnbounded());
+
+        final ModificationFootprint empty = footprint(modification -> { });
+        assertTrue(unbounded.overlaps(empty));
+        assertTrue(empty.overlaps(unbounded));
+    }
+
+    @Test
+    public void testConstrainedListEntries() {
+        // Entries of lists with unique or element count constraints depend on each other
+        assertFalse(listEntry(PLAIN_LIST, "a").overlaps(listEntry(PLAIN_LIST, "b")));
+        assertTrue(listEntry(UNIQUE_LIST, "a").overlaps(listEntry(UNIQUE_LIST, "b")));
+        assertTrue(listEntry(BOUNDED_LIST, "a").overlaps(listEntry(BOUNDED_LIST, "b")));
+        assertTrue(leafListEntry("a").overlaps(leafListEntry("b")));
+
+        // ... but not on entries of other lists
+        assertFalse(listEntry(UNIQUE_LIST, "a").overlaps(listEntry(BOUNDED_LIST, "a")));
+        assertFalse(listEntry(UNIQUE_LIST, "a").overlaps(listEntry(PLAIN_LIST, "a")));
+    }
+
+    private ModificationFootprint listEntry(final QName list, final String name) {
+        return footprint(mod -> mod.write(YangInstanceIdentifier.builder().node(LISTS).node(list)
+            .nodeWithKey(list, NAME, name).build(), ImmutableNodes.mapEntry(list, NAME, name)));
+    }
+
+    private ModificationFootprint leafListEntry(final String value) {
+        final NodeWithValue<String> id = new NodeWithValue<>(BOUNDED_LEAF_LIST, value);
+        return footprint(mod -> mod.merge(YangInstanceIdentifier.builder().node(LISTS).node(BOUNDED_LEAF_LIST)
+            .node(id).build(), Builders.leafSetEntryBuilder().withNodeIdentifier(id).withValue(value).build()));
+    }
+
+    private ModificationFootprint footprint(final Consumer<DataTreeModification> operation) {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        operation.accept(mod);
+        mod.ready();
+        return ModificationFootprint.of(mod, schemaContext, 64);
+    }
+}
@@ -13,6 +13,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doNothing;
@@ -33,9 +34,11 @@ import static org.opendaylight.controller.cluster.datastore.ShardDataTreeMocking
 import static org.opendaylight.controller.cluster.datastore.ShardDataTreeMocking.immediatePreCommit;
 
 import com.google.common.base.Ticker;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import com.google.common.primitives.UnsignedLong;
 import com.google.common.util.concurrent.FutureCallback;
+import java.io.IOException;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -43,6 +46,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import org.junit.Before;
 import org.junit.Test;
@@ -50,10 +54,12 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard.ShardStats;
+import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionBatchPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionPayload;
 import org.opendaylight.controller.md.cluster.datastore.model.CarsModel;
 import org.opendaylight.controller.md.cluster.datastore.model.PeopleModel;
 import org.opendaylight.controller.md.cluster.datastore.model.SchemaContextHelper;
+import org.opendaylight.controller.md.sal.common.api.data.OptimisticLockFailedException;
 import org.opendaylight.controller.md.sal.dom.api.DOMDataTreeChangeListener;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
@@ -69,13 +75,15 @@ import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 public class ShardDataTreeTest extends AbstractTest {
 
     private final Shard mockShard = Mockito.mock(Shard.class);
+    private final ShardStats mockStats = Mockito.mock(ShardStats.class);
     private ShardDataTree shardDataTree;
     private SchemaContext fullSchema;
 
     @Before
     public void setUp() {
         doReturn(Ticker.systemTicker()).when(mockShard).ticker();
-        doReturn(Mockito.mock(ShardStats.class)).when(mockShard).getShardMBean();
+        doReturn(mockStats).when(mockShard).getShardMBean();
+        doReturn(true).when(mockShard).canReplicateCommitBatches();
 
         fullSchema = SchemaContextHelper.full();
 
@@ -213,6 +221,105 @@ public class ShardDataTreeTest extends AbstractTest {
         }
     }
 
+    @Test
+    public void testTransactionBatchYieldsOnTimeBudget() throws Exception {
+        final long[] now = new long[1];
+        doReturn(new Ticker() {
+            @Override
+            public long read() {
+                return now[0];
+            }
+        }).when(mockShard).ticker();
+        shardDataTree.setTransactionBatchTimeBudget(1, TimeUnit.MILLISECONDS);
+
+        final ShardDataTreeCohort cohort1 = newShardDataTreeCohort(snapshot ->
+            snapshot.write(CarsModel.BASE_PATH, CarsModel.emptyContainer()));
+        final ShardDataTreeCohort cohort2 = newShardDataTreeCohort(snapshot ->
+            snapshot.write(PeopleModel.BASE_PATH, PeopleModel.create()));
+
+        immediateCanCommit(cohort1);
+        final FutureCallback<Void> canCommitCallback2 = coordinatedCanCommit(cohort2);
+
+        // Exhaust the time budget: cohort2 must not be validated in this batch
+        now[0] += TimeUnit.MILLISECONDS.toNanos(2);
+        final FutureCallback<DataTreeCandidate> preCommitCallback1 = coordinatedPreCommit(cohort1);
+        verify(preCommitCallback1).onSuccess(cohort1.getCandidate());
+        verify(canCommitCallback2, never()).onSuccess(null);
+        verify(mockShard).scheduleNextPendingTransaction();
+        verify(mockStats).incrementTransactionBatchYieldCount();
+
+        // Next message resets the batch and resumes processing
+        shardDataTree.resetTransactionBatch();
+        verify(mockStats).recordTransactionBatch(anyInt());
+        shardDataTree.resumeNextPendingTransaction();
+        verify(canCommitCallback2).onSuccess(null);
+        verify(mockShard).scheduleNextPendingTransaction();
+    }
+
+    @Test
+    public void testParallelValidationOfDisjointTransactions() throws Exception {
+        final List<Runnable> tasks = new ArrayList<>();
+        shardDataTree.setParallelValidation(10, tasks::add);
+
+        final ShardDataTreeCohort cohort1 = newShardDataTreeCohort(snapshot ->
+            snapshot.write(CarsModel.BASE_PATH, CarsModel.emptyContainer()));
+        final ShardDataTreeCohort cohort2 = newShardDataTreeCohort(snapshot ->
+            snapshot.write(PeopleModel.BASE_PATH, PeopleModel.create()));
+        assertEquals(1, tasks.size());
+
+        immediateCanCommit(cohort1);
+        final FutureCallback<Void> canCommitCallback2 = coordinatedCanCommit(cohort2);
+        final FutureCallback<DataTreeCandidate> preCommitCallback1 = coordinatedPreCommit(cohort1);
+        verify(preCommitCallback1).onSuccess(cohort1.getCandidate());
+
+        // cohort2 is still being validated, hence processing has to be deferred
+        verify(canCommitCallback2, never()).onSuccess(null);
+        verify(mockShard, never()).scheduleNextPendingTransaction();
+
+        tasks.remove(0).run();
+        verify(mockShard).scheduleNextPendingTransaction();
+        shardDataTree.resumeNextPendingTransaction();
+        verify(canCommitCallback2).onSuccess(null);
+
+        immediatePreCommit(cohort2);
+        assertEquals(0, tasks.size());
+    }
+
+    @Test
+    public void testParallelValidationOfOverlappingTransactions() throws Exception {
+        immediatePayloadReplication(shardDataTree, mockShard);
+
+        final List<Runnable> tasks = new ArrayList<>();
+        shardDataTree.setParallelValidation(10, tasks::add);
+
+        final ShardDataTreeCohort cohort1 = newShardDataTreeCohort(snapshot ->
+            snapshot.write(CarsModel.BASE_PATH, CarsModel.emptyContainer()));
+        final ShardDataTreeCohort cohort2 = newShardDataTreeCohort(snapshot ->
+            snapshot.write(CarsModel.BASE_PATH, CarsModel.create()));
+        final ShardDataTreeCohort cohort3 = newShardDataTreeCohort(snapshot ->
+            snapshot.write(PeopleModel.BASE_PATH, PeopleModel.create()));
+
+        // cohort2 overlaps with cohort1, cohort3 is independent
+        assertEquals(1, tasks.size());
+        tasks.remove(0).run();
+
+        // cohort2 has to be validated against cohort1's changes and fail
+        final FutureCallback<UnsignedLong> commitCallback1 = immediate3PhaseCommit(cohort1);
+        verify(commitCallback1).onSuccess(any(UnsignedLong.class));
+        final FutureCallback<Void> canCommitCallback2 = coordinatedCanCommit(cohort2);
+        final ArgumentCaptor<Throwable> failure = ArgumentCaptor.forClass(Throwable.class);
+        verify(canCommitCallback2).onFailure(failure.capture());
+        assertEquals(OptimisticLockFailedException.class, failure.getValue().getClass());
+
+        final FutureCallback<UnsignedLong> commitCallback3 = immediate3PhaseCommit(cohort3);
+        verify(commitCallback3).onSuccess(any(UnsignedLong.class));
+        assertEquals(0, tasks.size());
+
+        final DataTreeSnapshot snapshot = shardDataTree.newReadOnlyTransaction(nextTransactionId()).getSnapshot();
+        assertEquals("Cars node", CarsModel.emptyContainer(), snapshot.readNode(CarsModel.BASE_PATH).get());
+        assertEquals("People node", PeopleModel.create(), snapshot.readNode(PeopleModel.BASE_PATH).get());
+    }
+
     @Test
     public void testPipelinedTransactionsWithCoordinatedCommits() throws Exception {
         final ShardDataTreeCohort cohort1 = newShardDataTreeCohort(snapshot ->
@@ -260,20 +367,12 @@ public class ShardDataTreeTest extends AbstractTest {
         verifyNoMoreInteractions(commitCallback4);
 
         final FutureCallback<UnsignedLong> commitCallback1 = coordinatedCommit(cohort1);
-        InOrder inOrder = inOrder(mockShard);
-        inOrder.verify(mockShard).persistPayload(eq(cohort1.getIdentifier()), any(CommitTransactionPayload.class),
-                eq(true));
-        inOrder.verify(mockShard).persistPayload(eq(cohort2.getIdentifier()), any(CommitTransactionPayload.class),
-                eq(false));
+        final CommitTransactionBatchPayload batch1 = verifyBatchPersisted(cohort1, cohort2);
         verifyNoMoreInteractions(commitCallback1);
         verifyNoMoreInteractions(commitCallback2);
 
         final FutureCallback<UnsignedLong> commitCallback3 = coordinatedCommit(cohort3);
-        inOrder = inOrder(mockShard);
-        inOrder.verify(mockShard).persistPayload(eq(cohort3.getIdentifier()), any(CommitTransactionPayload.class),
-                eq(true));
-        inOrder.verify(mockShard).persistPayload(eq(cohort4.getIdentifier()), any(CommitTransactionPayload.class),
-                eq(false));
+        final CommitTransactionBatchPayload batch2 = verifyBatchPersisted(cohort3, cohort4);
         verifyNoMoreInteractions(commitCallback3);
         verifyNoMoreInteractions(commitCallback4);
 
@@ -281,15 +380,10 @@ public class ShardDataTreeTest extends AbstractTest {
             snapshot.merge(CarsModel.BASE_PATH, CarsModel.emptyContainer()));
         final FutureCallback<Void> canCommitCallback5 = coordinatedCanCommit(cohort5);
 
-        // The payload instance doesn't matter - it just needs to be of type CommitTransactionPayload.
-        CommitTransactionPayload mockPayload = CommitTransactionPayload.create(nextTransactionId(),
-                cohort1.getCandidate());
-        shardDataTree.applyReplicatedPayload(cohort1.getIdentifier(), mockPayload);
-        shardDataTree.applyReplicatedPayload(cohort2.getIdentifier(), mockPayload);
-        shardDataTree.applyReplicatedPayload(cohort3.getIdentifier(), mockPayload);
-        shardDataTree.applyReplicatedPayload(cohort4.getIdentifier(), mockPayload);
+        shardDataTree.applyReplicatedPayload(cohort1.getIdentifier(), batch1);
+        shardDataTree.applyReplicatedPayload(cohort3.getIdentifier(), batch2);
 
-        inOrder = inOrder(commitCallback1, commitCallback2, commitCallback3, commitCallback4);
+        final InOrder inOrder = inOrder(commitCallback1, commitCallback2, commitCallback3, commitCallback4);
         inOrder.verify(commitCallback1).onSuccess(any(UnsignedLong.class));
         inOrder.verify(commitCallback2).onSuccess(any(UnsignedLong.class));
         inOrder.verify(commitCallback3).onSuccess(any(UnsignedLong.class));
@@ -324,22 +418,10 @@ public class ShardDataTreeTest extends AbstractTest {
         final FutureCallback<UnsignedLong> commitCallback3 = immediate3PhaseCommit(cohort3);
         final FutureCallback<UnsignedLong> commitCallback1 = immediate3PhaseCommit(cohort1);
 
-        InOrder inOrder = inOrder(mockShard);
-        inOrder.verify(mockShard).persistPayload(eq(cohort1.getIdentifier()), any(CommitTransactionPayload.class),
-                eq(true));
-        inOrder.verify(mockShard).persistPayload(eq(cohort2.getIdentifier()), any(CommitTransactionPayload.class),
-                eq(true));
-        inOrder.verify(mockShard).persistPayload(eq(cohort3.getIdentifier()), any(CommitTransactionPayload.class),
-                eq(false));
-
-        // The payload instance doesn't matter - it just needs to be of type CommitTransactionPayload.
-        CommitTransactionPayload mockPayload = CommitTransactionPayload.create(nextTransactionId(),
-                cohort1.getCandidate());
-        shardDataTree.applyReplicatedPayload(cohort1.getIdentifier(), mockPayload);
-        shardDataTree.applyReplicatedPayload(cohort2.getIdentifier(), mockPayload);
-        shardDataTree.applyReplicatedPayload(cohort3.getIdentifier(), mockPayload);
+        final CommitTransactionBatchPayload batch = verifyBatchPersisted(cohort1, cohort2, cohort3);
+        shardDataTree.applyReplicatedPayload(cohort1.getIdentifier(), batch);
 
-        inOrder = inOrder(commitCallback1, commitCallback2, commitCallback3);
+        final InOrder inOrder = inOrder(commitCallback1, commitCallback2, commitCallback3);
         inOrder.verify(commitCallback1).onSuccess(any(UnsignedLong.class));
         inOrder.verify(commitCallback2).onSuccess(any(UnsignedLong.class));
         inOrder.verify(commitCallback3).onSuccess(any(UnsignedLong.class));
@@ -351,6 +433,36 @@ public class ShardDataTreeTest extends AbstractTest {
         assertEquals("Car node", carNode, optional.get());
     }
 
+    @Test
+    public void testPipelinedTransactionsWithoutBatchSupport() throws Exception {
+        // A follower does not support batches, each transaction has to be replicated on its own
+        doReturn(false).when(mockShard).canReplicateCommitBatches();
+
+        final ShardDataTreeCohort cohort1 = newShardDataTreeCohort(snapshot ->
+            snapshot.write(CarsModel.BASE_PATH, CarsModel.emptyContainer()));
+        final ShardDataTreeCohort cohort2 = newShardDataTreeCohort(snapshot ->
+            snapshot.write(CarsModel.CAR_LIST_PATH, CarsModel.newCarMapNode()));
+        final ShardDataTreeCohort cohort3 = newShardDataTreeCohort(snapshot ->
+            snapshot.write(CarsModel.newCarPath("optima"), CarsModel.newCarEntry("optima", new BigInteger("100"))));
+
+        final FutureCallback<UnsignedLong> commitCallback2 = immediate3PhaseCommit(cohort2);
+        final FutureCallback<UnsignedLong> commitCallback3 = immediate3PhaseCommit(cohort3);
+        final FutureCallback<UnsignedLong> commitCallback1 = immediate3PhaseCommit(cohort1);
+
+        final CommitTransactionPayload payload1 = verifyPayloadPersisted(cohort1, true);
+        final CommitTransactionPayload payload2 = verifyPayloadPersisted(cohort2, true);
+        final CommitTransactionPayload payload3 = verifyPayloadPersisted(cohort3, false);
+
+        shardDataTree.applyReplicatedPayload(cohort1.getIdentifier(), payload1);
+        shardDataTree.applyReplicatedPayload(cohort2.getIdentifier(), payload2);
+        shardDataTree.applyReplicatedPayload(cohort3.getIdentifier(), payload3);
+
+        final InOrder inOrder = inOrder(commitCallback1, commitCallback2, commitCallback3);
+        inOrder.verify(commitCallback1).onSuccess(any(UnsignedLong.class));
+        inOrder.verify(commitCallback2).onSuccess(any(UnsignedLong.class));
+        inOrder.verify(commitCallback3).onSuccess(any(UnsignedLong.class));
+    }
+
     @Test
     public void testPipelinedTransactionsWithImmediateReplication() throws Exception {
         immediatePayloadReplication(shardDataTree, mockShard);
@@ -380,6 +492,22 @@ public class ShardDataTreeTest extends AbstractTest {
         assertEquals("Car node present", true, optional.isPresent());
     }
 
+    @Test
+    public void testApplyReplicatedBatchFromLeader() throws Exception {
+        final DataTreeCandidate carsCandidate = DataTreeCandidates.fromNormalizedNode(CarsModel.BASE_PATH,
+            CarsModel.create());
+        final DataTreeCandidate peopleCandidate = DataTreeCandidates.fromNormalizedNode(PeopleModel.BASE_PATH,
+            PeopleModel.create());
+
+        shardDataTree.applyReplicatedPayload(null, CommitTransactionBatchPayload.create(ImmutableList.of(
+            CommitTransactionPayload.create(nextTransactionId(), carsCandidate),
+            CommitTransactionPayload.create(nextTransactionId(), peopleCandidate))));
+
+        final DataTreeSnapshot snapshot = shardDataTree.takeSnapshot();
+        assertEquals("Cars node present", true, snapshot.readNode(CarsModel.BASE_PATH).isPresent());
+        assertEquals("People node present", true, snapshot.readNode(PeopleModel.BASE_PATH).isPresent());
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void testAbortWithPendingCommits() throws Exception {
@@ -485,6 +613,28 @@ public class ShardDataTreeTest extends AbstractTest {
         return shardDataTree.finishTransaction(transaction);
     }
 
+    private CommitTransactionPayload verifyPayloadPersisted(final ShardDataTreeCohort cohort,
+            final boolean batchHint) {
+        final ArgumentCaptor<CommitTransactionPayload> payload =
+                ArgumentCaptor.forClass(CommitTransactionPayload.class);
+        verify(mockShard).persistPayload(eq(cohort.getIdentifier()), payload.capture(), eq(batchHint));
+        return payload.getValue();
+    }
+
+    private CommitTransactionBatchPayload verifyBatchPersisted(final ShardDataTreeCohort... cohorts)
+            throws IOException {
+        final ArgumentCaptor<CommitTransactionBatchPayload> payload =
+                ArgumentCaptor.forClass(CommitTransactionBatchPayload.class);
+        verify(mockShard).persistPayload(eq(cohorts[0].getIdentifier()), payload.capture(), eq(false));
+
+        final List<CommitTransactionPayload> payloads = payload.getValue().getPayloads();
+        assertEquals("Batch size", cohorts.length, payloads.size());
+        for (int i = 0; i < cohorts.length; ++i) {
+            assertEquals("Transaction identifier", cohorts[i].getIdentifier(), payloads.get(i).getIdentifier());
+        }
+        return payload.getValue();
+    }
+
     @SuppressWarnings({ "rawtypes", "unchecked" })
     private static void verifyOnDataTreeChanged(final DOMDataTreeChangeListener listener,
             final Consumer<DataTreeCandidate> callback) {
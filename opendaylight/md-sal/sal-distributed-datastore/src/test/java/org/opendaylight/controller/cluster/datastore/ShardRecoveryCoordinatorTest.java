@@ -9,16 +9,22 @@
 package org.opendaylight.controller.cluster.datastore;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
 import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionBatchPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.CommitTransactionPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.MetadataShardDataTreeSnapshot;
+import org.opendaylight.controller.cluster.datastore.persisted.PurgeTransactionPayload;
 import org.opendaylight.controller.cluster.datastore.persisted.ShardSnapshotState;
 import org.opendaylight.controller.md.cluster.datastore.model.CarsModel;
 import org.opendaylight.controller.md.cluster.datastore.model.PeopleModel;
@@ -27,6 +33,7 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
@@ -53,7 +60,8 @@ public class ShardRecoveryCoordinatorTest extends AbstractTest {
         final Shard mockShard = Mockito.mock(Shard.class);
 
         peopleDataTree = new ShardDataTree(mockShard, peopleSchemaContext, TreeType.OPERATIONAL);
-        coordinator = ShardRecoveryCoordinator.create(peopleDataTree, "foobar", FOO_LOGGER);
+        coordinator = ShardRecoveryCoordinator.create(peopleDataTree, "foobar", FOO_LOGGER,
+            ForkJoinPool.commonPool());
         coordinator.startLogRecoveryBatch(10);
     }
 
@@ -68,6 +76,51 @@ public class ShardRecoveryCoordinatorTest extends AbstractTest {
         coordinator.applyCurrentLogRecoveryBatch();
     }
 
+    @Test
+    public void testAppendRecoveredLogEntryCommitTransactionBatchPayload() throws IOException {
+        coordinator.appendRecoveredLogEntry(CommitTransactionBatchPayload.create(ImmutableList.of(
+            CommitTransactionPayload.create(nextTransactionId(), createCar()),
+            CommitTransactionPayload.create(nextTransactionId(),
+                DataTreeCandidates.fromNormalizedNode(PeopleModel.BASE_PATH, PeopleModel.create())))));
+        coordinator.applyCurrentLogRecoveryBatch();
+
+        assertFalse(readCars(peopleDataTree).isPresent());
+        assertTrue(readPeople(peopleDataTree).isPresent());
+    }
+
+    @Test
+    public void testAppendRecoveredLogEntriesAppliedInOrder() throws IOException {
+        final DataTree dataTree = new InMemoryDataTreeFactory().create(
+            DataTreeConfiguration.DEFAULT_OPERATIONAL, peopleSchemaContext);
+
+        final DataTreeModification write = dataTree.takeSnapshot().newModification();
+        write.merge(PeopleModel.BASE_PATH, PeopleModel.create());
+        write.ready();
+        final DataTreeCandidate writeCandidate = dataTree.prepare(write);
+        dataTree.commit(writeCandidate);
+
+        final DataTreeModification delete = dataTree.takeSnapshot().newModification();
+        delete.delete(PeopleModel.BASE_PATH);
+        delete.ready();
+        final DataTreeCandidate deleteCandidate = dataTree.prepare(delete);
+
+        final TransactionIdentifier writeTx = nextTransactionId();
+        coordinator.appendRecoveredLogEntry(CommitTransactionPayload.create(writeTx, writeCandidate));
+        coordinator.appendRecoveredLogEntry(PurgeTransactionPayload.create(writeTx));
+        coordinator.appendRecoveredLogEntry(CommitTransactionPayload.create(nextTransactionId(), deleteCandidate));
+        coordinator.appendRecoveredLogEntry(CommitTransactionPayload.create(nextTransactionId(), writeCandidate));
+
+        // Nothing is applied until the batch is complete
+        assertFalse(readPeople(peopleDataTree).isPresent());
+        coordinator.applyCurrentLogRecoveryBatch();
+        assertTrue(readPeople(peopleDataTree).isPresent());
+
+        coordinator.startLogRecoveryBatch(10);
+        coordinator.appendRecoveredLogEntry(CommitTransactionPayload.create(nextTransactionId(), deleteCandidate));
+        coordinator.applyCurrentLogRecoveryBatch();
+        assertFalse(readPeople(peopleDataTree).isPresent());
+    }
+
     @Test
     public void testApplyRecoverySnapshot() {
         coordinator.applyRecoverySnapshot(createSnapshot());
@@ -76,6 +129,22 @@ public class ShardRecoveryCoordinatorTest extends AbstractTest {
         assertTrue(readPeople(peopleDataTree).isPresent());
     }
 
+    @Test
+    public void testApplyRecoverySnapshotDoesNotCopyData() {
+        final DataTree dataTree = new InMemoryDataTreeFactory().create(
+            DataTreeConfiguration.DEFAULT_OPERATIONAL, peopleSchemaContext);
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        modification.merge(PeopleModel.BASE_PATH, PeopleModel.create());
+        modification.ready();
+        dataTree.commit(dataTree.prepare(modification));
+
+        final NormalizedNode<?, ?> people = dataTree.takeSnapshot().readNode(PeopleModel.BASE_PATH).get();
+        coordinator.applyRecoverySnapshot(new ShardSnapshotState(new MetadataShardDataTreeSnapshot(
+            dataTree.takeSnapshot().readNode(YangInstanceIdentifier.EMPTY).get())));
+
+        // Data matching the SchemaContext should be applied as-is, without being copied by pruning
+        assertSame(people, readPeople(peopleDataTree).get());
+    }
 
     @Test
     public void testApplyCurrentLogRecoveryBatch() {
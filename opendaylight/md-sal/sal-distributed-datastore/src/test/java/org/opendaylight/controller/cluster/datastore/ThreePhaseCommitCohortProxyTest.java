@@ -85,11 +85,6 @@ public class ThreePhaseCommitCohortProxyTest extends AbstractActorTest {
             public Timer getOperationTimer(final String operationName) {
                 return commitTimer;
             }
-
-            @Override
-            public double getTxCreationLimit() {
-                return 10.0;
-            }
         };
 
         doReturn(commitTimerContext).when(commitTimer).time();
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for LatencyHistogram.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketBoundaries() {
+        // Small values are tracked exactly
+        for (long value = 0; value < 64; ++value) {
+            assertEquals(value, LatencyHistogram.bucketIndex(value));
+            assertEquals(value, LatencyHistogram.highestEquivalentValue((int) value));
+        }
+
+        // Larger values are grouped, each bucket holding the values up to its highest equivalent value
+        long previous = 63;
+        for (int index = 64; index <= LatencyHistogram.bucketIndex(LatencyHistogram.MAX_VALUE); ++index) {
+            final long highest = LatencyHistogram.highestEquivalentValue(index);
+            assertEquals(index, LatencyHistogram.bucketIndex(previous + 1));
+            assertEquals(index, LatencyHistogram.bucketIndex(highest));
+            assertTrue("Relative error too large at " + highest, highest - previous <= highest / 32 + 1);
+            previous = highest;
+        }
+        assertEquals(LatencyHistogram.MAX_VALUE, previous);
+    }
+
+    @Test
+    public void testPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(50));
+
+        for (long value = 1; value <= 1000; ++value) {
+            histogram.record(value * 1000);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1000000, histogram.getMaxValue());
+        assertEquals(500500.0, histogram.getMean(), 0);
+        assertWithin(500000, histogram.getValueAtPercentile(50));
+        assertWithin(900000, histogram.getValueAtPercentile(90));
+        assertWithin(990000, histogram.getValueAtPercentile(99));
+        assertEquals(1000000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testOutOfRangeValues() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-1);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(2, histogram.getCount());
+        assertEquals(LatencyHistogram.MAX_VALUE, histogram.getMaxValue());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(LatencyHistogram.MAX_VALUE, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testReset() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(12345);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMaxValue());
+        assertEquals(0.0, histogram.getMean(), 0);
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    private static void assertWithin(final long expected, final long actual) {
+        assertTrue("Expected about " + expected + ", got " + actual,
+            actual >= expected && actual <= expected + expected / 32);
+    }
+}
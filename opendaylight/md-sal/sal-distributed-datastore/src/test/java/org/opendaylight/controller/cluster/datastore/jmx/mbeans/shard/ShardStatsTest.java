@@ -10,8 +10,10 @@ package org.opendaylight.controller.cluster.datastore.jmx.mbeans.shard;
 import java.lang.management.ManagementFactory;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -118,6 +120,45 @@ public class ShardStatsTest {
         Assert.assertEquals(attribute, 2L);
     }
 
+    @Test
+    public void testTransactionBatchStatistics() throws Exception {
+        shardStats.recordTransactionBatch(4);
+        shardStats.recordTransactionBatch(10);
+        shardStats.recordTransactionBatch(1);
+        shardStats.incrementTransactionBatchYieldCount();
+
+        Assert.assertEquals(3L, mbeanServer.getAttribute(testMBeanName, "TransactionBatchCount"));
+        Assert.assertEquals(1L, mbeanServer.getAttribute(testMBeanName, "TransactionBatchYieldCount"));
+        Assert.assertEquals(1L, mbeanServer.getAttribute(testMBeanName, "LastTransactionBatchSize"));
+        Assert.assertEquals(10L, mbeanServer.getAttribute(testMBeanName, "MaxTransactionBatchSize"));
+        Assert.assertEquals(5.0, mbeanServer.getAttribute(testMBeanName, "AverageTransactionBatchSize"));
+
+        mbeanServer.invoke(testMBeanName, "resetTransactionCounters", null, null);
+        Assert.assertEquals(0L, mbeanServer.getAttribute(testMBeanName, "TransactionBatchCount"));
+        Assert.assertEquals(0L, mbeanServer.getAttribute(testMBeanName, "MaxTransactionBatchSize"));
+    }
+
+    @Test
+    public void testCommitStageLatencies() throws Exception {
+        shardStats.recordCommitStageLatency(CommitStage.PERSISTENCE, TimeUnit.MILLISECONDS.toNanos(2));
+        shardStats.recordCommitStageLatency(CommitStage.PERSISTENCE, TimeUnit.MILLISECONDS.toNanos(4));
+
+        CompositeData[] latencies = (CompositeData[]) mbeanServer.getAttribute(testMBeanName,
+            "CommitStageLatencies");
+        Assert.assertEquals(CommitStage.values().length, latencies.length);
+
+        final CompositeData persistence = latencies[CommitStage.PERSISTENCE.ordinal()];
+        Assert.assertEquals("PERSISTENCE", persistence.get("stage"));
+        Assert.assertEquals(2L, persistence.get("count"));
+        Assert.assertEquals(3000L, persistence.get("meanMicros"));
+        Assert.assertEquals(4000L, persistence.get("maxMicros"));
+        Assert.assertEquals(0L, latencies[CommitStage.CONSENSUS.ordinal()].get("count"));
+
+        mbeanServer.invoke(testMBeanName, "resetCommitStageLatencies", null, null);
+        latencies = (CompositeData[]) mbeanServer.getAttribute(testMBeanName, "CommitStageLatencies");
+        Assert.assertEquals(0L, latencies[CommitStage.PERSISTENCE.ordinal()].get("count"));
+    }
+
     @Test
     public void testResetTransactionCounters() throws Exception {
 
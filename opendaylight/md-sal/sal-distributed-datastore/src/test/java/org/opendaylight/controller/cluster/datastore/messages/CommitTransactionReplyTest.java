@@ -32,6 +32,27 @@ public class CommitTransactionReplyTest {
         assertEquals("getVersion", DataStoreVersions.CURRENT_VERSION, actual.getVersion());
     }
 
+    @Test
+    public void testSerializationWithFeedback() {
+        CommitTransactionReply expected = new CommitTransactionReply(DataStoreVersions.CURRENT_VERSION, 5, 1234L);
+
+        CommitTransactionReply actual = (CommitTransactionReply)SerializationUtils.clone(
+            (Serializable) expected.toSerializable());
+        assertEquals("getQueueDepth", 5, actual.getQueueDepth());
+        assertEquals("getCommitLatencyNanos", 1234L, actual.getCommitLatencyNanos());
+    }
+
+    @Test
+    public void testSerializationPreOxygen() {
+        CommitTransactionReply expected = new CommitTransactionReply(DataStoreVersions.BORON_VERSION, 5, 1234L);
+
+        CommitTransactionReply actual = (CommitTransactionReply)SerializationUtils.clone(
+            (Serializable) expected.toSerializable());
+        assertEquals("getVersion", DataStoreVersions.BORON_VERSION, actual.getVersion());
+        assertEquals("getQueueDepth", 0, actual.getQueueDepth());
+        assertEquals("getCommitLatencyNanos", 0L, actual.getCommitLatencyNanos());
+    }
+
     @Test
     public void testIsSerializedType() {
         assertEquals("isSerializedType", true, CommitTransactionReply.isSerializedType(new CommitTransactionReply()));
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.persisted;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.util.List;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.access.concepts.TransactionIdentifier;
+import org.opendaylight.controller.cluster.datastore.AbstractTest;
+import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class CommitTransactionBatchPayloadTest extends AbstractTest {
+    @Test
+    public void testPayloadSerDes() throws IOException {
+        final TransactionIdentifier txId1 = nextTransactionId();
+        final TransactionIdentifier txId2 = nextTransactionId();
+        final DataTreeCandidate candidate1 = DataTreeCandidates.fromNormalizedNode(TestModel.TEST_PATH,
+            ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        final DataTreeCandidate candidate2 = DataTreeCandidates.fromNormalizedNode(TestModel.OUTER_LIST_PATH,
+            ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+
+        final CommitTransactionPayload payload1 = CommitTransactionPayload.create(txId1, candidate1);
+        final CommitTransactionPayload payload2 = CommitTransactionPayload.create(txId2, candidate2);
+        final CommitTransactionBatchPayload batch = CommitTransactionBatchPayload.create(
+            ImmutableList.of(payload1, payload2));
+        assertEquals("payload size", payload1.size() + payload2.size(), batch.size());
+
+        final CommitTransactionBatchPayload cloned = SerializationUtils.clone(batch);
+        assertEquals("payload size", batch.size(), cloned.size());
+
+        final List<CommitTransactionPayload> payloads = cloned.getPayloads();
+        assertEquals(2, payloads.size());
+        assertEquals(txId1, payloads.get(0).getIdentifier());
+        assertEquals(txId2, payloads.get(1).getIdentifier());
+        assertEquals(txId1, payloads.get(0).getCandidate().getKey());
+        assertEquals(TestModel.TEST_PATH, payloads.get(0).getCandidate().getValue().getRootPath());
+        assertEquals(TestModel.OUTER_LIST_PATH, payloads.get(1).getCandidate().getValue().getRootPath());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyBatch() {
+        CommitTransactionBatchPayload.create(ImmutableList.of());
+    }
+}
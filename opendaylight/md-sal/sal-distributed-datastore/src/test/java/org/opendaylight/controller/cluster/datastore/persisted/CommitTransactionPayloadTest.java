@@ -10,6 +10,7 @@ package org.opendaylight.controller.cluster.datastore.persisted;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.IOException;
@@ -18,6 +19,7 @@ import org.apache.commons.lang3.SerializationUtils;
 import org.junit.Before;
 import org.junit.Test;
 import org.opendaylight.controller.cluster.datastore.AbstractTest;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeStreamVersion;
 import org.opendaylight.controller.md.cluster.datastore.model.SchemaContextHelper;
 import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
 import org.opendaylight.yangtools.yang.common.QName;
@@ -25,6 +27,8 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
 import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
@@ -34,6 +38,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguratio
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
 import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
 
@@ -110,6 +115,31 @@ public class CommitTransactionPayloadTest extends AbstractTest {
         assertEquals("payload size", 181, payload.size());
     }
 
+    @Test
+    public void testFluorineCandidateSerialization() throws IOException {
+        final CommitTransactionPayload payload = CommitTransactionPayload.create(nextTransactionId(), candidate,
+            NormalizedNodeStreamVersion.FLUORINE);
+        assertEquals("payload size", 169, payload.size());
+        assertCandidateEquals(candidate, payload.getCandidate().getValue());
+    }
+
+    @Test
+    public void testFluorineListCandidateSerialization() throws IOException {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> outer = ImmutableNodes.mapNodeBuilder(
+            TestModel.OUTER_LIST_QNAME);
+        for (int i = 0; i < 100; ++i) {
+            outer.addChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i));
+        }
+        candidate = DataTreeCandidates.fromNormalizedNode(TestModel.OUTER_LIST_PATH, outer.build());
+
+        final CommitTransactionPayload lithium = CommitTransactionPayload.create(nextTransactionId(), candidate);
+        final CommitTransactionPayload fluorine = CommitTransactionPayload.create(nextTransactionId(), candidate,
+            NormalizedNodeStreamVersion.FLUORINE);
+        assertTrue("FLUORINE payload size " + fluorine.size() + " not less than half of LITHIUM " + lithium.size(),
+            fluorine.size() * 2 < lithium.size());
+        assertCandidateEquals(candidate, SerializationUtils.clone(fluorine).getCandidate().getValue());
+    }
+
     @Test
     public void testCandidateSerDes() throws IOException {
         final CommitTransactionPayload payload = CommitTransactionPayload.create(nextTransactionId(), candidate);
@@ -122,6 +152,21 @@ public class CommitTransactionPayloadTest extends AbstractTest {
         assertCandidateEquals(candidate, SerializationUtils.clone(payload).getCandidate().getValue());
     }
 
+    @Test
+    public void testLargeCandidateSerDes() throws IOException {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> outer = ImmutableNodes.mapNodeBuilder(
+            TestModel.OUTER_LIST_QNAME);
+        for (int i = 0; i < 50000; ++i) {
+            outer.addChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i));
+        }
+        candidate = DataTreeCandidates.fromNormalizedNode(TestModel.OUTER_LIST_PATH, outer.build());
+
+        final CommitTransactionPayload payload = CommitTransactionPayload.create(nextTransactionId(), candidate);
+        final CommitTransactionPayload cloned = SerializationUtils.clone(payload);
+        assertEquals("payload size", payload.size(), cloned.size());
+        assertCandidateEquals(candidate, cloned.getCandidate().getValue());
+    }
+
     @SuppressWarnings({ "rawtypes", "unchecked" })
     @Test
     public void testLeafSetEntryNodeCandidate() throws Exception {
@@ -8,6 +8,7 @@
 package org.opendaylight.controller.cluster.datastore.persisted;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableMap;
 import java.io.ByteArrayInputStream;
@@ -21,10 +22,14 @@ import java.io.ObjectOutputStream;
 import java.util.Map;
 import java.util.Optional;
 import org.junit.Test;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeStreamVersion;
 import org.opendaylight.controller.md.cluster.datastore.model.TestModel;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
 
 /**
@@ -84,6 +89,38 @@ public class ShardDataTreeSnapshotTest {
         assertEquals("Metadata", expMetadata, ((MetadataShardDataTreeSnapshot)deserialized).getMetadata());
     }
 
+    @Test
+    public void testFluorineShardDataTreeSnapshot() throws Exception {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> outer = ImmutableNodes.mapNodeBuilder(
+            TestModel.OUTER_LIST_QNAME);
+        for (int i = 0; i < 100; ++i) {
+            outer.addChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i));
+        }
+        final NormalizedNode<?, ?> expectedNode = ImmutableContainerNodeBuilder.create()
+                .withNodeIdentifier(new YangInstanceIdentifier.NodeIdentifier(TestModel.TEST_QNAME))
+                .withChild(outer.build()).build();
+
+        final byte[] lithium = serialize(new MetadataShardDataTreeSnapshot(expectedNode));
+        final byte[] fluorine = serialize(new MetadataShardDataTreeSnapshot(expectedNode, ImmutableMap.of(),
+            NormalizedNodeStreamVersion.FLUORINE));
+        assertTrue("FLUORINE snapshot size " + fluorine.length + " not smaller than LITHIUM " + lithium.length,
+            fluorine.length < lithium.length);
+
+        final ShardDataTreeSnapshot deserialized;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(fluorine))) {
+            deserialized = ShardDataTreeSnapshot.deserialize(in);
+        }
+        assertEquals("rootNode", expectedNode, deserialized.getRootNode().get());
+    }
+
+    private static byte[] serialize(final ShardDataTreeSnapshot snapshot) throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bos)) {
+            snapshot.serialize(out);
+        }
+        return bos.toByteArray();
+    }
+
     static class TestShardDataTreeSnapshotMetadata
             extends ShardDataTreeSnapshotMetadata<TestShardDataTreeSnapshotMetadata> {
         private static final long serialVersionUID = 1L;
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.cluster.datastore.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import akka.pattern.AskTimeoutException;
+import com.google.common.base.Ticker;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.opendaylight.controller.cluster.datastore.DatastoreContext;
+import org.opendaylight.controller.cluster.datastore.jmx.mbeans.ShardAdmissionWindowInfo;
+import org.opendaylight.controller.cluster.datastore.utils.ShardAdmissionWindow.Permit;
+
+/**
+ * Unit tests for ShardAdmissionWindow.
+ */
+public class ShardAdmissionWindowTest {
+    private static final long LATENCY = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long CONGESTED_LATENCY = LATENCY + ShardAdmissionWindow.TARGET_QUEUE_DELAY_NANOS + 1;
+
+    private static ShardAdmissionWindow newWindow(final int initialWindow, final int maxWindow,
+            final long admissionTimeoutNanos) {
+        return new ShardAdmissionWindow("shard", initialWindow, maxWindow, admissionTimeoutNanos,
+            TimeUnit.MINUTES.toNanos(1), Ticker.systemTicker());
+    }
+
+    @Test
+    public void testCreate() {
+        final ShardAdmissionWindow window = ShardAdmissionWindow.create("shard", DatastoreContext.newBuilder()
+            .transactionAdmissionInitialWindow(10).shardTransactionCommitQueueCapacity(20).build());
+        assertEquals("shard", window.getShardName());
+        assertEquals(10, window.getWindow());
+        assertEquals(0, window.getInFlight());
+    }
+
+    @Test
+    public void testAdditiveIncrease() {
+        final ShardAdmissionWindow window = newWindow(2, 4, TimeUnit.SECONDS.toNanos(5));
+
+        // A window's worth of uncongested commits grows the window by one
+        window.acquire().committed(0, LATENCY);
+        window.acquire().committed(0, LATENCY);
+        assertEquals(2, window.getWindow());
+        window.acquire().committed(0, LATENCY);
+        assertEquals(3, window.getWindow());
+
+        for (int i = 0; i < 10; ++i) {
+            window.acquire().committed(0, LATENCY);
+        }
+        assertEquals(4, window.getWindow());
+        assertEquals(0, window.getInFlight());
+    }
+
+    @Test
+    public void testDecreaseOnLatency() {
+        final ShardAdmissionWindow window = newWindow(8, 8, TimeUnit.SECONDS.toNanos(5));
+        window.acquire().committed(0, LATENCY);
+
+        final List<Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 4; ++i) {
+            permits.add(window.acquire());
+        }
+        assertEquals(4, window.getInFlight());
+
+        // All four permits were admitted under the same window, hence they result in a single decrease
+        for (Permit permit : permits) {
+            permit.committed(0, CONGESTED_LATENCY);
+        }
+        assertEquals(4, window.getWindow());
+        assertEquals(0, window.getInFlight());
+        assertEquals(1, window.toInfo().getCongestionCount());
+
+        // A transaction admitted after the decrease is allowed to decrease it again
+        window.acquire().committed(0, CONGESTED_LATENCY);
+        assertEquals(2, window.getWindow());
+        assertEquals(2, window.toInfo().getCongestionCount());
+    }
+
+    @Test
+    public void testDecreaseOnQueueDepth() {
+        final ShardAdmissionWindow window = newWindow(8, 8, TimeUnit.SECONDS.toNanos(5));
+        window.acquire().committed(9, 0);
+        assertEquals(4, window.getWindow());
+
+        window.acquire().committed(4, 0);
+        assertEquals(4, window.getWindow());
+    }
+
+    @Test
+    public void testDecreaseOnTimeout() {
+        final ShardAdmissionWindow window = newWindow(8, 8, TimeUnit.SECONDS.toNanos(5));
+        window.acquire().failed(new RuntimeException("mock"));
+        assertEquals(8, window.getWindow());
+
+        window.acquire().failed(new AskTimeoutException("mock"));
+        assertEquals(4, window.getWindow());
+    }
+
+    @Test
+    public void testPermitReleasedOnce() {
+        final ShardAdmissionWindow window = newWindow(8, 8, TimeUnit.SECONDS.toNanos(5));
+        window.acquire();
+        final Permit permit = window.acquire();
+        assertEquals(2, window.getInFlight());
+
+        permit.release();
+        permit.committed(100, 0);
+        permit.failed(new AskTimeoutException("mock"));
+        assertEquals(1, window.getInFlight());
+        assertEquals(8, window.getWindow());
+    }
+
+    @Test
+    public void testBlockingAcquire() throws Exception {
+        final ShardAdmissionWindow window = newWindow(1, 1, TimeUnit.SECONDS.toNanos(5));
+        final Permit first = window.acquire();
+
+        final CompletableFuture<Permit> future = CompletableFuture.supplyAsync(window::acquire);
+        Thread.sleep(100);
+        assertFalse(future.isDone());
+
+        first.committed(0, LATENCY);
+        future.get(5, TimeUnit.SECONDS).release();
+
+        final ShardAdmissionWindowInfo info = window.toInfo();
+        assertEquals(2, info.getAdmittedCount());
+        assertEquals(1, info.getRejectedCount());
+        assertEquals(0, info.getTimedOutCount());
+        assertEquals(0, info.getInFlight());
+    }
+
+    @Test
+    public void testAcquireTimeout() {
+        final ShardAdmissionWindow window = newWindow(1, 1, TimeUnit.MILLISECONDS.toNanos(10));
+        window.acquire();
+
+        // Admitted over the window once the timeout expires
+        window.acquire();
+        final ShardAdmissionWindowInfo info = window.toInfo();
+        assertEquals(2, info.getInFlight());
+        assertEquals(1, info.getRejectedCount());
+        assertEquals(1, info.getTimedOutCount());
+        assertTrue(window.getWindow() <= info.getInFlight());
+    }
+
+    @Test
+    public void testExpiredPermitReclaimed() {
+        final Ticker ticker = mock(Ticker.class);
+        doReturn(0L).when(ticker).read();
+        final ShardAdmissionWindow window = new ShardAdmissionWindow("shard", 1, 1, TimeUnit.SECONDS.toNanos(5),
+            TimeUnit.SECONDS.toNanos(30), ticker);
+
+        // A transaction which is readied, but never committed nor aborted
+        final Permit leaked = window.acquire();
+        assertEquals(1, window.getInFlight());
+
+        // Once the permit expires the next transaction is admitted without waiting
+        doReturn(TimeUnit.SECONDS.toNanos(30)).when(ticker).read();
+        final Permit permit = window.acquire();
+        ShardAdmissionWindowInfo info = window.toInfo();
+        assertEquals(1, info.getInFlight());
+        assertEquals(0, info.getRejectedCount());
+        assertEquals(1, info.getExpiredCount());
+
+        // A late completion of the reclaimed permit has no effect
+        leaked.committed(100, 0);
+        assertEquals(1, window.getInFlight());
+        assertEquals(1, window.getWindow());
+
+        permit.committed(0, LATENCY);
+        assertEquals(0, window.getInFlight());
+    }
+
+    @Test
+    public void testAdmissionRate() {
+        final ShardAdmissionWindow window = newWindow(10, 10, TimeUnit.SECONDS.toNanos(5));
+        assertEquals(0, window.getAdmissionRate(), 0);
+
+        window.acquire().committed(0, TimeUnit.MILLISECONDS.toNanos(10));
+        assertEquals(1000, window.getAdmissionRate(), 0.001);
+    }
+}
@@ -8,32 +8,47 @@
 package org.opendaylight.controller.md.sal.dom.broker.impl;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.ImmutableMap.Builder;
 import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.CheckedFuture;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcAvailabilityListener;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
+import org.opendaylight.yangtools.triemap.ImmutableTrieMap;
+import org.opendaylight.yangtools.triemap.TrieMap;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
+/**
+ * An entry in {@link DOMRpcRoutingTable}, holding implementations of a single RPC type. Implementations are kept in an
+ * immutable {@link TrieMap} snapshot, so that adding or removing contexts copies only the affected trie paths rather
+ * than the entire map, while lookups remain lock-free.
+ */
 abstract class AbstractDOMRpcRoutingTableEntry {
-    private final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> implementations;
+    private final ImmutableTrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>> implementations;
     private final SchemaPath schemaPath;
 
     AbstractDOMRpcRoutingTableEntry(final SchemaPath schemaPath,
         final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> implementations) {
         this.schemaPath = Preconditions.checkNotNull(schemaPath);
-        this.implementations = Preconditions.checkNotNull(implementations);
+        this.implementations = toTrieMap(implementations);
+    }
+
+    private static <K, V> ImmutableTrieMap<K, V> toTrieMap(final Map<K, V> map) {
+        if (map instanceof ImmutableTrieMap) {
+            return (ImmutableTrieMap<K, V>) map;
+        }
+
+        final TrieMap<K, V> ret = TrieMap.create();
+        ret.putAll(Preconditions.checkNotNull(map));
+        return ret.immutableSnapshot();
     }
 
     final SchemaPath getSchemaPath() {
@@ -41,7 +56,8 @@ abstract class AbstractDOMRpcRoutingTableEntry {
     }
 
     final List<DOMRpcImplementation> getImplementations(final YangInstanceIdentifier context) {
-        return implementations.get(context);
+        // TrieMap does not allow null keys, which are never present
+        return context == null ? null : implementations.get(context);
     }
 
     final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> getImplementations() {
@@ -57,56 +73,60 @@ abstract class AbstractDOMRpcRoutingTableEntry {
                 .keySet();
     }
 
+    final boolean isAvailable(final YangInstanceIdentifier context, final DOMRpcAvailabilityListener listener) {
+        final List<DOMRpcImplementation> impls = implementations.get(context);
+        return impls != null && impls.stream().anyMatch(listener::acceptsImplementation);
+    }
+
     /**
      * Adds an entry to the DOM RPC routing table.
      *
      * @param implementation RPC implementation
-     * @param newRpcs List of new RPCs, must be mutable
+     * @param newRpcs Collection of new RPCs
      */
     final AbstractDOMRpcRoutingTableEntry add(final DOMRpcImplementation implementation,
-            final List<YangInstanceIdentifier> newRpcs) {
-        final Builder<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = ImmutableMap.builder();
-        for (final Entry<YangInstanceIdentifier, List<DOMRpcImplementation>> ve : implementations.entrySet()) {
-            if (newRpcs.remove(ve.getKey())) {
-                final List<DOMRpcImplementation> i = new ArrayList<>(ve.getValue().size() + 1);
-                i.addAll(ve.getValue());
+            final Collection<YangInstanceIdentifier> newRpcs) {
+        final TrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = implementations.mutableSnapshot();
+        for (final YangInstanceIdentifier ii : newRpcs) {
+            final List<DOMRpcImplementation> prev = vb.get(ii);
+            final List<DOMRpcImplementation> i;
+            if (prev != null) {
+                i = new ArrayList<>(prev.size() + 1);
+                i.addAll(prev);
                 i.add(implementation);
 
                 // New implementation is at the end, this will move it to be the last among implementations
                 // with equal cost -- relying on sort() being stable.
                 i.sort(Comparator.comparingLong(DOMRpcImplementation::invocationCost));
-                vb.put(ve.getKey(), i);
             } else {
-                vb.put(ve);
+                i = new ArrayList<>(1);
+                i.add(implementation);
             }
-        }
-        for (final YangInstanceIdentifier ii : newRpcs) {
-            final List<DOMRpcImplementation> impl = new ArrayList<>(1);
-            impl.add(implementation);
-            vb.put(ii, impl);
+            vb.put(ii, i);
         }
 
-        return newInstance(vb.build());
+        return newInstance(vb.immutableSnapshot());
     }
 
     final AbstractDOMRpcRoutingTableEntry remove(final DOMRpcImplementation implementation,
-            final List<YangInstanceIdentifier> removed) {
-        final Builder<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = ImmutableMap.builder();
-        for (final Entry<YangInstanceIdentifier, List<DOMRpcImplementation>> ve : implementations.entrySet()) {
-            if (removed.remove(ve.getKey())) {
-                final List<DOMRpcImplementation> i = new ArrayList<>(ve.getValue());
+            final Collection<YangInstanceIdentifier> removed) {
+        final TrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>> vb = implementations.mutableSnapshot();
+        for (final YangInstanceIdentifier ii : removed) {
+            final List<DOMRpcImplementation> prev = vb.get(ii);
+            if (prev != null) {
+                final List<DOMRpcImplementation> i = new ArrayList<>(prev);
                 i.remove(implementation);
                 // We could trimToSize(), but that may perform another copy just to get rid
                 // of a single element. That is probably not worth the trouble.
                 if (!i.isEmpty()) {
-                    vb.put(ve.getKey(), i);
+                    vb.put(ii, i);
+                } else {
+                    vb.remove(ii);
                 }
-            } else {
-                vb.put(ve);
             }
         }
 
-        final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> v = vb.build();
+        final ImmutableTrieMap<YangInstanceIdentifier, List<DOMRpcImplementation>> v = vb.immutableSnapshot();
         return v.isEmpty() ? null : newInstance(v);
     }
 
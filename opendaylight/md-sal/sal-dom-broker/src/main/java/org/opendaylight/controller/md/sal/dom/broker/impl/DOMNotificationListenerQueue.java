@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationListener;
+import org.opendaylight.controller.md.sal.dom.broker.impl.jmx.NotificationListenerQueueStats;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded queue of notifications pending delivery to a single listener, drained by a dedicated thread. Instances
+ * are placed into the routing table of a partitioned {@link DOMNotificationRouter} in place of the listener, so that
+ * the dispatcher only enqueues notifications and a slow listener cannot delay delivery to other listeners.
+ */
+final class DOMNotificationListenerQueue implements DOMNotificationListener,
+        ListenerRegistration<DOMNotificationListener>, Runnable {
+    private static final class Entry {
+        final DOMNotification notification;
+        final long enqueuedNanos;
+
+        Entry(final DOMNotification notification, final long enqueuedNanos) {
+            this.notification = notification;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(DOMNotificationListenerQueue.class);
+    private static final long BLOCK_CHECK_MILLIS = 100;
+
+    private final AtomicLong deliveredCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final BlockingQueue<Entry> queue;
+    private final DOMNotificationListener listener;
+    private final NotificationOverflowPolicy overflowPolicy;
+    private final int capacity;
+
+    private volatile boolean closed;
+    private volatile int largestQueueSize;
+    private volatile long lastLagNanos;
+    private volatile long maxLagNanos;
+    private volatile Future<?> worker;
+
+    private DOMNotificationListenerQueue(final DOMNotificationListener listener, final int capacity,
+            final NotificationOverflowPolicy overflowPolicy) {
+        this.listener = Preconditions.checkNotNull(listener);
+        this.overflowPolicy = Preconditions.checkNotNull(overflowPolicy);
+        this.capacity = capacity;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    static DOMNotificationListenerQueue start(final DOMNotificationListener listener, final int capacity,
+            final NotificationOverflowPolicy overflowPolicy, final ExecutorService executor) {
+        final DOMNotificationListenerQueue ret = new DOMNotificationListenerQueue(listener, capacity, overflowPolicy);
+        ret.worker = executor.submit(ret);
+        return ret;
+    }
+
+    /**
+     * Queue a notification for delivery, applying the overflow policy if the queue is full. This method is invoked
+     * from the dispatcher thread only.
+     *
+     * @param notification Notification to deliver
+     * @return False if the notification was rejected as per {@link NotificationOverflowPolicy#FAIL}, or because this
+     *         queue has been closed.
+     */
+    boolean enqueue(final DOMNotification notification) {
+        final Entry entry = new Entry(notification, System.nanoTime());
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    while (!queue.offer(entry, BLOCK_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                        if (closed) {
+                            rejectedCount.incrementAndGet();
+                            return false;
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    LOG.debug("Interrupted while queueing notification for {}", listener, e);
+                    Thread.currentThread().interrupt();
+                    rejectedCount.incrementAndGet();
+                    return false;
+                }
+                break;
+            case DROP_OLDEST:
+                while (!queue.offer(entry)) {
+                    if (queue.poll() != null) {
+                        droppedCount.incrementAndGet();
+                    }
+                }
+                break;
+            case FAIL:
+                if (!queue.offer(entry)) {
+                    rejectedCount.incrementAndGet();
+                    return false;
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unhandled policy " + overflowPolicy);
+        }
+
+        final int size = queue.size();
+        if (size > largestQueueSize) {
+            largestQueueSize = size;
+        }
+        return true;
+    }
+
+    @Override
+    public void onNotification(final DOMNotification notification) {
+        enqueue(notification);
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public void run() {
+        while (!closed) {
+            final Entry entry;
+            try {
+                entry = queue.take();
+            } catch (InterruptedException e) {
+                LOG.debug("Delivery to {} interrupted", listener, e);
+                break;
+            }
+
+            final long lag = System.nanoTime() - entry.enqueuedNanos;
+            lastLagNanos = lag;
+            if (lag > maxLagNanos) {
+                maxLagNanos = lag;
+            }
+
+            try {
+                listener.onNotification(entry.notification);
+            } catch (RuntimeException e) {
+                LOG.warn("Uncaught exception during invoking listener {}", listener, e);
+            }
+            deliveredCount.incrementAndGet();
+        }
+
+        LOG.debug("Delivery to {} completed", listener);
+    }
+
+    @Override
+    public DOMNotificationListener getInstance() {
+        return this;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        if (worker != null) {
+            worker.cancel(true);
+        }
+        queue.clear();
+    }
+
+    NotificationListenerQueueStats getStats() {
+        return new NotificationListenerQueueStats(listener.toString(), overflowPolicy.name(), capacity, queue.size(),
+            largestQueueSize, deliveredCount.get(), droppedCount.get(), rejectedCount.get(),
+            TimeUnit.NANOSECONDS.toMicros(lastLagNanos), TimeUnit.NANOSECONDS.toMicros(maxLagNanos));
+    }
+}
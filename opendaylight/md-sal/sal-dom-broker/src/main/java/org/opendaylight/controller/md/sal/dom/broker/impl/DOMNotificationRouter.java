@@ -9,10 +9,7 @@ package org.opendaylight.controller.md.sal.dom.broker.impl;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableMultimap;
-import com.google.common.collect.ImmutableMultimap.Builder;
-import com.google.common.collect.Multimap;
-import com.google.common.collect.Multimaps;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.lmax.disruptor.EventHandler;
@@ -25,13 +22,17 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotificationListener;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotificationPublishService;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotificationService;
+import org.opendaylight.controller.md.sal.dom.broker.impl.jmx.NotificationListenerQueueStats;
 import org.opendaylight.controller.md.sal.dom.spi.DOMNotificationSubscriptionListener;
 import org.opendaylight.controller.md.sal.dom.spi.DOMNotificationSubscriptionListenerRegistry;
 import org.opendaylight.yangtools.concepts.AbstractListenerRegistration;
@@ -48,9 +49,10 @@ import org.slf4j.LoggerFactory;
  * <p>
  * Internal implementation works by allocating a two-handler Disruptor. The first handler delivers notifications
  * to subscribed listeners and the second one notifies whoever may be listening on the returned future. Registration
- * state tracking is performed by a simple immutable multimap -- when a registration or unregistration occurs we
- * re-generate the entire map from scratch and set it atomically. While registrations/unregistrations synchronize
- * on this instance, notifications do not take any locks here.
+ * state tracking is performed by a concurrent map, which holds an immutable list of listeners for each notification
+ * type. When a registration or unregistration occurs, we atomically replace the lists of the affected types only,
+ * hence its cost is proportional to the number of listeners of those types. Notifications do not take any locks here
+ * and look up their subscribers with a single map read.
  *
  * <p>
  * The fully-blocking {@link #publish(long, DOMNotification, Collection)} and non-blocking
@@ -58,6 +60,12 @@ import org.slf4j.LoggerFactory;
  * are realized using the Disruptor's native operations. The bounded-blocking
  * {@link #offerNotification(DOMNotification, long, TimeUnit)}
  * is realized by arming a background wakeup interrupt.
+ *
+ * <p>
+ * A router created with a non-zero listener queue depth is partitioned: each registered listener gets its own bounded
+ * {@link DOMNotificationListenerQueue}, drained by a dedicated thread. The Disruptor handler then only places
+ * notifications into these queues, hence a slow listener does not delay delivery to other listeners. What happens when
+ * a listener's queue is full is governed by a {@link NotificationOverflowPolicy}.
  */
 public final class DOMNotificationRouter implements AutoCloseable, DOMNotificationPublishService,
         DOMNotificationService, DOMNotificationSubscriptionListenerRegistry {
@@ -73,14 +81,20 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
 
     private final Disruptor<DOMNotificationRouterEvent> disruptor;
     private final ExecutorService executor;
-    private volatile Multimap<SchemaPath, ListenerRegistration<? extends DOMNotificationListener>> listeners
-            = ImmutableMultimap.of();
+    private final ConcurrentMap<SchemaPath, List<ListenerRegistration<? extends DOMNotificationListener>>> listeners
+            = new ConcurrentHashMap<>();
     private final ListenerRegistry<DOMNotificationSubscriptionListener> subscriptionListeners = ListenerRegistry
             .create();
+    private final NotificationOverflowPolicy overflowPolicy;
+    private final int listenerQueueDepth;
 
     @SuppressWarnings("unchecked")
-    private DOMNotificationRouter(final ExecutorService executor, final int queueDepth, final WaitStrategy strategy) {
+    private DOMNotificationRouter(final ExecutorService executor, final int queueDepth, final WaitStrategy strategy,
+            final int listenerQueueDepth, final NotificationOverflowPolicy overflowPolicy) {
+        Preconditions.checkArgument(listenerQueueDepth >= 0, "Invalid listener queue depth %s", listenerQueueDepth);
         this.executor = Preconditions.checkNotNull(executor);
+        this.listenerQueueDepth = listenerQueueDepth;
+        this.overflowPolicy = Preconditions.checkNotNull(overflowPolicy);
 
         disruptor = new Disruptor<>(DOMNotificationRouterEvent.FACTORY, queueDepth, executor, ProducerType.MULTI,
                                     strategy);
@@ -92,7 +106,7 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
     public static DOMNotificationRouter create(final int queueDepth) {
         final ExecutorService executor = Executors.newCachedThreadPool();
 
-        return new DOMNotificationRouter(executor, queueDepth, DEFAULT_STRATEGY);
+        return new DOMNotificationRouter(executor, queueDepth, DEFAULT_STRATEGY, 0, NotificationOverflowPolicy.BLOCK);
     }
 
     public static DOMNotificationRouter create(final int queueDepth, final long spinTime, final long parkTime,
@@ -102,35 +116,70 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
         final ExecutorService executor = Executors.newCachedThreadPool();
         final WaitStrategy strategy = PhasedBackoffWaitStrategy.withLock(spinTime, parkTime, unit);
 
-        return new DOMNotificationRouter(executor, queueDepth, strategy);
+        return new DOMNotificationRouter(executor, queueDepth, strategy, 0, NotificationOverflowPolicy.BLOCK);
+    }
+
+    /**
+     * Create a router, which is partitioned if listenerQueueDepth is positive.
+     *
+     * @param queueDepth Depth of the shared dispatch queue, must be a power of two
+     * @param spinTime Time to spin waiting for notifications to dispatch
+     * @param parkTime Time to park waiting for notifications to dispatch
+     * @param unit Time unit of spinTime and parkTime
+     * @param listenerQueueDepth Depth of each listener's queue, 0 to deliver notifications from the dispatch thread
+     * @param overflowPolicy Policy to apply when a listener's queue is full
+     * @return A new router
+     */
+    public static DOMNotificationRouter create(final int queueDepth, final long spinTime, final long parkTime,
+            final TimeUnit unit, final int listenerQueueDepth, final NotificationOverflowPolicy overflowPolicy) {
+        Preconditions.checkArgument(Long.lowestOneBit(queueDepth) == Long.highestOneBit(queueDepth),
+                                    "Queue depth %s is not power-of-two", queueDepth);
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        final WaitStrategy strategy = PhasedBackoffWaitStrategy.withLock(spinTime, parkTime, unit);
+
+        return new DOMNotificationRouter(executor, queueDepth, strategy, listenerQueueDepth, overflowPolicy);
     }
 
     @Override
-    public synchronized <T extends DOMNotificationListener> ListenerRegistration<T> registerNotificationListener(
+    public <T extends DOMNotificationListener> ListenerRegistration<T> registerNotificationListener(
             final T listener, final Collection<SchemaPath> types) {
-        final ListenerRegistration<T> reg = new AbstractListenerRegistration<T>(listener) {
-            @Override
-            protected void removeRegistration() {
-                final ListenerRegistration<T> me = this;
-
-                synchronized (DOMNotificationRouter.this) {
-                    replaceListeners(ImmutableMultimap.copyOf(Multimaps.filterValues(listeners, input -> input != me)));
+        final Set<SchemaPath> uniqueTypes = ImmutableSet.copyOf(types);
+        final ListenerRegistration<T> reg;
+        final ListenerRegistration<? extends DOMNotificationListener> dispatchReg;
+        if (isPartitioned() && !uniqueTypes.isEmpty()) {
+            final DOMNotificationListenerQueue queue = DOMNotificationListenerQueue.start(listener, listenerQueueDepth,
+                overflowPolicy, executor);
+            reg = new AbstractListenerRegistration<T>(listener) {
+                @Override
+                protected void removeRegistration() {
+                    removeListener(queue, uniqueTypes);
+                    queue.close();
                 }
-            }
-        };
-
-        if (!types.isEmpty()) {
-            final Builder<SchemaPath, ListenerRegistration<? extends DOMNotificationListener>> b = ImmutableMultimap
-                    .builder();
-            b.putAll(listeners);
-
-            for (final SchemaPath t : types) {
-                b.put(t, reg);
-            }
+            };
+            dispatchReg = queue;
+        } else {
+            reg = new AbstractListenerRegistration<T>(listener) {
+                @Override
+                protected void removeRegistration() {
+                    removeListener(this, uniqueTypes);
+                }
+            };
+            dispatchReg = reg;
+        }
 
-            replaceListeners(b.build());
+        boolean typesChanged = false;
+        for (final SchemaPath type : uniqueTypes) {
+            final List<ListenerRegistration<? extends DOMNotificationListener>> after = listeners.compute(type,
+                (key, current) -> current == null ? ImmutableList.of(dispatchReg)
+                        : ImmutableList.<ListenerRegistration<? extends DOMNotificationListener>>builder()
+                            .addAll(current).add(dispatchReg).build());
+            // We are the first listener for this type
+            typesChanged |= after.size() == 1;
         }
 
+        if (typesChanged) {
+            notifyListenerTypesChanged();
+        }
         return reg;
     }
 
@@ -142,19 +191,29 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
         return registerNotificationListener(listener, Arrays.asList(types));
     }
 
-    /**
-     * Swaps registered listeners and triggers notification update.
-     *
-     * @param newListeners listeners
-     */
-    private void replaceListeners(
-            final Multimap<SchemaPath, ListenerRegistration<? extends DOMNotificationListener>> newListeners) {
-        listeners = newListeners;
-        notifyListenerTypesChanged(newListeners.keySet());
+    private void removeListener(final ListenerRegistration<?> dispatchReg, final Set<SchemaPath> types) {
+        boolean typesChanged = false;
+        for (final SchemaPath type : types) {
+            final List<ListenerRegistration<? extends DOMNotificationListener>> after = listeners.computeIfPresent(
+                type, (key, current) -> {
+                    final List<ListenerRegistration<? extends DOMNotificationListener>> remaining =
+                            ImmutableList.copyOf(current.stream().filter(input -> input != dispatchReg).iterator());
+                    return remaining.isEmpty() ? null : remaining;
+                });
+            typesChanged |= after == null;
+        }
+
+        if (typesChanged) {
+            notifyListenerTypesChanged();
+        }
     }
 
+    /**
+     * Triggers notification of subscription listeners about the set of subscribed types having changed.
+     */
     @SuppressWarnings("checkstyle:IllegalCatch")
-    private void notifyListenerTypesChanged(final Set<SchemaPath> typesAfter) {
+    private void notifyListenerTypesChanged() {
+        final Set<SchemaPath> typesAfter = ImmutableSet.copyOf(listeners.keySet());
         final List<ListenerRegistration<DOMNotificationSubscriptionListener>> listenersAfter = ImmutableList
                 .copyOf(subscriptionListeners.getListeners());
         executor.submit(() -> {
@@ -171,7 +230,7 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
     @Override
     public <L extends DOMNotificationSubscriptionListener> ListenerRegistration<L> registerSubscriptionListener(
             final L listener) {
-        final Set<SchemaPath> initialTypes = listeners.keySet();
+        final Set<SchemaPath> initialTypes = ImmutableSet.copyOf(listeners.keySet());
         executor.submit(() -> listener.onSubscriptionChanged(initialTypes));
         return subscriptionListeners.registerWithType(listener);
     }
@@ -189,7 +248,7 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
     public ListenableFuture<?> putNotification(final DOMNotification notification) throws InterruptedException {
         final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers = listeners
                 .get(notification.getType());
-        if (subscribers.isEmpty()) {
+        if (subscribers == null) {
             return NO_LISTENERS;
         }
 
@@ -214,7 +273,7 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
     public ListenableFuture<?> offerNotification(final DOMNotification notification) {
         final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers = listeners
                 .get(notification.getType());
-        if (subscribers.isEmpty()) {
+        if (subscribers == null) {
             return NO_LISTENERS;
         }
 
@@ -226,7 +285,7 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
                                                  final TimeUnit unit) throws InterruptedException {
         final Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers = listeners
                 .get(notification.getType());
-        if (subscribers.isEmpty()) {
+        if (subscribers == null) {
             return NO_LISTENERS;
         }
 
@@ -243,9 +302,33 @@ public final class DOMNotificationRouter implements AutoCloseable, DOMNotificati
         throw new UnsupportedOperationException("Not implemented yet");
     }
 
+    /**
+     * Return whether this router dispatches notifications through per-listener queues.
+     *
+     * @return True if this router is partitioned
+     */
+    public boolean isPartitioned() {
+        return listenerQueueDepth > 0;
+    }
+
+    /**
+     * Return statistics of all listener queues.
+     *
+     * @return Listener queue statistics, empty if this router is not partitioned
+     */
+    public List<NotificationListenerQueueStats> getListenerQueueStats() {
+        return listenerQueues().stream().map(DOMNotificationListenerQueue::getStats).collect(Collectors.toList());
+    }
+
+    private Set<DOMNotificationListenerQueue> listenerQueues() {
+        return listeners.values().stream().flatMap(List::stream).filter(DOMNotificationListenerQueue.class::isInstance)
+                .map(DOMNotificationListenerQueue.class::cast).collect(Collectors.toSet());
+    }
+
     @Override
     public void close() {
         disruptor.shutdown();
+        listenerQueues().forEach(DOMNotificationListenerQueue::close);
         executor.shutdown();
     }
 }
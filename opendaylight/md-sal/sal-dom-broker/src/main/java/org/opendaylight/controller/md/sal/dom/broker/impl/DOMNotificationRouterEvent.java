@@ -14,6 +14,7 @@ import com.lmax.disruptor.EventFactory;
 import java.util.Collection;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
 import org.opendaylight.controller.md.sal.dom.api.DOMNotificationListener;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationRejectedException;
 import org.opendaylight.yangtools.concepts.ListenerRegistration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +30,7 @@ final class DOMNotificationRouterEvent {
     private Collection<ListenerRegistration<? extends DOMNotificationListener>> subscribers;
     private DOMNotification notification;
     private SettableFuture<Void> future;
+    private boolean rejected;
 
     private DOMNotificationRouterEvent() {
         // Hidden on purpose, initialized in initialize()
@@ -48,7 +50,12 @@ final class DOMNotificationRouterEvent {
         LOG.trace("Start delivery of notification {}", notification);
         for (ListenerRegistration<? extends DOMNotificationListener> r : subscribers) {
             final DOMNotificationListener listener = r.getInstance();
-            if (listener != null) {
+            if (listener instanceof DOMNotificationListenerQueue) {
+                LOG.trace("Queueing notification for {}", listener);
+                if (!((DOMNotificationListenerQueue) listener).enqueue(notification)) {
+                    rejected = true;
+                }
+            } else if (listener != null) {
                 LOG.trace("Notifying listener {}", listener);
                 listener.onNotification(notification);
                 LOG.trace("Listener notification completed");
@@ -58,7 +65,13 @@ final class DOMNotificationRouterEvent {
     }
 
     void setFuture() {
-        future.set(null);
+        if (rejected) {
+            future.setException(new DOMNotificationRejectedException(
+                "Notification could not be queued for all listeners"));
+            rejected = false;
+        } else {
+            future.set(null);
+        }
         notification = null;
         subscribers = null;
         future = null;
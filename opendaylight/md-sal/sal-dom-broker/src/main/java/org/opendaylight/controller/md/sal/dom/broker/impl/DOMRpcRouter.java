@@ -8,20 +8,17 @@
 package org.opendaylight.controller.md.sal.dom.broker.impl;
 
 import com.google.common.base.Preconditions;
-import com.google.common.base.Verify;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.MapDifference;
-import com.google.common.collect.MapDifference.ValueDifference;
-import com.google.common.collect.Maps;
-import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -77,7 +74,7 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
         final DOMRpcRoutingTable newTable = oldTable.add(implementation, rpcs);
         routingTable = newTable;
 
-        listenerNotifier.execute(() -> notifyAdded(newTable, implementation));
+        listenerNotifier.execute(() -> notifyAdded(newTable, implementation, rpcs));
 
         return new AbstractDOMRpcImplementationRegistration<T>(implementation) {
             @Override
@@ -93,7 +90,7 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
         final DOMRpcRoutingTable newTable = oldTable.remove(implementation, rpcs);
         routingTable = newTable;
 
-        listenerNotifier.execute(() -> notifyRemoved(newTable, implementation));
+        listenerNotifier.execute(() -> notifyRemoved(newTable, implementation, rpcs));
     }
 
     @Override
@@ -106,15 +103,17 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
         listeners = ImmutableList.copyOf(Collections2.filter(listeners, i -> !reg.equals(i)));
     }
 
-    private synchronized void notifyAdded(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
+    private synchronized void notifyAdded(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl,
+            final Set<DOMRpcIdentifier> rpcs) {
         for (Registration<?> l : listeners) {
-            l.addRpc(newTable, impl);
+            l.addRpc(newTable, impl, rpcs);
         }
     }
 
-    private synchronized void notifyRemoved(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
+    private synchronized void notifyRemoved(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl,
+            final Set<DOMRpcIdentifier> rpcs) {
         for (Registration<?> l : listeners) {
-            l.removeRpc(newTable, impl);
+            l.removeRpc(newTable, impl, rpcs);
         }
     }
 
@@ -148,13 +147,19 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
 
         private final DOMRpcRouter router;
 
-        private Map<SchemaPath, Set<YangInstanceIdentifier>> prevRpcs;
+        /**
+         * RPCs reported as available to the listener. Updated only with the identifiers affected by each change, so
+         * that notifications do not need to compare whole routing tables.
+         */
+        private final Map<SchemaPath, Set<YangInstanceIdentifier>> prevRpcs = new HashMap<>();
 
         Registration(final DOMRpcRouter router, final T listener,
                      final Map<SchemaPath, Set<YangInstanceIdentifier>> rpcs) {
             super(Preconditions.checkNotNull(listener));
             this.router = Preconditions.checkNotNull(router);
-            this.prevRpcs = Preconditions.checkNotNull(rpcs);
+            for (Entry<SchemaPath, Set<YangInstanceIdentifier>> e : rpcs.entrySet()) {
+                prevRpcs.put(e.getKey(), new HashSet<>(e.getValue()));
+            }
         }
 
         @Override
@@ -174,53 +179,46 @@ public final class DOMRpcRouter implements AutoCloseable, DOMRpcService, DOMRpcP
             }
         }
 
-        void addRpc(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
+        void addRpc(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl,
+                final Set<DOMRpcIdentifier> rpcs) {
             final T l = getInstance();
             if (!l.acceptsImplementation(impl)) {
                 return;
             }
 
-            final Map<SchemaPath, Set<YangInstanceIdentifier>> rpcs = Verify.verifyNotNull(newTable.getRpcs(l));
-            final MapDifference<SchemaPath, Set<YangInstanceIdentifier>> diff = Maps.difference(prevRpcs, rpcs);
-
             final Collection<DOMRpcIdentifier> added = new ArrayList<>();
-            for (Entry<SchemaPath, Set<YangInstanceIdentifier>> e : diff.entriesOnlyOnRight().entrySet()) {
-                added.addAll(Collections2.transform(e.getValue(), i -> DOMRpcIdentifier.create(e.getKey(), i)));
-            }
-            for (Entry<SchemaPath, ValueDifference<Set<YangInstanceIdentifier>>> e : diff.entriesDiffering()
-                    .entrySet()) {
-                for (YangInstanceIdentifier i : Sets.difference(e.getValue().rightValue(), e.getValue().leftValue())) {
-                    added.add(DOMRpcIdentifier.create(e.getKey(), i));
+            for (DOMRpcIdentifier id : rpcs) {
+                if (newTable.isAvailable(id, l) && prevRpcs.computeIfAbsent(id.getType(), k -> new HashSet<>())
+                        .add(id.getContextReference())) {
+                    added.add(id);
                 }
             }
 
-            prevRpcs = rpcs;
             if (!added.isEmpty()) {
                 l.onRpcAvailable(added);
             }
         }
 
-        void removeRpc(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl) {
+        void removeRpc(final DOMRpcRoutingTable newTable, final DOMRpcImplementation impl,
+                final Set<DOMRpcIdentifier> rpcs) {
             final T l = getInstance();
             if (!l.acceptsImplementation(impl)) {
                 return;
             }
 
-            final Map<SchemaPath, Set<YangInstanceIdentifier>> rpcs = Verify.verifyNotNull(newTable.getRpcs(l));
-            final MapDifference<SchemaPath, Set<YangInstanceIdentifier>> diff = Maps.difference(prevRpcs, rpcs);
-
             final Collection<DOMRpcIdentifier> removed = new ArrayList<>();
-            for (Entry<SchemaPath, Set<YangInstanceIdentifier>> e : diff.entriesOnlyOnLeft().entrySet()) {
-                removed.addAll(Collections2.transform(e.getValue(), i -> DOMRpcIdentifier.create(e.getKey(), i)));
-            }
-            for (Entry<SchemaPath, ValueDifference<Set<YangInstanceIdentifier>>> e : diff.entriesDiffering()
-                    .entrySet()) {
-                for (YangInstanceIdentifier i : Sets.difference(e.getValue().leftValue(), e.getValue().rightValue())) {
-                    removed.add(DOMRpcIdentifier.create(e.getKey(), i));
+            for (DOMRpcIdentifier id : rpcs) {
+                if (!newTable.isAvailable(id, l)) {
+                    final Set<YangInstanceIdentifier> prev = prevRpcs.get(id.getType());
+                    if (prev != null && prev.remove(id.getContextReference())) {
+                        removed.add(id);
+                        if (prev.isEmpty()) {
+                            prevRpcs.remove(id.getType());
+                        }
+                    }
                 }
             }
 
-            prevRpcs = rpcs;
             if (!removed.isEmpty()) {
                 l.onRpcUnavailable(removed);
             }
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+/**
+ * Policy applied by {@link DOMNotificationRouter} when a notification is to be queued for a listener whose queue is
+ * full.
+ */
+public enum NotificationOverflowPolicy {
+    /**
+     * Wait for the listener to make room in its queue. This propagates back-pressure from the slowest listener to
+     * publishers, but other listeners continue to receive notifications already queued for them.
+     */
+    BLOCK,
+    /**
+     * Discard the oldest notification queued for the listener.
+     */
+    DROP_OLDEST,
+    /**
+     * Discard the notification for the listener and fail the future returned to the publisher with
+     * a {@link org.opendaylight.controller.md.sal.dom.api.DOMNotificationRejectedException}.
+     */
+    FAIL;
+}
@@ -22,11 +22,17 @@ import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 final class UnknownDOMRpcRoutingTableEntry extends AbstractDOMRpcRoutingTableEntry {
     private final CheckedFuture<DOMRpcResult, DOMRpcException> unknownRpc;
 
+    private UnknownDOMRpcRoutingTableEntry(final SchemaPath schemaPath,
+                                           final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> impls,
+                                           final CheckedFuture<DOMRpcResult, DOMRpcException> unknownRpc) {
+        super(schemaPath, impls);
+        this.unknownRpc = unknownRpc;
+    }
+
     UnknownDOMRpcRoutingTableEntry(final SchemaPath schemaPath,
                                    final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> impls) {
-        super(schemaPath, impls);
-        unknownRpc = Futures.<DOMRpcResult, DOMRpcException>immediateFailedCheckedFuture(
-                new DOMRpcImplementationNotAvailableException("SchemaPath %s is not resolved to an RPC", schemaPath));
+        this(schemaPath, impls, Futures.<DOMRpcResult, DOMRpcException>immediateFailedCheckedFuture(
+                new DOMRpcImplementationNotAvailableException("SchemaPath %s is not resolved to an RPC", schemaPath)));
     }
 
     @Override
@@ -37,6 +43,7 @@ final class UnknownDOMRpcRoutingTableEntry extends AbstractDOMRpcRoutingTableEnt
     @Override
     protected UnknownDOMRpcRoutingTableEntry newInstance(
             final Map<YangInstanceIdentifier, List<DOMRpcImplementation>> impls) {
-        return new UnknownDOMRpcRoutingTableEntry(getSchemaPath(), impls);
+        // Reuse the failed future, as instantiating an exception is not exactly cheap
+        return new UnknownDOMRpcRoutingTableEntry(getSchemaPath(), impls, unknownRpc);
     }
 }
\ No newline at end of file
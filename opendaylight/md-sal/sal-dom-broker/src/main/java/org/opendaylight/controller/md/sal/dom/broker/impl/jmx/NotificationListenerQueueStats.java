@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl.jmx;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * A bean class that holds statistics of a single listener queue of a partitioned DOMNotificationRouter. This class
+ * is suitable for mapping to the MXBean CompositeDataSupport type.
+ */
+public class NotificationListenerQueueStats {
+    private final String listener;
+    private final String overflowPolicy;
+    private final int capacity;
+    private final int currentQueueSize;
+    private final int largestQueueSize;
+    private final long deliveredCount;
+    private final long droppedCount;
+    private final long rejectedCount;
+    private final long lastLagMicros;
+    private final long maxLagMicros;
+
+    @ConstructorProperties({"listener", "overflowPolicy", "capacity", "currentQueueSize", "largestQueueSize",
+        "deliveredCount", "droppedCount", "rejectedCount", "lastLagMicros", "maxLagMicros"})
+    public NotificationListenerQueueStats(final String listener, final String overflowPolicy, final int capacity,
+            final int currentQueueSize, final int largestQueueSize, final long deliveredCount,
+            final long droppedCount, final long rejectedCount, final long lastLagMicros, final long maxLagMicros) {
+        this.listener = listener;
+        this.overflowPolicy = overflowPolicy;
+        this.capacity = capacity;
+        this.currentQueueSize = currentQueueSize;
+        this.largestQueueSize = largestQueueSize;
+        this.deliveredCount = deliveredCount;
+        this.droppedCount = droppedCount;
+        this.rejectedCount = rejectedCount;
+        this.lastLagMicros = lastLagMicros;
+        this.maxLagMicros = maxLagMicros;
+    }
+
+    public String getListener() {
+        return listener;
+    }
+
+    public String getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of notifications waiting for delivery to the listener.
+     *
+     * @return current queue size
+     */
+    public int getCurrentQueueSize() {
+        return currentQueueSize;
+    }
+
+    public int getLargestQueueSize() {
+        return largestQueueSize;
+    }
+
+    public long getDeliveredCount() {
+        return deliveredCount;
+    }
+
+    /**
+     * Returns the number of notifications discarded to make room for newer ones.
+     *
+     * @return dropped notification count
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Returns the number of notifications which were not queued because the queue was full or closed.
+     *
+     * @return rejected notification count
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Returns the time the most recently delivered notification spent in the queue.
+     *
+     * @return lag of the last delivered notification, in microseconds
+     */
+    public long getLastLagMicros() {
+        return lastLagMicros;
+    }
+
+    public long getMaxLagMicros() {
+        return maxLagMicros;
+    }
+}
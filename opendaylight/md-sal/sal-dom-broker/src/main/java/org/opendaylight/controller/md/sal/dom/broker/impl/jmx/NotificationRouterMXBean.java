@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl.jmx;
+
+import java.util.List;
+
+/**
+ * MXBean interface for retrieving DOMNotificationRouter statistics.
+ */
+public interface NotificationRouterMXBean {
+    /**
+     * Returns whether notifications are dispatched through per-listener queues.
+     *
+     * @return true if the router is partitioned
+     */
+    boolean isPartitioned();
+
+    /**
+     * Returns statistics of all listener queues. The list is empty unless the router is partitioned.
+     *
+     * @return listener queue statistics
+     */
+    List<NotificationListenerQueueStats> getListenerQueueStats();
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl.jmx;
+
+import com.google.common.base.Preconditions;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.opendaylight.controller.md.sal.common.util.jmx.AbstractMXBean;
+import org.opendaylight.controller.md.sal.dom.broker.impl.DOMNotificationRouter;
+
+/**
+ * Implementation of the NotificationRouterMXBean interface.
+ */
+public class NotificationRouterMXBeanImpl extends AbstractMXBean implements NotificationRouterMXBean {
+    private final DOMNotificationRouter router;
+
+    /**
+     * Constructor.
+     *
+     * @param router the DOMNotificationRouter used to obtain the stats.
+     * @param mbeantype mBeanType Used as the <code>type</code> property in the bean's ObjectName.
+     */
+    public NotificationRouterMXBeanImpl(@Nonnull final DOMNotificationRouter router, @Nonnull final String mbeantype) {
+        super("NotificationRouterStats", mbeantype, null);
+        this.router = Preconditions.checkNotNull(router);
+    }
+
+    @Override
+    public boolean isPartitioned() {
+        return router.isPartitioned();
+    }
+
+    @Override
+    public List<NotificationListenerQueueStats> getListenerQueueStats() {
+        return router.getListenerQueueStats();
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotification;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationListener;
+import org.opendaylight.controller.md.sal.dom.api.DOMNotificationRejectedException;
+import org.opendaylight.controller.md.sal.dom.broker.impl.jmx.NotificationListenerQueueStats;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class DOMNotificationRouterTest {
+    private static final QName NOTIFICATION = QName.create("urn:opendaylight:test:notification", "2018-01-01",
+        "test-notification");
+    private static final SchemaPath TYPE = SchemaPath.create(true, NOTIFICATION);
+    private static final SchemaPath OTHER_TYPE = SchemaPath.create(true, QName.create(NOTIFICATION, "other"));
+    private static final int LISTENER_QUEUE_DEPTH = 4;
+
+    private static final class TestNotification implements DOMNotification {
+        private final ContainerNode body = ImmutableNodes.containerNode(NOTIFICATION);
+
+        @Override
+        public SchemaPath getType() {
+            return TYPE;
+        }
+
+        @Override
+        public ContainerNode getBody() {
+            return body;
+        }
+    }
+
+    private static final class RecordingListener implements DOMNotificationListener {
+        final BlockingQueue<DOMNotification> received = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onNotification(final DOMNotification notification) {
+            received.add(notification);
+        }
+    }
+
+    /**
+     * A listener which does not complete delivery until released.
+     */
+    private static final class BlockedListener implements DOMNotificationListener {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch entered = new CountDownLatch(1);
+
+        @Override
+        public void onNotification(final DOMNotification notification) {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private DOMNotificationRouter router;
+
+    @After
+    public void tearDown() {
+        router.close();
+    }
+
+    @Test
+    public void testSlowListenerDoesNotDelayOthers() throws Exception {
+        router = DOMNotificationRouter.create(16, 0, 0, TimeUnit.MILLISECONDS, LISTENER_QUEUE_DEPTH,
+            NotificationOverflowPolicy.DROP_OLDEST);
+        assertTrue(router.isPartitioned());
+
+        final BlockedListener slow = new BlockedListener();
+        final RecordingListener fast = new RecordingListener();
+        router.registerNotificationListener(slow, TYPE);
+        router.registerNotificationListener(fast, TYPE);
+
+        // Make sure the slow listener is stuck in delivery before flooding it
+        router.putNotification(new TestNotification()).get(5, TimeUnit.SECONDS);
+        assertTrue(slow.entered.await(5, TimeUnit.SECONDS));
+
+        final int count = LISTENER_QUEUE_DEPTH * 4;
+        for (int i = 1; i < count; ++i) {
+            router.putNotification(new TestNotification()).get(5, TimeUnit.SECONDS);
+        }
+
+        for (int i = 0; i < count; ++i) {
+            assertTrue(fast.received.poll(5, TimeUnit.SECONDS) != null);
+        }
+
+        final NotificationListenerQueueStats slowStats = findStats(slow);
+        assertEquals(LISTENER_QUEUE_DEPTH, slowStats.getCurrentQueueSize());
+        assertEquals(LISTENER_QUEUE_DEPTH, slowStats.getLargestQueueSize());
+        // one notification is being delivered, the queue holds the most recent ones
+        assertEquals(count - LISTENER_QUEUE_DEPTH - 1, slowStats.getDroppedCount());
+        assertEquals(0, slowStats.getRejectedCount());
+
+        final NotificationListenerQueueStats fastStats = findStats(fast);
+        assertEquals(count, fastStats.getDeliveredCount());
+        assertEquals(0, fastStats.getDroppedCount());
+
+        slow.release.countDown();
+    }
+
+    @Test
+    public void testFailPolicy() throws Exception {
+        router = DOMNotificationRouter.create(16, 0, 0, TimeUnit.MILLISECONDS, LISTENER_QUEUE_DEPTH,
+            NotificationOverflowPolicy.FAIL);
+
+        final BlockedListener slow = new BlockedListener();
+        router.registerNotificationListener(slow, TYPE);
+
+        router.putNotification(new TestNotification()).get(5, TimeUnit.SECONDS);
+        assertTrue(slow.entered.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < LISTENER_QUEUE_DEPTH; ++i) {
+            router.putNotification(new TestNotification()).get(5, TimeUnit.SECONDS);
+        }
+
+        final ListenableFuture<?> future = router.putNotification(new TestNotification());
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected rejection");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof DOMNotificationRejectedException);
+        }
+        assertEquals(1, findStats(slow).getRejectedCount());
+
+        slow.release.countDown();
+    }
+
+    @Test
+    public void testBlockPolicy() throws Exception {
+        router = DOMNotificationRouter.create(16, 0, 0, TimeUnit.MILLISECONDS, 1, NotificationOverflowPolicy.BLOCK);
+
+        final BlockedListener slow = new BlockedListener();
+        router.registerNotificationListener(slow, TYPE);
+
+        router.putNotification(new TestNotification()).get(5, TimeUnit.SECONDS);
+        assertTrue(slow.entered.await(5, TimeUnit.SECONDS));
+        router.putNotification(new TestNotification()).get(5, TimeUnit.SECONDS);
+
+        // The queue is full, hence this one has to wait
+        final ListenableFuture<?> future = router.putNotification(new TestNotification());
+        Thread.sleep(200);
+        assertFalse(future.isDone());
+
+        slow.release.countDown();
+        future.get(5, TimeUnit.SECONDS);
+        assertEquals(0, findStats(slow).getRejectedCount());
+    }
+
+    @Test
+    public void testUnpartitioned() throws Exception {
+        router = DOMNotificationRouter.create(16);
+        assertFalse(router.isPartitioned());
+
+        final RecordingListener listener = new RecordingListener();
+        router.registerNotificationListener(listener, TYPE).close();
+        router.registerNotificationListener(listener, TYPE);
+        router.putNotification(new TestNotification()).get(5, TimeUnit.SECONDS);
+
+        // Delivery is complete by the time the future completes
+        assertEquals(1, listener.received.size());
+        assertTrue(router.getListenerQueueStats().isEmpty());
+    }
+
+    @Test
+    public void testRegistrationChurn() throws Exception {
+        router = DOMNotificationRouter.create(16);
+
+        final RecordingListener first = new RecordingListener();
+        final RecordingListener second = new RecordingListener();
+        final RecordingListener third = new RecordingListener();
+        final ListenerRegistration<?> firstReg = router.registerNotificationListener(first, TYPE, OTHER_TYPE);
+        final ListenerRegistration<?> secondReg = router.registerNotificationListener(second, TYPE, TYPE);
+        router.registerNotificationListener(third, TYPE);
+
+        router.putNotification(new TestNotification()).get(5, TimeUnit.SECONDS);
+        assertEquals(1, first.received.size());
+        // Duplicate types do not result in duplicate delivery
+        assertEquals(1, second.received.size());
+        assertEquals(1, third.received.size());
+
+        secondReg.close();
+        firstReg.close();
+        router.putNotification(new TestNotification()).get(5, TimeUnit.SECONDS);
+        assertEquals(1, first.received.size());
+        assertEquals(1, second.received.size());
+        assertEquals(2, third.received.size());
+    }
+
+    @Test
+    public void testSubscriptionListener() throws Exception {
+        router = DOMNotificationRouter.create(16);
+
+        final BlockingQueue<Set<SchemaPath>> changes = new LinkedBlockingQueue<>();
+        router.registerSubscriptionListener(changes::add);
+        assertEquals(Collections.emptySet(), changes.poll(5, TimeUnit.SECONDS));
+
+        final ListenerRegistration<?> firstReg = router.registerNotificationListener(new RecordingListener(), TYPE);
+        assertEquals(Collections.singleton(TYPE), changes.poll(5, TimeUnit.SECONDS));
+
+        // Another listener for the same type does not change the set of subscribed types
+        final ListenerRegistration<?> secondReg = router.registerNotificationListener(new RecordingListener(), TYPE);
+        firstReg.close();
+        assertEquals(null, changes.poll(200, TimeUnit.MILLISECONDS));
+
+        secondReg.close();
+        assertEquals(Collections.emptySet(), changes.poll(5, TimeUnit.SECONDS));
+    }
+
+    private NotificationListenerQueueStats findStats(final DOMNotificationListener listener) {
+        final List<NotificationListenerQueueStats> stats = router.getListenerQueueStats();
+        return stats.stream().filter(s -> s.getListener().equals(listener.toString())).findFirst().get();
+    }
+}
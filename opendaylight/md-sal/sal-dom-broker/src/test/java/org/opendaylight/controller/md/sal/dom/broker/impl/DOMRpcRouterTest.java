@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.md.sal.dom.broker.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.Futures;
+import java.util.Collection;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcAvailabilityListener;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationRegistration;
+import org.opendaylight.controller.md.sal.dom.spi.DefaultDOMRpcResult;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+public class DOMRpcRouterTest {
+    private static final QName NODES = QName.create("urn:opendaylight:test:rpc", "2018-01-01", "nodes");
+    private static final QName NODE = QName.create(NODES, "node");
+    private static final QName ID = QName.create(NODES, "id");
+    private static final SchemaPath RPC_TYPE = SchemaPath.create(true, QName.create(NODES, "routed-rpc"));
+    private static final DOMRpcIdentifier RPC_1 = rpcId("node1");
+    private static final DOMRpcIdentifier RPC_2 = rpcId("node2");
+
+    private static final DOMRpcImplementation IMPL_1 = (rpc, input) ->
+        Futures.immediateCheckedFuture(new DefaultDOMRpcResult());
+    private static final DOMRpcImplementation IMPL_2 = (rpc, input) ->
+        Futures.immediateCheckedFuture(new DefaultDOMRpcResult());
+
+    private static final class RecordingListener implements DOMRpcAvailabilityListener {
+        final BlockingQueue<Object> events = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onRpcAvailable(final Collection<DOMRpcIdentifier> rpcs) {
+            events.add("available " + ImmutableSet.copyOf(rpcs));
+        }
+
+        @Override
+        public void onRpcUnavailable(final Collection<DOMRpcIdentifier> rpcs) {
+            events.add("unavailable " + ImmutableSet.copyOf(rpcs));
+        }
+
+        void assertNextEvent(final String expected) throws InterruptedException {
+            assertEquals(expected, events.poll(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private DOMRpcRouter router;
+
+    @Before
+    public void setUp() {
+        router = new DOMRpcRouter();
+    }
+
+    @After
+    public void tearDown() {
+        router.close();
+    }
+
+    @Test
+    public void testRoutingTableStructuralSharing() {
+        final DOMRpcRoutingTable table1 = DOMRpcRoutingTable.EMPTY.add(IMPL_1, ImmutableSet.of(RPC_1, RPC_2));
+        final DOMRpcRoutingTable table2 = table1.remove(IMPL_1, ImmutableSet.of(RPC_1));
+        final DOMRpcRoutingTable table3 = table2.remove(IMPL_1, ImmutableSet.of(RPC_2));
+
+        assertFalse(DOMRpcRoutingTable.EMPTY.contains(RPC_1));
+        assertTrue(table1.contains(RPC_1));
+        assertTrue(table1.contains(RPC_2));
+        assertFalse(table2.contains(RPC_1));
+        assertTrue(table2.contains(RPC_2));
+        assertFalse(table3.contains(RPC_2));
+        assertTrue(table3.getRpcs(new RecordingListener()).isEmpty());
+        assertNull(table3.getRpcs(new RecordingListener()).get(RPC_TYPE));
+    }
+
+    @Test
+    public void testListenerNotifications() throws InterruptedException {
+        final RecordingListener listener = new RecordingListener();
+        router.registerRpcListener(listener);
+
+        final DOMRpcImplementationRegistration<?> reg1 = router.registerRpcImplementation(IMPL_1, RPC_1, RPC_2);
+        listener.assertNextEvent("available " + ImmutableSet.of(RPC_1, RPC_2));
+
+        // Already available through IMPL_1, hence not reported
+        final DOMRpcImplementationRegistration<?> reg2 = router.registerRpcImplementation(IMPL_2, RPC_1);
+
+        // RPC_1 remains available through IMPL_2
+        reg1.close();
+        listener.assertNextEvent("unavailable " + ImmutableSet.of(RPC_2));
+
+        reg2.close();
+        listener.assertNextEvent("unavailable " + ImmutableSet.of(RPC_1));
+
+        // A late listener sees the current table
+        router.registerRpcImplementation(IMPL_1, RPC_2);
+        listener.assertNextEvent("available " + ImmutableSet.of(RPC_2));
+
+        final RecordingListener late = new RecordingListener();
+        router.registerRpcListener(late);
+        late.assertNextEvent("available " + ImmutableSet.of(RPC_2));
+    }
+
+    private static DOMRpcIdentifier rpcId(final String node) {
+        return DOMRpcIdentifier.create(RPC_TYPE, YangInstanceIdentifier.builder().node(NODES)
+            .nodeWithKey(NODE, ID, node).build());
+    }
+}
@@ -45,6 +45,12 @@ final class RemoteDOMRpcFuture extends AbstractFuture<DOMRpcResult>
         setException(error);
     }
 
+    protected void succeedNow(final NormalizedNode<?, ?> result) {
+        LOG.debug("Received response for rpc {}: result is {}", rpcName, result);
+        set(new DefaultDOMRpcResult(result));
+        LOG.debug("Future {} for rpc {} successfully completed", this, rpcName);
+    }
+
     protected void completeWith(final Future<Object> future) {
         future.onComplete(new FutureUpdater(), ExecutionContext.Implicits$.MODULE$.global());
     }
@@ -86,19 +92,11 @@ final class RemoteDOMRpcFuture extends AbstractFuture<DOMRpcResult>
             if (error != null) {
                 RemoteDOMRpcFuture.this.failNow(error);
             } else if (reply instanceof RpcResponse) {
-                final RpcResponse rpcReply = (RpcResponse) reply;
-                final NormalizedNode<?, ?> result = rpcReply.getResultNormalizedNode();
-
-                LOG.debug("Received response for rpc {}: result is {}", rpcName, result);
-
-                RemoteDOMRpcFuture.this.set(new DefaultDOMRpcResult(result));
-
-                LOG.debug("Future {} for rpc {} successfully completed", RemoteDOMRpcFuture.this, rpcName);
+                RemoteDOMRpcFuture.this.succeedNow(((RpcResponse) reply).getResultNormalizedNode());
             } else {
                 RemoteDOMRpcFuture.this.failNow(new IllegalStateException("Incorrect reply type " + reply
                         + "from Akka"));
             }
         }
     }
-
 }
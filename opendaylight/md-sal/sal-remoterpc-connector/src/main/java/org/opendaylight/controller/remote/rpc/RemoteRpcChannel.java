@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc;
+
+import akka.actor.ActorRef;
+import akka.actor.Cancellable;
+import akka.actor.Props;
+import akka.actor.Terminated;
+import akka.pattern.Patterns;
+import akka.util.Timeout;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActor;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpc;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpcBatch;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpcBatch.Request;
+import org.opendaylight.controller.remote.rpc.messages.RpcResponseBatch;
+import org.opendaylight.controller.remote.rpc.messages.RpcResponseBatch.Response;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import scala.concurrent.duration.FiniteDuration;
+
+/**
+ * Long-lived actor multiplexing invocations of RPCs implemented by a single remote node over its {@link RpcInvoker}.
+ * Each invocation is assigned a request identifier, which is used to match it with the response. Invocations queued
+ * in this actor's mailbox are coalesced into a single {@link ExecuteRpcBatch}, up to
+ * {@link RemoteRpcProviderConfig#getRpcBatchSize()} requests. A batch is sent as soon as the mailbox backlog has been
+ * processed, hence a lone invocation does not incur any additional latency.
+ *
+ * <p>
+ * Nodes which predate batching cannot deserialize {@link ExecuteRpcBatch}. Each invocation is therefore sent as
+ * a plain {@link ExecuteRpc} until the remote invoker answers the empty {@link ExecuteRpcBatch} sent when this channel
+ * starts, confirming it supports batches.
+ *
+ * <p>
+ * When the remote invoker terminates, outstanding and subsequent invocations fail immediately. The parent is notified
+ * through {@link #INVOKER_TERMINATED}, so it can stop routing invocations here and close this channel.
+ */
+final class RemoteRpcChannel extends AbstractUntypedActor {
+    /**
+     * Local request to invoke an RPC on the remote node.
+     */
+    static final class InvokeRpc {
+        private final QName rpc;
+        private final NormalizedNode<?, ?> input;
+        private final RemoteDOMRpcFuture future;
+
+        InvokeRpc(final QName rpc, final NormalizedNode<?, ?> input, final RemoteDOMRpcFuture future) {
+            this.rpc = Preconditions.checkNotNull(rpc);
+            this.input = input;
+            this.future = Preconditions.checkNotNull(future);
+        }
+    }
+
+    /**
+     * Request to shut down once all outstanding invocations have completed.
+     */
+    static final Object CLOSE = new Object() {
+        @Override
+        public String toString() {
+            return "CLOSE";
+        }
+    };
+
+    /**
+     * Notification sent to this actor's parent when the remote invoker has terminated. From then on, this actor fails
+     * all invocations immediately, until it is closed.
+     */
+    static final Object INVOKER_TERMINATED = new Object() {
+        @Override
+        public String toString() {
+            return "INVOKER_TERMINATED";
+        }
+    };
+
+    private static final class Pending {
+        final RemoteDOMRpcFuture future;
+        final QName rpc;
+        final long startNanos;
+
+        Pending(final RemoteDOMRpcFuture future, final QName rpc, final long startNanos) {
+            this.future = future;
+            this.rpc = rpc;
+            this.startNanos = startNanos;
+        }
+    }
+
+    private static final Object FLUSH = new Object();
+    private static final Object TICK = new Object();
+    private static final long MAX_TICK_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    // Insertion order matches the order in which requests were sent, which allows us to stop expiring early
+    private final Map<Long, Pending> pending = new LinkedHashMap<>();
+    private final ActorRef invoker;
+    private final Timeout askDuration;
+    private final int maxBatchSize;
+    private final long timeoutNanos;
+
+    private List<Request> batch = new ArrayList<>();
+    private Cancellable tickTask;
+    private boolean batchingSupported;
+    private boolean flushScheduled;
+    private boolean closing;
+    private boolean invokerTerminated;
+    private long nextRequestId;
+
+    private RemoteRpcChannel(final ActorRef invoker, final RemoteRpcProviderConfig config) {
+        this.invoker = Preconditions.checkNotNull(invoker);
+        this.askDuration = config.getAskDuration();
+        this.maxBatchSize = config.getRpcBatchSize();
+        this.timeoutNanos = askDuration.duration().toNanos();
+        Preconditions.checkArgument(maxBatchSize > 0, "Invalid batch size %s", maxBatchSize);
+    }
+
+    static Props props(final ActorRef invoker, final RemoteRpcProviderConfig config) {
+        Preconditions.checkNotNull(invoker, "Remote invoker cannot be null");
+        Preconditions.checkNotNull(config, "RemoteRpcProviderConfig cannot be null");
+        return Props.create(RemoteRpcChannel.class, invoker, config);
+    }
+
+    @Override
+    public void preStart() throws Exception {
+        super.preStart();
+        getContext().watch(invoker);
+
+        // Older invokers fail to deserialize this and do not answer it, hence we keep sending them ExecuteRpc
+        invoker.tell(new ExecuteRpcBatch(ImmutableList.of()), self());
+
+        final FiniteDuration tick = FiniteDuration.create(Math.min(timeoutNanos, MAX_TICK_NANOS),
+            TimeUnit.NANOSECONDS);
+        tickTask = getContext().system().scheduler().schedule(tick, tick, self(), TICK,
+            getContext().dispatcher(), ActorRef.noSender());
+        LOG.debug("{}: started channel to {}", self(), invoker);
+    }
+
+    @Override
+    public void postStop() throws Exception {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+
+        failAll("Remote RPC channel to " + invoker + " has been stopped");
+        super.postStop();
+    }
+
+    @Override
+    protected void handleReceive(final Object message) {
+        if (message instanceof InvokeRpc) {
+            invokeRpc((InvokeRpc) message);
+        } else if (message instanceof RpcResponseBatch) {
+            if (!batchingSupported) {
+                LOG.debug("{}: remote invoker {} supports batches", self(), invoker);
+                batchingSupported = true;
+            }
+            completeRequests((RpcResponseBatch) message);
+        } else if (message == FLUSH) {
+            flushScheduled = false;
+            flush();
+        } else if (message == TICK) {
+            expireRequests();
+        } else if (message == CLOSE) {
+            LOG.debug("{}: closing with {} outstanding requests", self(), pending.size());
+            flush();
+            closing = true;
+        } else if (message instanceof Terminated) {
+            LOG.debug("{}: remote invoker {} terminated", self(), invoker);
+            invokerTerminated = true;
+            failAll("Remote RPC invoker " + invoker + " has terminated");
+            getContext().parent().tell(INVOKER_TERMINATED, self());
+        } else {
+            unknownMessage(message);
+        }
+    }
+
+    private void invokeRpc(final InvokeRpc msg) {
+        if (invokerTerminated) {
+            msg.future.failNow(new RemoteDOMRpcException("Remote RPC invoker " + invoker + " has terminated", null));
+            return;
+        }
+
+        if (!batchingSupported) {
+            msg.future.completeWith(Patterns.ask(invoker, ExecuteRpc.from(msg.rpc, msg.input), askDuration));
+            return;
+        }
+
+        final long requestId = nextRequestId++;
+        pending.put(requestId, new Pending(msg.future, msg.rpc, System.nanoTime()));
+        batch.add(new Request(requestId, msg.rpc, msg.input));
+
+        if (batch.size() >= maxBatchSize) {
+            flush();
+        } else if (!flushScheduled) {
+            // This message goes behind any invocations already queued, hence they end up in the same batch
+            flushScheduled = true;
+            self().tell(FLUSH, ActorRef.noSender());
+        }
+    }
+
+    private void flush() {
+        if (!batch.isEmpty()) {
+            LOG.debug("{}: sending {} requests to {}", self(), batch.size(), invoker);
+            invoker.tell(new ExecuteRpcBatch(batch), self());
+            batch = new ArrayList<>();
+        }
+    }
+
+    private void completeRequests(final RpcResponseBatch msg) {
+        for (Response response : msg.getResponses()) {
+            final Pending req = pending.remove(response.getRequestId());
+            if (req == null) {
+                LOG.debug("{}: ignoring response to unknown request {}", self(), response.getRequestId());
+                continue;
+            }
+
+            final Throwable failure = response.getFailure();
+            if (failure != null) {
+                req.future.failNow(failure);
+            } else {
+                req.future.succeedNow(response.getResult());
+            }
+        }
+    }
+
+    private void expireRequests() {
+        final long now = System.nanoTime();
+        final Iterator<Pending> it = pending.values().iterator();
+        while (it.hasNext()) {
+            final Pending req = it.next();
+            if (now - req.startNanos < timeoutNanos) {
+                break;
+            }
+
+            it.remove();
+            req.future.failNow(new RemoteDOMRpcException(String.format("RPC %s to %s timed out after %s ms",
+                req.rpc, invoker, TimeUnit.NANOSECONDS.toMillis(now - req.startNanos)), null));
+        }
+
+        // We have been asked to close and everything sent to us has been flushed by now
+        if (closing && pending.isEmpty()) {
+            LOG.debug("{}: all requests completed, stopping", self());
+            getContext().stop(self());
+        }
+    }
+
+    private void failAll(final String message) {
+        if (!pending.isEmpty()) {
+            final RemoteDOMRpcException cause = new RemoteDOMRpcException(message, null);
+            pending.values().forEach(req -> req.future.failNow(cause));
+            pending.clear();
+        }
+    }
+}
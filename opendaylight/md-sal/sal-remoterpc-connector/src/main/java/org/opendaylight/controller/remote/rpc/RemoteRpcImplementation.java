@@ -9,19 +9,18 @@
 package org.opendaylight.controller.remote.rpc;
 
 import akka.actor.ActorRef;
-import akka.pattern.Patterns;
-import akka.util.Timeout;
 import com.google.common.base.Preconditions;
 import com.google.common.util.concurrent.CheckedFuture;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementation;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
-import org.opendaylight.controller.remote.rpc.messages.ExecuteRpc;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 
 /**
- * A {@link DOMRpcImplementation} which routes invocation requests to a remote invoker actor.
+ * A {@link DOMRpcImplementation} which routes invocation requests to a remote invoker actor through
+ * a {@link RemoteRpcChannel}.
  *
  * @author Robert Varga
  */
@@ -29,19 +28,33 @@ final class RemoteRpcImplementation implements DOMRpcImplementation {
     // 0 for local, 1 for binding, 2 for remote
     private static final long COST = 2;
 
-    private final ActorRef remoteInvoker;
-    private final Timeout askDuration;
+    private final ActorRef channel;
 
-    RemoteRpcImplementation(final ActorRef remoteInvoker, final RemoteRpcProviderConfig config) {
-        this.remoteInvoker = Preconditions.checkNotNull(remoteInvoker);
-        this.askDuration = config.getAskDuration();
+    private volatile boolean closed;
+
+    RemoteRpcImplementation(final ActorRef channel) {
+        this.channel = Preconditions.checkNotNull(channel);
+    }
+
+    /**
+     * Mark this implementation as unusable, failing any further invocations immediately rather than sending them to
+     * a channel which may no longer exist.
+     */
+    void close() {
+        closed = true;
     }
 
     @Override
     public CheckedFuture<DOMRpcResult, DOMRpcException> invokeRpc(final DOMRpcIdentifier rpc,
             final NormalizedNode<?, ?> input) {
-        final RemoteDOMRpcFuture ret = RemoteDOMRpcFuture.create(rpc.getType().getLastComponent());
-        ret.completeWith(Patterns.ask(remoteInvoker, ExecuteRpc.from(rpc, input), askDuration));
+        final QName rpcName = rpc.getType().getLastComponent();
+        final RemoteDOMRpcFuture ret = RemoteDOMRpcFuture.create(rpcName);
+        if (closed) {
+            ret.failNow(new RemoteDOMRpcException("Remote RPC channel " + channel + " is no longer available", null));
+            return ret;
+        }
+
+        channel.tell(new RemoteRpcChannel.InvokeRpc(rpcName, input, ret), ActorRef.noSender());
         return ret;
     }
 
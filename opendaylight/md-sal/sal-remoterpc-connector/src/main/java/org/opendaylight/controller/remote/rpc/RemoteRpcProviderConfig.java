@@ -27,6 +27,7 @@ public class RemoteRpcProviderConfig extends CommonConfig {
 
     private static final String TAG_GOSSIP_TICK_INTERVAL = "gossip-tick-interval";
     private static final String TAG_RPC_REGISTRY_PERSISTENCE_ID = "rpc-registry-persistence-id";
+    private static final String TAG_RPC_BATCH_SIZE = "rpc-batch-size";
 
     //locally cached values
     private Timeout cachedAskDuration;
@@ -90,6 +91,15 @@ public class RemoteRpcProviderConfig extends CommonConfig {
         return cachedGossipTickInterval;
     }
 
+    /**
+     * Return the maximum number of invocation requests coalesced into a single message sent to a remote node.
+     *
+     * @return Maximum number of requests in a batch
+     */
+    public int getRpcBatchSize() {
+        return get().getInt(TAG_RPC_BATCH_SIZE);
+    }
+
     /**
      * This is called via blueprint xml as the builder pattern can't be used.
      */
@@ -125,6 +135,9 @@ public class RemoteRpcProviderConfig extends CommonConfig {
 
             // persistence
             configHolder.put(TAG_RPC_REGISTRY_PERSISTENCE_ID, "remote-rpc-registry");
+
+            // batching
+            configHolder.put(TAG_RPC_BATCH_SIZE, 64);
         }
 
         public Builder gossipTickInterval(final String interval) {
@@ -132,6 +145,11 @@ public class RemoteRpcProviderConfig extends CommonConfig {
             return this;
         }
 
+        public Builder rpcBatchSize(final int batchSize) {
+            configHolder.put(TAG_RPC_BATCH_SIZE, batchSize);
+            return this;
+        }
+
         @Override
         public RemoteRpcProviderConfig build() {
             return new RemoteRpcProviderConfig(merge());
@@ -12,24 +12,49 @@ import akka.actor.ActorRef;
 import akka.actor.Props;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.MoreExecutors;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.opendaylight.controller.cluster.common.actor.AbstractUntypedActor;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcService;
 import org.opendaylight.controller.remote.rpc.messages.ExecuteRpc;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpcBatch;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpcBatch.Request;
 import org.opendaylight.controller.remote.rpc.messages.RpcResponse;
+import org.opendaylight.controller.remote.rpc.messages.RpcResponseBatch;
+import org.opendaylight.controller.remote.rpc.messages.RpcResponseBatch.Response;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 
 /**
  * Actor receiving invocation requests from remote nodes, routing them to
- * {@link DOMRpcService#invokeRpc(SchemaPath, NormalizedNode)}.
+ * {@link DOMRpcService#invokeRpc(SchemaPath, NormalizedNode)}. Responses to {@link ExecuteRpcBatch} requests
+ * completing while this actor is busy are coalesced into a single {@link RpcResponseBatch} for each sender. An empty
+ * {@link ExecuteRpcBatch} is answered with an empty {@link RpcResponseBatch}, confirming batches are supported.
  */
 final class RpcInvoker extends AbstractUntypedActor {
+    private static final class RpcCompleted {
+        final ActorRef sender;
+        final Response response;
+
+        RpcCompleted(final ActorRef sender, final Response response) {
+            this.sender = sender;
+            this.response = response;
+        }
+    }
+
+    private static final Object FLUSH = new Object();
+
+    private final Map<ActorRef, List<Response>> replies = new LinkedHashMap<>();
     private final DOMRpcService rpcService;
+    private boolean flushScheduled;
 
     private RpcInvoker(final DOMRpcService rpcService) {
         this.rpcService = Preconditions.checkNotNull(rpcService);
@@ -42,7 +67,15 @@ final class RpcInvoker extends AbstractUntypedActor {
 
     @Override
     protected void handleReceive(final Object message) {
-        if (message instanceof ExecuteRpc) {
+        if (message instanceof ExecuteRpcBatch) {
+            executeRpcBatch((ExecuteRpcBatch) message);
+        } else if (message instanceof RpcCompleted) {
+            final RpcCompleted completed = (RpcCompleted) message;
+            queueResponse(completed.sender, completed.response);
+        } else if (message == FLUSH) {
+            flushScheduled = false;
+            flushResponses();
+        } else if (message instanceof ExecuteRpc) {
             executeRpc((ExecuteRpc) message);
         } else {
             unknownMessage(message);
@@ -95,4 +128,74 @@ final class RpcInvoker extends AbstractUntypedActor {
             }
         }, MoreExecutors.directExecutor());
     }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private void executeRpcBatch(final ExecuteRpcBatch msg) {
+        final ActorRef sender = getSender();
+        final ActorRef self = self();
+        if (msg.getRequests().isEmpty()) {
+            // An empty batch is sent by a new channel to find out whether we understand batches
+            LOG.debug("Confirming batch support to {}", sender);
+            sender.tell(new RpcResponseBatch(ImmutableList.of()), self);
+            return;
+        }
+
+        LOG.debug("Executing {} rpcs from {}", msg.getRequests().size(), sender);
+
+        for (Request request : msg.getRequests()) {
+            final long requestId = request.getRequestId();
+            final ListenableFuture<DOMRpcResult> future;
+            try {
+                future = rpcService.invokeRpc(SchemaPath.create(true, request.getRpc()), request.getInput());
+            } catch (final RuntimeException e) {
+                LOG.debug("Failed to invoke RPC {}", request.getRpc(), e);
+                queueResponse(sender, Response.failure(requestId, e));
+                continue;
+            }
+
+            Futures.addCallback(future, new FutureCallback<DOMRpcResult>() {
+                @Override
+                public void onSuccess(final DOMRpcResult result) {
+                    final Response response;
+                    if (result == null) {
+                        LOG.debug("Got null DOMRpcResult - sending null response for execute rpc : {}",
+                            request.getRpc());
+                        response = Response.success(requestId, null);
+                    } else if (!result.getErrors().isEmpty()) {
+                        response = Response.failure(requestId, new RpcErrorsException(
+                            String.format("Execution of RPC %s failed", request.getRpc()), result.getErrors()));
+                    } else {
+                        response = Response.success(requestId, result.getResult());
+                    }
+
+                    self.tell(new RpcCompleted(sender, response), ActorRef.noSender());
+                }
+
+                @Override
+                public void onFailure(final Throwable failure) {
+                    LOG.debug("Failed to execute RPC {}", request.getRpc(), failure);
+                    LOG.error("Failed to execute RPC {} due to {}. More details are available on DEBUG level.",
+                        request.getRpc(), Throwables.getRootCause(failure));
+                    self.tell(new RpcCompleted(sender, Response.failure(requestId, failure)), ActorRef.noSender());
+                }
+            }, MoreExecutors.directExecutor());
+        }
+    }
+
+    private void queueResponse(final ActorRef sender, final Response response) {
+        replies.computeIfAbsent(sender, key -> new ArrayList<>()).add(response);
+        if (!flushScheduled) {
+            // Any completions already queued will be processed before this message, coalescing them
+            flushScheduled = true;
+            self().tell(FLUSH, ActorRef.noSender());
+        }
+    }
+
+    private void flushResponses() {
+        for (Map.Entry<ActorRef, List<Response>> e : replies.entrySet()) {
+            LOG.debug("Sending {} responses to {}", e.getValue().size(), e.getKey());
+            e.getKey().tell(new RpcResponseBatch(e.getValue()), self());
+        }
+        replies.clear();
+    }
 }
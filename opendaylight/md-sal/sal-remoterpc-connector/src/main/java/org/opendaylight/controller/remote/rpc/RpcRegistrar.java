@@ -7,12 +7,15 @@
  */
 package org.opendaylight.controller.remote.rpc;
 
+import akka.actor.ActorRef;
 import akka.actor.Address;
 import akka.actor.Props;
+import akka.actor.Terminated;
 import com.google.common.base.Preconditions;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
@@ -23,12 +26,26 @@ import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.Messages.Upda
 import org.opendaylight.controller.remote.rpc.registry.RpcRegistry.RemoteRpcEndpoint;
 
 /**
- * Actor handling registration of RPCs available on remote nodes with the local {@link DOMRpcProviderService}.
+ * Actor handling registration of RPCs available on remote nodes with the local {@link DOMRpcProviderService}. It also
+ * maintains a {@link RemoteRpcChannel} for each remote node, which is shared by all registrations for that node.
  *
  * @author Robert Varga
  */
 final class RpcRegistrar extends AbstractUntypedActor {
+    private static final class Channel {
+        final ActorRef router;
+        final ActorRef actor;
+        final RemoteRpcImplementation impl;
+
+        Channel(final ActorRef router, final ActorRef actor) {
+            this.router = router;
+            this.actor = actor;
+            this.impl = new RemoteRpcImplementation(actor);
+        }
+    }
+
     private final Map<Address, DOMRpcImplementationRegistration<?>> regs = new HashMap<>();
+    private final Map<Address, Channel> channels = new HashMap<>();
     private final DOMRpcProviderService rpcProviderService;
     private final RemoteRpcProviderConfig config;
 
@@ -54,6 +71,10 @@ final class RpcRegistrar extends AbstractUntypedActor {
     protected void handleReceive(final Object message) throws Exception {
         if (message instanceof UpdateRemoteEndpoints) {
             updateRemoteEndpoints(((UpdateRemoteEndpoints) message).getEndpoints());
+        } else if (message == RemoteRpcChannel.INVOKER_TERMINATED) {
+            channelUnavailable(getSender(), true);
+        } else if (message instanceof Terminated) {
+            channelUnavailable(((Terminated) message).getActor(), false);
         } else {
             unknownMessage(message);
         }
@@ -69,6 +90,7 @@ final class RpcRegistrar extends AbstractUntypedActor {
          * hence we register all new implementations before closing all registrations.
          */
         final Collection<DOMRpcImplementationRegistration<?>> prevRegs = new ArrayList<>(endpoints.size());
+        final Collection<Channel> prevChannels = new ArrayList<>();
 
         for (Entry<Address, Optional<RemoteRpcEndpoint>> e : endpoints.entrySet()) {
             LOG.debug("Updating RPC registrations for {}", e.getKey());
@@ -77,11 +99,15 @@ final class RpcRegistrar extends AbstractUntypedActor {
             final Optional<RemoteRpcEndpoint> maybeEndpoint = e.getValue();
             if (maybeEndpoint.isPresent()) {
                 final RemoteRpcEndpoint endpoint = maybeEndpoint.get();
-                final RemoteRpcImplementation impl = new RemoteRpcImplementation(endpoint.getRouter(), config);
-                prevReg = regs.put(e.getKey(), rpcProviderService.registerRpcImplementation(impl,
+                final Channel channel = channelFor(e.getKey(), endpoint.getRouter(), prevChannels);
+                prevReg = regs.put(e.getKey(), rpcProviderService.registerRpcImplementation(channel.impl,
                     endpoint.getRpcs()));
             } else {
                 prevReg = regs.remove(e.getKey());
+                final Channel prevChannel = channels.remove(e.getKey());
+                if (prevChannel != null) {
+                    prevChannels.add(prevChannel);
+                }
             }
 
             if (prevReg != null) {
@@ -92,5 +118,63 @@ final class RpcRegistrar extends AbstractUntypedActor {
         for (DOMRpcImplementationRegistration<?> r : prevRegs) {
             r.close();
         }
+
+        // Channels are closed only after their registrations, so they do not receive new requests
+        for (Channel channel : prevChannels) {
+            closeChannel(channel);
+        }
+    }
+
+    private Channel channelFor(final Address address, final ActorRef router, final Collection<Channel> prevChannels) {
+        final Channel existing = channels.get(address);
+        if (existing != null) {
+            if (router.equals(existing.router)) {
+                return existing;
+            }
+            prevChannels.add(existing);
+        }
+
+        // Channels are not subject to mailbox bounds, as dropping a request would leave its future hanging
+        final ActorRef actor = getContext().actorOf(RemoteRpcChannel.props(router, config));
+        getContext().watch(actor);
+        LOG.debug("Created channel {} to {}", actor, router);
+
+        final Channel channel = new Channel(router, actor);
+        channels.put(address, channel);
+        return channel;
+    }
+
+    /**
+     * Handle a channel becoming unusable, either because its remote invoker terminated or because the channel itself
+     * has stopped. The implementation registered for its node is withdrawn until the node's next update.
+     */
+    private void channelUnavailable(final ActorRef actor, final boolean stillRunning) {
+        final Iterator<Entry<Address, Channel>> it = channels.entrySet().iterator();
+        while (it.hasNext()) {
+            final Entry<Address, Channel> e = it.next();
+            final Channel channel = e.getValue();
+            if (actor.equals(channel.actor)) {
+                LOG.debug("Channel {} to {} is no longer available, removing RPC registrations", actor, e.getKey());
+                it.remove();
+
+                final DOMRpcImplementationRegistration<?> reg = regs.remove(e.getKey());
+                if (reg != null) {
+                    reg.close();
+                }
+
+                if (stillRunning) {
+                    closeChannel(channel);
+                } else {
+                    channel.impl.close();
+                }
+                return;
+            }
+        }
+    }
+
+    private void closeChannel(final Channel channel) {
+        channel.impl.close();
+        getContext().unwatch(channel.actor);
+        channel.actor.tell(RemoteRpcChannel.CLOSE, ActorRef.noSender());
     }
 }
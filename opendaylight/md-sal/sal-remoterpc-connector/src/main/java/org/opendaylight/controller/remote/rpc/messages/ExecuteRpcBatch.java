@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.messages;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataInput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeStreamVersion;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+/**
+ * A batch of RPC invocation requests sent by a remote RPC channel. Each request carries an identifier, which is
+ * echoed in the corresponding {@link RpcResponseBatch.Response}. The whole batch is written as a single
+ * NormalizedNode stream, so identifiers repeated across requests are encoded only once.
+ */
+public final class ExecuteRpcBatch implements Serializable {
+    public static final class Request {
+        private final long requestId;
+        private final QName rpc;
+        private final NormalizedNode<?, ?> input;
+
+        public Request(final long requestId, @Nonnull final QName rpc, @Nullable final NormalizedNode<?, ?> input) {
+            this.requestId = requestId;
+            this.rpc = Preconditions.checkNotNull(rpc);
+            this.input = input;
+        }
+
+        public long getRequestId() {
+            return requestId;
+        }
+
+        @Nonnull
+        public QName getRpc() {
+            return rpc;
+        }
+
+        @Nullable
+        public NormalizedNode<?, ?> getInput() {
+            return input;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).add("requestId", requestId).add("rpc", rpc).toString();
+        }
+    }
+
+    private static final class Proxy implements Externalizable {
+        private static final long serialVersionUID = 1L;
+
+        private List<Request> requests;
+
+        // checkstyle flags the public modifier as redundant however it is explicitly needed for Java serialization to
+        // be able to create instances via reflection.
+        @SuppressWarnings("checkstyle:RedundantModifier")
+        public Proxy() {
+            // For Externalizable
+        }
+
+        Proxy(final ExecuteRpcBatch batch) {
+            requests = batch.requests;
+        }
+
+        @Override
+        public void writeExternal(final ObjectOutput out) throws IOException {
+            // Batches are only sent to peers which understand them, hence they can read FLUORINE streams
+            final NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newDataOutput(out,
+                NormalizedNodeStreamVersion.FLUORINE);
+            nnout.writeInt(requests.size());
+            for (Request request : requests) {
+                nnout.writeLong(request.getRequestId());
+                nnout.writeSchemaPath(SchemaPath.create(true, request.getRpc()));
+
+                final NormalizedNode<?, ?> input = request.getInput();
+                if (input != null) {
+                    nnout.writeBoolean(true);
+                    nnout.writeNormalizedNode(input);
+                } else {
+                    nnout.writeBoolean(false);
+                }
+            }
+        }
+
+        @Override
+        public void readExternal(final ObjectInput in) throws IOException {
+            final NormalizedNodeDataInput nnin = NormalizedNodeInputOutput.newDataInput(in);
+            final int size = nnin.readInt();
+            requests = new ArrayList<>(size);
+            for (int i = 0; i < size; ++i) {
+                final long requestId = nnin.readLong();
+                final QName rpc = nnin.readSchemaPath().getLastComponent();
+                final NormalizedNode<?, ?> input = nnin.readBoolean() ? nnin.readNormalizedNode() : null;
+                requests.add(new Request(requestId, rpc, input));
+            }
+        }
+
+        private Object readResolve() {
+            return new ExecuteRpcBatch(requests);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "We deal with the field in serialization methods.")
+    private final List<Request> requests;
+
+    public ExecuteRpcBatch(final List<Request> requests) {
+        this.requests = ImmutableList.copyOf(requests);
+    }
+
+    @Nonnull
+    public List<Request> getRequests() {
+        return requests;
+    }
+
+    private Object writeReplace() {
+        return new Proxy(this);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("requests", requests).toString();
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.messages;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataInput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeDataOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
+import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeStreamVersion;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * A batch of outcomes of requests previously received in {@link ExecuteRpcBatch}es. Successful results are written
+ * in the NormalizedNode stream format, failures are carried as serialized exceptions.
+ */
+public final class RpcResponseBatch implements Serializable {
+    public static final class Response {
+        private final long requestId;
+        private final NormalizedNode<?, ?> result;
+        private final Throwable failure;
+
+        private Response(final long requestId, final NormalizedNode<?, ?> result, final Throwable failure) {
+            this.requestId = requestId;
+            this.result = result;
+            this.failure = failure;
+        }
+
+        public static Response success(final long requestId, @Nullable final NormalizedNode<?, ?> result) {
+            return new Response(requestId, result, null);
+        }
+
+        public static Response failure(final long requestId, @Nonnull final Throwable failure) {
+            return new Response(requestId, null, Preconditions.checkNotNull(failure));
+        }
+
+        public long getRequestId() {
+            return requestId;
+        }
+
+        @Nullable
+        public NormalizedNode<?, ?> getResult() {
+            return result;
+        }
+
+        /**
+         * Return the failure of the request.
+         *
+         * @return Request failure, null if the request completed successfully
+         */
+        @Nullable
+        public Throwable getFailure() {
+            return failure;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this).omitNullValues().add("requestId", requestId)
+                    .add("failure", failure).toString();
+        }
+    }
+
+    private static final class Proxy implements Externalizable {
+        private static final long serialVersionUID = 1L;
+
+        private static final byte RESULT_ABSENT = 0;
+        private static final byte RESULT_PRESENT = 1;
+        private static final byte FAILURE = 2;
+
+        private List<Response> responses;
+
+        // checkstyle flags the public modifier as redundant however it is explicitly needed for Java serialization to
+        // be able to create instances via reflection.
+        @SuppressWarnings("checkstyle:RedundantModifier")
+        public Proxy() {
+            // For Externalizable
+        }
+
+        Proxy(final RpcResponseBatch batch) {
+            responses = batch.responses;
+        }
+
+        @Override
+        public void writeExternal(final ObjectOutput out) throws IOException {
+            // Batches are only sent to peers which understand them, hence they can read FLUORINE streams
+            final NormalizedNodeDataOutput nnout = NormalizedNodeInputOutput.newDataOutput(out,
+                NormalizedNodeStreamVersion.FLUORINE);
+            nnout.writeInt(responses.size());
+            for (Response response : responses) {
+                nnout.writeLong(response.getRequestId());
+
+                final Throwable failure = response.getFailure();
+                if (failure != null) {
+                    nnout.writeByte(FAILURE);
+                    out.writeObject(failure);
+                } else if (response.getResult() != null) {
+                    nnout.writeByte(RESULT_PRESENT);
+                    nnout.writeNormalizedNode(response.getResult());
+                } else {
+                    nnout.writeByte(RESULT_ABSENT);
+                }
+            }
+        }
+
+        @Override
+        public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+            final NormalizedNodeDataInput nnin = NormalizedNodeInputOutput.newDataInput(in);
+            final int size = nnin.readInt();
+            responses = new ArrayList<>(size);
+            for (int i = 0; i < size; ++i) {
+                final long requestId = nnin.readLong();
+                final byte type = nnin.readByte();
+                switch (type) {
+                    case FAILURE:
+                        responses.add(Response.failure(requestId, (Throwable) in.readObject()));
+                        break;
+                    case RESULT_PRESENT:
+                        responses.add(Response.success(requestId, nnin.readNormalizedNode()));
+                        break;
+                    case RESULT_ABSENT:
+                        responses.add(Response.success(requestId, null));
+                        break;
+                    default:
+                        throw new IOException("Unhandled response type " + type);
+                }
+            }
+        }
+
+        private Object readResolve() {
+            return new RpcResponseBatch(responses);
+        }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "We deal with the field in serialization methods.")
+    private final List<Response> responses;
+
+    public RpcResponseBatch(final List<Response> responses) {
+        this.responses = ImmutableList.copyOf(responses);
+    }
+
+    @Nonnull
+    public List<Response> getResponses() {
+        return responses;
+    }
+
+    private Object writeReplace() {
+        return new Proxy(this);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("responses", responses).toString();
+    }
+}
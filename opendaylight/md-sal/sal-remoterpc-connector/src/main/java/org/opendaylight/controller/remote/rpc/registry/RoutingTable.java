@@ -13,6 +13,7 @@ import akka.serialization.Serialization;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.Externalizable;
 import java.io.IOException;
@@ -29,6 +30,7 @@ import org.opendaylight.controller.cluster.datastore.node.utils.stream.Normalize
 import org.opendaylight.controller.cluster.datastore.node.utils.stream.NormalizedNodeInputOutput;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
 import org.opendaylight.controller.remote.rpc.registry.gossip.BucketData;
+import org.opendaylight.controller.remote.rpc.registry.gossip.BucketDataDelta;
 
 public final class RoutingTable implements BucketData<RoutingTable>, Serializable {
     private static final class Proxy implements Externalizable {
@@ -115,6 +117,23 @@ public final class RoutingTable implements BucketData<RoutingTable>, Serializabl
         return new RoutingTable(rpcInvoker, newRpcs);
     }
 
+    RoutingTable updateRpcs(final Collection<DOMRpcIdentifier> toAdd, final Collection<DOMRpcIdentifier> toRemove) {
+        final Set<DOMRpcIdentifier> newRpcs = new HashSet<>(rpcs);
+        newRpcs.removeAll(toRemove);
+        newRpcs.addAll(toAdd);
+        return new RoutingTable(rpcInvoker, newRpcs);
+    }
+
+    @Override
+    public Optional<BucketDataDelta<RoutingTable>> deltaFrom(final RoutingTable previous) {
+        if (!rpcInvoker.equals(previous.rpcInvoker)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new RoutingTableDelta(Sets.difference(rpcs, previous.rpcs),
+            Sets.difference(previous.rpcs, rpcs)));
+    }
+
     private Object writeReplace() {
         return new Proxy(this);
     }
@@ -26,4 +26,16 @@ public interface BucketData<T extends BucketData<T>> extends Immutable {
      * @return Optional ActorRef.
      */
     Optional<ActorRef> getWatchActor();
+
+    /**
+     * Compute the difference between a previous version of this data and this data. Implementations which do not
+     * support deltas, or which cannot express the difference, return an empty Optional, in which case the full data
+     * is gossiped.
+     *
+     * @param previous Previous version of this data
+     * @return Optional delta, which transforms previous into this data when applied.
+     */
+    default Optional<BucketDataDelta<T>> deltaFrom(final T previous) {
+        return Optional.empty();
+    }
 }
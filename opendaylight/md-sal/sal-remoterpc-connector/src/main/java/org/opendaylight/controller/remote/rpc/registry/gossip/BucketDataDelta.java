@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import java.io.Serializable;
+import javax.annotation.Nonnull;
+import org.opendaylight.yangtools.concepts.Immutable;
+
+/**
+ * Difference between two consecutive versions of {@link BucketData}. Deltas are gossiped instead of the full data
+ * when the receiving node is known to hold the version the delta is based on.
+ *
+ * @param <T> Concrete BucketData type
+ */
+public interface BucketDataDelta<T extends BucketData<T>> extends Immutable, Serializable {
+    /**
+     * Apply this delta to the version of data it was computed against.
+     *
+     * @param data data this delta is based on
+     * @return Resulting data
+     */
+    @Nonnull T applyTo(@Nonnull T data);
+}
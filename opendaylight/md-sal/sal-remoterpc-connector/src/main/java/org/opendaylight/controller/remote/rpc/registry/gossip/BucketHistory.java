@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Bounded history of the changes a {@link Bucket} went through in its recent versions. It is used to send peers
+ * only the changes made since the version they know about. Entries form a contiguous chain of versions, a gap in
+ * the chain discards the older entries.
+ */
+final class BucketHistory<T extends BucketData<T>> {
+    /**
+     * Maximum number of version transitions retained. Peers lagging further behind receive the full bucket.
+     */
+    static final int MAX_ENTRIES = 64;
+
+    private static final class Entry<T extends BucketData<T>> {
+        final long baseVersion;
+        final long version;
+        final List<BucketDataDelta<T>> deltas;
+
+        Entry(final long baseVersion, final long version, final List<BucketDataDelta<T>> deltas) {
+            this.baseVersion = baseVersion;
+            this.version = version;
+            this.deltas = deltas;
+        }
+    }
+
+    private final Deque<Entry<T>> entries = new ArrayDeque<>();
+
+    /**
+     * Record the transition between two versions of a bucket. If the data does not support deltas, the history is
+     * cleared.
+     *
+     * @param previous Previous version of the bucket
+     * @param current Current version of the bucket
+     */
+    void record(final Bucket<T> previous, final Bucket<T> current) {
+        final Optional<BucketDataDelta<T>> delta = current.getData().deltaFrom(previous.getData());
+        if (delta.isPresent()) {
+            append(previous.getVersion(), current.getVersion(), Collections.singletonList(delta.get()));
+        } else {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Record a delta received from a peer.
+     *
+     * @param delta Received delta
+     */
+    void record(final DeltaBucket<T> delta) {
+        append(delta.getBaseVersion(), delta.getVersion(), delta.getDeltas());
+    }
+
+    /**
+     * Return the changes between a known version and the current version, if they are retained.
+     *
+     * @param knownVersion Version known to the peer
+     * @param currentVersion Current version of the bucket
+     * @return Optional delta, empty if the history does not cover knownVersion
+     */
+    Optional<DeltaBucket<T>> deltaSince(final long knownVersion, final long currentVersion) {
+        if (knownVersion >= currentVersion || entries.isEmpty() || entries.getLast().version != currentVersion) {
+            return Optional.empty();
+        }
+
+        final Iterator<Entry<T>> it = entries.iterator();
+        while (it.hasNext()) {
+            final Entry<T> entry = it.next();
+            if (entry.baseVersion == knownVersion) {
+                final List<BucketDataDelta<T>> deltas = new ArrayList<>(entry.deltas);
+                while (it.hasNext()) {
+                    deltas.addAll(it.next().deltas);
+                }
+                return Optional.of(new DeltaBucket<>(knownVersion, currentVersion, deltas));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void append(final long baseVersion, final long version, final List<BucketDataDelta<T>> deltas) {
+        if (!entries.isEmpty() && entries.getLast().version != baseVersion) {
+            entries.clear();
+        }
+
+        entries.addLast(new Entry<>(baseVersion, version, deltas));
+        if (entries.size() > MAX_ENTRIES) {
+            entries.removeFirst();
+        }
+    }
+}
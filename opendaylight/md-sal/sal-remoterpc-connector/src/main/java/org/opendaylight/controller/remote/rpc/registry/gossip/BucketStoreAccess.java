@@ -20,10 +20,10 @@ import akka.pattern.Patterns;
 import akka.util.Timeout;
 import com.google.common.annotations.Beta;
 import com.google.common.annotations.VisibleForTesting;
-import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Consumer;
+import org.opendaylight.controller.remote.rpc.registry.gossip.BucketStoreActor.BucketUpdates;
 import scala.concurrent.ExecutionContext;
 import scala.concurrent.Future;
 
@@ -45,15 +45,15 @@ public final class BucketStoreAccess {
         this.timeout = Objects.requireNonNull(timeout);
     }
 
-    <T extends BucketData<T>> void getBucketsByMembers(final Collection<Address> members,
-            final Consumer<Map<Address, Bucket<T>>> callback) {
-        Patterns.ask(actorRef, getBucketsByMembersMessage(members), timeout)
+    <T extends BucketData<T>> void getBucketsByMembers(final Map<Address, Long> knownVersions,
+            final Consumer<BucketUpdates<T>> callback) {
+        Patterns.ask(actorRef, getBucketsByMembersMessage(knownVersions), timeout)
             .onComplete(new OnComplete<Object>() {
                 @SuppressWarnings("unchecked")
                 @Override
                 public void onComplete(final Throwable failure, final Object success) {
                     if (failure == null) {
-                        callback.accept((Map<Address, Bucket<T>>) success);
+                        callback.accept((BucketUpdates<T>) success);
                     }
                 }
             }, dispatcher);
@@ -77,8 +77,10 @@ public final class BucketStoreAccess {
     }
 
     @SuppressWarnings("unchecked")
-    void updateRemoteBuckets(final Map<Address, ? extends Bucket<?>> buckets) {
-        actorRef.tell(updateRemoteBucketsMessage((Map<Address, Bucket<?>>) buckets), ActorRef.noSender());
+    void updateRemoteBuckets(final Map<Address, ? extends Bucket<?>> buckets,
+            final Map<Address, ? extends DeltaBucket<?>> deltas) {
+        actorRef.tell(updateRemoteBucketsMessage((Map<Address, Bucket<?>>) buckets,
+            (Map<Address, DeltaBucket<?>>) deltas), ActorRef.noSender());
     }
 
     void removeRemoteBucket(final Address addr) {
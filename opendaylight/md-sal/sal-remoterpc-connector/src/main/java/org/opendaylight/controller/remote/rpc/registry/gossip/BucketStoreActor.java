@@ -30,7 +30,6 @@ import com.google.common.base.Verify;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.SetMultimap;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -47,6 +46,10 @@ import org.opendaylight.controller.remote.rpc.RemoteRpcProviderConfig;
  * <p>
  * Buckets are sync'ed across nodes using Gossip protocol (http://en.wikipedia.org/wiki/Gossip_protocol).
  * This store uses a {@link org.opendaylight.controller.remote.rpc.registry.gossip.Gossiper}.
+ *
+ * <p>
+ * For data which supports {@link BucketDataDelta}s, the store keeps a bounded {@link BucketHistory} of each bucket, so
+ * that a peer which knows a recent version of a bucket receives only the changes since that version.
  */
 public abstract class BucketStoreActor<T extends BucketData<T>> extends
         AbstractUntypedPersistentActorWithMetering {
@@ -66,6 +69,11 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
      */
     private final Map<Address, Long> versions = new HashMap<>();
 
+    /**
+     * Recent changes of every known bucket, including the local one.
+     */
+    private final Map<Address, BucketHistory<T>> histories = new HashMap<>();
+
     /**
      * {@link ActorRef}s being watched for liveness due to being referenced in bucket data. Each actor is monitored
      * once, possibly being tied to multiple addresses (and by extension, buckets).
@@ -84,6 +92,7 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
      * Bucket owned by the node. Initialized during recovery (due to incarnation number).
      */
     private LocalBucket<T> localBucket;
+    private Bucket<T> lastLocalSnapshot;
     private T initialData;
     private Integer incarnation;
     private boolean persisting;
@@ -94,16 +103,17 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
         this.persistenceId = Preconditions.checkNotNull(persistenceId);
     }
 
-    static ExecuteInActor getBucketsByMembersMessage(final Collection<Address> members) {
-        return actor -> actor.getBucketsByMembers(members);
+    static ExecuteInActor getBucketsByMembersMessage(final Map<Address, Long> knownVersions) {
+        return actor -> actor.getBucketsByMembers(knownVersions);
     }
 
     static ExecuteInActor removeBucketMessage(final Address addr) {
         return actor -> actor.removeBucket(addr);
     }
 
-    static ExecuteInActor updateRemoteBucketsMessage(final Map<Address, Bucket<?>> buckets) {
-        return actor -> actor.updateRemoteBuckets(buckets);
+    static ExecuteInActor updateRemoteBucketsMessage(final Map<Address, Bucket<?>> buckets,
+            final Map<Address, DeltaBucket<?>> deltas) {
+        return actor -> actor.updateRemoteBuckets(buckets, deltas);
     }
 
     static ExecuteInActor getLocalDataMessage() {
@@ -256,7 +266,7 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
         Map<Address, Bucket<T>> all = new HashMap<>(remoteBuckets.size() + 1);
 
         //first add the local bucket
-        all.put(selfAddress, getLocalBucket().snapshot());
+        all.put(selfAddress, snapshotLocalBucket());
 
         //then get all remote buckets
         all.putAll(remoteBuckets);
@@ -265,26 +275,56 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
     }
 
     /**
-     * Helper to collect buckets for requested members.
+     * Take a snapshot of the local bucket, recording the changes since the previous snapshot.
      *
-     * @param members requested members
+     * @return local bucket snapshot
      */
-    private void getBucketsByMembers(final Collection<Address> members) {
-        Map<Address, Bucket<T>> buckets = new HashMap<>();
-
-        //first add the local bucket if asked
-        if (members.contains(selfAddress)) {
-            buckets.put(selfAddress, getLocalBucket().snapshot());
+    private Bucket<T> snapshotLocalBucket() {
+        final Bucket<T> snapshot = getLocalBucket().snapshot();
+        if (lastLocalSnapshot != null && lastLocalSnapshot.getVersion() != snapshot.getVersion()) {
+            history(selfAddress).record(lastLocalSnapshot, snapshot);
         }
+        lastLocalSnapshot = snapshot;
+        return snapshot;
+    }
+
+    private BucketHistory<T> history(final Address addr) {
+        return histories.computeIfAbsent(addr, key -> new BucketHistory<>());
+    }
+
+    /**
+     * Helper to collect buckets for requested members. Members whose known version is covered by the bucket's
+     * history receive a {@link DeltaBucket}, others receive the full bucket.
+     *
+     * @param knownVersions requested members and the bucket versions they are known to have, null if unknown
+     */
+    private void getBucketsByMembers(final Map<Address, Long> knownVersions) {
+        final Map<Address, Bucket<T>> buckets = new HashMap<>();
+        final Map<Address, DeltaBucket<T>> deltas = new HashMap<>();
+
+        for (Entry<Address, Long> entry : knownVersions.entrySet()) {
+            final Address address = entry.getKey();
+            final Bucket<T> bucket;
+            if (selfAddress.equals(address)) {
+                bucket = snapshotLocalBucket();
+            } else {
+                bucket = remoteBuckets.get(address);
+                if (bucket == null) {
+                    continue;
+                }
+            }
 
-        //then get buckets for requested remote nodes
-        for (Address address : members) {
-            if (remoteBuckets.containsKey(address)) {
-                buckets.put(address, remoteBuckets.get(address));
+            final Long known = entry.getValue();
+            final Optional<DeltaBucket<T>> delta = known == null ? Optional.empty()
+                    : history(address).deltaSince(known, bucket.getVersion());
+            if (delta.isPresent()) {
+                deltas.put(address, delta.get());
+            } else {
+                buckets.put(address, bucket);
             }
         }
 
-        getSender().tell(buckets, getSelf());
+        getSender().tell(new BucketUpdates<>(buckets, deltas), getSelf());
     }
 
     private void removeBucket(final Address addr) {
@@ -294,6 +334,7 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
             onBucketRemoved(addr, bucket);
         }
         versions.remove(addr);
+        histories.remove(addr);
     }
 
     /**
@@ -304,13 +345,39 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
      */
     @VisibleForTesting
     void updateRemoteBuckets(final Map<Address, Bucket<?>> receivedBuckets) {
-        LOG.debug("{}: receiveUpdateRemoteBuckets: {}", selfAddress, receivedBuckets);
-        if (receivedBuckets == null || receivedBuckets.isEmpty()) {
+        updateRemoteBuckets(receivedBuckets, ImmutableMap.of());
+    }
+
+    /**
+     * Update local copy of remote buckets where local copy's version is older. Deltas are applied only if the local
+     * copy is at their base version.
+     *
+     * @param receivedBuckets full buckets sent by remote
+     *                        {@link org.opendaylight.controller.remote.rpc.registry.gossip.Gossiper}
+     * @param receivedDeltas bucket deltas sent by remote
+     *                       {@link org.opendaylight.controller.remote.rpc.registry.gossip.Gossiper}
+     */
+    void updateRemoteBuckets(final Map<Address, Bucket<?>> receivedBuckets,
+            final Map<Address, DeltaBucket<?>> receivedDeltas) {
+        LOG.debug("{}: receiveUpdateRemoteBuckets: {} deltas: {}", selfAddress, receivedBuckets, receivedDeltas);
+        if ((receivedBuckets == null || receivedBuckets.isEmpty()) && receivedDeltas.isEmpty()) {
             //nothing to do
             return;
         }
 
-        final Map<Address, Bucket<T>> newBuckets = new HashMap<>(receivedBuckets.size());
+        final Map<Address, Bucket<T>> newBuckets = new HashMap<>();
+        if (receivedBuckets != null) {
+            updateFullBuckets(receivedBuckets, newBuckets);
+        }
+        updateDeltaBuckets(receivedDeltas, newBuckets);
+
+        LOG.debug("State after update - Local Bucket [{}], Remote Buckets [{}]", localBucket, remoteBuckets);
+
+        onBucketsUpdated(newBuckets);
+    }
+
+    private void updateFullBuckets(final Map<Address, Bucket<?>> receivedBuckets,
+            final Map<Address, Bucket<T>> newBuckets) {
         for (Entry<Address, Bucket<?>> entry : receivedBuckets.entrySet()) {
             final Address addr = entry.getKey();
 
@@ -334,24 +401,55 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
                     remoteVersion);
                 continue;
             }
-            newBuckets.put(addr, receivedBucket);
-            versions.put(addr, remoteVersion);
-            final Bucket<T> prevBucket = remoteBuckets.put(addr, receivedBucket);
-
-            // Deal with DeathWatch subscriptions
-            final Optional<ActorRef> prevRef = prevBucket != null ? prevBucket.getWatchActor() : Optional.empty();
-            final Optional<ActorRef> curRef = receivedBucket.getWatchActor();
-            if (!curRef.equals(prevRef)) {
-                prevRef.ifPresent(ref -> removeWatch(addr, ref));
-                curRef.ifPresent(ref -> addWatch(addr, ref));
+            final Bucket<T> prevBucket = installRemoteBucket(addr, receivedBucket, newBuckets);
+            if (prevBucket != null) {
+                history(addr).record(prevBucket, receivedBucket);
+            } else {
+                histories.remove(addr);
+            }
+        }
+    }
+
+    private void updateDeltaBuckets(final Map<Address, DeltaBucket<?>> receivedDeltas,
+            final Map<Address, Bucket<T>> newBuckets) {
+        for (Entry<Address, DeltaBucket<?>> entry : receivedDeltas.entrySet()) {
+            final Address addr = entry.getKey();
+            if (selfAddress.equals(addr)) {
+                // Remote cannot update our bucket
+                continue;
+            }
+
+            @SuppressWarnings("unchecked")
+            final DeltaBucket<T> delta = (DeltaBucket<T>) entry.getValue();
+            final Bucket<T> prevBucket = remoteBuckets.get(addr);
+            if (prevBucket == null || prevBucket.getVersion() != delta.getBaseVersion()) {
+                // We will advertise our version in the next round and get a matching update
+                LOG.debug("Ignoring delta from {} based on version {}, local bucket {}", addr,
+                    delta.getBaseVersion(), prevBucket);
+                continue;
             }
 
-            LOG.debug("Updating bucket from {} to version {}", entry.getKey(), remoteVersion);
+            installRemoteBucket(addr, delta.applyTo(prevBucket), newBuckets);
+            history(addr).record(delta);
         }
+    }
 
-        LOG.debug("State after update - Local Bucket [{}], Remote Buckets [{}]", localBucket, remoteBuckets);
+    private Bucket<T> installRemoteBucket(final Address addr, final Bucket<T> bucket,
+            final Map<Address, Bucket<T>> newBuckets) {
+        newBuckets.put(addr, bucket);
+        versions.put(addr, bucket.getVersion());
+        final Bucket<T> prevBucket = remoteBuckets.put(addr, bucket);
+
+        // Deal with DeathWatch subscriptions
+        final Optional<ActorRef> prevRef = prevBucket != null ? prevBucket.getWatchActor() : Optional.empty();
+        final Optional<ActorRef> curRef = bucket.getWatchActor();
+        if (!curRef.equals(prevRef)) {
+            prevRef.ifPresent(ref -> removeWatch(addr, ref));
+            curRef.ifPresent(ref -> addWatch(addr, ref));
+        }
 
-        onBucketsUpdated(newBuckets);
+        LOG.debug("Updating bucket from {} to version {}", addr, bucket.getVersion());
+        return prevBucket;
     }
 
     private void addWatch(final Address addr, final ActorRef ref) {
@@ -375,6 +473,7 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
 
         for (Address addr : watchedActors.removeAll(message.getActor())) {
             versions.remove(addr);
+            histories.remove(addr);
             final Bucket<T> bucket = remoteBuckets.remove(addr);
             if (bucket != null) {
                 LOG.debug("Source actor dead, removing bucket {} from ", bucket, addr);
@@ -388,6 +487,27 @@ public abstract class BucketStoreActor<T extends BucketData<T>> extends
         return persisting;
     }
 
+    /**
+     * Buckets and bucket deltas collected for a peer.
+     */
+    static final class BucketUpdates<T extends BucketData<T>> {
+        private final Map<Address, Bucket<T>> buckets;
+        private final Map<Address, DeltaBucket<T>> deltas;
+
+        BucketUpdates(final Map<Address, Bucket<T>> buckets, final Map<Address, DeltaBucket<T>> deltas) {
+            this.buckets = buckets;
+            this.deltas = deltas;
+        }
+
+        Map<Address, Bucket<T>> getBuckets() {
+            return buckets;
+        }
+
+        Map<Address, DeltaBucket<T>> getDeltas() {
+            return deltas;
+        }
+    }
+
     private LocalBucket<T> getLocalBucket() {
         Preconditions.checkState(localBucket != null, "Attempted to access local bucket before recovery completed");
         return localBucket;
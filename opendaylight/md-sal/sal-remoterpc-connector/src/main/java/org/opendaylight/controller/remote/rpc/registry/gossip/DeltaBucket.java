@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry.gossip;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Changes which bring a {@link Bucket} from one version to a newer one. Sent instead of a full bucket when the
+ * receiver is known to hold the base version.
+ */
+final class DeltaBucket<T extends BucketData<T>> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final long baseVersion;
+    private final long version;
+    private final List<BucketDataDelta<T>> deltas;
+
+    DeltaBucket(final long baseVersion, final long version, final List<BucketDataDelta<T>> deltas) {
+        Preconditions.checkArgument(baseVersion < version, "Base version %s is not older than version %s",
+            baseVersion, version);
+        this.baseVersion = baseVersion;
+        this.version = version;
+        this.deltas = ImmutableList.copyOf(deltas);
+    }
+
+    long getBaseVersion() {
+        return baseVersion;
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    List<BucketDataDelta<T>> getDeltas() {
+        return deltas;
+    }
+
+    /**
+     * Apply the deltas to a bucket at base version.
+     *
+     * @param base Bucket at base version
+     * @return Bucket at this version
+     */
+    Bucket<T> applyTo(final Bucket<T> base) {
+        Preconditions.checkArgument(base.getVersion() == baseVersion, "Cannot apply delta from %s to %s",
+            baseVersion, base.getVersion());
+
+        T data = base.getData();
+        for (BucketDataDelta<T> delta : deltas) {
+            data = delta.applyTo(data);
+        }
+        return new BucketImpl<>(version, data);
+    }
+
+    @Override
+    public String toString() {
+        return "DeltaBucket{" + "baseVersion=" + baseVersion + ", version=" + version + ", deltas=" + deltas + '}';
+    }
+}
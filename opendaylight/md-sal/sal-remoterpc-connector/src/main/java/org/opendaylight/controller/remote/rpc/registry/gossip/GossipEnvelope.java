@@ -17,12 +17,19 @@ final class GossipEnvelope implements Serializable {
     private static final long serialVersionUID = 1L;
 
     private final Map<Address, Bucket<?>> buckets;
+    private final Map<Address, DeltaBucket<?>> deltas;
     private final Address from;
     private final Address to;
 
     GossipEnvelope(final Address from, final Address to, final Map<Address, ? extends Bucket<?>> buckets) {
+        this(from, to, buckets, ImmutableMap.of());
+    }
+
+    GossipEnvelope(final Address from, final Address to, final Map<Address, ? extends Bucket<?>> buckets,
+            final Map<Address, ? extends DeltaBucket<?>> deltas) {
         this.to = Preconditions.checkNotNull(to);
         this.buckets = ImmutableMap.copyOf(buckets);
+        this.deltas = ImmutableMap.copyOf(deltas);
         this.from = from;
     }
 
@@ -30,6 +37,10 @@ final class GossipEnvelope implements Serializable {
         return buckets;
     }
 
+    Map<Address, DeltaBucket<?>> deltas() {
+        return deltas;
+    }
+
     Address from() {
         return from;
     }
@@ -37,4 +48,11 @@ final class GossipEnvelope implements Serializable {
     Address to() {
         return to;
     }
+
+    /*
+     * An envelope sent by a node which predates DeltaBucket deserializes without deltas.
+     */
+    private Object readResolve() {
+        return deltas != null ? this : new GossipEnvelope(from, to, buckets);
+    }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@
 package org.opendaylight.controller.remote.rpc.registry.gossip;
 
 import akka.actor.Address;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableMap;
 import java.io.Serializable;
 import java.util.Map;
@@ -18,9 +19,21 @@ final class GossipStatus implements Serializable {
     private final Map<Address, Long> versions;
     private final Address from;
 
+    /*
+     * Always set by this version, but a status sent by a node which predates DeltaBucket deserializes with false,
+     * hence we know it has to be sent full buckets.
+     */
+    private final boolean deltasSupported;
+
     GossipStatus(final Address from, final Map<Address, Long> versions) {
+        this(from, versions, true);
+    }
+
+    @VisibleForTesting
+    GossipStatus(final Address from, final Map<Address, Long> versions, final boolean deltasSupported) {
         this.versions = ImmutableMap.copyOf(versions);
         this.from = from;
+        this.deltasSupported = deltasSupported;
     }
 
     Address from() {
@@ -30,4 +43,8 @@ final class GossipStatus implements Serializable {
     Map<Address, Long> versions() {
         return versions;
     }
+
+    boolean deltasSupported() {
+        return deltasSupported;
+    }
 }
\ No newline at end of file
@@ -22,6 +22,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Verify;
 import com.google.common.collect.Maps;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -51,6 +52,12 @@ import scala.concurrent.duration.FiniteDuration;
  * <p>
  * When a bucket is received from a remote gossiper, its sent to the bucket store
  * for update.
+ *
+ * <p>
+ * Newer buckets are sent as deltas against the versions reported by the remote
+ * gossiper, if the bucket store still has the changes since those versions.
+ * Otherwise, or if the remote gossiper's status shows it cannot process deltas,
+ * the full buckets are sent.
  */
 public class Gossiper extends AbstractUntypedActorWithMetering {
     private static final Object GOSSIP_TICK = new Object() {
@@ -304,13 +311,33 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
 
         if (!localIsNewer.isEmpty()) {
             //send newer buckets to remote
-            bucketStore.getBucketsByMembers(localIsNewer, buckets -> {
-                LOG.trace("Buckets to send from {}: {}", selfAddress, buckets);
-                remote.tell(new GossipEnvelope(selfAddress, remote.path().address(), buckets), getSelf());
+            bucketStore.getBucketsByMembers(knownVersions(status, localIsNewer), updates -> {
+                LOG.trace("Buckets to send from {}: {} deltas: {}", selfAddress, updates.getBuckets(),
+                    updates.getDeltas());
+                remote.tell(new GossipEnvelope(selfAddress, remote.path().address(), updates.getBuckets(),
+                    updates.getDeltas()), getSelf());
             });
         }
     }
 
+    /**
+     * Collects the versions of the requested buckets known to a remote gossiper, used to send deltas where possible.
+     * Versions unknown to the remote gossiper are kept as nulls. If the remote gossiper cannot process deltas, all
+     * versions are treated as unknown, so it receives full buckets.
+     *
+     * @param status bucket versions from a remote member
+     * @param addresses requested buckets
+     * @return versions known to the remote member
+     */
+    @VisibleForTesting
+    static Map<Address, Long> knownVersions(final GossipStatus status, final Collection<Address> addresses) {
+        final Map<Address, Long> knownVersions = new HashMap<>(addresses.size());
+        for (Address address : addresses) {
+            knownVersions.put(address, status.deltasSupported() ? status.versions().get(address) : null);
+        }
+        return knownVersions;
+    }
+
     /**
      * Sends the received buckets in the envelope to the parent Bucket store.
      *
@@ -324,18 +351,21 @@ public class Gossiper extends AbstractUntypedActorWithMetering {
             return;
         }
 
-        updateRemoteBuckets(envelope.buckets());
+        updateRemoteBuckets(envelope.buckets(), envelope.deltas());
     }
 
     /**
      * Helper to send received buckets to bucket store.
      *
      * @param buckets map of Buckets to update
+     * @param deltas map of bucket deltas to apply
      */
     @VisibleForTesting
-    void updateRemoteBuckets(final Map<Address, ? extends Bucket<?>> buckets) {
+    void updateRemoteBuckets(final Map<Address, ? extends Bucket<?>> buckets,
+            final Map<Address, ? extends DeltaBucket<?>> deltas) {
         // filter this so we only handle buckets for known peers
-        bucketStore.updateRemoteBuckets(Maps.filterKeys(buckets, peers::containsKey));
+        bucketStore.updateRemoteBuckets(Maps.filterKeys(buckets, peers::containsKey),
+            Maps.filterKeys(deltas, peers::containsKey));
     }
 
     /**
@@ -106,8 +106,8 @@ public class AbstractRpcTest {
         rpcInvoker1 = node1.actorOf(RpcInvoker.props(domRpcService1));
         rpcRegistry2Probe = new TestKit(node2);
         rpcInvoker2 = node2.actorOf(RpcInvoker.props(domRpcService2));
-        remoteRpcImpl1 = new RemoteRpcImplementation(rpcInvoker2, config1);
-        remoteRpcImpl2 = new RemoteRpcImplementation(rpcInvoker1, config2);
+        remoteRpcImpl1 = new RemoteRpcImplementation(node1.actorOf(RemoteRpcChannel.props(rpcInvoker2, config1)));
+        remoteRpcImpl2 = new RemoteRpcImplementation(node2.actorOf(RemoteRpcChannel.props(rpcInvoker1, config2)));
     }
 
     static void assertRpcErrorEquals(final RpcError rpcError, final ErrorSeverity severity,
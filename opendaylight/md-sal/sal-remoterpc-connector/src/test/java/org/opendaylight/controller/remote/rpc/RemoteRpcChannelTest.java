@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.when;
+
+import akka.actor.ActorRef;
+import akka.testkit.javadsl.TestKit;
+import com.google.common.util.concurrent.Futures;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcResult;
+import org.opendaylight.controller.md.sal.dom.spi.DefaultDOMRpcResult;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpc;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpcBatch;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpcBatch.Request;
+import org.opendaylight.controller.remote.rpc.messages.RpcResponse;
+import org.opendaylight.controller.remote.rpc.messages.RpcResponseBatch;
+import org.opendaylight.controller.remote.rpc.messages.RpcResponseBatch.Response;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+public class RemoteRpcChannelTest extends AbstractRpcTest {
+    private static final int REQUEST_COUNT = 10;
+
+    @Test
+    public void testOutOfOrderResponses() throws Exception {
+        final TestKit invoker = new TestKit(node1);
+        final ActorRef channel = node1.actorOf(RemoteRpcChannel.props(invoker.getRef(),
+            new RemoteRpcProviderConfig.Builder("memberA").rpcBatchSize(4).build()));
+        confirmBatching(invoker, channel);
+
+        final List<RemoteDOMRpcFuture> futures = new ArrayList<>(REQUEST_COUNT);
+        for (int i = 0; i < REQUEST_COUNT; ++i) {
+            final RemoteDOMRpcFuture future = RemoteDOMRpcFuture.create(TEST_RPC);
+            channel.tell(new RemoteRpcChannel.InvokeRpc(TEST_RPC, makeRPCInput("input" + i), future),
+                ActorRef.noSender());
+            futures.add(future);
+        }
+
+        // Requests may be split across batches, but each is sent exactly once and no batch exceeds the limit
+        final List<Request> requests = new ArrayList<>(REQUEST_COUNT);
+        while (requests.size() < REQUEST_COUNT) {
+            final ExecuteRpcBatch batch = invoker.expectMsgClass(ExecuteRpcBatch.class);
+            assertTrue(batch.getRequests().size() <= 4);
+            requests.addAll(batch.getRequests());
+        }
+        invoker.expectNoMsg(invoker.duration("100 millis"));
+
+        final Set<Long> requestIds = new HashSet<>();
+        final List<Response> responses = new ArrayList<>(REQUEST_COUNT);
+        for (int i = REQUEST_COUNT - 1; i >= 0; --i) {
+            final Request request = requests.get(i);
+            assertTrue(requestIds.add(request.getRequestId()));
+            assertEquals(makeRPCInput("input" + i), request.getInput());
+            responses.add(Response.success(request.getRequestId(), makeRPCOutput("output" + i)));
+        }
+        channel.tell(new RpcResponseBatch(responses), invoker.getRef());
+
+        for (int i = 0; i < REQUEST_COUNT; ++i) {
+            assertEquals(makeRPCOutput("output" + i), futures.get(i).checkedGet(5, TimeUnit.SECONDS).getResult());
+        }
+    }
+
+    @Test
+    public void testInvokerTerminated() throws Exception {
+        final TestKit invoker = new TestKit(node1);
+        final ActorRef channel = node1.actorOf(RemoteRpcChannel.props(invoker.getRef(), config1));
+        confirmBatching(invoker, channel);
+
+        final RemoteDOMRpcFuture future = RemoteDOMRpcFuture.create(TEST_RPC);
+        channel.tell(new RemoteRpcChannel.InvokeRpc(TEST_RPC, null, future), ActorRef.noSender());
+        invoker.expectMsgClass(ExecuteRpcBatch.class);
+
+        node1.stop(invoker.getRef());
+        try {
+            future.checkedGet(5, TimeUnit.SECONDS);
+            fail("Expected a failure");
+        } catch (DOMRpcException e) {
+            assertTrue(e instanceof RemoteDOMRpcException);
+        }
+
+        // Later invocations fail immediately instead of being lost
+        final RemoteDOMRpcFuture next = RemoteDOMRpcFuture.create(TEST_RPC);
+        channel.tell(new RemoteRpcChannel.InvokeRpc(TEST_RPC, null, next), ActorRef.noSender());
+        try {
+            next.checkedGet(5, TimeUnit.SECONDS);
+            fail("Expected a failure");
+        } catch (DOMRpcException e) {
+            assertTrue(e instanceof RemoteDOMRpcException);
+        }
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        final TestKit invoker = new TestKit(node1);
+        final ActorRef channel = node1.actorOf(RemoteRpcChannel.props(invoker.getRef(), config1));
+        confirmBatching(invoker, channel);
+        final TestKit watcher = new TestKit(node1);
+        watcher.watch(channel);
+
+        final RemoteDOMRpcFuture future = RemoteDOMRpcFuture.create(TEST_RPC);
+        channel.tell(new RemoteRpcChannel.InvokeRpc(TEST_RPC, null, future), ActorRef.noSender());
+        channel.tell(RemoteRpcChannel.CLOSE, ActorRef.noSender());
+
+        // The channel has to stay around until the outstanding request completes
+        final ExecuteRpcBatch batch = invoker.expectMsgClass(ExecuteRpcBatch.class);
+        watcher.expectNoMsg(watcher.duration("1500 millis"));
+        assertFalse(future.isDone());
+
+        channel.tell(new RpcResponseBatch(Collections.singletonList(
+            Response.success(batch.getRequests().get(0).getRequestId(), null))), invoker.getRef());
+        assertEquals(null, future.checkedGet(5, TimeUnit.SECONDS).getResult());
+        watcher.expectTerminated(watcher.duration("5 seconds"), channel);
+    }
+
+    @Test
+    public void testInvokerWithoutBatching() throws Exception {
+        final TestKit invoker = new TestKit(node1);
+        final ActorRef channel = node1.actorOf(RemoteRpcChannel.props(invoker.getRef(), config1));
+
+        // An invoker which does not understand batches never answers the probe
+        assertTrue(invoker.expectMsgClass(ExecuteRpcBatch.class).getRequests().isEmpty());
+
+        final RemoteDOMRpcFuture future = RemoteDOMRpcFuture.create(TEST_RPC);
+        channel.tell(new RemoteRpcChannel.InvokeRpc(TEST_RPC, makeRPCInput("input"), future), ActorRef.noSender());
+
+        final ExecuteRpc request = invoker.expectMsgClass(ExecuteRpc.class);
+        assertEquals(TEST_RPC, request.getRpc());
+        assertEquals(makeRPCInput("input"), request.getInputNormalizedNode());
+        invoker.reply(new RpcResponse(makeRPCOutput("output")));
+
+        assertEquals(makeRPCOutput("output"), future.checkedGet(5, TimeUnit.SECONDS).getResult());
+    }
+
+    private static void confirmBatching(final TestKit invoker, final ActorRef channel) {
+        assertTrue(invoker.expectMsgClass(ExecuteRpcBatch.class).getRequests().isEmpty());
+        channel.tell(new RpcResponseBatch(Collections.emptyList()), invoker.getRef());
+    }
+
+    /**
+     * Invokes a number of RPCs concurrently through the invoker on the other node.
+     */
+    @Test
+    public void testConcurrentInvocations() throws Exception {
+        when(domRpcService2.invokeRpc(eq(TEST_RPC_TYPE), Mockito.<NormalizedNode<?, ?>>any())).thenAnswer(
+            invocation -> {
+                final ContainerNode input = (ContainerNode) invocation.getArguments()[1];
+                return Futures.<DOMRpcResult, DOMRpcException>immediateCheckedFuture(new DefaultDOMRpcResult(
+                    makeRPCOutput(input.getValue().iterator().next().getValue().toString())));
+            });
+
+        final List<RemoteDOMRpcFuture> futures = new ArrayList<>(REQUEST_COUNT * 10);
+        for (int i = 0; i < REQUEST_COUNT * 10; ++i) {
+            futures.add((RemoteDOMRpcFuture) remoteRpcImpl1.invokeRpc(TEST_RPC_ID, makeRPCInput("data" + i)));
+        }
+
+        for (int i = 0; i < futures.size(); ++i) {
+            assertEquals(makeRPCOutput("data" + i), futures.get(i).checkedGet(5, TimeUnit.SECONDS).getResult());
+        }
+    }
+}
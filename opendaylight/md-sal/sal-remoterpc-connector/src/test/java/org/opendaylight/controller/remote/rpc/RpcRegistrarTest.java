@@ -17,13 +17,17 @@ import com.google.common.collect.ImmutableMap;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcException;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcImplementationRegistration;
 import org.opendaylight.controller.md.sal.dom.api.DOMRpcProviderService;
@@ -45,6 +49,7 @@ public class RpcRegistrarTest {
     private Address endpointAddress;
     private RemoteRpcEndpoint firstEndpoint;
     private RemoteRpcEndpoint secondEndpoint;
+    private TestKit senderKit;
     private RpcRegistrar rpcRegistrar;
 
     @Before
@@ -63,7 +68,7 @@ public class RpcRegistrarTest {
         final DOMRpcIdentifier secondEndpointId = DOMRpcIdentifier.create(
                 SchemaPath.create(true, QName.create("second:identifier", "bar")));
 
-        final TestKit senderKit = new TestKit(system);
+        senderKit = new TestKit(system);
         firstEndpoint = new RemoteRpcEndpoint(senderKit.getRef(), Collections.singletonList(firstEndpointId));
         secondEndpoint = new RemoteRpcEndpoint(senderKit.getRef(), Collections.singletonList(secondEndpointId));
 
@@ -113,6 +118,28 @@ public class RpcRegistrarTest {
         Mockito.verifyNoMoreInteractions(service, oldReg, newReg);
     }
 
+    @Test
+    public void testInvokerTerminated() throws Exception {
+        testActorRef.tell(new UpdateRemoteEndpoints(ImmutableMap.of(endpointAddress, Optional.of(firstEndpoint))),
+                ActorRef.noSender());
+
+        final ArgumentCaptor<RemoteRpcImplementation> implCaptor =
+                ArgumentCaptor.forClass(RemoteRpcImplementation.class);
+        Mockito.verify(service).registerRpcImplementation(implCaptor.capture(), Mockito.eq(firstEndpoint.getRpcs()));
+
+        system.stop(senderKit.getRef());
+
+        // The registration is withdrawn and invocations made through it fail instead of hanging
+        Mockito.verify(oldReg, Mockito.timeout(5000)).close();
+        try {
+            implCaptor.getValue().invokeRpc(firstEndpoint.getRpcs().iterator().next(), null)
+                .checkedGet(5, TimeUnit.SECONDS);
+            Assert.fail("Expected a failure");
+        } catch (DOMRpcException e) {
+            Assert.assertTrue(e instanceof RemoteDOMRpcException);
+        }
+    }
+
     @Test
     public void testHandleReceiveUpdateEndpoint() throws Exception {
         final InOrder inOrder = Mockito.inOrder(service, oldReg, newReg);
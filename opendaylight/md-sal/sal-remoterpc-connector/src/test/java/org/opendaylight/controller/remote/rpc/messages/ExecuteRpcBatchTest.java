@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.messages;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+import org.opendaylight.controller.remote.rpc.AbstractRpcTest;
+import org.opendaylight.controller.remote.rpc.messages.ExecuteRpcBatch.Request;
+import org.opendaylight.yangtools.yang.common.QName;
+
+public class ExecuteRpcBatchTest {
+
+    @Test
+    public void testSerialization() {
+        final QName rpc = AbstractRpcTest.TEST_RPC_ID.getType().getLastComponent();
+        final ExecuteRpcBatch expected = new ExecuteRpcBatch(ImmutableList.of(
+            new Request(1, rpc, AbstractRpcTest.makeRPCInput("first")),
+            new Request(2, rpc, null),
+            new Request(3, rpc, AbstractRpcTest.makeRPCInput("third"))));
+
+        final ExecuteRpcBatch actual = (ExecuteRpcBatch) SerializationUtils.clone(expected);
+
+        assertEquals(3, actual.getRequests().size());
+        for (int i = 0; i < 3; ++i) {
+            final Request expectedRequest = expected.getRequests().get(i);
+            final Request actualRequest = actual.getRequests().get(i);
+            assertEquals("getRequestId", expectedRequest.getRequestId(), actualRequest.getRequestId());
+            assertEquals("getRpc", expectedRequest.getRpc(), actualRequest.getRpc());
+            assertEquals("getInput", expectedRequest.getInput(), actualRequest.getInput());
+        }
+        assertNull(actual.getRequests().get(1).getInput());
+    }
+}
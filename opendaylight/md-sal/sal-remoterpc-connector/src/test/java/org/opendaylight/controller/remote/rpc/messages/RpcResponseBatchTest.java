@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.messages;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.lang.SerializationUtils;
+import org.junit.Test;
+import org.opendaylight.controller.remote.rpc.AbstractRpcTest;
+import org.opendaylight.controller.remote.rpc.messages.RpcResponseBatch.Response;
+
+public class RpcResponseBatchTest {
+
+    @Test
+    public void testSerialization() {
+        final RpcResponseBatch expected = new RpcResponseBatch(ImmutableList.of(
+            Response.success(5, AbstractRpcTest.makeRPCOutput("serialization-test")),
+            Response.failure(3, new IllegalStateException("mock failure")),
+            Response.success(4, null)));
+
+        final RpcResponseBatch actual = (RpcResponseBatch) SerializationUtils.clone(expected);
+
+        assertEquals(3, actual.getResponses().size());
+        final Response first = actual.getResponses().get(0);
+        assertEquals(5, first.getRequestId());
+        assertEquals(expected.getResponses().get(0).getResult(), first.getResult());
+        assertNull(first.getFailure());
+
+        final Response second = actual.getResponses().get(1);
+        assertEquals(3, second.getRequestId());
+        assertNull(second.getResult());
+        assertEquals(IllegalStateException.class, second.getFailure().getClass());
+        assertEquals("mock failure", second.getFailure().getMessage());
+
+        final Response third = actual.getResponses().get(2);
+        assertEquals(4, third.getRequestId());
+        assertNull(third.getResult());
+        assertNull(third.getFailure());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2018 Pantheon Technologies s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.controller.remote.rpc.registry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import akka.actor.ActorSystem;
+import akka.testkit.javadsl.TestKit;
+import com.typesafe.config.ConfigFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.dom.api.DOMRpcIdentifier;
+import org.opendaylight.controller.remote.rpc.registry.gossip.BucketDataDelta;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class RoutingTableTest {
+    private static final Logger LOG = LoggerFactory.getLogger(RoutingTableTest.class);
+    private static final int ROUTE_COUNT = 50000;
+    private static final QName NODES = QName.create(URI.create("/mockrpc"), "nodes");
+    private static final QName NODE = QName.create(NODES, "node");
+    private static final QName ID = QName.create(NODES, "id");
+    private static final SchemaPath RPC_TYPE = SchemaPath.create(true, QName.create(NODES, "mockrpc"));
+
+    private static ActorSystem system;
+
+    @BeforeClass
+    public static void setup() {
+        system = ActorSystem.create("opendaylight-rpc", ConfigFactory.load().getConfig("unit-test"));
+    }
+
+    @AfterClass
+    public static void teardown() {
+        TestKit.shutdownActorSystem(system);
+    }
+
+    @Test
+    public void testDeltaFrom() throws Exception {
+        final RoutingTable previous = new RoutingTable(new TestKit(system).getRef(),
+            Collections.singletonList(routeId(0)));
+        final RoutingTable current = previous.updateRpcs(Collections.singletonList(routeId(1)),
+            Collections.singletonList(routeId(0)));
+
+        final RoutingTableDelta delta = (RoutingTableDelta) current.deltaFrom(previous).get();
+        assertEquals(Collections.singleton(routeId(1)), delta.getAdded());
+        assertEquals(Collections.singleton(routeId(0)), delta.getRemoved());
+        assertEquals(current.getRoutes(), delta.applyTo(previous).getRoutes());
+
+        final RoutingTableDelta clone = (RoutingTableDelta) deserialize(serialize(delta));
+        assertEquals(delta.getAdded(), clone.getAdded());
+        assertEquals(delta.getRemoved(), clone.getRemoved());
+
+        // Different invoker cannot be expressed as a delta
+        final RoutingTable other = new RoutingTable(new TestKit(system).getRef(), current.getRoutes());
+        assertFalse(other.deltaFrom(current).isPresent());
+    }
+
+    /**
+     * Measures the number of bytes gossiped when a single route is registered in a table of {@value #ROUTE_COUNT}
+     * routed RPCs, comparing the full table with the delta.
+     */
+    @Test
+    public void testGossipBytes() throws Exception {
+        final List<DOMRpcIdentifier> routes = new ArrayList<>(ROUTE_COUNT);
+        for (int i = 0; i < ROUTE_COUNT; ++i) {
+            routes.add(routeId(i));
+        }
+
+        final RoutingTable previous = new RoutingTable(new TestKit(system).getRef(), routes);
+        final RoutingTable current = previous.addRpcs(Collections.singletonList(routeId(ROUTE_COUNT)));
+        final Optional<BucketDataDelta<RoutingTable>> delta = current.deltaFrom(previous);
+        assertTrue(delta.isPresent());
+
+        final int fullBytes = serialize(current).length;
+        final int deltaBytes = serialize(delta.get()).length;
+        LOG.info("Gossip of {} routes after adding a route: full table {} bytes, delta {} bytes", ROUTE_COUNT + 1,
+            fullBytes, deltaBytes);
+
+        assertTrue("Delta of " + deltaBytes + " bytes is not significantly smaller than " + fullBytes + " bytes",
+            deltaBytes * 1000 < fullBytes);
+    }
+
+    private static DOMRpcIdentifier routeId(final int id) {
+        return DOMRpcIdentifier.create(RPC_TYPE, YangInstanceIdentifier.builder().node(NODES)
+            .nodeWithKey(NODE, ID, "node" + id).build());
+    }
+
+    private static byte[] serialize(final Serializable obj) throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(obj);
+        }
+        return bos.toByteArray();
+    }
+
+    private static Object deserialize(final byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return ois.readObject();
+        }
+    }
+}
@@ -13,7 +13,9 @@ import akka.actor.Address;
 import akka.actor.Props;
 import akka.testkit.TestActorRef;
 import akka.testkit.javadsl.TestKit;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.typesafe.config.ConfigFactory;
 import java.util.HashMap;
 import java.util.Map;
@@ -40,6 +42,42 @@ public class BucketStoreTest {
         }
     }
 
+    /**
+     * Data supporting deltas, which are increments of its value.
+     */
+    private static final class Counter implements BucketData<Counter> {
+        final int value;
+
+        Counter(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        public Optional<ActorRef> getWatchActor() {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<BucketDataDelta<Counter>> deltaFrom(final Counter previous) {
+            return Optional.of(new Increment(value - previous.value));
+        }
+    }
+
+    private static final class Increment implements BucketDataDelta<Counter> {
+        private static final long serialVersionUID = 1L;
+
+        final int increment;
+
+        Increment(final int increment) {
+            this.increment = increment;
+        }
+
+        @Override
+        public Counter applyTo(final Counter data) {
+            return new Counter(data.value + increment);
+        }
+    }
+
     private static ActorSystem system;
 
     @BeforeClass
@@ -133,6 +171,57 @@ public class BucketStoreTest {
 
     }
 
+    /**
+     * Given a bucket with history, should send deltas to peers which know a recent version and apply only deltas
+     * matching the local version.
+     */
+    @Test
+    public void testDeltaUpdates() {
+        final TestActorRef<BucketStoreActor<Counter>> storeRef = TestActorRef.create(system,
+            Props.create(TestingBucketStoreActor.class, new RemoteRpcProviderConfig(system.settings().config()),
+                "testing-delta-store", new Counter(0)), "testDeltaStore");
+        final BucketStoreActor<Counter> store = storeRef.underlyingActor();
+        final TestKit probe = new TestKit(system);
+
+        final Address a1 = new Address("tcp", "system1");
+        final Address a2 = new Address("tcp", "system2");
+        store.updateRemoteBuckets(ImmutableMap.of(a1, new BucketImpl<>(1L, new Counter(1)),
+            a2, new BucketImpl<>(1L, new Counter(10))));
+        store.updateRemoteBuckets(ImmutableMap.of(a1, new BucketImpl<>(2L, new Counter(3))));
+        store.updateRemoteBuckets(ImmutableMap.of(a1, new BucketImpl<>(3L, new Counter(6))));
+
+        // a1 is covered by history, a2 is not known to the peer
+        final Map<Address, Long> knownVersions = new HashMap<>();
+        knownVersions.put(a1, 1L);
+        knownVersions.put(a2, null);
+
+        // Messages stashed while the incarnation is being persisted would not be delivered by the calling thread
+        probe.awaitCond(() -> !store.isPersisting());
+        storeRef.tell(BucketStoreActor.getBucketsByMembersMessage(knownVersions), probe.getRef());
+
+        @SuppressWarnings("unchecked")
+        final BucketStoreActor.BucketUpdates<Counter> updates = probe.expectMsgClass(
+            BucketStoreActor.BucketUpdates.class);
+        Assert.assertEquals(ImmutableSet.of(a2), updates.getBuckets().keySet());
+        Assert.assertEquals(ImmutableSet.of(a1), updates.getDeltas().keySet());
+
+        final DeltaBucket<Counter> delta = updates.getDeltas().get(a1);
+        Assert.assertEquals(1L, delta.getBaseVersion());
+        Assert.assertEquals(3L, delta.getVersion());
+        Assert.assertEquals(6, delta.applyTo(new BucketImpl<>(1L, new Counter(1))).getData().value);
+
+        // Delta not based on local version should be ignored
+        store.updateRemoteBuckets(ImmutableMap.of(), ImmutableMap.of(a2,
+            new DeltaBucket<>(0L, 2L, ImmutableList.of(new Increment(5)))));
+        Assert.assertEquals(Long.valueOf(1L), store.getVersions().get(a2));
+
+        // Delta based on local version should be applied
+        store.updateRemoteBuckets(ImmutableMap.of(), ImmutableMap.of(a2,
+            new DeltaBucket<>(1L, 2L, ImmutableList.of(new Increment(5)))));
+        Assert.assertEquals(Long.valueOf(2L), store.getVersions().get(a2));
+        Assert.assertEquals(15, store.getRemoteBuckets().get(a2).getData().value);
+    }
+
     /**
      * Create BucketStore actor and returns the underlying instance of BucketStore class.
      *
@@ -144,21 +233,21 @@ public class BucketStoreTest {
         return TestActorRef.<BucketStoreActor<T>>create(system, props, "testStore").underlyingActor();
     }
 
-    private static final class TestingBucketStoreActor extends BucketStoreActor<T> {
+    private static final class TestingBucketStoreActor<D extends BucketData<D>> extends BucketStoreActor<D> {
 
         protected TestingBucketStoreActor(final RemoteRpcProviderConfig config,
                                           final String persistenceId,
-                                          final T initialData) {
+                                          final D initialData) {
             super(config, persistenceId, initialData);
         }
 
         @Override
-        protected void onBucketRemoved(final Address address, final Bucket<T> bucket) {
+        protected void onBucketRemoved(final Address address, final Bucket<D> bucket) {
 
         }
 
         @Override
-        protected void onBucketsUpdated(final Map<Address, Bucket<T>> newBuckets) {
+        protected void onBucketsUpdated(final Map<Address, Bucket<D>> newBuckets) {
 
         }
     }
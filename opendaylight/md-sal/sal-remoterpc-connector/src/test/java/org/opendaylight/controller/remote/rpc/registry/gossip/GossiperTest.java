@@ -7,6 +7,9 @@
  */
 package org.opendaylight.controller.remote.rpc.registry.gossip;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyMap;
 import static org.mockito.Mockito.doNothing;
@@ -22,8 +25,13 @@ import akka.actor.Address;
 import akka.actor.Props;
 import akka.testkit.TestActorRef;
 import akka.testkit.javadsl.TestKit;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.typesafe.config.ConfigFactory;
+import java.lang.reflect.Field;
 import java.util.Map;
+import org.apache.commons.lang.SerializationUtils;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -94,10 +102,45 @@ public class GossiperTest {
     @SuppressWarnings("unchecked")
     @Test
     public void testReceiveGossipWhenNotAddressedToSelfShouldIgnore() {
-        doNothing().when(mockGossiper).updateRemoteBuckets(anyMap());
+        doNothing().when(mockGossiper).updateRemoteBuckets(anyMap(), anyMap());
         Address notSelf = new Address("tcp", "not-self");
         mockGossiper.receiveGossip(new GossipEnvelope(notSelf, notSelf, mock(Map.class)));
-        verify(mockGossiper, times(0)).updateRemoteBuckets(anyMap());
+        verify(mockGossiper, times(0)).updateRemoteBuckets(anyMap(), anyMap());
+    }
+
+    @Test
+    public void testKnownVersions() {
+        final Address a1 = new Address("tcp", "system1");
+        final Address a2 = new Address("tcp", "system2");
+        final Map<Address, Long> versions = ImmutableMap.of(a1, 1L);
+
+        final Map<Address, Long> known = Gossiper.knownVersions(new GossipStatus(a1, versions),
+            ImmutableList.of(a1, a2));
+        assertEquals(Long.valueOf(1L), known.get(a1));
+        assertTrue(known.containsKey(a2));
+        assertNull(known.get(a2));
+
+        // A peer which cannot process deltas gets full buckets only
+        final Map<Address, Long> legacy = Gossiper.knownVersions(new GossipStatus(a1, versions, false),
+            ImmutableList.of(a1, a2));
+        assertEquals(ImmutableSet.of(a1, a2), legacy.keySet());
+        assertNull(legacy.get(a1));
+        assertNull(legacy.get(a2));
+    }
+
+    @Test
+    public void testGossipEnvelopeWithoutDeltas() throws ReflectiveOperationException {
+        final Address self = new Address("tcp", "self");
+        final GossipEnvelope envelope = new GossipEnvelope(self, self, ImmutableMap.of());
+
+        // Simulate an envelope from a node which does not know about deltas
+        final Field deltas = GossipEnvelope.class.getDeclaredField("deltas");
+        deltas.setAccessible(true);
+        deltas.set(envelope, null);
+
+        final GossipEnvelope cloned = (GossipEnvelope) SerializationUtils.clone(envelope);
+        assertEquals(ImmutableMap.of(), cloned.deltas());
+        assertEquals(self, cloned.to());
     }
 
     /**